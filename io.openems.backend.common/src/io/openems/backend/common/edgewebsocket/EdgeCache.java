@@ -1,41 +1,178 @@
 package io.openems.backend.common.edgewebsocket;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
-import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 
 import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification.Sequence;
 
 public class EdgeCache {
 
 	private final ChannelDataCache current = new ChannelDataCache();
 	private final ChannelDataCache aggregated = new ChannelDataCache();
+	private final SequenceTracker sequence = new SequenceTracker();
 
 	public static record Pair<A, B>(A a, B b) {
 
 	}
 
+	/**
+	 * A set of Channel-Addresses that is read repeatedly, e.g. the subscription of
+	 * a UI session.
+	 *
+	 * <p>
+	 * The addresses are resolved to the slots of an {@link EdgeCache} on first read
+	 * and only re-resolved if the {@link EdgeCache} learned new addresses in the
+	 * meantime.
+	 */
+	public static final class Subscription {
+
+		private final String[] addresses;
+		private volatile ResolvedSubscription resolved = null;
+
+		private Subscription(String[] addresses) {
+			this.addresses = addresses;
+		}
+
+		/**
+		 * Creates a {@link Subscription}.
+		 *
+		 * @param addresses the Channel-Addresses
+		 * @return the {@link Subscription}
+		 */
+		public static Subscription of(Set<String> addresses) {
+			return new Subscription(addresses.stream() //
+					.sorted() //
+					.toArray(String[]::new));
+		}
+
+		/**
+		 * Is this {@link Subscription} empty?.
+		 *
+		 * @return true if there are no Channel-Addresses
+		 */
+		public boolean isEmpty() {
+			return this.addresses.length == 0;
+		}
+	}
+
+	private static record ResolvedSubscription(EdgeCache cache, int currentSlots, int aggregatedSlots,
+			int[] currentSlotIndexes, int[] aggregatedSlotIndexes) {
+	}
+
+	/**
+	 * Immutable values of a {@link ChannelDataCache}; indexed by slot.
+	 */
+	private static record Snapshot(long timestamp, JsonElement[] values) {
+
+		private static final Snapshot EMPTY = new Snapshot(0L, new JsonElement[0]);
+
+		private JsonElement get(int slot) {
+			if (slot < 0 || slot >= this.values.length) {
+				return null;
+			}
+			return this.values[slot];
+		}
+	}
+
+	/**
+	 * Tracks the {@link Sequence} of {@link TimestampedDataNotification
+	 * TimestampedDataNotifications} to detect lost messages.
+	 *
+	 * <p>
+	 * Edges send only changed values. After a gap the cache may hold outdated
+	 * values until every keyframe shard was received again.
+	 */
+	private static class SequenceTracker {
+
+		private final long[] keyframes = new long[TimestampedDataNotification.KEYFRAME_SHARDS];
+		private long last = -1;
+		private long lastGap = -1;
+		private int numberOfGaps = 0;
+
+		private SequenceTracker() {
+			Arrays.fill(this.keyframes, -1);
+		}
+
+		private synchronized void update(Sequence sequence) {
+			final var number = sequence.number();
+			if (this.last >= 0 && number != this.last + 1) {
+				// Lost message or restarted Edge
+				this.numberOfGaps++;
+				this.lastGap = number;
+			}
+			this.last = number;
+
+			final var shard = sequence.keyframeShard();
+			if (shard == TimestampedDataNotification.FULL_KEYFRAME) {
+				Arrays.fill(this.keyframes, number);
+			} else if (shard >= 0 && shard < this.keyframes.length) {
+				this.keyframes[shard] = number;
+			}
+		}
+
+		private synchronized boolean isComplete() {
+			for (var keyframe : this.keyframes) {
+				if (keyframe < 0 || keyframe < this.lastGap) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private synchronized int getNumberOfGaps() {
+			return this.numberOfGaps;
+		}
+	}
+
 	private static class ChannelDataCache {
-		private long timestamp = 0L;
-		private final HashMap<String, JsonElement> data = new HashMap<>();
+
+		/**
+		 * Channel-Address to slot in {@link Snapshot#values()}. Keys are the first
+		 * String instance received for each address, i.e. they are interned per Edge.
+		 */
+		private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+		private volatile int numberOfSlots = 0;
+
+		/**
+		 * The current values; replaced on every update, so readers never block.
+		 */
+		private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+		private int getSlot(String address) {
+			var slot = this.slots.get(address);
+			if (slot == null) {
+				return -1;
+			}
+			return slot;
+		}
+
+		private int[] getSlots(String[] addresses) {
+			var result = new int[addresses.length];
+			for (var i = 0; i < addresses.length; i++) {
+				result[i] = this.getSlot(addresses[i]);
+			}
+			return result;
+		}
 
 		/**
 		 * Gets the channel value from cache.
 		 *
 		 * @param address the Channel-Address of the channel
-		 * @return the value; {@link JsonNull} if it is not in cache
+		 * @return the value; null if it is not in cache
 		 */
 		public final JsonElement getChannelValue(String address) {
-			synchronized (this) {
-				return this.data.get(address);
-			}
+			return this.snapshot.get(this.getSlot(address));
 		}
 
 		/**
@@ -43,32 +180,46 @@ public class EdgeCache {
 		 *
 		 * @param incomingDatas the incoming data
 		 */
-		public void update(SortedMap<Long, Map<String, JsonElement>> incomingDatas) {
+		public synchronized void update(SortedMap<Long, Map<String, JsonElement>> incomingDatas) {
+			final var snapshot = this.snapshot;
+			var timestamp = snapshot.timestamp();
+			JsonElement[] values = null;
 			for (var entry : incomingDatas.entrySet()) {
 				var incomingTimestamp = entry.getKey();
 				var incomingData = entry.getValue();
 
 				// Check if cache should be applied
-				if (incomingTimestamp < this.timestamp) {
+				if (incomingTimestamp < timestamp) {
 					// Incoming data is older than cache -> do not apply cache
+					continue;
+				}
 
-				} else {
-					// Incoming data is more recent than cache
+				// Incoming data is more recent than cache
+				if (incomingTimestamp > timestamp + 15 * 60 * 1000) {
+					// Cache is not anymore valid (elder than 15 minutes) -> clear Cache
+					values = new JsonElement[this.numberOfSlots];
+				} else if (values == null) {
+					values = Arrays.copyOf(snapshot.values(), this.numberOfSlots);
+				}
 
-					if (incomingTimestamp > this.timestamp + 15 * 60 * 1000) {
-						// Cache is not anymore valid (elder than 15 minutes) -> clear Cache
-						synchronized (this) {
-							this.data.clear();
-						}
+				// update cache
+				timestamp = incomingTimestamp;
+				for (var data : incomingData.entrySet()) {
+					var slot = this.slots.get(data.getKey());
+					if (slot == null) {
+						slot = this.numberOfSlots;
+						this.slots.put(data.getKey(), slot);
+						this.numberOfSlots = slot + 1;
 					}
-
-					// update cache
-					this.timestamp = incomingTimestamp;
-					synchronized (this) {
-						this.data.putAll(incomingData);
+					if (slot >= values.length) {
+						values = Arrays.copyOf(values, this.numberOfSlots);
 					}
+					values[slot] = data.getValue();
 				}
 			}
+			if (values != null) {
+				this.snapshot = new Snapshot(timestamp, values);
+			}
 		}
 	}
 
@@ -93,29 +244,71 @@ public class EdgeCache {
 	/**
 	 * Gets the channel values from cache.
 	 *
+	 * <p>
+	 * Prefer {@link #getChannelValues(Subscription)} for repeated reads of the same
+	 * Channel-Addresses.
+	 *
 	 * @param addresses the Channel-Addresses of the channels
 	 * @return a) Map of Channel-Address to values ({@link JsonNull} if not in
 	 *         cache); b) Set of Channel-Addresses that are only available as
 	 *         aggregated data
 	 */
 	public final Pair<Map<String, JsonElement>, Set<String>> getChannelValues(Set<String> addresses) {
-		final var result = new TreeMap<String, JsonElement>();
-		final var aggregatedChannelValues = new TreeSet<String>();
-		for (var address : addresses) {
-			final var value = this.current.getChannelValue(address);
+		return this.getChannelValues(Subscription.of(addresses));
+	}
+
+	/**
+	 * Gets the channel values of a {@link Subscription} from cache.
+	 *
+	 * @param subscription the {@link Subscription}
+	 * @return a) Map of Channel-Address to values ({@link JsonNull} if not in
+	 *         cache), sorted by Channel-Address; b) Set of Channel-Addresses that
+	 *         are only available as aggregated data
+	 */
+	public final Pair<Map<String, JsonElement>, Set<String>> getChannelValues(Subscription subscription) {
+		final var resolved = this.resolve(subscription);
+		final var current = this.current.snapshot;
+		final var aggregated = this.aggregated.snapshot;
+		final var addresses = subscription.addresses;
+		final var result = new LinkedHashMap<String, JsonElement>(addresses.length * 4 / 3 + 1);
+		Set<String> aggregatedChannelValues = null;
+		for (var i = 0; i < addresses.length; i++) {
+			final var value = current.get(resolved.currentSlotIndexes()[i]);
 			if (value != null) {
-				result.put(address, value);
+				result.put(addresses[i], value);
 				continue;
 			}
-			final var aggregatedValue = this.aggregated.getChannelValue(address);
+			final var aggregatedValue = aggregated.get(resolved.aggregatedSlotIndexes()[i]);
 			if (aggregatedValue != null) {
-				result.put(address, aggregatedValue);
-				aggregatedChannelValues.add(address);
+				result.put(addresses[i], aggregatedValue);
+				if (aggregatedChannelValues == null) {
+					aggregatedChannelValues = new HashSet<>();
+				}
+				aggregatedChannelValues.add(addresses[i]);
 				continue;
 			}
-			result.put(address, JsonNull.INSTANCE);
+			result.put(addresses[i], JsonNull.INSTANCE);
 		}
-		return new Pair<>(result, aggregatedChannelValues);
+		return new Pair<>(result, aggregatedChannelValues != null //
+				? aggregatedChannelValues //
+				: Collections.emptySet());
+	}
+
+	private ResolvedSubscription resolve(Subscription subscription) {
+		// Read the number of slots before resolving; if a slot is added meanwhile, the
+		// next read resolves again
+		final var currentSlots = this.current.numberOfSlots;
+		final var aggregatedSlots = this.aggregated.numberOfSlots;
+		var resolved = subscription.resolved;
+		if (resolved != null && resolved.cache() == this && resolved.currentSlots() == currentSlots
+				&& resolved.aggregatedSlots() == aggregatedSlots) {
+			return resolved;
+		}
+		resolved = new ResolvedSubscription(this, currentSlots, aggregatedSlots, //
+				this.current.getSlots(subscription.addresses), //
+				this.aggregated.getSlots(subscription.addresses));
+		subscription.resolved = resolved;
+		return resolved;
 	}
 
 	/**
@@ -127,6 +320,37 @@ public class EdgeCache {
 		this.current.update(notification.getData().rowMap());
 	}
 
+	/**
+	 * Updates the {@link Sequence} of the current data.
+	 *
+	 * @param sequence the {@link Sequence} of the last
+	 *                 {@link TimestampedDataNotification}
+	 */
+	public void updateSequence(Sequence sequence) {
+		this.sequence.update(sequence);
+	}
+
+	/**
+	 * Checks if the current data is complete, i.e. every keyframe shard was
+	 * received after the last lost message. Always false for Edges that do not
+	 * send sequence numbers.
+	 *
+	 * @return true if complete
+	 */
+	public boolean isComplete() {
+		return this.sequence.isComplete();
+	}
+
+	/**
+	 * Gets the number of gaps in the sequence of current data, i.e. the number of
+	 * times messages were lost.
+	 *
+	 * @return the number of gaps
+	 */
+	public int getNumberOfGaps() {
+		return this.sequence.getNumberOfGaps();
+	}
+
 	/**
 	 * Updates the aggregated data cache.
 	 *
@@ -1,9 +1,13 @@
 package io.openems.backend.common.edgewebsocket;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 import org.junit.Test;
@@ -15,6 +19,7 @@ import com.google.gson.JsonPrimitive;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification.Sequence;
 import io.openems.common.types.ChannelAddress;
 
 public class EdgeCacheTest {
@@ -51,6 +56,72 @@ public class EdgeCacheTest {
 		assertEquals("value3", cache.getChannelValue(CHANNEL3).getAsString());
 	}
 
+	@Test
+	public void testSubscription() throws OpenemsNamedException {
+		var cache = new EdgeCache();
+		var subscription = EdgeCache.Subscription.of(Set.of(CHANNEL2, CHANNEL1));
+
+		// not yet in cache
+		var result = cache.getChannelValues(subscription);
+		assertEquals(List.of(CHANNEL1, CHANNEL2), List.copyOf(result.a().keySet()));
+		assertEquals(JsonNull.INSTANCE, result.a().get(CHANNEL1));
+		assertTrue(result.b().isEmpty());
+
+		// new Channel-Address after first read
+		cache.updateCurrentData(buildData(1000L, CHANNEL1, "value1"));
+		result = cache.getChannelValues(subscription);
+		assertEquals("value1", result.a().get(CHANNEL1).getAsString());
+		assertEquals(JsonNull.INSTANCE, result.a().get(CHANNEL2));
+
+		// unrelated Channel-Address
+		cache.updateCurrentData(buildData(2000L, CHANNEL3, "value3"));
+		cache.updateCurrentData(buildData(3000L, CHANNEL1, "value1b"));
+		result = cache.getChannelValues(subscription);
+		assertEquals("value1b", result.a().get(CHANNEL1).getAsString());
+
+		// same Subscription on another EdgeCache, e.g. after reconnect of the Edge
+		var otherCache = new EdgeCache();
+		otherCache.updateCurrentData(buildData(1000L, CHANNEL2, "value2"));
+		result = otherCache.getChannelValues(subscription);
+		assertEquals(JsonNull.INSTANCE, result.a().get(CHANNEL1));
+		assertEquals("value2", result.a().get(CHANNEL2).getAsString());
+	}
+
+	@Test
+	public void testSequence() throws OpenemsNamedException {
+		var cache = new EdgeCache();
+		assertFalse(cache.isComplete());
+
+		// Sequence Channels are removed from the data
+		var data = buildData(1000L, CHANNEL1, "value1");
+		data.setSequence(1000L, new Sequence(1, TimestampedDataNotification.FULL_KEYFRAME));
+		cache.updateSequence(data.removeSequence().get());
+		assertEquals(Set.of(CHANNEL1), data.getData().columnKeySet());
+		assertTrue(cache.isComplete());
+		assertEquals(0, cache.getNumberOfGaps());
+
+		cache.updateSequence(new Sequence(2, TimestampedDataNotification.NO_KEYFRAME));
+		assertTrue(cache.isComplete());
+
+		// Lost message 3
+		cache.updateSequence(new Sequence(4, 0));
+		assertEquals(1, cache.getNumberOfGaps());
+		assertFalse(cache.isComplete());
+
+		// All shards received again
+		for (var shard = 1; shard < TimestampedDataNotification.KEYFRAME_SHARDS - 1; shard++) {
+			cache.updateSequence(new Sequence(4 + shard, shard));
+			assertFalse(cache.isComplete());
+		}
+		cache.updateSequence(new Sequence(3 + TimestampedDataNotification.KEYFRAME_SHARDS,
+				TimestampedDataNotification.KEYFRAME_SHARDS - 1));
+		assertTrue(cache.isComplete());
+		assertEquals(1, cache.getNumberOfGaps());
+
+		// Edge without sequence numbers
+		assertTrue(buildData(2000L, CHANNEL1, "value1").removeSequence().isEmpty());
+	}
+
 	private static TimestampedDataNotification buildData(long timestamp, String channel, String value)
 			throws OpenemsNamedException {
 		var data = new TreeMap<Long, Map<String, JsonElement>>();
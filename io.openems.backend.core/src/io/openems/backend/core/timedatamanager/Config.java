@@ -13,4 +13,10 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Timedata-IDs", description = "IDs of Timedata Services. Execution is going to be sorted in the order of the IDs.")
 	String[] timedata_ids() default {};
 
+	@AttributeDefinition(name = "Query-Cache Size", description = "Maximum number of values in the cache for historic queries. Zero disables the cache.")
+	int queryCacheSize() default 500_000;
+
+	@AttributeDefinition(name = "Max. concurrent queries per Edge", description = "Maximum number of concurrent historic queries per Edge to the Timedata Services. Identical queries are merged. Zero for no limit.")
+	int maxConcurrentQueriesPerEdge() default 2;
+
 }
\ No newline at end of file
@@ -0,0 +1,307 @@
+package io.openems.backend.core.timedatamanager;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.function.ThrowingBiFunction;
+import io.openems.common.function.ThrowingSupplier;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Caches results of historic queries of the {@link TimedataManagerImpl}.
+ *
+ * <p>
+ * Only completed periods are cached, i.e. periods that ended at least
+ * {@link #COMPLETE_AFTER} ago. For a query that reaches into the open period,
+ * the cached part is reused and only the remaining periods are queried again.
+ * Entries of an Edge are invalidated when it resends historic data. The
+ * Timedata services write resent data asynchronously, so the resent range is
+ * not cached again for {@link #MAX_WRITE_DELAY}.
+ *
+ * <p>
+ * The cache is bounded by the number of values, i.e. periods times Channels;
+ * least recently used entries are evicted first.
+ */
+class QueryCache {
+
+	/**
+	 * Data is considered complete this long after the end of its period. Covers
+	 * aggregated data that is sent after the period.
+	 */
+	protected static final Duration COMPLETE_AFTER = Duration.ofMinutes(10);
+
+	/**
+	 * Resent data is expected to be written by the Timedata services within this
+	 * duration.
+	 */
+	protected static final Duration MAX_WRITE_DELAY = Duration.ofMinutes(1);
+
+	protected static record Key(String method, String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+			Set<ChannelAddress> channels, long resolutionValue, ChronoUnit resolutionUnit) {
+
+		protected static Key of(String method, String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+				Set<ChannelAddress> channels, Resolution resolution) {
+			return new Key(method, edgeId, fromDate, toDate, Set.copyOf(channels), //
+					resolution == null ? 0 : resolution.getValue(), //
+					resolution == null ? null : resolution.getUnit());
+		}
+	}
+
+	/**
+	 * An immutable cache entry.
+	 *
+	 * @param value         the cached value
+	 * @param completeUntil the value is complete until this date, exclusive
+	 * @param weight        the number of values
+	 */
+	private static record Entry(Object value, ZonedDateTime completeUntil, int weight) {
+	}
+
+	/**
+	 * A range of resent data that might not be written yet.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param from   the start of the range in epoch milliseconds, inclusive
+	 * @param to     the end of the range in epoch milliseconds, inclusive
+	 * @param until  the range is pending until this date
+	 */
+	private static record PendingResend(String edgeId, long from, long to, ZonedDateTime until) {
+	}
+
+	private final long maxWeight;
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75F, true /* access-order */);
+	private long weight = 0;
+	// Incremented on invalidation; values of queries that ran meanwhile are not
+	// cached
+	private long generation = 0;
+	private final List<PendingResend> pendingResends = new ArrayList<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder partialHits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder invalidations = new LongAdder();
+
+	public QueryCache(long maxWeight) {
+		this.maxWeight = maxWeight;
+	}
+
+	/**
+	 * Gets a value that is only cached as a whole, i.e. if the queried range is
+	 * complete.
+	 *
+	 * @param <T>      the type of the value
+	 * @param key      the {@link Key}
+	 * @param now      the current date
+	 * @param weigher  gets the number of values
+	 * @param copier   creates a mutable copy of a value
+	 * @param supplier queries the value
+	 * @return the value
+	 * @throws OpenemsNamedException on error
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(Key key, ZonedDateTime now, ToIntFunction<T> weigher, UnaryOperator<T> copier,
+			ThrowingSupplier<T, OpenemsNamedException> supplier) throws OpenemsNamedException {
+		final var generation = this.getGeneration();
+		final var entry = this.getEntry(key);
+		if (entry != null) {
+			this.hits.increment();
+			return copier.apply((T) entry.value());
+		}
+		this.misses.increment();
+		final var value = supplier.get();
+		if (value != null && !key.toDate().isAfter(now.minus(COMPLETE_AFTER))) {
+			this.put(key, new Entry(copier.apply(value), key.toDate(), weigher.applyAsInt(value)), generation, now);
+		}
+		return value;
+	}
+
+	/**
+	 * Gets historic data per period. Completed periods are taken from the cache;
+	 * the remaining periods are queried.
+	 *
+	 * @param key        the {@link Key}
+	 * @param resolution the {@link Resolution}
+	 * @param now        the current date
+	 * @param query      queries the data for a range
+	 * @return the data; a mutable copy
+	 * @throws OpenemsNamedException on error
+	 */
+	@SuppressWarnings("unchecked")
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> getPerPeriod(Key key,
+			Resolution resolution, ZonedDateTime now, ThrowingBiFunction<ZonedDateTime, ZonedDateTime, //
+					SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>, OpenemsNamedException> query)
+			throws OpenemsNamedException {
+		final var generation = this.getGeneration();
+		final var entry = this.getEntry(key);
+		final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> cached = entry == null //
+				? new TreeMap<>() //
+				: (SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>) entry.value();
+		final var from = entry == null ? key.fromDate() : entry.completeUntil();
+
+		if (!from.isBefore(key.toDate())) {
+			this.hits.increment();
+			return copy(cached);
+		}
+		if (entry == null) {
+			this.misses.increment();
+		} else {
+			this.partialHits.increment();
+		}
+
+		final var tail = query.apply(from, key.toDate());
+		if (tail == null) {
+			return entry == null ? null : copy(cached);
+		}
+		final var result = copy(cached);
+		result.putAll(tail);
+
+		// Find completed periods
+		final var completeBefore = now.minus(COMPLETE_AFTER);
+		ZonedDateTime completeUntil = from;
+		for (var period : tail.keySet()) {
+			final var end = period.plus(resolution.getValue(), resolution.getUnit());
+			if (end.isAfter(completeBefore)) {
+				break;
+			}
+			completeUntil = end.isAfter(key.toDate()) ? key.toDate() : end;
+		}
+		if (completeUntil.isAfter(from)) {
+			final var complete = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+			var weight = 0;
+			for (var row : result.headMap(completeUntil).entrySet()) {
+				complete.put(row.getKey(), new TreeMap<>(row.getValue()));
+				weight += row.getValue().size();
+			}
+			this.put(key, new Entry(complete, completeUntil, weight), generation, now);
+		}
+		return result;
+	}
+
+	/**
+	 * Invalidates the entries of an Edge that overlap the given range. The range
+	 * is not cached again for {@link #MAX_WRITE_DELAY}.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param from   the start of the range in epoch milliseconds, inclusive
+	 * @param to     the end of the range in epoch milliseconds, inclusive
+	 * @param now    the current date
+	 */
+	public synchronized void invalidate(String edgeId, long from, long to, ZonedDateTime now) {
+		this.generation++;
+		this.pendingResends.add(new PendingResend(edgeId, from, to, now.plus(MAX_WRITE_DELAY)));
+		for (Iterator<Map.Entry<Key, Entry>> i = this.entries.entrySet().iterator(); i.hasNext();) {
+			final var e = i.next();
+			final var key = e.getKey();
+			if (key.edgeId().equals(edgeId) //
+					&& key.fromDate().toInstant().toEpochMilli() <= to //
+					&& e.getValue().completeUntil().toInstant().toEpochMilli() > from) {
+				this.weight -= e.getValue().weight();
+				i.remove();
+				this.invalidations.increment();
+			}
+		}
+	}
+
+	/**
+	 * Gets the debug metrics.
+	 *
+	 * @return a map of metric name to value
+	 */
+	public Map<String, Number> debugMetrics() {
+		final var result = new LinkedHashMap<String, Number>();
+		result.put("QueryCache/Hits", this.hits.sum());
+		result.put("QueryCache/PartialHits", this.partialHits.sum());
+		result.put("QueryCache/Misses", this.misses.sum());
+		result.put("QueryCache/Evictions", this.evictions.sum());
+		result.put("QueryCache/Invalidations", this.invalidations.sum());
+		synchronized (this) {
+			result.put("QueryCache/Entries", this.entries.size());
+			result.put("QueryCache/Values", this.weight);
+		}
+		return result;
+	}
+
+	private synchronized long getGeneration() {
+		return this.generation;
+	}
+
+	private synchronized Entry getEntry(Key key) {
+		return this.entries.get(key);
+	}
+
+	private synchronized void put(Key key, Entry entry, long generation, ZonedDateTime now) {
+		if (generation != this.generation || entry.weight() > this.maxWeight || this.isPending(key, entry, now)) {
+			return;
+		}
+		final var previous = this.entries.put(key, entry);
+		if (previous != null) {
+			this.weight -= previous.weight();
+		}
+		this.weight += entry.weight();
+
+		// Evict least recently used entries
+		for (var i = this.entries.values().iterator(); this.weight > this.maxWeight && i.hasNext();) {
+			final var eldest = i.next();
+			if (eldest == entry) {
+				continue;
+			}
+			this.weight -= eldest.weight();
+			i.remove();
+			this.evictions.increment();
+		}
+	}
+
+	/**
+	 * Checks if an entry overlaps resent data that might not be written yet.
+	 * Removes expired {@link PendingResend}s.
+	 *
+	 * @param key   the {@link Key}
+	 * @param entry the {@link Entry}
+	 * @param now   the current date
+	 * @return true if the entry must not be cached
+	 */
+	private boolean isPending(Key key, Entry entry, ZonedDateTime now) {
+		this.pendingResends.removeIf(r -> !r.until().isAfter(now));
+		final var from = key.fromDate().toInstant().toEpochMilli();
+		final var to = entry.completeUntil().toInstant().toEpochMilli();
+		for (var r : this.pendingResends) {
+			if (r.edgeId().equals(key.edgeId()) && from <= r.to() && to > r.from()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Creates a mutable copy of data per period.
+	 *
+	 * @param data the data
+	 * @return the copy
+	 */
+	protected static SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> copy(
+			SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> data) {
+		final var result = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+		for (var row : data.entrySet()) {
+			result.put(row.getKey(), new TreeMap<>(row.getValue()));
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,227 @@
+package io.openems.backend.core.timedatamanager;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingFunction;
+import io.openems.common.function.ThrowingSupplier;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Merges concurrent identical historic queries of the
+ * {@link TimedataManagerImpl} into one query to the Timedata services.
+ *
+ * <p>
+ * A query joins a query in flight if it has the same method, Edge, range and
+ * resolution and the Channels of the query in flight include its own Channels.
+ * All waiters get their own copy of the result, reduced to their Channels.
+ *
+ * <p>
+ * The number of concurrent queries per Edge is limited, so that a burst of
+ * requests cannot use up the connection pools of the Timedata services.
+ */
+class QueryCoalescer {
+
+	/** Queries that waited longer for a permit fail. */
+	private static final long QUEUE_TIMEOUT_SECONDS = 60;
+
+	protected static record Key(String method, String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+			long resolutionValue, ChronoUnit resolutionUnit) {
+
+		protected static Key of(String method, String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+				Resolution resolution) {
+			return new Key(method, edgeId, fromDate, toDate, //
+					resolution == null ? 0 : resolution.getValue(), //
+					resolution == null ? null : resolution.getUnit());
+		}
+	}
+
+	private static record Flight(Set<ChannelAddress> channels, CompletableFuture<Object> result) {
+	}
+
+	private final int maxConcurrentQueriesPerEdge;
+	private final Map<Key, List<Flight>> flights = new HashMap<>(); // guarded by itself
+	private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+	private final LongAdder queries = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+	private final LongAdder queued = new LongAdder();
+	private final LongAdder queueTime = new LongAdder();
+	private final AtomicLong maxQueueTime = new AtomicLong();
+
+	/**
+	 * Builds a {@link QueryCoalescer}.
+	 *
+	 * @param maxConcurrentQueriesPerEdge the maximum number of concurrent queries
+	 *                                    per Edge; zero or less for no limit
+	 */
+	public QueryCoalescer(int maxConcurrentQueriesPerEdge) {
+		this.maxConcurrentQueriesPerEdge = maxConcurrentQueriesPerEdge > 0 //
+				? maxConcurrentQueriesPerEdge //
+				: Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Executes a query or joins an identical query in flight.
+	 *
+	 * @param <T>       the type of the result
+	 * @param key       the {@link Key}
+	 * @param channels  the queried Channels
+	 * @param projector creates a copy of a result with only the given Channels
+	 * @param query     queries the Timedata services for the given Channels
+	 * @return the result; null if there is no result
+	 * @throws OpenemsNamedException on error
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T execute(Key key, Set<ChannelAddress> channels, BiFunction<T, Set<ChannelAddress>, T> projector,
+			ThrowingFunction<Set<ChannelAddress>, T, OpenemsNamedException> query) throws OpenemsNamedException {
+		final Flight flight;
+		final boolean isLeader;
+		synchronized (this.flights) {
+			final var inFlight = this.flights.computeIfAbsent(key, k -> new ArrayList<>());
+			final var joined = inFlight.stream() //
+					.filter(f -> f.channels().containsAll(channels)) //
+					.findFirst();
+			isLeader = joined.isEmpty();
+			if (isLeader) {
+				flight = new Flight(Set.copyOf(channels), new CompletableFuture<>());
+				inFlight.add(flight);
+			} else {
+				flight = joined.get();
+			}
+		}
+
+		if (isLeader) {
+			this.queries.increment();
+			try {
+				flight.result().complete(this.executeWithPermit(key.edgeId(), () -> query.apply(flight.channels())));
+			} catch (OpenemsNamedException | RuntimeException e) {
+				flight.result().completeExceptionally(e);
+			} finally {
+				synchronized (this.flights) {
+					final var inFlight = this.flights.get(key);
+					inFlight.remove(flight);
+					if (inFlight.isEmpty()) {
+						this.flights.remove(key);
+					}
+				}
+			}
+		} else {
+			this.coalesced.increment();
+		}
+
+		try {
+			final var result = (T) flight.result().get();
+			return result == null ? null : projector.apply(result, channels);
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OpenemsException("Interrupted while waiting for query result");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof OpenemsNamedException one) {
+				throw one;
+			}
+			if (e.getCause() instanceof RuntimeException re) {
+				throw re;
+			}
+			throw new OpenemsException(e.getCause().getMessage());
+		}
+	}
+
+	private Object executeWithPermit(String edgeId, ThrowingSupplier<Object, OpenemsNamedException> query)
+			throws OpenemsNamedException {
+		final var semaphore = this.permits.computeIfAbsent(edgeId,
+				id -> new Semaphore(this.maxConcurrentQueriesPerEdge, true /* fair */));
+		final var start = System.nanoTime();
+		try {
+			if (!semaphore.tryAcquire(QUEUE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				throw new OpenemsException("Too many concurrent historic queries for Edge [" + edgeId + "]");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OpenemsException("Interrupted while waiting for historic query of Edge [" + edgeId + "]");
+		} finally {
+			final var waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			this.queued.increment();
+			this.queueTime.add(waited);
+			this.maxQueueTime.accumulateAndGet(waited, Math::max);
+		}
+		try {
+			return query.get();
+		} finally {
+			semaphore.release();
+		}
+	}
+
+	/**
+	 * Gets the debug metrics. Queue times are reset on every call.
+	 *
+	 * @return a map of metric name to value
+	 */
+	public Map<String, Number> debugMetrics() {
+		final var result = new LinkedHashMap<String, Number>();
+		result.put("QueryCoalescer/Queries", this.queries.sum());
+		result.put("QueryCoalescer/Coalesced", this.coalesced.sum());
+		final var queued = this.queued.sumThenReset();
+		final var queueTime = this.queueTime.sumThenReset();
+		result.put("QueryCoalescer/QueueTimeAvg", queued == 0 ? 0 : queueTime / queued);
+		result.put("QueryCoalescer/QueueTimeMax", this.maxQueueTime.getAndSet(0));
+		return result;
+	}
+
+	/**
+	 * Copies values per Channel, reduced to the given Channels.
+	 *
+	 * @param data     the data
+	 * @param channels the Channels
+	 * @return the copy
+	 */
+	protected static SortedMap<ChannelAddress, JsonElement> project(SortedMap<ChannelAddress, JsonElement> data,
+			Set<ChannelAddress> channels) {
+		final var result = new TreeMap<ChannelAddress, JsonElement>();
+		for (var entry : data.entrySet()) {
+			if (channels.contains(entry.getKey())) {
+				result.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Copies values per period and Channel, reduced to the given Channels.
+	 *
+	 * @param data     the data
+	 * @param channels the Channels
+	 * @return the copy
+	 */
+	protected static SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> projectPerPeriod(
+			SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> data, Set<ChannelAddress> channels) {
+		final var result = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+		for (var row : data.entrySet()) {
+			result.put(row.getKey(), project(row.getValue(), channels));
+		}
+		return result;
+	}
+
+}
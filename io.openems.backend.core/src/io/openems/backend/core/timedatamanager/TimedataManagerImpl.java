@@ -4,9 +4,12 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -23,8 +26,11 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
 
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
+import io.openems.backend.common.debugcycle.DebugLoggable;
+import io.openems.backend.common.edgewebsocket.EdgeWebsocket;
 import io.openems.backend.common.timedata.InternalTimedataException;
 import io.openems.backend.common.timedata.Timedata;
 import io.openems.backend.common.timedata.TimedataManager;
@@ -44,7 +50,7 @@ import io.openems.common.types.ChannelAddress;
 		name = "Core.TimedataManager", //
 		immediate = true //
 )
-public class TimedataManagerImpl extends AbstractOpenemsBackendComponent implements TimedataManager {
+public class TimedataManagerImpl extends AbstractOpenemsBackendComponent implements TimedataManager, DebugLoggable {
 
 	private final Logger log = LoggerFactory.getLogger(TimedataManagerImpl.class);
 
@@ -53,6 +59,15 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	private final AtomicReference<ImmutableSortedSet<Timedata>> timedatas = new AtomicReference<>(
 			ImmutableSortedSet.of());
 
+	@Reference(//
+			policy = ReferencePolicy.DYNAMIC, //
+			policyOption = ReferencePolicyOption.GREEDY, //
+			cardinality = ReferenceCardinality.OPTIONAL)
+	protected volatile EdgeWebsocket edgeWebsocket;
+
+	private volatile QueryCache queryCache = null;
+	private volatile QueryCoalescer queryCoalescer = new QueryCoalescer(0);
+
 	@Reference(//
 			policy = ReferencePolicy.DYNAMIC, //
 			policyOption = ReferencePolicyOption.GREEDY, //
@@ -116,6 +131,10 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	public void activate(Config config) {
 		this._configTimedataIds = Arrays.asList(config.timedata_ids());
 		this.updateSortedTimedatas();
+		this.queryCache = config.queryCacheSize() > 0 //
+				? new QueryCache(config.queryCacheSize()) //
+				: null;
+		this.queryCoalescer = new QueryCoalescer(config.maxConcurrentQueriesPerEdge());
 	}
 
 	/**
@@ -129,8 +148,18 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException {
-		final var value = this.firstOf(t -> t.queryHistoricData(edgeId, fromDate, toDate, channels, resolution));
+		final var queryCache = this.queryCache;
+		final var value = queryCache == null //
+				? this.queryHistoricDataOnce(edgeId, fromDate, toDate, channels, resolution) //
+				: queryCache.getPerPeriod(
+						QueryCache.Key.of("queryHistoricData", edgeId, fromDate, toDate, channels, resolution),
+						resolution, ZonedDateTime.now(fromDate.getZone()),
+						(from, to) -> this.queryHistoricDataOnce(edgeId, from, to, channels, resolution));
 		if (value != null) {
+			if (queryCache != null) {
+				// Result of the QueryCache is a mutable copy
+				this.fillCurrentPeriod(edgeId, value, resolution);
+			}
 			return value;
 		}
 		// no result
@@ -139,6 +168,15 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 		throw new OpenemsException("Unable to query historic data. Result is null");
 	}
 
+	private SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricDataOnce(String edgeId,
+			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
+			throws OpenemsNamedException {
+		return this.queryCoalescer.execute(
+				QueryCoalescer.Key.of("queryHistoricData", edgeId, fromDate, toDate, resolution), channels,
+				QueryCoalescer::projectPerPeriod,
+				c -> this.firstOf(t -> t.queryHistoricData(edgeId, fromDate, toDate, c, resolution)));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -149,7 +187,12 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	@Override
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
-		final var value = this.firstOf(t -> t.queryHistoricEnergy(edgeId, fromDate, toDate, channels));
+		final var queryCache = this.queryCache;
+		final var value = queryCache == null //
+				? this.queryHistoricEnergyOnce(edgeId, fromDate, toDate, channels) //
+				: queryCache.get(QueryCache.Key.of("queryHistoricEnergy", edgeId, fromDate, toDate, channels, null),
+						ZonedDateTime.now(fromDate.getZone()), SortedMap::size, TreeMap::new,
+						() -> this.queryHistoricEnergyOnce(edgeId, fromDate, toDate, channels));
 		if (value != null) {
 			return value;
 		}
@@ -159,6 +202,13 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 		throw new OpenemsException("Unable to query historic data. Result is null");
 	}
 
+	private SortedMap<ChannelAddress, JsonElement> queryHistoricEnergyOnce(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
+		return this.queryCoalescer.execute(
+				QueryCoalescer.Key.of("queryHistoricEnergy", edgeId, fromDate, toDate, null), channels,
+				QueryCoalescer::project, c -> this.firstOf(t -> t.queryHistoricEnergy(edgeId, fromDate, toDate, c)));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -170,8 +220,14 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException {
-		final var value = this
-				.firstOf(t -> t.queryHistoricEnergyPerPeriod(edgeId, fromDate, toDate, channels, resolution));
+		final var queryCache = this.queryCache;
+		final var value = queryCache == null //
+				? this.queryHistoricEnergyPerPeriodOnce(edgeId, fromDate, toDate, channels, resolution) //
+				: queryCache.get(
+						QueryCache.Key.of("queryHistoricEnergyPerPeriod", edgeId, fromDate, toDate, channels,
+								resolution),
+						ZonedDateTime.now(fromDate.getZone()), v -> v.size() * channels.size(), QueryCache::copy,
+						() -> this.queryHistoricEnergyPerPeriodOnce(edgeId, fromDate, toDate, channels, resolution));
 		if (value != null) {
 			return value;
 		}
@@ -181,6 +237,53 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 		throw new OpenemsException("Unable to query historic energy per period. Result is null");
 	}
 
+	private SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriodOnce(
+			String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
+			Resolution resolution) throws OpenemsNamedException {
+		return this.queryCoalescer.execute(
+				QueryCoalescer.Key.of("queryHistoricEnergyPerPeriod", edgeId, fromDate, toDate, resolution), channels,
+				QueryCoalescer::projectPerPeriod,
+				c -> this.firstOf(t -> t.queryHistoricEnergyPerPeriod(edgeId, fromDate, toDate, c, resolution)));
+	}
+
+	/**
+	 * Fills missing values of the current period with the current values of the
+	 * Edge, i.e. for data that was not yet written by the Timedata services.
+	 *
+	 * @param edgeId     the Edge-ID
+	 * @param data       the result of a historic data query
+	 * @param resolution the {@link Resolution}
+	 */
+	private void fillCurrentPeriod(String edgeId, SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> data,
+			Resolution resolution) {
+		final var edgeWebsocket = this.edgeWebsocket;
+		if (edgeWebsocket == null || data.isEmpty()) {
+			return;
+		}
+		final var now = ZonedDateTime.now(data.firstKey().getZone());
+		final var current = data.headMap(now.plusNanos(1));
+		if (current.isEmpty()) {
+			return;
+		}
+		final var period = current.lastKey();
+		if (!period.plus(resolution.getValue(), resolution.getUnit()).isAfter(now)) {
+			return;
+		}
+		final var values = data.get(period);
+		final var missing = values.entrySet().stream() //
+				.filter(e -> e.getValue() == null || e.getValue().isJsonNull()) //
+				.map(Map.Entry::getKey) //
+				.collect(Collectors.toSet());
+		if (missing.isEmpty()) {
+			return;
+		}
+		edgeWebsocket.getChannelValues(edgeId, missing).forEach((channel, value) -> {
+			if (value != null && !value.isJsonNull()) {
+				values.put(channel, value);
+			}
+		});
+	}
+
 	@Override
 	public SortedMap<ChannelAddress, JsonElement> queryFirstValueBefore(String edgeId, ZonedDateTime date,
 			Set<ChannelAddress> channels) throws OpenemsNamedException {
@@ -231,6 +334,14 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	@Override
 	public void write(String edgeId, ResendDataNotification data) {
 		this.write(edgeId, data, Timedata::write);
+
+		// Backfilled data changes the result of cached queries. It is written
+		// asynchronously, so the range is not cached again until it is written.
+		final var queryCache = this.queryCache;
+		final var timestamps = data.getData().rowKeySet();
+		if (queryCache != null && !timestamps.isEmpty()) {
+			queryCache.invalidate(edgeId, timestamps.first(), timestamps.last(), ZonedDateTime.now());
+		}
 	}
 
 	private <T extends AbstractDataNotification> void write(//
@@ -247,4 +358,22 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 		}
 	}
 
+	@Override
+	public String debugLog() {
+		return null;
+	}
+
+	@Override
+	public Map<String, JsonElement> debugMetrics() {
+		final var metrics = new HashMap<String, Number>(this.queryCoalescer.debugMetrics());
+		final var queryCache = this.queryCache;
+		if (queryCache != null) {
+			metrics.putAll(queryCache.debugMetrics());
+		}
+		return metrics.entrySet().stream() //
+				.collect(Collectors.toUnmodifiableMap(//
+						e -> this.getName() + "/" + e.getKey(), //
+						e -> new JsonPrimitive(e.getValue())));
+	}
+
 }
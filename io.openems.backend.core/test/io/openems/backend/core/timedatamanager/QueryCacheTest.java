@@ -0,0 +1,146 @@
+package io.openems.backend.core.timedatamanager;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+public class QueryCacheTest {
+
+	private static final ZonedDateTime START = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+	private static final ChannelAddress POWER = new ChannelAddress("meter0", "ActivePower");
+	private static final Resolution RESOLUTION = new Resolution(1, ChronoUnit.HOURS);
+
+	private static SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> query(List<ZonedDateTime> queries,
+			ZonedDateTime from, ZonedDateTime to) {
+		queries.add(from);
+		final var result = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+		for (var date = from; date.isBefore(to); date = date.plusHours(1)) {
+			final var values = new TreeMap<ChannelAddress, JsonElement>();
+			values.put(POWER, new JsonPrimitive(date.getHour()));
+			result.put(date, values);
+		}
+		return result;
+	}
+
+	@Test
+	public void testGetPerPeriod() throws OpenemsNamedException {
+		final var sut = new QueryCache(1000);
+		final var key = QueryCache.Key.of("queryHistoricData", "edge0", START, START.plusDays(1), Set.of(POWER),
+				RESOLUTION);
+		final var queries = new ArrayList<ZonedDateTime>();
+
+		// Miss: periods until 10:00 are complete at 11:05
+		var result = sut.getPerPeriod(key, RESOLUTION, START.plusHours(11).plusMinutes(5),
+				(from, to) -> query(queries, from, to));
+		assertEquals(24, result.size());
+		assertEquals(List.of(START), queries);
+
+		// Partial hit: only the open periods are queried
+		result = sut.getPerPeriod(key, RESOLUTION, START.plusHours(12), (from, to) -> query(queries, from, to));
+		assertEquals(24, result.size());
+		assertEquals(START.plusHours(10), queries.get(1));
+		assertEquals(5, result.get(START.plusHours(5)).get(POWER).getAsInt());
+
+		// Results are copies
+		result.clear();
+
+		// Hit after the end of the range
+		result = sut.getPerPeriod(key, RESOLUTION, START.plusDays(2), (from, to) -> query(queries, from, to));
+		result = sut.getPerPeriod(key, RESOLUTION, START.plusDays(2), (from, to) -> query(queries, from, to));
+		assertEquals(24, result.size());
+		assertEquals(3, queries.size());
+		assertEquals(1L, sut.debugMetrics().get("QueryCache/Hits"));
+
+		// Resend invalidates the entry
+		sut.invalidate("edge1", START.toInstant().toEpochMilli(), START.toInstant().toEpochMilli(),
+				START.plusDays(2));
+		sut.invalidate("edge0", START.toInstant().toEpochMilli(), START.toInstant().toEpochMilli(),
+				START.plusDays(2));
+		sut.getPerPeriod(key, RESOLUTION, START.plusDays(2), (from, to) -> query(queries, from, to));
+		assertEquals(START, queries.get(3));
+	}
+
+	@Test
+	public void testInvalidateWithPendingResend() throws OpenemsNamedException {
+		final var sut = new QueryCache(1000);
+		final var key = QueryCache.Key.of("queryHistoricData", "edge0", START, START.plusDays(1), Set.of(POWER),
+				RESOLUTION);
+		final var other = QueryCache.Key.of("queryHistoricData", "edge0", START.plusDays(1), START.plusDays(2),
+				Set.of(POWER), RESOLUTION);
+		final var queries = new ArrayList<ZonedDateTime>();
+		final var now = START.plusDays(3);
+		sut.getPerPeriod(key, RESOLUTION, now, (from, to) -> query(queries, from, to));
+		assertEquals(1, queries.size());
+
+		// Resend is handed to the Timedata services, but not yet written
+		final var resent = START.plusHours(5).toInstant().toEpochMilli();
+		sut.invalidate("edge0", resent, resent, now);
+
+		// Query between invalidation and write must not re-cache the stale range
+		sut.getPerPeriod(key, RESOLUTION, now.plusSeconds(1), (from, to) -> query(queries, from, to));
+		sut.getPerPeriod(key, RESOLUTION, now.plusSeconds(2), (from, to) -> query(queries, from, to));
+		assertEquals(List.of(START, START, START), queries);
+
+		// Other ranges are cached
+		sut.getPerPeriod(other, RESOLUTION, now.plusSeconds(3), (from, to) -> query(queries, from, to));
+		sut.getPerPeriod(other, RESOLUTION, now.plusSeconds(4), (from, to) -> query(queries, from, to));
+		assertEquals(4, queries.size());
+
+		// Cached again after the resend was written
+		final var written = now.plus(QueryCache.MAX_WRITE_DELAY);
+		sut.getPerPeriod(key, RESOLUTION, written, (from, to) -> query(queries, from, to));
+		sut.getPerPeriod(key, RESOLUTION, written, (from, to) -> query(queries, from, to));
+		assertEquals(5, queries.size());
+	}
+
+	@Test
+	public void testEviction() throws OpenemsNamedException {
+		final var sut = new QueryCache(30);
+		final var queries = new ArrayList<ZonedDateTime>();
+		for (var day = 0; day < 3; day++) {
+			final var key = QueryCache.Key.of("queryHistoricData", "edge0", START.plusDays(day),
+					START.plusDays(day + 1), Set.of(POWER), RESOLUTION);
+			sut.getPerPeriod(key, RESOLUTION, START.plusDays(10), (from, to) -> query(queries, from, to));
+		}
+		final var metrics = sut.debugMetrics();
+		assertEquals(2L, metrics.get("QueryCache/Evictions"));
+		assertEquals(24L, metrics.get("QueryCache/Values"));
+	}
+
+	@Test
+	public void testGet() throws OpenemsNamedException {
+		final var sut = new QueryCache(1000);
+		final var now = START.plusDays(1);
+		final var open = QueryCache.Key.of("queryHistoricEnergy", "edge0", START, now, Set.of(POWER), null);
+		final var complete = QueryCache.Key.of("queryHistoricEnergy", "edge0", START, now.minusHours(1),
+				Set.of(POWER), null);
+		final var queries = new ArrayList<ZonedDateTime>();
+		for (var i = 0; i < 2; i++) {
+			for (var key : List.of(open, complete)) {
+				sut.get(key, now, SortedMap::size, TreeMap::new, () -> {
+					queries.add(key.toDate());
+					return new TreeMap<ChannelAddress, JsonElement>();
+				});
+			}
+		}
+		// Open range is queried every time
+		assertEquals(List.of(now, now.minusHours(1), now), queries);
+	}
+
+}
@@ -0,0 +1,96 @@
+package io.openems.backend.core.timedatamanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+
+public class QueryCoalescerTest {
+
+	private static final ZonedDateTime START = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+	private static final ChannelAddress POWER = new ChannelAddress("meter0", "ActivePower");
+	private static final ChannelAddress ENERGY = new ChannelAddress("meter0", "ActiveProductionEnergy");
+	private static final QueryCoalescer.Key KEY = QueryCoalescer.Key.of("queryHistoricEnergy", "edge0", START,
+			START.plusDays(1), null);
+
+	private static SortedMap<ChannelAddress, JsonElement> result(Set<ChannelAddress> channels) {
+		final var result = new TreeMap<ChannelAddress, JsonElement>();
+		channels.forEach(c -> result.put(c, new JsonPrimitive(1)));
+		return result;
+	}
+
+	@Test
+	public void testCoalesce() throws Exception {
+		final var sut = new QueryCoalescer(2);
+		final var queries = new AtomicInteger();
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+
+		final var leader = CompletableFuture.supplyAsync(() -> {
+			try {
+				return sut.execute(KEY, Set.of(POWER, ENERGY), QueryCoalescer::project, channels -> {
+					queries.incrementAndGet();
+					started.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new RuntimeException(e);
+					}
+					return result(channels);
+				});
+			} catch (OpenemsNamedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		started.await();
+
+		// Subset of the Channels joins the query in flight
+		final var follower = CompletableFuture.supplyAsync(() -> {
+			try {
+				return sut.execute(KEY, Set.of(POWER), QueryCoalescer::project, channels -> {
+					queries.incrementAndGet();
+					return result(channels);
+				});
+			} catch (OpenemsNamedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		while (sut.debugMetrics().get("QueryCoalescer/Coalesced").longValue() == 0) {
+			Thread.sleep(1);
+		}
+		release.countDown();
+
+		assertEquals(Set.of(POWER, ENERGY), leader.get().keySet());
+		assertEquals(Set.of(POWER), follower.get().keySet());
+		assertEquals(1, queries.get());
+
+		// Not in flight anymore
+		sut.execute(KEY, Set.of(POWER), QueryCoalescer::project, QueryCoalescerTest::result);
+		assertEquals(2L, sut.debugMetrics().get("QueryCoalescer/Queries"));
+	}
+
+	@Test
+	public void testError() {
+		final var sut = new QueryCoalescer(1);
+		assertThrows(OpenemsException.class, () -> sut.execute(KEY, Set.of(POWER), QueryCoalescer::project, c -> {
+			throw new OpenemsException("failed");
+		}));
+	}
+
+}
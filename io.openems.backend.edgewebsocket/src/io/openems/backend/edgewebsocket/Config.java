@@ -14,5 +14,20 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Number of Threads", description = "Pool-Size: the number of threads dedicated to handle the tasks")
 	int poolSize() default 10;
 
+	@AttributeDefinition(name = "Binary Data Format", description = "Accept the binary, dictionary-encoded format for data notifications if the Edge announces it")
+	boolean binaryDataFormat() default true;
+
+	@AttributeDefinition(name = "Compression", description = "Negotiate 'permessage-deflate' with the Edges")
+	boolean deflate() default true;
+
+	@AttributeDefinition(name = "Compression Threshold", description = "Messages smaller than this number of bytes are sent uncompressed")
+	int deflateThreshold() default 256;
+
+	@AttributeDefinition(name = "Compression Level", description = "Deflate compression level from 1 (fastest) to 9 (smallest)")
+	int deflateLevel() default 6;
+
+	@AttributeDefinition(name = "Compression Context Takeover", description = "Keep the compression context between messages sent to an Edge. Compresses better, but keeps a compressor per connection.")
+	boolean deflateContextTakeover() default false;
+
 	String webconsole_configurationFactory_nameHint() default "Edge Websocket";
 }
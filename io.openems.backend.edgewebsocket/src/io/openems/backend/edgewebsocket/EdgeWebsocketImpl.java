@@ -50,6 +50,7 @@ import io.openems.common.jsonrpc.request.AuthenticatedRpcRequest;
 import io.openems.common.jsonrpc.request.SubscribeSystemLogRequest;
 import io.openems.common.jsonrpc.response.AuthenticatedRpcResponse;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.websocket.DeflateExtension;
 
 @Designate(ocd = Config.class, factory = false)
 @Component(//
@@ -110,7 +111,12 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent
 	 */
 	private synchronized void startServer() {
 		if (this.server == null) {
-			this.server = new WebsocketServer(this, this.getName(), this.config.port(), this.config.poolSize());
+			final var deflate = this.config.deflate() //
+					? new DeflateExtension.Settings(this.config.deflateThreshold(), this.config.deflateLevel(),
+							this.config.deflateContextTakeover()) //
+					: null;
+			this.server = new WebsocketServer(this, this.getName(), this.config.port(), this.config.poolSize(),
+					deflate, this.config.binaryDataFormat());
 			this.server.start();
 		}
 	}
@@ -1,14 +1,11 @@
 package io.openems.backend.edgewebsocket;
 
-import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonElement;
-
 import io.openems.backend.common.metadata.Edge.Events;
 import io.openems.common.channel.Level;
 import io.openems.common.event.EventBuilder;
@@ -24,7 +21,6 @@ import io.openems.common.jsonrpc.notification.ResendDataNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.SemanticVersion;
-import io.openems.common.utils.JsonUtils;
 
 public class OnNotification implements io.openems.common.websocket.OnNotification {
 
@@ -120,6 +116,8 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 		try {
 			// TODO java 21 switch case with type
 			if (message instanceof TimestampedDataNotification timestampNotification) {
+				// Sequence Channels are not stored
+				timestampNotification.removeSequence().ifPresent(wsData.edgeCache::updateSequence);
 				wsData.edgeCache.updateCurrentData(timestampNotification);
 				this.parent.timedataManager.write(edgeId, timestampNotification);
 			} else if (message instanceof AggregatedDataNotification aggregatedNotification) {
@@ -137,18 +135,16 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 
 		// Read some specific channels
 		var edge = this.parent.metadata.getEdgeOrError(edgeId);
-		for (Entry<String, JsonElement> entry : message.getParams().entrySet()) {
-			var d = JsonUtils.getAsJsonObject(entry.getValue());
-
+		for (var d : message.getData().rowMap().values()) {
 			// set specific Edge values
-			if (d.has("_sum/State") && d.get("_sum/State").isJsonPrimitive()) {
-				var sumState = Level.fromJson(d, "_sum/State").orElse(Level.FAULT);
-				edge.setSumState(sumState);
+			var sumState = d.get("_sum/State");
+			if (sumState != null && sumState.isJsonPrimitive()) {
+				edge.setSumState(Level.fromJson(sumState).orElse(Level.FAULT));
 			}
 
-			if (d.has("_meta/Version") && d.get("_meta/Version").isJsonPrimitive()) {
-				var version = JsonUtils.getAsPrimitive(d, "_meta/Version").getAsString();
-				edge.setVersion(SemanticVersion.fromString(version));
+			var version = d.get("_meta/Version");
+			if (version != null && version.isJsonPrimitive()) {
+				edge.setVersion(SemanticVersion.fromString(version.getAsString()));
 			}
 
 		}
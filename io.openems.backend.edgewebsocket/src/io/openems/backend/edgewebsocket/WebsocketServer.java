@@ -1,5 +1,6 @@
 package io.openems.backend.edgewebsocket;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -14,6 +15,7 @@ import com.google.gson.JsonElement;
 
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.websocket.AbstractWebsocketServer;
+import io.openems.common.websocket.DeflateExtension;
 
 public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 
@@ -23,10 +25,13 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 	private final OnNotification onNotification;
 	private final OnError onError;
 	private final OnClose onClose;
+	private final boolean binaryDataFormat;
 
-	public WebsocketServer(EdgeWebsocketImpl parent, String name, int port, int poolSize) {
-		super(name, port, poolSize);
+	public WebsocketServer(EdgeWebsocketImpl parent, String name, int port, int poolSize,
+			DeflateExtension.Settings deflate, boolean binaryDataFormat) {
+		super(name, port, poolSize, deflate);
 		this.parent = parent;
+		this.binaryDataFormat = binaryDataFormat;
 		this.onOpen = new OnOpen(parent);
 		this.onRequest = new OnRequest(//
 				() -> parent.appCenterMetadata, //
@@ -53,6 +58,16 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 				ws -> ws.getAttachment() != null && ((WsData) ws.getAttachment()).getEdgeId().equals(edgeIdOpt));
 	}
 
+	@Override
+	protected boolean isBinaryDataFormatEnabled() {
+		return this.binaryDataFormat;
+	}
+
+	@Override
+	protected boolean isDataSequenceEnabled() {
+		return true;
+	}
+
 	@Override
 	protected OnOpen getOnOpen() {
 		return this.onOpen;
@@ -93,6 +108,24 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 		this.parent.logError(log, message);
 	}
 
+	@Override
+	public Map<String, Number> debugMetrics() {
+		final var metrics = super.debugMetrics();
+		var gaps = 0L;
+		var incomplete = 0;
+		for (var ws : this.getConnections()) {
+			if (ws.getAttachment() instanceof WsData wsData) {
+				gaps += wsData.edgeCache.getNumberOfGaps();
+				if (!wsData.edgeCache.isComplete()) {
+					incomplete++;
+				}
+			}
+		}
+		metrics.put("DataSequenceGaps", gaps);
+		metrics.put("IncompleteEdgeCaches", incomplete);
+		return metrics;
+	}
+
 	/**
 	 * Gets the current cached date of the given edge and given channels.
 	 * 
@@ -33,6 +33,9 @@ public @interface Config {
 	@AttributeDefinition(name = "Number of Threads", description = "Pool-Size: the number of threads dedicated to handle the tasks")
 	int poolSize() default 10;
 
+	@AttributeDefinition(name = "Use Rollups", description = "Reads aligned queries from hourly and daily rollups; creates them if not in read-only mode")
+	boolean useRollups() default false;
+
 	String webconsole_configurationFactory_nameHint() default "Timedata.TimescaleDB";
 
 }
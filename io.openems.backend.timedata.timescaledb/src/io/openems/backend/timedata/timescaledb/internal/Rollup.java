@@ -0,0 +1,131 @@
+package io.openems.backend.timedata.timescaledb.internal;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+import io.openems.common.timedata.Resolution;
+
+/**
+ * Aggregate tables of the raw data, from fine to coarse.
+ *
+ * <p>
+ * Every rollup is a continuous aggregate of the previous one with the same
+ * columns as the 5-minute aggregate, i.e. the {@link Type#aggregateFunctions}.
+ * Hourly and daily rollups are 'materialized only'; the part that is not yet
+ * materialized has to be read from {@link #FIVE_MINUTES}. They are created by
+ * {@link RollupMigration}.
+ *
+ * <p>
+ * Note that 'avg' of a coarser rollup is the unweighted average of the 'avg'
+ * of its source buckets, i.e. every 5-minute bucket has the same weight
+ * independent of its number of raw values.
+ */
+public enum Rollup {
+	FIVE_MINUTES("5m", Duration.ofMinutes(5), null, null), //
+	HOUR("1h", Duration.ofHours(1), Duration.ofHours(2), Duration.ofHours(1)), //
+	DAY("1d", Duration.ofDays(1), Duration.ofDays(1), Duration.ofHours(1)), //
+	;
+
+	public final String tableSuffix;
+	public final Duration bucket;
+	/**
+	 * The 'end_offset' of the refresh policy; null for real-time aggregates.
+	 */
+	public final Duration endOffset;
+	/**
+	 * The 'schedule_interval' of the refresh policy; null for real-time
+	 * aggregates.
+	 */
+	public final Duration scheduleInterval;
+
+	private Rollup(String tableSuffix, Duration bucket, Duration endOffset, Duration scheduleInterval) {
+		this.tableSuffix = tableSuffix;
+		this.bucket = bucket;
+		this.endOffset = endOffset;
+		this.scheduleInterval = scheduleInterval;
+	}
+
+	/**
+	 * Gets the {@link Rollup} this rollup is aggregated from.
+	 *
+	 * @return the source {@link Rollup}; null for {@link #FIVE_MINUTES}
+	 */
+	public Rollup getSource() {
+		return this.ordinal() == 0 ? null : Rollup.values()[this.ordinal() - 1];
+	}
+
+	/**
+	 * Gets the date until which this rollup is materialized. The refresh policy
+	 * only materializes buckets that ended at least 'end_offset' ago, so the
+	 * latest materialized bucket is complete.
+	 *
+	 * @param lastBucket the start of the latest materialized bucket; null if
+	 *                   nothing is materialized yet
+	 * @return the end of the latest bucket; null if nothing is materialized
+	 */
+	public ZonedDateTime getCompleteUntil(ZonedDateTime lastBucket) {
+		if (lastBucket == null) {
+			return null;
+		}
+		return lastBucket.plus(this.bucket);
+	}
+
+	/**
+	 * Checks if this rollup can answer a query without mixing data outside of
+	 * the periods, i.e. the range and all periods are aligned to its buckets.
+	 *
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param resolution the {@link Resolution}; null for a single period
+	 * @return true if this rollup can be used
+	 */
+	public boolean isAligned(ZonedDateTime fromDate, ZonedDateTime toDate, Resolution resolution) {
+		if (this == FIVE_MINUTES) {
+			// Finest rollup; answers every query as before
+			return true;
+		}
+		var bucketSeconds = this.bucket.toSeconds();
+		if (fromDate.toEpochSecond() % bucketSeconds != 0 //
+				|| toDate.toEpochSecond() % bucketSeconds != 0 //
+				|| fromDate.getOffset().getTotalSeconds() % bucketSeconds != 0 //
+				|| toDate.getOffset().getTotalSeconds() % bucketSeconds != 0) {
+			return false;
+		}
+		if (resolution == null) {
+			return true;
+		}
+		switch (resolution.getUnit()) {
+		case MONTHS:
+		case YEARS:
+			// Periods start at midnight
+			return Duration.ofDays(1).toSeconds() % bucketSeconds == 0;
+		case WEEKS:
+		case DAYS:
+		case HALF_DAYS:
+		case HOURS:
+		case MINUTES:
+			return resolution.getUnit().getDuration().toSeconds() * resolution.getValue() % bucketSeconds == 0;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Selects the coarsest {@link Rollup} that is aligned to the query.
+	 *
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param resolution the {@link Resolution}; null for a single period
+	 * @return the {@link Rollup}
+	 */
+	public static Rollup select(ZonedDateTime fromDate, ZonedDateTime toDate, Resolution resolution) {
+		var rollups = Rollup.values();
+		for (var i = rollups.length - 1; i > 0; i--) {
+			if (rollups[i].isAligned(fromDate, toDate, resolution)) {
+				return rollups[i];
+			}
+		}
+		return FIVE_MINUTES;
+	}
+
+}
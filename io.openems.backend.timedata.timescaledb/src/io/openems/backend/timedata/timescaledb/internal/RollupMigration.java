@@ -0,0 +1,103 @@
+package io.openems.backend.timedata.timescaledb.internal;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Creates the hourly and daily {@link Rollup} continuous aggregates and their
+ * refresh policies on an existing database.
+ *
+ * <p>
+ * All statements are idempotent, so the migration can be applied on every
+ * start. The views are created 'WITH NO DATA'; the refresh policies
+ * materialize the history in the background.
+ */
+public class RollupMigration {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RollupMigration.class);
+
+	private RollupMigration() {
+	}
+
+	/**
+	 * Applies the migration. Errors are logged; queries fall back to the 5-minute
+	 * aggregate for every {@link Rollup} that is not available.
+	 *
+	 * @param dataSource the {@link HikariDataSource}
+	 */
+	public static void apply(HikariDataSource dataSource) {
+		try (var con = dataSource.getConnection(); //
+				var st = con.createStatement()) {
+			for (var sql : statements()) {
+				st.execute(sql);
+			}
+			LOG.info("Applied Rollup migration");
+		} catch (SQLException e) {
+			LOG.warn("Unable to apply Rollup migration: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Generates the SQL of the migration, e.g. for manual setup of a read-only
+	 * instance.
+	 *
+	 * @return the SQL
+	 */
+	public static String generate() {
+		return statements().stream() //
+				.map(s -> s + ";\n\n") //
+				.collect(Collectors.joining());
+	}
+
+	private static List<String> statements() {
+		var result = new ArrayList<String>();
+		for (var type : Type.values()) {
+			for (var priority : Priority.values()) {
+				for (var rollup : Rollup.values()) {
+					if (rollup.getSource() != null) {
+						result.add(createRollupTable(type, priority, rollup));
+						result.add(addRollupPolicy(type, priority, rollup));
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private static String createRollupTable(Type type, Priority priority, Rollup rollup) {
+		return "CREATE MATERIALIZED VIEW IF NOT EXISTS " + type.getRollupTableName(priority, rollup) //
+				+ "(time, edge_channel_id, " //
+				+ Stream.of(type.aggregateFunctions) //
+						.map(s -> "\"" + s + "\"") //
+						.collect(Collectors.joining(", "))
+				+ ")\n" //
+				+ "  WITH (timescaledb.continuous, timescaledb.materialized_only = true) AS\n" //
+				+ "  SELECT time_bucket ('" + rollup.bucket.toMinutes() + " minutes', time) AS time,\n" //
+				+ "    edge_channel_id,\n" //
+				+ "    " + Stream.of(type.aggregateFunctions) //
+						.map(s -> s + "(\"" + s + "\")") //
+						.collect(Collectors.joining(", "))
+				+ "\n" //
+				+ "  FROM " + type.getRollupTableName(priority, rollup.getSource()) + "\n" //
+				+ "  GROUP BY (1, 2)\n" //
+				+ "WITH NO DATA";
+	}
+
+	private static String addRollupPolicy(Type type, Priority priority, Rollup rollup) {
+		return "SELECT add_continuous_aggregate_policy('" + type.getRollupTableName(priority, rollup) + "',\n" //
+				+ "  start_offset => NULL,\n" //
+				+ "  end_offset => interval '" + rollup.endOffset.toMinutes() + " minutes',\n" //
+				+ "  schedule_interval => interval '" + rollup.scheduleInterval.toMinutes() + " minutes',\n" //
+				+ "  if_not_exists => true\n" //
+				+ ")";
+	}
+
+}
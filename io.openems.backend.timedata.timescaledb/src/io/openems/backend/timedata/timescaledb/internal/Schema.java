@@ -5,8 +5,9 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.gson.JsonElement;
 import com.zaxxer.hikari.HikariDataSource;
@@ -65,9 +66,12 @@ public class Schema {
 			return cache;
 		}
 
+		/**
+		 * Lock-free for readers; a write only locks its bin of the map.
+		 */
 		private final Map<String /* Edge-ID */, //
 				Map<String /* Channel-Address */, //
-						ChannelRecord /* Meta-Info for Channel */>> channels = new HashMap<String, Map<String, ChannelRecord>>();
+						ChannelRecord /* Meta-Info for Channel */>> channels = new ConcurrentHashMap<>();
 
 		protected Cache() {
 		}
@@ -84,16 +88,27 @@ public class Schema {
 		 *                       TimescaleDB
 		 * @return the {@link ChannelRecord}
 		 */
-		public synchronized ChannelRecord add(String edgeName, String channelAddress, int channelId, int typeId,
+		public ChannelRecord add(String edgeName, String channelAddress, int channelId, int typeId,
 				int priorityId, ZonedDateTime availableSince) {
 			var type = Type.fromId(typeId);
-			var edge = this.channels.computeIfAbsent(edgeName, //
-					(k) -> new HashMap<String, ChannelRecord>());
+			var edge = this.getEdge(edgeName);
 			var channel = edge.computeIfAbsent(channelAddress, //
 					(k) -> new ChannelRecord(channelId, type, Priority.fromId(priorityId), availableSince));
 			return channel;
 		}
 
+		/**
+		 * Gets the {@link ChannelRecord ChannelRecords} of an Edge; creates an empty
+		 * map for an unknown Edge.
+		 * 
+		 * @param edgeId the Edge-ID
+		 * @return a map of Channel-Address to {@link ChannelRecord}
+		 */
+		public Map<String, ChannelRecord> getEdge(String edgeId) {
+			return this.channels.computeIfAbsent(edgeId, //
+					(k) -> new ConcurrentHashMap<String, ChannelRecord>());
+		}
+
 		/**
 		 * Gets the {@link ChannelRecord} from local Cache.
 		 * 
@@ -178,6 +193,18 @@ public class Schema {
 		return this.cache.get(edgeId, channelAddress);
 	}
 
+	/**
+	 * Gets the cached {@link ChannelRecord ChannelRecords} of an Edge. The map is
+	 * updated when Channels are added, so it can be kept to look up many values of
+	 * the same Edge.
+	 * 
+	 * @param edgeId the Edge-ID
+	 * @return an unmodifiable map of Channel-Address to {@link ChannelRecord}
+	 */
+	public Map<String, ChannelRecord> getChannelsFromCache(String edgeId) {
+		return Collections.unmodifiableMap(this.cache.getEdge(edgeId));
+	}
+
 	/**
 	 * Gets or creates the {@link ChannelRecord} in the database and adds it to the
 	 * local Cache.
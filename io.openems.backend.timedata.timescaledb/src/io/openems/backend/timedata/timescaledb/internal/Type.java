@@ -4,7 +4,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.EnumMap;
 import java.util.Map;
-import java.util.function.Consumer;
 
 import com.google.common.primitives.Doubles;
 import com.google.common.primitives.Longs;
@@ -12,9 +11,6 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonPrimitive;
 
-import de.bytefish.pgbulkinsert.row.SimpleRow;
-import de.bytefish.pgbulkinsert.row.SimpleRowWriter;
-import io.openems.backend.timedata.timescaledb.internal.write.Point;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.function.ThrowingBiFunction;
 import io.openems.common.types.OpenemsType;
@@ -37,6 +33,7 @@ public enum Type {
 
 	private final Map<Priority, String> rawTableName = new EnumMap<>(Priority.class);
 	private final Map<Priority, String> aggregate5mTableName = new EnumMap<>(Priority.class);
+	private final Map<Rollup, Map<Priority, String>> rollupTableName = new EnumMap<>(Rollup.class);
 
 	private final ThrowingBiFunction<ResultSet, Integer, JsonElement, SQLException> parseValueFromResultSet;
 	private final ThrowingBiFunction<JsonElement, JsonElement, JsonElement, OpenemsNamedException> subtractFunction;
@@ -73,24 +70,25 @@ public enum Type {
 		return this.aggregate5mTableName.computeIfAbsent(priority, t -> this.baseTableName(priority) + "_5m");
 	}
 
-	private String baseTableName(Priority priority) {
-		return this.prefix + "_" + priority.getTableSuffix();
-	}
-
 	/**
-	 * Fills a PgBulkInsert Row-Writer with data (timestamp, channel_id and value).
+	 * Gets the table name of a {@link Rollup} of the current type and the
+	 * specified priority.
 	 * 
-	 * @param point the {@link Point} holding data
-	 * @return a {@link Consumer} as required by
-	 *         {@link SimpleRowWriter#startRow(Consumer)}
-	 * @throws Exception on error
+	 * @param priority the priority of the table
+	 * @param rollup   the {@link Rollup}
+	 * @return the table name
 	 */
-	public Consumer<SimpleRow> fillRow(Point point) {
-		return row -> {
-			row.setTimeStampTz(0 /* index of 'time' column */, point.timestamp);
-			row.setInteger(1 /* index of 'channel_id' column */, point.channelId);
-			point.addToSimpleRow(row, 2 /* index of 'value' column */);
-		};
+	public String getRollupTableName(Priority priority, Rollup rollup) {
+		if (rollup == Rollup.FIVE_MINUTES) {
+			return this.getAggregate5mTableName(priority);
+		}
+		return this.rollupTableName //
+				.computeIfAbsent(rollup, r -> new EnumMap<>(Priority.class)) //
+				.computeIfAbsent(priority, t -> this.baseTableName(priority) + "_" + rollup.tableSuffix);
+	}
+
+	private String baseTableName(Priority priority) {
+		return this.prefix + "_" + priority.getTableSuffix();
 	}
 
 	/**
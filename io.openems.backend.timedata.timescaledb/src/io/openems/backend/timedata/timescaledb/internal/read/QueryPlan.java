@@ -0,0 +1,116 @@
+package io.openems.backend.timedata.timescaledb.internal.read;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.openems.backend.timedata.timescaledb.internal.Priority;
+import io.openems.backend.timedata.timescaledb.internal.Rollup;
+import io.openems.backend.timedata.timescaledb.internal.Type;
+import io.openems.common.timedata.Resolution;
+
+/**
+ * Decides which {@link Rollup} answers a query.
+ *
+ * <p>
+ * The coarsest {@link Rollup} that is aligned to the query is used up to the
+ * date until which it is materialized; the remaining part is read from the
+ * real-time 5-minute aggregate and bucketed to the same width, so that both
+ * parts have the same granularity.
+ *
+ * @param rollup  the {@link Rollup}
+ * @param splitAt the end of the {@link Rollup} part; the start of the
+ *                5-minute part. Null if only the {@link Rollup} is read.
+ */
+public record QueryPlan(Rollup rollup, ZonedDateTime splitAt) {
+
+	/**
+	 * Plans a query. Falls back to {@link Rollup#FIVE_MINUTES} if the selected
+	 * {@link Rollup} is not available or nothing within the queried range is
+	 * materialized yet.
+	 *
+	 * @param fromDate      the From-Date
+	 * @param toDate        the To-Date
+	 * @param resolution    the {@link Resolution}; null for a single period
+	 * @param completeUntil the date until which a {@link Rollup} is materialized;
+	 *                      null if it is not available
+	 * @return the {@link QueryPlan}
+	 */
+	public static QueryPlan of(ZonedDateTime fromDate, ZonedDateTime toDate, Resolution resolution,
+			Function<Rollup, ZonedDateTime> completeUntil) {
+		var rollup = Rollup.select(fromDate, toDate, resolution);
+		if (rollup == Rollup.FIVE_MINUTES) {
+			// Real-time aggregate
+			return new QueryPlan(rollup, null);
+		}
+		var until = completeUntil.apply(rollup);
+		if (until == null || !until.isAfter(fromDate)) {
+			// Not available or nothing materialized yet
+			return new QueryPlan(Rollup.FIVE_MINUTES, null);
+		}
+		if (!until.isBefore(toDate)) {
+			// Completely materialized
+			return new QueryPlan(rollup, null);
+		}
+		return new QueryPlan(rollup, until);
+	}
+
+	/**
+	 * Builds the SQL for the 'FROM' clause. The result has a 'time' and an
+	 * 'edge_channel_id' column and one column per
+	 * {@link Type#aggregateFunctions}.
+	 *
+	 * <p>
+	 * Parameters have to be filled with
+	 * {@link #setParameters(PreparedStatement, int)}.
+	 *
+	 * @param type     the {@link Type}
+	 * @param priority the {@link Priority}
+	 * @return the SQL
+	 */
+	public String from(Type type, Priority priority) {
+		if (this.splitAt == null) {
+			return type.getRollupTableName(priority, this.rollup);
+		}
+		return "(" //
+				+ "SELECT time, edge_channel_id, " + columns(type, s -> "\"" + s + "\"") //
+				+ " FROM " + type.getRollupTableName(priority, this.rollup) //
+				+ " WHERE time < ?" // [1] SplitAt
+				+ " UNION ALL " //
+				+ "SELECT time_bucket(?::interval, time) AS time, edge_channel_id, " // [2] Bucket
+				+ columns(type, s -> s + "(\"" + s + "\") AS \"" + s + "\"") //
+				+ " FROM " + type.getAggregate5mTableName(priority) //
+				+ " WHERE time >= ?" // [3] SplitAt
+				+ " GROUP BY 1, 2" //
+				+ ")";
+	}
+
+	/**
+	 * Fills the parameters of {@link #from(Type, Priority)}.
+	 *
+	 * @param pst   the {@link PreparedStatement}
+	 * @param index the index of the first parameter
+	 * @return the index of the next parameter
+	 * @throws SQLException on error
+	 */
+	public int setParameters(PreparedStatement pst, int index) throws SQLException {
+		if (this.splitAt == null) {
+			return index;
+		}
+		pst.setObject(index++, this.splitAt.toOffsetDateTime());
+		pst.setString(index++, this.rollup.bucket.toMinutes() + " minutes");
+		pst.setObject(index++, this.splitAt.toOffsetDateTime());
+		return index;
+	}
+
+	private static String columns(Type type, UnaryOperator<String> column) {
+		return Stream.of(type.aggregateFunctions) //
+				.map(column) //
+				.collect(Collectors.joining(", "));
+	}
+
+}
@@ -1,15 +1,20 @@
 package io.openems.backend.timedata.timescaledb.internal.read;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -20,7 +25,11 @@ import com.google.gson.JsonElement;
 import com.zaxxer.hikari.HikariDataSource;
 
 import io.openems.backend.timedata.timescaledb.Config;
+import io.openems.backend.timedata.timescaledb.internal.Priority;
+import io.openems.backend.timedata.timescaledb.internal.Rollup;
+import io.openems.backend.timedata.timescaledb.internal.RollupMigration;
 import io.openems.backend.timedata.timescaledb.internal.Schema;
+import io.openems.backend.timedata.timescaledb.internal.Type;
 import io.openems.backend.timedata.timescaledb.internal.Utils;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
@@ -30,9 +39,27 @@ import io.openems.common.types.ChannelAddress;
 
 public class TimescaledbReadHandler {
 
+	/**
+	 * Maximum age of a cached {@link Watermark}; a {@link Rollup} is refreshed at
+	 * most once per {@link Rollup#scheduleInterval}.
+	 */
+	private static final Duration WATERMARK_MAX_AGE = Duration.ofMinutes(1);
+
+	/**
+	 * The date until which a {@link Rollup} table is materialized.
+	 *
+	 * @param completeUntil the date; null if not available
+	 * @param checkedAt     the {@link System#nanoTime()} of the check
+	 */
+	private static record Watermark(ZonedDateTime completeUntil, long checkedAt) {
+	}
+
 	private final Logger log = LoggerFactory.getLogger(TimescaledbReadHandler.class);
 
 	private final AtomicReference<Schema> schema = new AtomicReference<>();
+	private final Map<Rollup, LongAdder> queriesPerRollup = new EnumMap<>(Rollup.class);
+	private final Map<String, Watermark> watermarks = new ConcurrentHashMap<>();
+	private final boolean useRollups;
 
 	/**
 	 * A {@link HikariDataSource} used solely for reads.
@@ -43,6 +70,13 @@ public class TimescaledbReadHandler {
 		this.dataSource = Utils.getDataSource(//
 				config.host(), config.port(), config.database(), //
 				config.user(), config.password(), config.poolSize());
+		for (var rollup : Rollup.values()) {
+			this.queriesPerRollup.put(rollup, new LongAdder());
+		}
+		this.useRollups = config.useRollups();
+		if (this.useRollups && !config.isReadOnly()) {
+			RollupMigration.apply(this.dataSource);
+		}
 	}
 
 	/**
@@ -92,6 +126,7 @@ public class TimescaledbReadHandler {
 
 					final var priority = priorityEntry.getKey();
 					final var ids = priorityEntry.getValue();
+					final var plan = this.plan(con, type, priority, fromDate, toDate, resolution);
 
 					// Build custom SQL for PreparedStatement
 					var sql = "SELECT" //
@@ -100,7 +135,7 @@ public class TimescaledbReadHandler {
 							+ "        data.time)," //
 							+ "    data.edge_channel_id," //
 							+ "    " + type.defaultAggregateFunction + "(data." + type.defaultAggregateFunction + ") " //
-							+ "FROM " + type.getAggregate5mTableName(priority) + " data " //
+							+ "FROM " + plan.from(type, priority) + " data " // [2..] QueryPlan
 							+ "WHERE" //
 							+ "    data.edge_channel_id IN (" //
 							+ ids.keySet().stream() //
@@ -119,6 +154,7 @@ public class TimescaledbReadHandler {
 						// https://jdbc.postgresql.org/documentation/query/#using-java-8-date-and-time-classes
 						var i = 1;
 						pst.setString(i++, Utils.toSqlInterval(resolution));
+						i = plan.setParameters(pst, i);
 						for (var id : ids.keySet()) {
 							pst.setInt(i++, id);
 						}
@@ -180,23 +216,24 @@ public class TimescaledbReadHandler {
 
 					final var priority = priorityEntry.getKey();
 					final var ids = priorityEntry.getValue();
+					final var plan = this.plan(con, type, priority, fromDate, toDate, null);
 
 					// Build custom SQL for PreparedStatement
 					var sql = "SELECT" //
 							+ "	   d.edge_channel_id," //
 							+ "    LAST(\"max\", d.time) - FIRST(\"min\", d.time) " //
-							+ "FROM " + type.getAggregate5mTableName(priority) + " d " //
+							+ "FROM " + plan.from(type, priority) + " d " // [1..] QueryPlan
 							+ "WHERE" //
-							+ "    d.edge_channel_id = ANY (?) AND" // [1] Channel-ID
-							+ "    d.time >= ? AND" // [2] FromDate
-							+ "    d.time < ?" // [3] ToDate
+							+ "    d.edge_channel_id = ANY (?) AND" // [n-2] Channel-ID
+							+ "    d.time >= ? AND" // [n-1] FromDate
+							+ "    d.time < ?" // [n] ToDate
 							+ "    group by 1;";
 					// Query the database
 					try (var pst = con.prepareStatement(sql)) {
 						// Fill PreparedStatement.
 						// Reference for Java 8 Date and Time classes with PostgreSQL:
 						// https://jdbc.postgresql.org/documentation/query/#using-java-8-date-and-time-classes
-						var i = 1;
+						var i = plan.setParameters(pst, 1);
 						pst.setArray(i++, con.createArrayOf("INTEGER", ids.keySet().toArray(Integer[]::new)));
 						pst.setObject(i++, fromDate.toOffsetDateTime());
 						pst.setObject(i++, toDate.toOffsetDateTime());
@@ -246,6 +283,8 @@ public class TimescaledbReadHandler {
 
 		var result = Utils.prepareDataMap(fromDate, toDate, channels, resolution);
 		var types = Utils.querySchemaCache(this.assertAndGetSchema(), edgeId, channelStrings);
+		// Start one period earlier to calculate the delta of the first period
+		var queryFromDate = fromDate.minus(resolution.getValue(), resolution.getUnit());
 
 		// Open ONE database connection
 		try (var con = this.dataSource.getConnection()) {
@@ -257,6 +296,7 @@ public class TimescaledbReadHandler {
 
 					final var priority = priorityEntry.getKey();
 					final var ids = priorityEntry.getValue();
+					final var plan = this.plan(con, type, priority, queryFromDate, toDate, resolution);
 
 					// Build custom SQL for PreparedStatement
 					var sql = "SELECT" //
@@ -266,11 +306,11 @@ public class TimescaledbReadHandler {
 							+ "        timezone => ?)," // [2] timezone
 							+ "    data.edge_channel_id," //
 							+ "    LAST(\"max\", data.time)" //
-							+ "FROM " + type.getAggregate5mTableName(priority) + " data " //
+							+ "FROM " + plan.from(type, priority) + " data " // [3..] QueryPlan
 							+ "WHERE" //
-							+ "    data.edge_channel_id = ANY (?) AND" // [3] Channel IDs
-							+ "    data.time >= ? AND" // [4] FromDate
-							+ "    data.time < ? " // [5] ToDate
+							+ "    data.edge_channel_id = ANY (?) AND" // [n-2] Channel IDs
+							+ "    data.time >= ? AND" // [n-1] FromDate
+							+ "    data.time < ? " // [n] ToDate
 							+ "GROUP BY 1,2";
 
 					// Query the database
@@ -283,9 +323,9 @@ public class TimescaledbReadHandler {
 						var i = 1;
 						pst.setString(i++, Utils.toSqlInterval(resolution));
 						pst.setString(i++, fromDate.getZone().getId());
+						i = plan.setParameters(pst, i);
 						pst.setArray(i++, con.createArrayOf("INTEGER", ids.keySet().toArray(Integer[]::new)));
-						pst.setObject(i++,
-								fromDate.minus(resolution.getValue(), resolution.getUnit()).toOffsetDateTime());
+						pst.setObject(i++, queryFromDate.toOffsetDateTime());
 						pst.setObject(i++, toDate.toOffsetDateTime());
 
 						var rs = pst.executeQuery();
@@ -339,6 +379,64 @@ public class TimescaledbReadHandler {
 		return Collections.emptyMap();
 	}
 
+	/**
+	 * Plans a query on the coarsest aligned {@link Rollup} that is available; on
+	 * the 5-minute aggregate if Rollups are disabled.
+	 * 
+	 * @param con        the {@link Connection}
+	 * @param type       the {@link Type}
+	 * @param priority   the {@link Priority}
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param resolution the {@link Resolution}; null for a single period
+	 * @return the {@link QueryPlan}
+	 */
+	private QueryPlan plan(Connection con, Type type, Priority priority, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Resolution resolution) {
+		final QueryPlan plan;
+		if (this.useRollups) {
+			plan = QueryPlan.of(fromDate, toDate, resolution,
+					rollup -> this.getCompleteUntil(con, type.getRollupTableName(priority, rollup), rollup));
+		} else {
+			plan = new QueryPlan(Rollup.FIVE_MINUTES, null);
+		}
+		this.queriesPerRollup.get(plan.rollup()).increment();
+		return plan;
+	}
+
+	/**
+	 * Gets the date until which a {@link Rollup} table is materialized. The result
+	 * is cached for {@link #WATERMARK_MAX_AGE}.
+	 * 
+	 * @param con       the {@link Connection}
+	 * @param tableName the name of the {@link Rollup} table
+	 * @param rollup    the {@link Rollup}
+	 * @return the date; null if the table is not available or still empty
+	 */
+	private ZonedDateTime getCompleteUntil(Connection con, String tableName, Rollup rollup) {
+		var now = System.nanoTime();
+		var watermark = this.watermarks.get(tableName);
+		if (watermark == null || now - watermark.checkedAt() > WATERMARK_MAX_AGE.toNanos()) {
+			watermark = new Watermark(this.queryCompleteUntil(con, tableName, rollup), now);
+			this.watermarks.put(tableName, watermark);
+		}
+		return watermark.completeUntil();
+	}
+
+	private ZonedDateTime queryCompleteUntil(Connection con, String tableName, Rollup rollup) {
+		try (var st = con.createStatement()) {
+			var rs = st.executeQuery("SELECT max(time) FROM " + tableName);
+			if (!rs.next()) {
+				return null;
+			}
+			var lastBucket = rs.getObject(1, OffsetDateTime.class);
+			return rollup.getCompleteUntil(lastBucket == null ? null : lastBucket.toZonedDateTime());
+		} catch (SQLException e) {
+			this.log.warn("Rollup [" + tableName + "] is not available: " + e.getMessage());
+			return null;
+		}
+	}
+
 	/**
 	 * Gets the Schema, never null. Throws an {@link OpenemsException} if the Schema
 	 * has not been loaded yet.
@@ -361,6 +459,7 @@ public class TimescaledbReadHandler {
 	 */
 	public Map<String, Number> debugMetrics() {
 		var data = new HashMap<String, Number>();
+		this.queriesPerRollup.forEach((rollup, count) -> data.put("Queries" + rollup.tableSuffix, count.sum()));
 		try (//
 				var con = this.dataSource.getConnection(); //
 				var st = con.createStatement() //
@@ -0,0 +1,162 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.sql.SQLException;
+
+/**
+ * Encodes {@link Point Points} to the binary format of the PostgreSQL 'COPY ...
+ * FROM STDIN BINARY' command, i.e. rows of (time, edge_channel_id, value).
+ *
+ * <p>
+ * The buffer is reused for all writes of one encoder; it is flushed to the
+ * {@link Sink} whenever it is full. Not thread-safe; see {@link #get()} for
+ * one encoder per thread.
+ */
+public class BinaryCopyEncoder {
+
+	/**
+	 * Receives encoded bytes, e.g. 'CopyIn::writeToCopy'.
+	 */
+	@FunctionalInterface
+	public static interface Sink {
+
+		/**
+		 * Writes bytes.
+		 *
+		 * @param buffer the buffer
+		 * @param offset the offset in the buffer
+		 * @param length the number of bytes
+		 * @throws SQLException on error
+		 */
+		public void write(byte[] buffer, int offset, int length) throws SQLException;
+	}
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final byte[] HEADER = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0, //
+			0, 0, 0, 0 /* flags */, //
+			0, 0, 0, 0 /* header extension length */ };
+
+	private static final short FIELDS_PER_ROW = 3;
+
+	/** Difference between the PostgreSQL epoch 2000-01-01 and 1970-01-01. */
+	private static final long POSTGRES_EPOCH_MILLIS = 946_684_800_000L;
+
+	private static final ThreadLocal<BinaryCopyEncoder> ENCODERS = ThreadLocal.withInitial(BinaryCopyEncoder::new);
+
+	/**
+	 * Gets the {@link BinaryCopyEncoder} of the current thread.
+	 *
+	 * @return the {@link BinaryCopyEncoder}
+	 */
+	public static BinaryCopyEncoder get() {
+		return ENCODERS.get();
+	}
+
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int position = 0;
+	private Sink sink;
+
+	/**
+	 * Starts a COPY; writes the header.
+	 *
+	 * @param sink the {@link Sink}
+	 * @throws SQLException on error
+	 */
+	public void begin(Sink sink) throws SQLException {
+		this.sink = sink;
+		this.position = 0;
+		this.writeBytes(HEADER, 0, HEADER.length);
+	}
+
+	/**
+	 * Writes a row for a {@link Point}.
+	 *
+	 * @param point the {@link Point}
+	 * @throws SQLException on error
+	 */
+	public void writeRow(Point point) throws SQLException {
+		this.ensure(2 + 4 + 8 + 4 + 4);
+		this.putShort(FIELDS_PER_ROW);
+		// time: timestamptz in microseconds since PostgreSQL epoch
+		this.putInt(8);
+		this.putLong((point.timestamp - POSTGRES_EPOCH_MILLIS) * 1000);
+		// edge_channel_id: integer
+		this.putInt(4);
+		this.putInt(point.channelId);
+		// value
+		point.encodeValue(this);
+	}
+
+	/**
+	 * Finishes a COPY; writes the trailer and flushes the buffer.
+	 *
+	 * @throws SQLException on error
+	 */
+	public void end() throws SQLException {
+		this.ensure(2);
+		this.putShort((short) -1);
+		this.flush();
+		this.sink = null;
+	}
+
+	protected void writeBigint(long value) throws SQLException {
+		this.ensure(4 + 8);
+		this.putInt(8);
+		this.putLong(value);
+	}
+
+	protected void writeDoublePrecision(double value) throws SQLException {
+		this.writeBigint(Double.doubleToLongBits(value));
+	}
+
+	protected void writeText(String value) throws SQLException {
+		final var bytes = value.getBytes(UTF_8);
+		this.ensure(4);
+		this.putInt(bytes.length);
+		this.writeBytes(bytes, 0, bytes.length);
+	}
+
+	private void writeBytes(byte[] bytes, int offset, int length) throws SQLException {
+		while (length > 0) {
+			this.ensure(1);
+			final var chunk = Math.min(length, this.buffer.length - this.position);
+			System.arraycopy(bytes, offset, this.buffer, this.position, chunk);
+			this.position += chunk;
+			offset += chunk;
+			length -= chunk;
+		}
+	}
+
+	private void ensure(int length) throws SQLException {
+		if (this.position + length > this.buffer.length) {
+			this.flush();
+		}
+	}
+
+	private void flush() throws SQLException {
+		if (this.position > 0) {
+			this.sink.write(this.buffer, 0, this.position);
+			this.position = 0;
+		}
+	}
+
+	private void putShort(short value) {
+		this.buffer[this.position++] = (byte) (value >>> 8);
+		this.buffer[this.position++] = (byte) value;
+	}
+
+	private void putInt(int value) {
+		for (var shift = 24; shift >= 0; shift -= 8) {
+			this.buffer[this.position++] = (byte) (value >>> shift);
+		}
+	}
+
+	private void putLong(long value) {
+		for (var shift = 56; shift >= 0; shift -= 8) {
+			this.buffer[this.position++] = (byte) (value >>> shift);
+		}
+	}
+
+}
@@ -1,11 +1,12 @@
 package io.openems.backend.timedata.timescaledb.internal.write;
 
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import com.zaxxer.hikari.HikariDataSource;
@@ -16,6 +17,12 @@ import io.openems.common.worker.AbstractImmediateWorker;
 
 public class MergePointsWorker<POINT extends Point> extends AbstractImmediateWorker {
 
+	/** Minimum size of a batch; the batch size adapts to the load. */
+	protected static final int MIN_POINTS_PER_WRITE = 1_000;
+
+	/** Maximum number of concurrent writes of one worker. */
+	private static final int MAX_WRITES_IN_FLIGHT = 2;
+
 	private final HikariDataSource dataSource;
 	private final ExecutorService executor;
 	private final Type type;
@@ -23,7 +30,12 @@ public class MergePointsWorker<POINT extends Point> extends AbstractImmediateWor
 	// TODO queue: delete old entries if full; like an EvictingQueue;
 	// https://github.com/google/guava/issues/3882
 	private final BlockingQueue<POINT> queue = new ArrayBlockingQueue<>(TimescaledbWriteHandler.POINTS_QUEUE_SIZE);
+	// Blocks the worker while the database is busy; the queue fills up and slows
+	// down the producers
+	private final Semaphore writesInFlight = new Semaphore(MAX_WRITES_IN_FLIGHT);
+	private int batchSize = MIN_POINTS_PER_WRITE;
 	private long countPoints = 0;
+	private long countWrites = 0;
 
 	public MergePointsWorker(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority) {
 		this.dataSource = dataSource;
@@ -44,43 +56,81 @@ public class MergePointsWorker<POINT extends Point> extends AbstractImmediateWor
 		 * via HTTP individually.
 		 */
 		// Poll and merge Points. Wait max 10 seconds in total.
-		var points = pollAndMergePoints(this.queue);
+		var points = pollAndMergePoints(this.queue, this.batchSize);
 
 		if (points.isEmpty()) {
 			return;
 		}
 
+		this.batchSize = adaptBatchSize(this.batchSize, points.size(), this.queue.size());
 		this.countPoints += points.size();
+		this.countWrites++;
 
 		// Write points async.
-		this.executor.execute(new WritePointsHandler(this.dataSource, this.type, this.priority, points));
+		this.writesInFlight.acquire();
+		try {
+			this.executor.execute(new WritePointsHandler(this.dataSource, this.type, this.priority, points,
+					this.writesInFlight::release));
+		} catch (RejectedExecutionException e) {
+			this.writesInFlight.release();
+			throw e;
+		}
 	}
 
 	/**
 	 * Poll and merge Points. Wait max 10 seconds in total.
 	 * 
-	 * @param <POINT> the type of the Point
-	 * @param queue   the Queue of Points
+	 * @param <POINT>   the type of the Point
+	 * @param queue     the Queue of Points
+	 * @param batchSize the maximum number of Points
 	 * @return a list of Points
 	 * @throws InterruptedException on error
 	 */
-	private static <POINT extends Point> List<Point> pollAndMergePoints(BlockingQueue<POINT> queue)
+	protected static <POINT extends Point> List<Point> pollAndMergePoints(BlockingQueue<POINT> queue, int batchSize)
 			throws InterruptedException {
-		final Instant maxWait = Instant.now().plusSeconds(TimescaledbWriteHandler.MAX_AGGREGATE_WAIT);
-		List<Point> points = new ArrayList<>(TimescaledbWriteHandler.MAX_POINTS_PER_WRITE);
-		for (int i = 0; i < TimescaledbWriteHandler.MAX_POINTS_PER_WRITE; i++) {
-			var point = queue.poll(TimescaledbWriteHandler.MAX_AGGREGATE_WAIT, TimeUnit.SECONDS);
-			if (point == null) {
+		final var maxWait = System.nanoTime() + TimeUnit.SECONDS.toNanos(TimescaledbWriteHandler.MAX_AGGREGATE_WAIT);
+		List<Point> points = new ArrayList<>(batchSize);
+		var point = queue.poll(TimescaledbWriteHandler.MAX_AGGREGATE_WAIT, TimeUnit.SECONDS);
+		if (point == null) {
+			return points;
+		}
+		points.add(point);
+		while (points.size() < batchSize) {
+			if (queue.drainTo(points, batchSize - points.size()) > 0) {
+				continue;
+			}
+			final var remaining = maxWait - System.nanoTime();
+			if (remaining <= 0) {
 				break;
 			}
-			points.add(point);
-			if (Instant.now().isAfter(maxWait)) {
+			point = queue.poll(remaining, TimeUnit.NANOSECONDS);
+			if (point == null) {
 				break;
 			}
+			points.add(point);
 		}
 		return points;
 	}
 
+	/**
+	 * Adapts the batch size to the load: grows while full batches leave a backlog
+	 * in the queue; shrinks while batches stay mostly empty.
+	 * 
+	 * @param batchSize the current batch size
+	 * @param polled    the number of Points in the last batch
+	 * @param backlog   the number of Points remaining in the queue
+	 * @return the new batch size
+	 */
+	protected static int adaptBatchSize(int batchSize, int polled, int backlog) {
+		if (polled >= batchSize && backlog > 0) {
+			return Math.min(batchSize * 2, TimescaledbWriteHandler.MAX_POINTS_PER_WRITE);
+		}
+		if (polled < batchSize / 4) {
+			return Math.max(batchSize / 2, MIN_POINTS_PER_WRITE);
+		}
+		return batchSize;
+	}
+
 	/**
 	 * Returns a DebugLog String.
 	 * 
@@ -93,6 +143,10 @@ public class MergePointsWorker<POINT extends Point> extends AbstractImmediateWor
 				.append(TimescaledbWriteHandler.POINTS_QUEUE_SIZE) //
 				.append("|Total:") //
 				.append(this.countPoints) //
+				.append("|Writes:") //
+				.append(this.countWrites) //
+				.append("|Batch:") //
+				.append(this.batchSize) //
 				.toString();
 	}
 }
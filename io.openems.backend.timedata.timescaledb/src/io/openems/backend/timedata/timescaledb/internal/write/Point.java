@@ -1,15 +1,14 @@
 package io.openems.backend.timedata.timescaledb.internal.write;
 
-import java.time.ZonedDateTime;
-
-import de.bytefish.pgbulkinsert.row.SimpleRow;
+import java.sql.SQLException;
+import java.time.Instant;
 
 public abstract class Point {
 
 	public final int channelId;
-	public final ZonedDateTime timestamp;
+	public final long timestamp; // epoch in milliseconds
 
-	private Point(int channelId, ZonedDateTime timestamp) {
+	private Point(int channelId, long timestamp) {
 		this.channelId = channelId;
 		this.timestamp = timestamp;
 	}
@@ -18,19 +17,20 @@ public abstract class Point {
 
 		public final long value;
 
-		public IntPoint(int channelId, ZonedDateTime timestamp, long value) {
+		public IntPoint(int channelId, long timestamp, long value) {
 			super(channelId, timestamp);
 			this.value = value;
 		}
 
 		@Override
-		public void addToSimpleRow(SimpleRow row, int column) {
-			row.setLong(column, this.value);
+		protected void encodeValue(BinaryCopyEncoder encoder) throws SQLException {
+			encoder.writeBigint(this.value);
 		}
 
 		@Override
 		public String toString() {
-			return "IntPoint [" + this.timestamp + ": " + this.channelId + "=" + this.value + "]";
+			return "IntPoint [" + Instant.ofEpochMilli(this.timestamp) + ": " + this.channelId + "=" + this.value
+					+ "]";
 		}
 	}
 
@@ -38,19 +38,20 @@ public abstract class Point {
 
 		public final double value;
 
-		public FloatPoint(int channelId, ZonedDateTime timestamp, double value) {
+		public FloatPoint(int channelId, long timestamp, double value) {
 			super(channelId, timestamp);
 			this.value = value;
 		}
 
 		@Override
-		public void addToSimpleRow(SimpleRow row, int column) {
-			row.setDouble(column, this.value);
+		protected void encodeValue(BinaryCopyEncoder encoder) throws SQLException {
+			encoder.writeDoublePrecision(this.value);
 		}
 
 		@Override
 		public String toString() {
-			return "FloatPoint [" + this.timestamp + ": " + this.channelId + "=" + this.value + "]";
+			return "FloatPoint [" + Instant.ofEpochMilli(this.timestamp) + ": " + this.channelId + "=" + this.value
+					+ "]";
 		}
 	}
 
@@ -58,28 +59,29 @@ public abstract class Point {
 
 		public final String value;
 
-		public StringPoint(int channelId, ZonedDateTime timestamp, String value) {
+		public StringPoint(int channelId, long timestamp, String value) {
 			super(channelId, timestamp);
 			this.value = value;
 		}
 
 		@Override
-		public void addToSimpleRow(SimpleRow row, int column) {
-			row.setText(column, this.value);
+		protected void encodeValue(BinaryCopyEncoder encoder) throws SQLException {
+			encoder.writeText(this.value);
 		}
 
 		@Override
 		public String toString() {
-			return "StringPoint [" + this.timestamp + ": " + this.channelId + "=" + this.value + "]";
+			return "StringPoint [" + Instant.ofEpochMilli(this.timestamp) + ": " + this.channelId + "=" + this.value
+					+ "]";
 		}
 	}
 
 	/**
-	 * Adds the Point to a {@link SimpleRow} for pgBulkInsert.
+	 * Writes the value of the Point with a {@link BinaryCopyEncoder}.
 	 * 
-	 * @param row    the {@link SimpleRow}
-	 * @param column the index of the column in the SimpleRow
+	 * @param encoder the {@link BinaryCopyEncoder}
+	 * @throws SQLException on error
 	 */
-	public abstract void addToSimpleRow(SimpleRow row, int column);
+	protected abstract void encodeValue(BinaryCopyEncoder encoder) throws SQLException;
 
 }
\ No newline at end of file
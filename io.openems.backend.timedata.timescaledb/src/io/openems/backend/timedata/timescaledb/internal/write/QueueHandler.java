@@ -1,9 +1,8 @@
 package io.openems.backend.timedata.timescaledb.internal.write;
 
-import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.google.gson.JsonElement;
 import com.zaxxer.hikari.HikariDataSource;
@@ -21,6 +20,7 @@ import io.openems.common.utils.JsonUtils;
 public abstract class QueueHandler<T extends Point> {
 	private final MergePointsWorker<T> mergePointsWorker;
 	private final Class<T> pointClass;
+	private final LongAdder countDropped = new LongAdder();
 
 	protected QueueHandler(MergePointsWorker<T> mergePointsWorker, Class<T> pointClass) {
 		super();
@@ -31,19 +31,41 @@ public abstract class QueueHandler<T extends Point> {
 	/**
 	 * Adds a point to the handler.
 	 * 
+	 * <p>
+	 * Waits till the given deadline if the queue is full, i.e. slows down the
+	 * caller while the database is busy. Callers share one deadline for all Points
+	 * of a message, so that a full queue delays a message only once; once the
+	 * deadline passed, further Points are dropped immediately.
+	 * 
 	 * @param channel   the channel
-	 * @param timestamp the timestamp
+	 * @param timestamp the timestamp in epoch milliseconds
 	 * @param json      the value
+	 * @param deadline  the deadline in {@link System#nanoTime()}
 	 * @return true if the element was added to this queue, else false
 	 * @throws OpenemsNamedException on error
+	 * @throws InterruptedException  if interrupted while waiting
 	 */
-	public boolean offer(ChannelRecord channel, long timestamp, JsonElement json) throws OpenemsNamedException {
-		var time = ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC);
-		var value = this.dataToPointConverter(channel, time, json);
+	public boolean offer(ChannelRecord channel, long timestamp, JsonElement json, long deadline)
+			throws OpenemsNamedException, InterruptedException {
+		var value = this.dataToPointConverter(channel, timestamp, json);
 		if (value == null) {
 			return false;
 		}
-		return this.mergePointsWorker.getQueue().offer(value);
+		var timeout = Math.max(0, deadline - System.nanoTime());
+		if (this.mergePointsWorker.getQueue().offer(value, timeout, TimeUnit.NANOSECONDS)) {
+			return true;
+		}
+		this.countDropped.increment();
+		return false;
+	}
+
+	/**
+	 * Gets the number of Points that were dropped because the queue was full.
+	 * 
+	 * @return the number of dropped Points
+	 */
+	public long getCountDropped() {
+		return this.countDropped.sum();
 	}
 
 	public MergePointsWorker<T> getMergePointsWorker() {
@@ -59,11 +81,13 @@ public abstract class QueueHandler<T extends Point> {
 		var sb = new StringBuilder() //
 				.append(this.pointClass.getSimpleName()) //
 				.append(": ") //
-				.append(this.mergePointsWorker.debugLog());
+				.append(this.mergePointsWorker.debugLog()) //
+				.append("|Dropped:") //
+				.append(this.countDropped.sum());
 		return sb.toString();
 	}
 
-	protected abstract T dataToPointConverter(ChannelRecord channel, ZonedDateTime time, JsonElement json)
+	protected abstract T dataToPointConverter(ChannelRecord channel, long timestamp, JsonElement json)
 			throws OpenemsNamedException;
 
 	/**
@@ -102,13 +126,13 @@ public abstract class QueueHandler<T extends Point> {
 		}
 
 		@Override
-		protected IntPoint dataToPointConverter(ChannelRecord channel, ZonedDateTime time, JsonElement json)
+		protected IntPoint dataToPointConverter(ChannelRecord channel, long timestamp, JsonElement json)
 				throws OpenemsNamedException {
 			Long value = JsonUtils.getAsType(OpenemsType.LONG, json);
 			if (value == null) {
 				return null;
 			}
-			return new IntPoint(channel.id, time, value);
+			return new IntPoint(channel.id, timestamp, value);
 		}
 
 	}
@@ -120,13 +144,13 @@ public abstract class QueueHandler<T extends Point> {
 		}
 
 		@Override
-		protected FloatPoint dataToPointConverter(ChannelRecord channel, ZonedDateTime time, JsonElement json)
+		protected FloatPoint dataToPointConverter(ChannelRecord channel, long timestamp, JsonElement json)
 				throws OpenemsNamedException {
 			Double value = JsonUtils.getAsType(OpenemsType.DOUBLE, json);
 			if (value == null) {
 				return null;
 			}
-			return new FloatPoint(channel.id, time, value);
+			return new FloatPoint(channel.id, timestamp, value);
 		}
 
 	}
@@ -138,13 +162,13 @@ public abstract class QueueHandler<T extends Point> {
 		}
 
 		@Override
-		protected StringPoint dataToPointConverter(ChannelRecord channel, ZonedDateTime time, JsonElement json)
+		protected StringPoint dataToPointConverter(ChannelRecord channel, long timestamp, JsonElement json)
 				throws OpenemsNamedException {
 			String value = JsonUtils.getAsType(OpenemsType.STRING, json);
 			if (value == null) {
 				return null;
 			}
-			return new StringPoint(channel.id, time, value);
+			return new StringPoint(channel.id, timestamp, value);
 		}
 
 	}
@@ -4,6 +4,7 @@ import java.sql.SQLException;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -26,6 +27,13 @@ import io.openems.common.worker.AbstractImmediateWorker;
  * {@link SplitDataWorker} manages an internal Queue which can be filled via
  * {@link #addData(String, TreeBasedTable)}. The worker then splits the data
  * into typed queues for integer, float and string.
+ * 
+ * <p>
+ * If the typed queues are full, the worker waits for them once per message up
+ * to {@link TimescaledbWriteHandler#OFFER_TIMEOUT} milliseconds, so that its own
+ * Queue fills up and {@link #addData(String, TreeBasedTable)} slows down the
+ * callers. Points that do not fit in time are dropped and counted by the
+ * {@link QueueHandler}.
  */
 public class SplitDataWorker extends AbstractImmediateWorker {
 
@@ -44,7 +52,7 @@ public class SplitDataWorker extends AbstractImmediateWorker {
 	private final HikariDataSource dataSource;
 	private final ExecutorService executor;
 	private final BlockingQueue<WriteData> sourceQueue = new LinkedBlockingQueue<>(
-			TimescaledbWriteHandler.POINTS_QUEUE_SIZE);
+			TimescaledbWriteHandler.DATA_QUEUE_SIZE);
 	private final DoubleKeyMap<Type, Priority, QueueHandler<?>> queueHandler;
 	private final Consumer<Schema> onInitializedSchema;
 
@@ -63,11 +71,22 @@ public class SplitDataWorker extends AbstractImmediateWorker {
 	/**
 	 * Adds new 'write' data to the Queue.
 	 * 
+	 * <p>
+	 * Waits up to {@link TimescaledbWriteHandler#OFFER_TIMEOUT} milliseconds if
+	 * the Queue is full, i.e. slows down the caller while the database is busy.
+	 * 
 	 * @param edgeId the Edge-ID
 	 * @param table  the data table
+	 * @return true if the data was added, false if the Queue was full
 	 */
-	public void addData(String edgeId, TreeBasedTable<Long, String, JsonElement> table) {
-		this.sourceQueue.offer(new WriteData(edgeId, table));
+	public boolean addData(String edgeId, TreeBasedTable<Long, String, JsonElement> table) {
+		try {
+			return this.sourceQueue.offer(new WriteData(edgeId, table), TimescaledbWriteHandler.OFFER_TIMEOUT,
+					TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
 	}
 
 	@Override
@@ -77,44 +96,57 @@ public class SplitDataWorker extends AbstractImmediateWorker {
 			return;
 		}
 
-		if (this.sourceQueue.isEmpty()) {
+		// Retrieve next element of Queue; waits till an element is available.
+		var data = this.sourceQueue.poll(1, TimeUnit.SECONDS);
+		if (data == null) {
 			return;
 		}
 
-		// Retrieve next element in of Queue; waits till an element is available.
-		var data = this.sourceQueue.take();
-
-		for (var cell : data.table.cellSet()) {
-			// Cache-Lookup
-			var channel = schema.getChannelFromCache(data.edgeId, cell.getColumnKey());
-			if (channel != null) {
-				// Channel exists in Cache -> immediately forward to typed queue
-				this.addToTypedQueue(channel, cell.getRowKey(), cell.getValue());
-
-			} else {
-				// Channel missing in Cache -> async
-				this.executor.execute(() -> {
-					try (var con = this.dataSource.getConnection()) {
-						var channelRecord = schema.getChannel(con, data.edgeId, cell.getColumnKey(), cell.getValue());
-						if (channelRecord != null) {
-							// Ok -> add to queue
-							this.addToTypedQueue(channelRecord, cell.getRowKey(), cell.getValue());
-							return;
-						}
-
-						if (cell.getValue() != null && cell.getValue() != JsonNull.INSTANCE) {
-							// Error and value was not null
+		// Wait for the typed queues at most once per message
+		final var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TimescaledbWriteHandler.OFFER_TIMEOUT);
+
+		// Resolve the Channels of the Edge once per message
+		var channels = schema.getChannelsFromCache(data.edgeId);
+		for (var row : data.table.rowMap().entrySet()) {
+			final long timestamp = row.getKey();
+			for (var cell : row.getValue().entrySet()) {
+				final var channelAddress = cell.getKey();
+				final var value = cell.getValue();
+
+				// Cache-Lookup
+				var channel = channels.get(channelAddress);
+				if (channel != null) {
+					// Channel exists in Cache -> immediately forward to typed queue
+					this.addToTypedQueue(channel, timestamp, value, deadline);
+
+				} else {
+					// Channel missing in Cache -> async
+					this.executor.execute(() -> {
+						try (var con = this.dataSource.getConnection()) {
+							var channelRecord = schema.getChannel(con, data.edgeId, channelAddress, value);
+							if (channelRecord != null) {
+								// Ok -> add to queue
+								this.addToTypedQueue(channelRecord, timestamp, value, deadline);
+								return;
+							}
+
+							if (value != null && value != JsonNull.INSTANCE) {
+								// Error and value was not null
+								this.log.error("Unable to get ChannelRecord for Channel " //
+										+ "[" + data.edgeId + "/" + channelAddress + "=" + value + "]");
+							}
+
+						} catch (SQLException e) {
 							this.log.error("Unable to get ChannelRecord for Channel " //
-									+ "[" + data.edgeId + "/" + cell.getColumnKey() + "=" + cell.getValue() + "]");
-						}
+									+ "[" + data.edgeId + "/" + channelAddress + "=" + value + "]: "
+									+ e.getMessage());
 
-					} catch (SQLException e) {
-						this.log.error("Unable to get ChannelRecord for Channel " //
-								+ "[" + data.edgeId + "/" + cell.getColumnKey() + "=" + cell.getValue() + "]: "
-								+ e.getMessage());
-					}
-				});
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					});
 
+				}
 			}
 		}
 	}
@@ -125,10 +157,13 @@ public class SplitDataWorker extends AbstractImmediateWorker {
 	 * @param channel   the {@link ChannelRecord}e
 	 * @param timestamp the timestamp
 	 * @param json      the value as {@link JsonElement}
+	 * @param deadline  the deadline of the message in {@link System#nanoTime()}
+	 * @throws InterruptedException if interrupted while waiting for the queue
 	 */
-	private void addToTypedQueue(ChannelRecord channel, long timestamp, JsonElement json) {
+	private void addToTypedQueue(ChannelRecord channel, long timestamp, JsonElement json, long deadline)
+			throws InterruptedException {
 		try {
-			this.queueHandler.get(channel.type, channel.priority).offer(channel, timestamp, json);
+			this.queueHandler.get(channel.type, channel.priority).offer(channel, timestamp, json, deadline);
 		} catch (OpenemsNamedException e) {
 			this.log.warn("Unable to parse [" + json + "] to [" + channel.type + "] for Channel-ID [" + channel.id
 					+ "]: " + e.getMessage());
@@ -176,7 +211,7 @@ public class SplitDataWorker extends AbstractImmediateWorker {
 		return new StringBuilder() //
 				.append(this.sourceQueue.size()) //
 				.append("/") //
-				.append(TimescaledbWriteHandler.POINTS_QUEUE_SIZE) //
+				.append(TimescaledbWriteHandler.DATA_QUEUE_SIZE) //
 				.toString();
 	}
 
@@ -2,11 +2,13 @@ package io.openems.backend.timedata.timescaledb.internal.write;
 
 import java.sql.SQLException;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -33,9 +35,11 @@ import io.openems.common.worker.AbstractWorker;
 
 public class TimescaledbWriteHandler {
 
+	public static final int DATA_QUEUE_SIZE = 10_000;
 	public static final int POINTS_QUEUE_SIZE = 1_000_000;
-	public static final int MAX_POINTS_PER_WRITE = 10_000;
+	public static final int MAX_POINTS_PER_WRITE = 100_000;
 	public static final int MAX_AGGREGATE_WAIT = 10; // [s]
+	public static final int OFFER_TIMEOUT = 100; // [ms]
 
 	private final Logger log = LoggerFactory.getLogger(TimescaledbWriteHandler.class);
 
@@ -53,6 +57,8 @@ public class TimescaledbWriteHandler {
 
 	private final HashSet<String> enableWriteEdgeIds = new HashSet<>();
 
+	private final LongAdder countRejected = new LongAdder();
+
 	// #1 step: split data to points
 	private final SplitDataWorker splitPointsWorker;
 
@@ -130,7 +136,10 @@ public class TimescaledbWriteHandler {
 			return;
 		}
 
-		this.splitPointsWorker.addData(edgeId, data);
+		if (!this.splitPointsWorker.addData(edgeId, data)) {
+			this.countRejected.increment();
+			this.log.warn("Unable to write data of Edge [" + edgeId + "]: queue is full");
+		}
 	}
 
 	/**
@@ -141,7 +150,8 @@ public class TimescaledbWriteHandler {
 	public StringBuilder debugLog() {
 		var sb = new StringBuilder() //
 				.append(ThreadPoolUtils.debugLog(this.executor)) //
-				.append(" SPLIT:").append(this.splitPointsWorker.debugLog());
+				.append(" SPLIT:").append(this.splitPointsWorker.debugLog()) //
+				.append("|Rejected:").append(this.countRejected.sum());
 		this.streamHandler().forEach((t) -> {
 			sb.append(" ").append(t.debugLog());
 		});
@@ -154,7 +164,12 @@ public class TimescaledbWriteHandler {
 	 * @return metrics
 	 */
 	public Map<String, Long> debugMetrics() {
-		return ThreadPoolUtils.debugMetrics(this.executor);
+		var result = new HashMap<>(ThreadPoolUtils.debugMetrics(this.executor));
+		result.put("RejectedData", this.countRejected.sum());
+		result.put("DroppedPoints", this.streamHandler() //
+				.mapToLong(QueueHandler::getCountDropped) //
+				.sum());
+		return result;
 	}
 
 	private boolean enableWriteToTimescaledb(String edgeId) {
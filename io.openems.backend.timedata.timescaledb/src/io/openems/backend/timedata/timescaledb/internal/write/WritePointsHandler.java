@@ -3,14 +3,13 @@ package io.openems.backend.timedata.timescaledb.internal.write;
 import java.sql.SQLException;
 import java.util.List;
 
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.zaxxer.hikari.HikariDataSource;
 
-import de.bytefish.pgbulkinsert.row.SimpleRowWriter;
-import de.bytefish.pgbulkinsert.row.SimpleRowWriter.Table;
-import de.bytefish.pgbulkinsert.util.PostgreSqlUtils;
 import io.openems.backend.timedata.timescaledb.internal.Priority;
 import io.openems.backend.timedata.timescaledb.internal.Type;
 
@@ -19,30 +18,28 @@ public class WritePointsHandler implements Runnable {
 	private final Logger log = LoggerFactory.getLogger(WritePointsHandler.class);
 
 	private final HikariDataSource dataSource;
-	private final Type type;
 	private final List<Point> points;
-	private final Table table;
+	private final String sql;
+	private final Runnable onFinished;
 
-	public WritePointsHandler(HikariDataSource dataSource, Type type, Priority priority, List<Point> points) {
+	public WritePointsHandler(HikariDataSource dataSource, Type type, Priority priority, List<Point> points,
+			Runnable onFinished) {
 		this.dataSource = dataSource;
-		this.type = type;
 		this.points = points;
-
-		this.table = new SimpleRowWriter.Table(null, type.getRawTableName(priority), new String[] { //
-				"time", //
-				"edge_channel_id", //
-				"value" //
-		});
+		this.onFinished = onFinished;
+		this.sql = "COPY " + type.getRawTableName(priority) + " (time, edge_channel_id, value) FROM STDIN BINARY";
 	}
 
 	@Override
 	public void run() {
-		try (//
-				var con = this.dataSource.getConnection();
-				SimpleRowWriter writer = new SimpleRowWriter(this.table, PostgreSqlUtils.getPGConnection(con)) //
-		) {
-			for (var point : this.points) {
-				writer.startRow(this.type.fillRow(point));
+		try (var con = this.dataSource.getConnection()) {
+			var copyIn = con.unwrap(PGConnection.class).getCopyAPI().copyIn(this.sql);
+			try {
+				this.write(copyIn);
+			} finally {
+				if (copyIn.isActive()) {
+					copyIn.cancelCopy();
+				}
 			}
 
 		} catch (SQLException e) {
@@ -55,7 +52,19 @@ public class WritePointsHandler implements Runnable {
 			this.log.error("Unable to write Points. " + e.getClass().getSimpleName() + ": " + e.getMessage());
 			e.printStackTrace();
 
+		} finally {
+			this.onFinished.run();
+		}
+	}
+
+	private void write(CopyIn copyIn) throws SQLException {
+		var encoder = BinaryCopyEncoder.get();
+		encoder.begin(copyIn::writeToCopy);
+		for (var point : this.points) {
+			encoder.writeRow(point);
 		}
+		encoder.end();
+		copyIn.endCopy();
 	}
 
 }
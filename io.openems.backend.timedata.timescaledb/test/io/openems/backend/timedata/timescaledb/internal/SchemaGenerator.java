@@ -28,6 +28,8 @@ public class SchemaGenerator {
 				.append(this.createEdgeChannelIndex()) //
 				.append("\n/* Create data tables */\n") //
 				.append(this.createDataTables()) //
+				.append("\n/* Create Rollups */\n\n") //
+				.append(RollupMigration.generate()) //
 				.append("\n/* Create PL/pgSQL functions */\n\n") //
 				.append(this.createFunctionGetOrCreateEdgeId()) //
 				.append(this.createFunctionGetOrCreateComponentId()) //
@@ -0,0 +1,85 @@
+package io.openems.backend.timedata.timescaledb.internal.read;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.Test;
+
+import io.openems.backend.timedata.timescaledb.internal.Priority;
+import io.openems.backend.timedata.timescaledb.internal.Rollup;
+import io.openems.backend.timedata.timescaledb.internal.Type;
+import io.openems.common.timedata.Resolution;
+
+public class QueryPlanTest {
+
+	private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+	private static final ZoneId KOLKATA = ZoneId.of("Asia/Kolkata");
+
+	@Test
+	public void testSelect() {
+		var from = ZonedDateTime.of(2022, 1, 1, 0, 0, 0, 0, BERLIN);
+		var to = from.plusYears(1);
+		var months = new Resolution(1, ChronoUnit.MONTHS);
+
+		assertEquals(Rollup.HOUR, Rollup.select(from, to, months));
+		assertEquals(Rollup.HOUR, Rollup.select(from, to, null));
+		assertEquals(Rollup.DAY, Rollup.select(from.withZoneSameLocal(ZoneOffset.UTC),
+				to.withZoneSameLocal(ZoneOffset.UTC), months));
+
+		// Resolution finer than an hour
+		assertEquals(Rollup.FIVE_MINUTES, Rollup.select(from, to, new Resolution(15, ChronoUnit.MINUTES)));
+
+		// Half-hour offset
+		assertEquals(Rollup.FIVE_MINUTES, Rollup.select(from.withZoneSameLocal(KOLKATA),
+				to.withZoneSameLocal(KOLKATA), months));
+
+		// Range not aligned
+		assertEquals(Rollup.FIVE_MINUTES, Rollup.select(from.plusMinutes(5), to, null));
+	}
+
+	@Test
+	public void testOf() {
+		var from = ZonedDateTime.of(2022, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		var to = from.plusYears(1);
+		var resolution = new Resolution(1, ChronoUnit.DAYS);
+
+		// Completely materialized
+		var plan = QueryPlan.of(from, to, resolution, r -> to.plusDays(1));
+		assertEquals(Rollup.DAY, plan.rollup());
+		assertNull(plan.splitAt());
+		assertEquals("data_float_low_1d", plan.from(Type.FLOAT, Priority.LOW));
+
+		// Open end is read from the 5-minute aggregate
+		var lastBucket = from.plusMonths(6).minusDays(2);
+		plan = QueryPlan.of(from, to, resolution, r -> r.getCompleteUntil(lastBucket));
+		assertEquals(Rollup.DAY, plan.rollup());
+		assertEquals(from.plusMonths(6).minusDays(1), plan.splitAt());
+		var sql = plan.from(Type.INTEGER, Priority.HIGH);
+		assertTrue(sql.contains("FROM data_integer_high_1d WHERE time < ?"));
+		assertTrue(sql.contains("max(\"max\") AS \"max\" FROM data_integer_high_5m WHERE time >= ?"));
+
+		// Nothing materialized within the range
+		plan = QueryPlan.of(from, to, resolution, r -> from);
+		assertEquals(Rollup.FIVE_MINUTES, plan.rollup());
+		assertNull(plan.splitAt());
+
+		// Rollup not available or still empty
+		plan = QueryPlan.of(from, to, resolution, r -> r.getCompleteUntil(null));
+		assertEquals(Rollup.FIVE_MINUTES, plan.rollup());
+		assertNull(plan.splitAt());
+		assertEquals("data_float_low_5m", plan.from(Type.FLOAT, Priority.LOW));
+
+		// Not aligned; Rollups are not asked
+		plan = QueryPlan.of(from.plusMinutes(5), to, resolution, r -> {
+			throw new AssertionError();
+		});
+		assertEquals(Rollup.FIVE_MINUTES, plan.rollup());
+	}
+
+}
@@ -0,0 +1,89 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import io.openems.backend.timedata.timescaledb.internal.write.Point.FloatPoint;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.IntPoint;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.StringPoint;
+
+public class BinaryCopyEncoderTest {
+
+	private static final long TIMESTAMP = 946_684_800_001L; // 2000-01-01T00:00:00.001Z
+
+	private static ByteBuffer encode(Point... points) throws SQLException {
+		final var out = new ByteArrayOutputStream();
+		final var sut = new BinaryCopyEncoder();
+		sut.begin(out::write);
+		for (var point : points) {
+			sut.writeRow(point);
+		}
+		sut.end();
+		return ByteBuffer.wrap(out.toByteArray());
+	}
+
+	private static void assertHeader(ByteBuffer buffer) {
+		final var signature = new byte[11];
+		buffer.get(signature);
+		assertArrayEquals(new byte[] { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 }, signature);
+		assertEquals(0, buffer.getInt()); // flags
+		assertEquals(0, buffer.getInt()); // header extension
+	}
+
+	private static void assertRowStart(ByteBuffer buffer, int channelId) {
+		assertEquals(3, buffer.getShort());
+		assertEquals(8, buffer.getInt());
+		assertEquals(1000L, buffer.getLong());
+		assertEquals(4, buffer.getInt());
+		assertEquals(channelId, buffer.getInt());
+	}
+
+	@Test
+	public void testEncode() throws SQLException {
+		final var buffer = encode(//
+				new IntPoint(1, TIMESTAMP, 42L), //
+				new FloatPoint(2, TIMESTAMP, 1.5), //
+				new StringPoint(3, TIMESTAMP, "\u00e4"));
+		assertHeader(buffer);
+
+		assertRowStart(buffer, 1);
+		assertEquals(8, buffer.getInt());
+		assertEquals(42L, buffer.getLong());
+
+		assertRowStart(buffer, 2);
+		assertEquals(8, buffer.getInt());
+		assertEquals(1.5, buffer.getDouble(), 0);
+
+		assertRowStart(buffer, 3);
+		assertEquals(2, buffer.getInt());
+		assertEquals((byte) 0xC3, buffer.get());
+		assertEquals((byte) 0xA4, buffer.get());
+
+		assertEquals(-1, buffer.getShort());
+		assertEquals(0, buffer.remaining());
+	}
+
+	@Test
+	public void testFlush() throws SQLException {
+		final var points = new Point[10_000];
+		for (var i = 0; i < points.length; i++) {
+			points[i] = new IntPoint(i, TIMESTAMP, i);
+		}
+		final var buffer = encode(points);
+		assertHeader(buffer);
+		for (var i = 0; i < points.length; i++) {
+			assertRowStart(buffer, i);
+			assertEquals(8, buffer.getInt());
+			assertEquals(i, buffer.getLong());
+		}
+		assertEquals(-1, buffer.getShort());
+		assertEquals(0, buffer.remaining());
+	}
+
+}
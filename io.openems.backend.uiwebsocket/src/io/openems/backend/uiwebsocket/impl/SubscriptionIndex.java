@@ -0,0 +1,114 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse index from Edge-ID to the UI sessions that subscribed this Edge via
+ * SubscribeEdgesRequest.
+ *
+ * <p>
+ * Incoming data of an Edge only needs to be fanned out to the sessions in this
+ * index instead of to every open UI connection.
+ *
+ * <p>
+ * Additionally holds the sessions with coalesced data that could not be sent
+ * immediately, because the browser did not keep up; see
+ * {@link WsData#sendSubscribedChannels(String, io.openems.backend.common.edgewebsocket.EdgeCache)}.
+ */
+public class SubscriptionIndex {
+
+	private final Map<String, Set<WsData>> sessionsByEdgeId = new ConcurrentHashMap<>();
+	private final Set<WsData> pendingSessions = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Adds a session for an Edge-ID.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param wsData the {@link WsData} of the session
+	 */
+	public void add(String edgeId, WsData wsData) {
+		this.sessionsByEdgeId.computeIfAbsent(edgeId, e -> ConcurrentHashMap.newKeySet()).add(wsData);
+	}
+
+	/**
+	 * Removes a session for an Edge-ID.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param wsData the {@link WsData} of the session
+	 */
+	public void remove(String edgeId, WsData wsData) {
+		this.sessionsByEdgeId.computeIfPresent(edgeId, (e, sessions) -> {
+			sessions.remove(wsData);
+			return sessions.isEmpty() ? null : sessions;
+		});
+	}
+
+	/**
+	 * Removes a session completely, e.g. on close of the websocket.
+	 *
+	 * @param edgeIds the Edge-IDs subscribed by the session
+	 * @param wsData  the {@link WsData} of the session
+	 */
+	public void removeAll(Set<String> edgeIds, WsData wsData) {
+		for (var edgeId : edgeIds) {
+			this.remove(edgeId, wsData);
+		}
+		this.pendingSessions.remove(wsData);
+	}
+
+	/**
+	 * Gets the sessions that subscribed an Edge-ID.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return the sessions; empty set if there are none
+	 */
+	public Set<WsData> getSessions(String edgeId) {
+		var sessions = this.sessionsByEdgeId.get(edgeId);
+		if (sessions == null) {
+			return Collections.emptySet();
+		}
+		return sessions;
+	}
+
+	/**
+	 * Marks a session as having coalesced data that still needs to be sent.
+	 *
+	 * @param wsData the {@link WsData} of the session
+	 */
+	public void markPending(WsData wsData) {
+		this.pendingSessions.add(wsData);
+	}
+
+	/**
+	 * Sends the coalesced data of all pending sessions. Sessions that are still
+	 * busy mark themselves as pending again.
+	 */
+	public void flushPending() {
+		for (var wsData : this.pendingSessions) {
+			this.pendingSessions.remove(wsData);
+			wsData.flushPendingChannels();
+		}
+	}
+
+	/**
+	 * Gets the number of subscribed Edges.
+	 *
+	 * @return the number of Edges
+	 */
+	public int getNumberOfEdges() {
+		return this.sessionsByEdgeId.size();
+	}
+
+	/**
+	 * Gets the number of sessions with coalesced data.
+	 *
+	 * @return the number of sessions
+	 */
+	public int getNumberOfPendingSessions() {
+		return this.pendingSessions.size();
+	}
+
+}
@@ -3,10 +3,14 @@ package io.openems.backend.uiwebsocket.impl;
 import static java.util.stream.Collectors.toUnmodifiableMap;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -21,6 +25,7 @@ import org.osgi.service.event.propertytypes.EventTopics;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
 
@@ -41,6 +46,7 @@ import io.openems.common.jsonrpc.base.AbstractJsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.utils.ThreadPoolUtils;
 
 @Designate(ocd = Config.class, factory = false)
 @Component(//
@@ -56,8 +62,19 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 
 	private static final String COMPONENT_ID = "uiwebsocket0";
 
+	/**
+	 * Interval in which coalesced Channel updates of slow UI sessions are sent.
+	 */
+	private static final int COALESCING_WINDOW_MILLIS = 500;
+
 	protected WebsocketServer server = null;
 
+	/** Reverse index from Edge-ID to subscribed UI sessions. */
+	protected final SubscriptionIndex subscriptionIndex = new SubscriptionIndex();
+
+	private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(
+			new ThreadFactoryBuilder().setNameFormat("Ui.Websocket.Flush-%d").build());
+
 	@Reference
 	protected volatile JsonRpcRequestHandler jsonRpcRequestHandler;
 
@@ -86,10 +103,14 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 		if (this.metadata.isInitialized()) {
 			this.startServer();
 		}
+
+		this.flushExecutor.scheduleWithFixedDelay(this.subscriptionIndex::flushPending, //
+				COALESCING_WINDOW_MILLIS, COALESCING_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
 	}
 
 	@Deactivate
 	private void deactivate() {
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.flushExecutor, 5);
 		this.stopServer();
 	}
 
@@ -155,8 +176,7 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 		if (this.server == null) {
 			return;
 		}
-		var wsDatas = this.getWsDatasForEdgeId(edgeId);
-		for (WsData wsData : wsDatas) {
+		for (WsData wsData : this.getWsDatasForEdgeId(edgeId)) {
 			if (!wsData.isEdgeSubscribed(edgeId)) {
 				continue;
 			}
@@ -186,20 +206,15 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 	}
 
 	/**
-	 * Gets the WebSocket connection attachments of all connections accessing an
-	 * Edge-ID.
+	 * Gets the WebSocket connection attachments of all connections that subscribed
+	 * and have access to an Edge-ID.
 	 *
 	 * @param edgeId the Edge-ID
 	 * @return the WsDatas; empty list if there are none
 	 */
 	private List<WsData> getWsDatasForEdgeId(String edgeId) {
 		var result = new ArrayList<WsData>();
-		var connections = this.server.getConnections();
-		for (var websocket : connections) {
-			WsData wsData = websocket.getAttachment();
-			if (wsData == null) {
-				continue;
-			}
+		for (var wsData : this.subscriptionIndex.getSessions(edgeId)) {
 			// get attachment User-ID
 			var userIdOpt = wsData.getUserId();
 			if (userIdOpt.isPresent()) {
@@ -233,12 +248,9 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 		if (this.server == null) {
 			return;
 		}
-		var connections = this.server.getConnections();
-		for (var websocket : connections) {
-			WsData wsData = websocket.getAttachment();
-			if (wsData != null) {
-				wsData.sendSubscribedChannels(edgeId, edgeCache);
-			}
+		// Only touch the sessions that subscribed this Edge
+		for (var wsData : this.subscriptionIndex.getSessions(edgeId)) {
+			wsData.sendSubscribedChannels(edgeId, edgeCache);
 		}
 	}
 
@@ -276,6 +288,8 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 				.append(this.server != null //
 						? this.server.debugLog() //
 						: "NOT STARTED") //
+				.append(", SubscribedEdges: ").append(this.subscriptionIndex.getNumberOfEdges()) //
+				.append(", PendingSessions: ").append(this.subscriptionIndex.getNumberOfPendingSessions()) //
 				.toString();
 	}
 
@@ -285,7 +299,10 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 			return null;
 		}
 
-		return this.server.debugMetrics().entrySet().stream() //
+		var metrics = new HashMap<>(this.server.debugMetrics());
+		metrics.put("SubscribedEdges", this.subscriptionIndex.getNumberOfEdges());
+		metrics.put("PendingSessions", this.subscriptionIndex.getNumberOfPendingSessions());
+		return metrics.entrySet().stream() //
 				.collect(toUnmodifiableMap(//
 						e -> this.getId() + "/" + e.getKey(), //
 						e -> new JsonPrimitive(e.getValue())));
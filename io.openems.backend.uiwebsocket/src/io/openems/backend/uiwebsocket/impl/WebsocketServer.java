@@ -24,7 +24,7 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 
 	@Override
 	protected WsData createWsData(WebSocket ws) {
-		return new WsData(ws);
+		return new WsData(ws, this.parent.subscriptionIndex);
 	}
 
 	@Override
@@ -1,13 +1,11 @@
 package io.openems.backend.uiwebsocket.impl;
 
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.SortedSet;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.java_websocket.WebSocket;
 
@@ -27,7 +25,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 	private static class SubscribedChannels {
 
 		private int lastRequestCount = Integer.MIN_VALUE;
-		private final Map<String, SortedSet<String>> subscribedChannels = new HashMap<>();
+		private final Map<String, EdgeCache.Subscription> subscribedChannels = new ConcurrentHashMap<>();
 
 		/**
 		 * Applies a SubscribeChannelsRequest.
@@ -37,7 +35,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 		 */
 		public synchronized void handleSubscribeChannelsRequest(String edgeId, SubscribeChannelsRequest request) {
 			if (this.lastRequestCount < request.getCount()) {
-				this.subscribedChannels.put(edgeId, request.getChannels());
+				this.subscribedChannels.put(edgeId, EdgeCache.Subscription.of(request.getChannels()));
 			}
 		}
 
@@ -65,14 +63,35 @@ public class WsData extends io.openems.common.websocket.WsData {
 
 	private final UUID id = UUID.randomUUID();
 
+	private final SubscriptionIndex subscriptionIndex;
 	private final SubscribedChannels subscribedChannels = new SubscribedChannels();
 	private Optional<String> userId = Optional.empty();
 	private Optional<String> token = Optional.empty();
 
-	private Set<String> subscribedEdges = new HashSet<>();
+	private volatile Set<String> subscribedEdges = Collections.emptySet();
+	private boolean isDisposed = false;
 
-	public WsData(WebSocket ws) {
+	/**
+	 * Edges with data that was coalesced while the browser did not keep up. Only
+	 * the Edge-ID is relevant; the values are read from the {@link EdgeCache} when
+	 * sending.
+	 */
+	private final Map<String, EdgeCache> pendingEdges = new ConcurrentHashMap<>();
+
+	public WsData(WebSocket ws, SubscriptionIndex subscriptionIndex) {
 		super(ws);
+		this.subscriptionIndex = subscriptionIndex;
+	}
+
+	@Override
+	public void dispose() {
+		super.dispose();
+		synchronized (this) {
+			this.isDisposed = true;
+			this.subscriptionIndex.removeAll(this.subscribedEdges, this);
+			this.subscribedEdges = Collections.emptySet();
+		}
+		this.pendingEdges.clear();
 	}
 
 	/**
@@ -179,13 +198,35 @@ public class WsData extends io.openems.common.websocket.WsData {
 	 * 
 	 * @param edgeIds the edges to subscribe
 	 */
-	public void handleSubscribeEdgesRequest(Set<String> edgeIds) {
+	public synchronized void handleSubscribeEdgesRequest(Set<String> edgeIds) {
+		if (this.isDisposed) {
+			return;
+		}
 		// TODO maybe only add and remove on explicit request
-		this.subscribedEdges = edgeIds;
+		var previousEdgeIds = this.subscribedEdges;
+		var newEdgeIds = Set.copyOf(edgeIds);
+		for (var edgeId : previousEdgeIds) {
+			if (!newEdgeIds.contains(edgeId)) {
+				this.subscriptionIndex.remove(edgeId, this);
+				this.pendingEdges.remove(edgeId);
+			}
+		}
+		for (var edgeId : newEdgeIds) {
+			if (!previousEdgeIds.contains(edgeId)) {
+				this.subscriptionIndex.add(edgeId, this);
+			}
+		}
+		this.subscribedEdges = newEdgeIds;
 	}
 
 	/**
 	 * Sends the subscribed Channels to the UI session.
+	 *
+	 * <p>
+	 * If the previous message was not yet fully written to the websocket, the
+	 * update is coalesced: only the Edge-ID is remembered and the then latest
+	 * values are sent by {@link #flushPendingChannels()}. A slow browser so gets
+	 * the latest snapshot instead of an ever-growing send queue.
 	 * 
 	 * @param edgeId    the Edge-ID
 	 * @param edgeCache the {@link EdgeCache} for the Edge-ID
@@ -194,6 +235,41 @@ public class WsData extends io.openems.common.websocket.WsData {
 		if (!this.isEdgeSubscribed(edgeId)) {
 			return;
 		}
+		if (this.hasBufferedData()) {
+			this.pendingEdges.put(edgeId, edgeCache);
+			this.subscriptionIndex.markPending(this);
+			return;
+		}
+		this.pendingEdges.remove(edgeId);
+		this.sendChannelValues(edgeId, edgeCache);
+	}
+
+	/**
+	 * Sends the coalesced updates of
+	 * {@link #sendSubscribedChannels(String, EdgeCache)}, if the websocket is
+	 * ready again.
+	 */
+	public void flushPendingChannels() {
+		if (this.pendingEdges.isEmpty()) {
+			return;
+		}
+		if (this.hasBufferedData()) {
+			this.subscriptionIndex.markPending(this);
+			return;
+		}
+		for (var entry : this.pendingEdges.entrySet()) {
+			if (this.pendingEdges.remove(entry.getKey(), entry.getValue())) {
+				this.sendChannelValues(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	private boolean hasBufferedData() {
+		var websocket = this.getWebsocket();
+		return websocket != null && websocket.isOpen() && websocket.hasBufferedData();
+	}
+
+	private void sendChannelValues(String edgeId, EdgeCache edgeCache) {
 		var values = this.subscribedChannels.getChannelValues(edgeId, edgeCache);
 		if (values.isEmpty()) {
 			return;
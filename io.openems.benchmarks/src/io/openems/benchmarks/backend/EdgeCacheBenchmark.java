@@ -0,0 +1,105 @@
+package io.openems.benchmarks.backend;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.common.edgewebsocket.EdgeCache;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+
+/**
+ * Measures updating and reading the {@link EdgeCache}, i.e. the work the
+ * Backend does for every incoming data notification and every UI subscription.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EdgeCacheBenchmark {
+
+	@Param({ "100", "1000" })
+	protected int numberOfChannels;
+
+	@Param({ "20" })
+	protected int subscribedChannels;
+
+	private EdgeCache cache;
+	private Set<String> addresses;
+	private EdgeCache.Subscription subscription;
+	private long timestamp;
+
+	/**
+	 * Creates the {@link EdgeCache} and the subscribed Channels.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		this.cache = new EdgeCache();
+		this.timestamp = System.currentTimeMillis();
+		this.cache.updateCurrentData(this.createNotification());
+		this.addresses = IntStream.range(0, this.subscribedChannels) //
+				.mapToObj(EdgeCacheBenchmark::toAddress) //
+				.collect(Collectors.toUnmodifiableSet());
+		this.subscription = EdgeCache.Subscription.of(this.addresses);
+	}
+
+	/**
+	 * Creates and applies a data notification with increasing timestamp.
+	 */
+	@Benchmark
+	public void updateCurrentData() {
+		this.cache.updateCurrentData(this.createNotification());
+	}
+
+	/**
+	 * Reads the subscribed Channels by Channel-Address.
+	 *
+	 * @return the values
+	 */
+	@Benchmark
+	public EdgeCache.Pair<?, ?> getChannelValues() {
+		return this.cache.getChannelValues(this.addresses);
+	}
+
+	/**
+	 * Reads the subscribed Channels via a {@link EdgeCache.Subscription}, like a
+	 * UI session does.
+	 *
+	 * @return the values
+	 */
+	@Benchmark
+	public EdgeCache.Pair<?, ?> getChannelValuesSubscription() {
+		return this.cache.getChannelValues(this.subscription);
+	}
+
+	private TimestampedDataNotification createNotification() {
+		this.timestamp += 1000;
+		var notification = new TimestampedDataNotification();
+		for (var i = 0; i < this.numberOfChannels; i++) {
+			notification.add(this.timestamp, toAddress(i), new JsonPrimitive(i));
+		}
+		return notification;
+	}
+
+	private static String toAddress(int i) {
+		return "component" + i / 50 + "/Channel" + i % 50;
+	}
+
+}
@@ -0,0 +1,77 @@
+package io.openems.benchmarks.common.jsonrpc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+
+/**
+ * Measures serialization and parsing of a {@link TimestampedDataNotification},
+ * i.e. the message an Edge sends to the Backend every Cycle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataNotificationBenchmark {
+
+	@Param({ "100", "1000" })
+	protected int numberOfChannels;
+
+	private TimestampedDataNotification notification;
+	private String json;
+
+	/**
+	 * Creates a {@link TimestampedDataNotification} with
+	 * {@link #numberOfChannels} Channels.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		this.notification = new TimestampedDataNotification();
+		var timestamp = System.currentTimeMillis();
+		for (var i = 0; i < this.numberOfChannels; i++) {
+			this.notification.add(timestamp, "component" + i / 50 + "/Channel" + i % 50, new JsonPrimitive(i * 7));
+		}
+		this.json = this.notification.toString();
+	}
+
+	/**
+	 * Serializes the notification to a String.
+	 *
+	 * @return the JSON String
+	 */
+	@Benchmark
+	public String serialize() {
+		return this.notification.toString();
+	}
+
+	/**
+	 * Parses the notification from a String.
+	 *
+	 * @return the {@link TimestampedDataNotification}
+	 * @throws OpenemsNamedException on error
+	 */
+	@Benchmark
+	public TimestampedDataNotification parse() throws OpenemsNamedException {
+		return TimestampedDataNotification.from(GenericJsonrpcNotification.from(this.json));
+	}
+
+}
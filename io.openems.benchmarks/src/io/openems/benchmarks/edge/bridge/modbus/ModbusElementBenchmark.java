@@ -0,0 +1,91 @@
+package io.openems.benchmarks.edge.bridge.modbus;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ghgande.j2mod.modbus.procimg.Register;
+import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
+
+import io.openems.benchmarks.edge.channel.BenchmarkComponent;
+import io.openems.edge.bridge.modbus.api.ElementToChannelConverter;
+import io.openems.edge.bridge.modbus.api.element.FloatDoublewordElement;
+import io.openems.edge.bridge.modbus.api.element.ModbusRegisterElement;
+import io.openems.edge.bridge.modbus.api.element.SignedDoublewordElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+
+/**
+ * Measures decoding of Modbus Registers to Channel values, i.e. the work a
+ * Modbus driver does for every Register it reads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModbusElementBenchmark {
+
+	public enum ElementType {
+		UNSIGNED_WORD, SIGNED_DOUBLEWORD, FLOAT_DOUBLEWORD
+	}
+
+	@Param({ "UNSIGNED_WORD", "SIGNED_DOUBLEWORD", "FLOAT_DOUBLEWORD" })
+	protected ElementType elementType;
+
+	@Param({ "100" })
+	protected int numberOfElements;
+
+	private ModbusRegisterElement<?, ?>[] elements;
+	private Register[][] registers;
+
+	/**
+	 * Creates the Elements, each mapped to a Channel with a scale factor.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		var component = new BenchmarkComponent("device0", this.numberOfElements);
+		var channels = component.getIntegerChannels();
+		var converter = ElementToChannelConverter.SCALE_FACTOR_MINUS_1;
+		this.elements = new ModbusRegisterElement<?, ?>[this.numberOfElements];
+		this.registers = new Register[this.numberOfElements][];
+		for (var i = 0; i < this.numberOfElements; i++) {
+			var channel = channels.get(i);
+			this.elements[i] = switch (this.elementType) {
+			case UNSIGNED_WORD -> new UnsignedWordElement(i) //
+					.onUpdateCallback(v -> channel.setNextValue(converter.elementToChannel(v)));
+			case SIGNED_DOUBLEWORD -> new SignedDoublewordElement(i * 2) //
+					.onUpdateCallback(v -> channel.setNextValue(converter.elementToChannel(v)));
+			case FLOAT_DOUBLEWORD -> new FloatDoublewordElement(i * 2) //
+					.onUpdateCallback(v -> channel.setNextValue(converter.elementToChannel(v)));
+			};
+			this.registers[i] = switch (this.elementType) {
+			case UNSIGNED_WORD -> new Register[] { new SimpleRegister(i) };
+			case SIGNED_DOUBLEWORD, FLOAT_DOUBLEWORD -> new Register[] { new SimpleRegister(0x4120), //
+					new SimpleRegister(i) };
+			};
+		}
+	}
+
+	/**
+	 * Sets the input value of all Elements.
+	 */
+	@Benchmark
+	public void setInputValue() {
+		for (var i = 0; i < this.elements.length; i++) {
+			this.elements[i].setInputValue(this.registers[i]);
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+package io.openems.benchmarks.edge.channel;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.type.TypeUtils;
+
+/**
+ * A copy of the 'setNextValue' and 'nextProcessImage' logic of
+ * AbstractReadChannel before the allocation-free fast path, used as the
+ * baseline in {@link ChannelBenchmark} and {@link ProcessImageBenchmark}.
+ *
+ * <p>
+ * Every value is converted via {@link TypeUtils}, gets a new {@link Value} with
+ * a new {@link LocalDateTime} and the callback lists are iterated and the
+ * values compared on every switch. Past values are kept in a {@link TreeMap}
+ * like before. Only the debug logging is left out.
+ */
+public class BaselineIntegerChannel {
+
+	private final IntegerReadChannel channel;
+	private final List<Consumer<Value<Integer>>> onUpdateCallbacks = new CopyOnWriteArrayList<>();
+	private final List<Consumer<Value<Integer>>> onSetNextValueCallbacks = new CopyOnWriteArrayList<>();
+	private final List<BiConsumer<Value<Integer>, Value<Integer>>> onChangeCallbacks = new CopyOnWriteArrayList<>();
+	private final TreeMap<LocalDateTime, Value<Integer>> pastValues = new TreeMap<>();
+
+	private volatile Value<Integer> nextValue;
+	private volatile Value<Integer> activeValue;
+
+	public BaselineIntegerChannel(IntegerReadChannel channel) {
+		this.channel = channel;
+		this.nextValue = new Value<>(channel, null, LocalDateTime.now());
+		this.activeValue = new Value<>(channel, null, LocalDateTime.now());
+	}
+
+	/**
+	 * Adds an 'onUpdate' callback.
+	 *
+	 * @param callback the callback
+	 */
+	public void onUpdate(Consumer<Value<Integer>> callback) {
+		this.onUpdateCallbacks.add(callback);
+	}
+
+	/**
+	 * Adds an 'onChange' callback.
+	 *
+	 * @param callback the callback
+	 */
+	public void onChange(BiConsumer<Value<Integer>, Value<Integer>> callback) {
+		this.onChangeCallbacks.add(callback);
+	}
+
+	/**
+	 * Sets the next value like the default 'Channel.setNextValue(Object)'.
+	 *
+	 * @param value the next value
+	 */
+	public void setNextValue(Object value) {
+		Integer converted = TypeUtils.getAsType(OpenemsType.INTEGER, value);
+		var channelDoc = this.channel.channelDoc();
+		if (channelDoc.getUnit().isCumulated() && this.activeValue.isDefined() && converted == null) {
+			return;
+		}
+		this.nextValue = new Value<>(this.channel, converted, LocalDateTime.now());
+		this.onSetNextValueCallbacks.forEach(callback -> callback.accept(this.nextValue));
+	}
+
+	/**
+	 * Switches the Process Image.
+	 */
+	public void nextProcessImage() {
+		var oldValue = this.activeValue;
+		var newValue = this.nextValue;
+		try {
+			this.activeValue = newValue;
+			this.onUpdateCallbacks.forEach(callback -> callback.accept(newValue));
+			if (!Objects.equals(oldValue.get(), newValue.get())) {
+				this.onChangeCallbacks.forEach(callback -> callback.accept(oldValue, newValue));
+			}
+			this.appendPastValue(newValue);
+
+		} catch (RuntimeException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private void appendPastValue(Value<Integer> value) {
+		final var compareTime = value.getTimestamp().minus(Channel.MAX_AGE_OF_PAST_VALUES);
+		this.pastValues.put(value.getTimestamp(), value);
+		this.pastValues.headMap(compareTime).clear();
+	}
+
+	/**
+	 * Gets the active value.
+	 *
+	 * @return the {@link Value}
+	 */
+	public Value<Integer> value() {
+		return this.activeValue;
+	}
+
+}
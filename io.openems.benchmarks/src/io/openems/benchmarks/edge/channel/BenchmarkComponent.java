@@ -0,0 +1,52 @@
+package io.openems.benchmarks.edge.channel;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.ChannelId;
+import io.openems.edge.common.channel.ChannelId.ChannelIdImpl;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.test.AbstractDummyOpenemsComponent;
+
+/**
+ * A Component with a configurable number of Integer Channels, similar to a
+ * device driver with many Modbus registers.
+ */
+public class BenchmarkComponent extends AbstractDummyOpenemsComponent<BenchmarkComponent> {
+
+	private final List<IntegerReadChannel> integerChannels;
+
+	public BenchmarkComponent(String id, int numberOfChannels) {
+		super(id, //
+				OpenemsComponent.ChannelId.values(), //
+				createChannelIds(numberOfChannels));
+		this.integerChannels = this.channels().stream() //
+				.filter(IntegerReadChannel.class::isInstance) //
+				.map(IntegerReadChannel.class::cast) //
+				.toList();
+	}
+
+	private static ChannelId[] createChannelIds(int numberOfChannels) {
+		return IntStream.range(0, numberOfChannels) //
+				.mapToObj(i -> new ChannelIdImpl("VALUE_" + i, Doc.of(OpenemsType.INTEGER))) //
+				.toArray(ChannelId[]::new);
+	}
+
+	/**
+	 * Gets the Integer Channels of this Component.
+	 *
+	 * @return the Channels
+	 */
+	public List<IntegerReadChannel> getIntegerChannels() {
+		return this.integerChannels;
+	}
+
+	@Override
+	protected BenchmarkComponent self() {
+		return this;
+	}
+
+}
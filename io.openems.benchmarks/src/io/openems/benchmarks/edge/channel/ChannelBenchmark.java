@@ -0,0 +1,145 @@
+package io.openems.benchmarks.edge.channel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.openems.edge.common.channel.IntegerReadChannel;
+
+/**
+ * Measures setting values of {@link IntegerReadChannel}s and full Cycles, i.e.
+ * the work a device driver and the Core.Cycle do for every Channel in every
+ * Cycle.
+ *
+ * <p>
+ * The '...Baseline' benchmarks run the same workload on
+ * {@link BaselineIntegerChannel}s, i.e. the logic before the allocation-free
+ * fast path. See {@link ProcessImageBenchmark} for the Process Image switch
+ * alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChannelBenchmark {
+
+	@Param({ "100", "1000" })
+	protected int numberOfChannels;
+
+	/** Share of Channels that change their value in every Cycle. */
+	@Param({ "0.1", "1.0" })
+	protected double changeRate;
+
+	@Param({ "false", "true" })
+	protected boolean withCallbacks;
+
+	private IntegerReadChannel[] channels;
+	private BaselineIntegerChannel[] baselineChannels;
+	private int cycle = 0;
+
+	/**
+	 * Creates the Channels.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		var component = new BenchmarkComponent("benchmark0", this.numberOfChannels);
+		this.channels = component.getIntegerChannels().toArray(IntegerReadChannel[]::new);
+		this.baselineChannels = new BaselineIntegerChannel[this.channels.length];
+		for (var i = 0; i < this.channels.length; i++) {
+			this.baselineChannels[i] = new BaselineIntegerChannel(this.channels[i]);
+		}
+		if (this.withCallbacks) {
+			for (var i = 0; i < this.channels.length; i++) {
+				this.channels[i].onUpdate(value -> {
+				});
+				this.channels[i].onChange((oldValue, newValue) -> {
+				});
+				this.baselineChannels[i].onUpdate(value -> {
+				});
+				this.baselineChannels[i].onChange((oldValue, newValue) -> {
+				});
+			}
+		}
+	}
+
+	private int nextValue(int index) {
+		return index < this.channels.length * this.changeRate ? this.cycle + index : index;
+	}
+
+	/**
+	 * Sets primitive int values.
+	 */
+	@Benchmark
+	public void setNextValuePrimitive() {
+		this.cycle++;
+		for (var i = 0; i < this.channels.length; i++) {
+			this.channels[i].setNextValue(this.nextValue(i));
+		}
+	}
+
+	/**
+	 * Sets boxed values that already have the type of the Channel.
+	 */
+	@Benchmark
+	public void setNextValueBoxed() {
+		this.cycle++;
+		for (var i = 0; i < this.channels.length; i++) {
+			this.channels[i].setNextValue((Object) Integer.valueOf(this.nextValue(i)));
+		}
+	}
+
+	/**
+	 * Sets boxed values on the {@link BaselineIntegerChannel}s.
+	 */
+	@Benchmark
+	public void setNextValueBaseline() {
+		this.cycle++;
+		for (var i = 0; i < this.baselineChannels.length; i++) {
+			this.baselineChannels[i].setNextValue((Object) Integer.valueOf(this.nextValue(i)));
+		}
+	}
+
+	/**
+	 * Sets all values and switches the Process Image, like one Cycle.
+	 *
+	 * @param blackhole the {@link Blackhole}
+	 */
+	@Benchmark
+	public void cycle(Blackhole blackhole) {
+		this.setNextValuePrimitive();
+		for (var channel : this.channels) {
+			channel.nextProcessImage();
+		}
+		blackhole.consume(this.channels[0].value());
+	}
+
+	/**
+	 * Sets all values and switches the Process Image of the
+	 * {@link BaselineIntegerChannel}s, like one Cycle.
+	 *
+	 * @param blackhole the {@link Blackhole}
+	 */
+	@Benchmark
+	public void cycleBaseline(Blackhole blackhole) {
+		this.setNextValueBaseline();
+		for (var channel : this.baselineChannels) {
+			channel.nextProcessImage();
+		}
+		blackhole.consume(this.baselineChannels[0].value());
+	}
+
+}
@@ -0,0 +1,172 @@
+package io.openems.benchmarks.edge.channel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.openems.edge.common.channel.IntegerReadChannel;
+
+/**
+ * Compares the Process Image switch of {@link IntegerReadChannel}s with the
+ * one of {@link BaselineIntegerChannel}s.
+ *
+ * <p>
+ * Every invocation is one Cycle: the next values are set from an array that is
+ * precomputed per trial, then the Process Image is switched. A
+ * {@link Level#Invocation} setup would distort the timing at this scale.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessImageBenchmark {
+
+	private static final int CYCLES = 16;
+
+	public abstract static class AbstractChannels {
+
+		@Param({ "100", "1000" })
+		protected int numberOfChannels;
+
+		/** Share of Channels that change their value before every switch. */
+		@Param({ "0.1", "1.0" })
+		protected double changeRate;
+
+		@Param({ "false", "true" })
+		protected boolean withCallbacks;
+
+		protected IntegerReadChannel[] channels;
+		private int[][] values;
+		private int cycle = 0;
+
+		/**
+		 * Creates the Channels and the values of {@link #CYCLES} Cycles.
+		 */
+		@Setup(Level.Trial)
+		public void setup() {
+			var component = new BenchmarkComponent("benchmark0", this.numberOfChannels);
+			this.channels = component.getIntegerChannels().toArray(IntegerReadChannel[]::new);
+			this.createChannels();
+
+			this.values = new int[CYCLES][this.channels.length];
+			for (var c = 0; c < CYCLES; c++) {
+				for (var i = 0; i < this.channels.length; i++) {
+					this.values[c][i] = i < this.channels.length * this.changeRate //
+							? c * this.channels.length + i // changes every Cycle
+							: i;
+				}
+			}
+		}
+
+		/**
+		 * Sets the precomputed next value of every Channel.
+		 */
+		protected void setNextValues() {
+			final var values = this.values[this.cycle];
+			this.cycle = (this.cycle + 1) % CYCLES;
+			for (var i = 0; i < values.length; i++) {
+				this.setNextValue(i, values[i]);
+			}
+		}
+
+		protected abstract void createChannels();
+
+		protected abstract void setNextValue(int index, int value);
+
+	}
+
+	@State(Scope.Thread)
+	public static class Channels extends AbstractChannels {
+
+		@Override
+		protected void createChannels() {
+			if (this.withCallbacks) {
+				for (var channel : this.channels) {
+					channel.onUpdate(value -> {
+					});
+					channel.onChange((oldValue, newValue) -> {
+					});
+				}
+			}
+		}
+
+		@Override
+		protected void setNextValue(int index, int value) {
+			this.channels[index].setNextValue(value);
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class BaselineChannels extends AbstractChannels {
+
+		private BaselineIntegerChannel[] baselineChannels;
+
+		@Override
+		protected void createChannels() {
+			this.baselineChannels = new BaselineIntegerChannel[this.channels.length];
+			for (var i = 0; i < this.channels.length; i++) {
+				var channel = new BaselineIntegerChannel(this.channels[i]);
+				if (this.withCallbacks) {
+					channel.onUpdate(value -> {
+					});
+					channel.onChange((oldValue, newValue) -> {
+					});
+				}
+				this.baselineChannels[i] = channel;
+			}
+		}
+
+		@Override
+		protected void setNextValue(int index, int value) {
+			this.baselineChannels[index].setNextValue(value);
+		}
+
+	}
+
+	/**
+	 * Sets the next values and switches the Process Image of all
+	 * {@link IntegerReadChannel}s.
+	 *
+	 * @param state     the {@link Channels}
+	 * @param blackhole the {@link Blackhole}
+	 */
+	@Benchmark
+	public void nextProcessImage(Channels state, Blackhole blackhole) {
+		state.setNextValues();
+		for (var channel : state.channels) {
+			channel.nextProcessImage();
+		}
+		blackhole.consume(state.channels[0].value());
+	}
+
+	/**
+	 * Sets the next values and switches the Process Image of all
+	 * {@link BaselineIntegerChannel}s.
+	 *
+	 * @param state     the {@link BaselineChannels}
+	 * @param blackhole the {@link Blackhole}
+	 */
+	@Benchmark
+	public void nextProcessImageBaseline(BaselineChannels state, Blackhole blackhole) {
+		state.setNextValues();
+		for (var channel : state.baselineChannels) {
+			channel.nextProcessImage();
+		}
+		blackhole.consume(state.baselineChannels[0].value());
+	}
+
+}
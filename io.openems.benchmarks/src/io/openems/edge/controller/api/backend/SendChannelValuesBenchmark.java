@@ -0,0 +1,92 @@
+package io.openems.edge.controller.api.backend;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.JsonElement;
+
+import io.openems.benchmarks.edge.channel.BenchmarkComponent;
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Measures how the {@link SendChannelValuesWorker} collects the values of
+ * Channels for the Backend in every Cycle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SendChannelValuesBenchmark {
+
+	@Param({ "10", "50" })
+	protected int numberOfComponents;
+
+	@Param({ "100" })
+	protected int channelsPerComponent;
+
+	private List<OpenemsComponent> components;
+	private ChannelChangeTracker tracker;
+
+	/**
+	 * Creates the Components and sets a value for every Channel.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		this.components = IntStream.range(0, this.numberOfComponents) //
+				.mapToObj(i -> (OpenemsComponent) new BenchmarkComponent("component" + i, this.channelsPerComponent)) //
+				.toList();
+		for (var component : this.components) {
+			var value = 0;
+			for (var channel : ((BenchmarkComponent) component).getIntegerChannels()) {
+				channel.setNextValue(value++);
+				channel.nextProcessImage();
+			}
+		}
+		this.tracker = new ChannelChangeTracker();
+		this.collectAll();
+	}
+
+	/**
+	 * Collects the values of all Channels, e.g. after a reconnect.
+	 *
+	 * @return the collected data
+	 */
+	@Benchmark
+	public Map<String, JsonElement> collectAll() {
+		return this.tracker.collect(this.components, PersistencePriority.VERY_LOW,
+				TimestampedDataNotification.FULL_KEYFRAME, duplicate -> {
+				});
+	}
+
+	/**
+	 * Collects the values of changed Channels; none changed.
+	 *
+	 * @return the collected data
+	 */
+	@Benchmark
+	public Map<String, JsonElement> collectChanges() {
+		return this.tracker.collect(this.components, PersistencePriority.VERY_LOW,
+				TimestampedDataNotification.NO_KEYFRAME, duplicate -> {
+				});
+	}
+
+}
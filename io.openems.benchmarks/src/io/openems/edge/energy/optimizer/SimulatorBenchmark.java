@@ -0,0 +1,134 @@
+package io.openems.edge.energy.optimizer;
+
+import static io.openems.edge.energy.optimizer.Utils.interpolateArray;
+import static io.openems.edge.energy.optimizer.Utils.toEnergy;
+import static java.util.Arrays.stream;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.openems.edge.controller.ess.timeofusetariff.ControlMode;
+import io.openems.edge.controller.ess.timeofusetariff.StateMachine;
+
+/**
+ * Measures the cost function and the genetic optimization of the
+ * {@link Simulator} and the {@link DynamicProgramming} solver with the
+ * recorded data of Edge 888 on 06.11.2023, i.e. the same {@link Params} as
+ * 'SimulatorTest.createParams888d20231106()'.
+ *
+ * <p>
+ * The cost of the Schedules found by both solvers is compared in
+ * DynamicProgrammingTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulatorBenchmark {
+
+	// Edge 888; 06.11.2023; copied from TestData of io.openems.edge.energy
+
+	private static final Integer[] PRODUCTION_888_20231106 = { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 12, 19, 24, 92, 301, 441, 653, 741, 1921, 1923, 1649, 2045, 2638, 3399, 4071, 4359,
+			4516, 5541, 6993, 6292, 3902, 7700, 9098, 9555, 8119, 6868, 6560, 6380, 6193, 5389, 4349, 3743, 5367, 5319,
+			4383, 2243, 1122, 1315, 1107, 268, 48, 2, 6, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0 };
+
+	private static final Integer[] CONSUMPTION_888_20231106 = { 308, 285, 384, 471, 480, 385, 464, 448, 288, 333, 346,
+			313, 1786, 332, 300, 259, 373, 358, 279, 308, 309, 415, 392, 299, 2913, 3105, 4416, 4442, 497, 5910, 4106,
+			2171, 3898, 922, 1601, 1088, 303, 2384, 430, 2428, 2899, 371, 613, 1663, 366, 2072, 456, 1589, 2004, 488,
+			199, 1628, 613, 198, 1796, 202, 1180, 4975, 4493, 5511, 7757, 2926, 2640, 4335, 2630, 2799, 5111, 2979,
+			3062, 4842, 4194, 4474, 4750, 4876, 1238, 1395, 1425, 1123, 3366, 4088, 418, 436, 3234, 1504, 1092, 1853,
+			365, 628, 2095, 552, 1113, 1808, 3223, 1629, 1329, 264 };
+
+	private static final Double[] PRICES_888_20231106 = { 155., 152., 152., 152., 157., 172., 238., 266., 266., 241.,
+			224., 219., 221., 232., 248., 271., 286., 316., 332., 318., 284., 278., 270., 257. };
+
+	@Param({ "CHARGE_CONSUMPTION", "DELAY_DISCHARGE" })
+	protected ControlMode controlMode;
+
+	@Param({ "50" })
+	protected int populationSize;
+
+	@Param({ "20" })
+	protected int generations;
+
+	private Params params;
+	private StateMachine[] schedule;
+
+	/**
+	 * Creates the {@link Params} and a Schedule to evaluate.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		this.params = Params.create() //
+				.setTime(ZonedDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"))) //
+				.setEssTotalEnergy(22000) //
+				.setEssMinSocEnergy(0) //
+				.setEssMaxSocEnergy(22000) //
+				.setEssMaxChargeEnergy(toEnergy(10000)) //
+				.setEssMaxDischargeEnergy(toEnergy(10000)) //
+				.seMaxBuyFromGrid(toEnergy(24_000)) //
+				.setProductions(stream(interpolateArray(PRODUCTION_888_20231106)).map(v -> toEnergy(v)).toArray()) //
+				.setConsumptions(stream(interpolateArray(CONSUMPTION_888_20231106)).map(v -> toEnergy(v)).toArray()) //
+				.setPrices(DoubleStream.of(interpolateArray(PRICES_888_20231106)) //
+						.flatMap(v -> DoubleStream.of(v, v, v, v)) // hourly to quarterly
+						.toArray()) //
+				.setStates(this.controlMode.states) //
+				.build();
+		var states = this.params.states();
+		this.schedule = IntStream.range(0, this.params.optimizePeriods().size()) //
+				.mapToObj(i -> states[i % states.length]) //
+				.toArray(StateMachine[]::new);
+	}
+
+	/**
+	 * Evaluates the cost of one Schedule, i.e. one fitness evaluation of the
+	 * genetic algorithm.
+	 *
+	 * @return the cost
+	 */
+	@Benchmark
+	public double calculateCost() {
+		return Simulator.calculateCost(this.params, this.schedule);
+	}
+
+	/**
+	 * Runs the genetic optimization for a fixed number of generations.
+	 *
+	 * @return the best Schedule
+	 */
+	@Benchmark
+	public StateMachine[] getBestSchedule() {
+		return Simulator.getBestSchedule(this.params, 30, this.populationSize, this.generations);
+	}
+
+	/**
+	 * Runs the {@link DynamicProgramming} solver.
+	 *
+	 * @return the best Schedule
+	 */
+	@Benchmark
+	public StateMachine[] getBestScheduleDynamicProgramming() {
+		return DynamicProgramming.getBestSchedule(this.params);
+	}
+
+}
@@ -0,0 +1,81 @@
+package io.openems.edge.ess.core.power;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+import io.openems.edge.ess.power.api.SolverStrategy;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+
+/**
+ * Measures {@link Solver#solve(SolverStrategy)} with N Inverters, i.e. the
+ * work {@link EssPowerImpl} does in every Cycle on BEFORE_WRITE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+	@Param({ "1", "4", "16" })
+	protected int numberOfEss;
+
+	@Param({ "true", "false" })
+	protected boolean symmetricMode;
+
+	@Param({ "OPTIMIZE_BY_MOVING_TOWARDS_TARGET", "OPTIMIZE_BY_KEEPING_ALL_EQUAL" })
+	protected SolverStrategy strategy;
+
+	private Data data;
+	private Solver solver;
+
+	/**
+	 * Creates the {@link Data} with {@link #numberOfEss} ESS.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		this.data = new Data();
+		this.data.setSymmetricMode(this.symmetricMode);
+		for (var i = 0; i < this.numberOfEss; i++) {
+			this.data.addEss(new DummyManagedSymmetricEss("ess" + i) //
+					.withAllowedChargePower(-50000) //
+					.withAllowedDischargePower(50000) //
+					.withMaxApparentPower(12000) //
+					.withSoc(20 + i * 60 / this.numberOfEss));
+		}
+		this.solver = new Solver(this.data);
+	}
+
+	/**
+	 * Adds a Constraint per ESS and solves.
+	 *
+	 * @throws OpenemsException on error
+	 */
+	@Benchmark
+	public void solve() throws OpenemsException {
+		this.data.initializeCycle();
+		for (var i = 0; i < this.numberOfEss; i++) {
+			this.data.addSimpleConstraint("Benchmark", "ess" + i, Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS,
+					1000 * (i % 5));
+		}
+		this.solver.solve(this.strategy);
+	}
+
+}
@@ -1,7 +1,10 @@
 package io.openems.common.jsonrpc.notification;
 
+import java.util.Optional;
+
 import com.google.common.collect.TreeBasedTable;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
@@ -21,11 +24,56 @@ import io.openems.common.jsonrpc.base.JsonrpcNotification;
  *   }
  * }
  * </pre>
+ *
+ * <p>
+ * Edges send only the values of Channels that changed since the last message.
+ * Additionally every Channel is sent once every 5 minutes in a keyframe; the
+ * Channels are split into {@link #KEYFRAME_SHARDS} shards that are sent in
+ * rotation. Each message carries a {@link #SEQUENCE_ADDRESS sequence number}
+ * and the {@link #KEYFRAME_SHARD_ADDRESS shard} it contains, so that the
+ * receiver can detect lost messages. See {@link #removeSequence()}.
+ *
+ * <p>
+ * The sequence Channels are negotiated per connection: the client announces
+ * {@link #SEQUENCE_VERSION} in the {@link #SEQUENCE_HTTP_HEADER} of the
+ * handshake; it adds the sequence Channels only if the server confirms it with
+ * the same header in its handshake response.
  */
 public class TimestampedDataNotification extends AbstractDataNotification {
 
 	public static final String METHOD = "timestampedData";
 
+	/** The name of the HTTP-Header that negotiates the sequence Channels. */
+	public static final String SEQUENCE_HTTP_HEADER = "openems-data-sequence";
+
+	/** The version of the sequence Channels. */
+	public static final String SEQUENCE_VERSION = "1";
+
+	/** Reserved Channel-Address for the sequence number of a message. */
+	public static final String SEQUENCE_ADDRESS = "_meta/DataSequence";
+
+	/** Reserved Channel-Address for the keyframe shard contained in a message. */
+	public static final String KEYFRAME_SHARD_ADDRESS = "_meta/KeyframeShard";
+
+	/** Number of keyframe shards per 5 minutes. */
+	public static final int KEYFRAME_SHARDS = 30;
+
+	/** Keyframe shard of a message that contains all Channels. */
+	public static final int FULL_KEYFRAME = -1;
+
+	/** Keyframe shard of a message that contains only changed Channels. */
+	public static final int NO_KEYFRAME = -2;
+
+	/**
+	 * The sequence information of a message.
+	 *
+	 * @param number        the sequence number; starts at 1 for every connection
+	 * @param keyframeShard the keyframe shard, {@link #FULL_KEYFRAME} or
+	 *                      {@link #NO_KEYFRAME}
+	 */
+	public static record Sequence(long number, int keyframeShard) {
+	}
+
 	/**
 	 * Parses a {@link JsonrpcNotification} to a
 	 * {@link TimestampedDataNotification}.
@@ -35,6 +83,10 @@ public class TimestampedDataNotification extends AbstractDataNotification {
 	 * @throws OpenemsNamedException on error
 	 */
 	public static TimestampedDataNotification from(JsonrpcNotification notification) throws OpenemsNamedException {
+		if (notification instanceof TimestampedDataNotification n) {
+			// e.g. decoded from BinaryDataFormat
+			return n;
+		}
 		return new TimestampedDataNotification(parseParams(notification.getParams()));
 	}
 
@@ -46,4 +98,44 @@ public class TimestampedDataNotification extends AbstractDataNotification {
 		super(TimestampedDataNotification.METHOD, TreeBasedTable.create());
 	}
 
+	/**
+	 * Adds the {@link Sequence} of this message.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param sequence  the {@link Sequence}
+	 */
+	public void setSequence(long timestamp, Sequence sequence) {
+		this.getData().put(timestamp, SEQUENCE_ADDRESS, new JsonPrimitive(sequence.number()));
+		if (sequence.keyframeShard() != NO_KEYFRAME) {
+			this.getData().put(timestamp, KEYFRAME_SHARD_ADDRESS, new JsonPrimitive(sequence.keyframeShard()));
+		}
+	}
+
+	/**
+	 * Removes the reserved sequence Channels from the data and returns the
+	 * {@link Sequence}.
+	 *
+	 * @return the {@link Sequence}; empty for Edges that do not send sequence
+	 *         numbers
+	 */
+	public Optional<Sequence> removeSequence() {
+		final var numbers = this.getData().column(SEQUENCE_ADDRESS);
+		final var shards = this.getData().column(KEYFRAME_SHARD_ADDRESS);
+		Sequence result = null;
+		for (var entry : numbers.entrySet()) {
+			if (!entry.getValue().isJsonPrimitive()) {
+				continue;
+			}
+			final var shard = shards.get(entry.getKey());
+			final var sequence = new Sequence(entry.getValue().getAsLong(), //
+					shard != null && shard.isJsonPrimitive() ? shard.getAsInt() : NO_KEYFRAME);
+			if (result == null || sequence.number() > result.number()) {
+				result = sequence;
+			}
+		}
+		numbers.clear();
+		shards.clear();
+		return Optional.ofNullable(result);
+	}
+
 }
@@ -4,12 +4,17 @@ import static io.openems.common.utils.JsonrpcUtils.simplifyJsonrpcMessage;
 import static io.openems.common.utils.StringUtils.toShortString;
 import static io.openems.common.websocket.WebsocketUtils.generateWsDataString;
 
+import java.nio.ByteBuffer;
+
 import org.java_websocket.WebSocket;
 import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.java_websocket.framing.CloseFrame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.notification.AbstractDataNotification;
 
 public abstract class AbstractWebsocket<T extends WsData> {
 
@@ -117,6 +122,17 @@ public abstract class AbstractWebsocket<T extends WsData> {
 		}
 
 		try {
+			if (message instanceof AbstractDataNotification notification //
+					&& ws.getAttachment() instanceof WsData wsData) {
+				final var encoder = wsData.getBinaryEncoder();
+				if (encoder != null) {
+					// Dictionary entries have to arrive in the order they were assigned
+					synchronized (encoder) {
+						ws.send(encoder.encode(notification));
+					}
+					return true;
+				}
+			}
 			ws.send(message.toString());
 			return true;
 
@@ -127,6 +143,31 @@ public abstract class AbstractWebsocket<T extends WsData> {
 		}
 	}
 
+	/**
+	 * Decodes a binary frame in {@link BinaryDataFormat}. Must be called in the
+	 * order the frames were received.
+	 *
+	 * @param ws    the {@link WebSocket}
+	 * @param frame the binary frame
+	 * @return the decoded {@link JsonrpcMessage}; null on error
+	 */
+	protected JsonrpcMessage decodeBinaryMessage(WebSocket ws, ByteBuffer frame) {
+		if (!(ws.getAttachment() instanceof WsData wsData) || wsData.getBinaryDecoder() == null) {
+			this.logWarn(this.log, "[" + generateWsDataString(ws) + "] Binary data format was not negotiated");
+			return null;
+		}
+		try {
+			return wsData.getBinaryDecoder().decode(frame);
+
+		} catch (OpenemsException | RuntimeException e) {
+			// Dictionary is out of sync -> reconnect to start a new one
+			this.logWarn(this.log, "[" + generateWsDataString(ws) + "] Unable to decode binary data: " //
+					+ e.getMessage());
+			ws.close(CloseFrame.UNEXPECTED_CONDITION, "Unable to decode binary data");
+			return null;
+		}
+	}
+
 	private void sendMessageFailedLog(WebSocket ws, JsonrpcMessage message) {
 		this.logWarn(this.log, new StringBuilder() //
 				.append("[").append(generateWsDataString(ws)) //
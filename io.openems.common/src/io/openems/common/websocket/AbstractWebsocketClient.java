@@ -2,6 +2,7 @@ package io.openems.common.websocket;
 
 import java.net.Proxy;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -10,7 +11,6 @@ import org.java_websocket.WebSocket;
 import org.java_websocket.client.WebSocketClient;
 import org.java_websocket.drafts.Draft;
 import org.java_websocket.drafts.Draft_6455;
-import org.java_websocket.extensions.permessage_deflate.PerMessageDeflateExtension;
 import org.java_websocket.framing.CloseFrame;
 import org.java_websocket.handshake.ServerHandshake;
 import org.slf4j.Logger;
@@ -19,6 +19,7 @@ import org.slf4j.LoggerFactory;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 
 /**
  * A Websocket Client implementation that automatically tries to reconnect a
@@ -30,13 +31,19 @@ public abstract class AbstractWebsocketClient<T extends WsData> extends Abstract
 
 	public static final Map<String, String> NO_HTTP_HEADERS = new HashMap<>();
 	public static final Proxy NO_PROXY = null;
-	public static final Draft DEFAULT_DRAFT = new Draft_6455(new PerMessageDeflateExtension());
+	/**
+	 * Draft with 'permessage-deflate' and default
+	 * {@link DeflateExtension.Settings}. Each client replaces it with its own
+	 * instance to collect {@link DeflateExtension.Metrics}.
+	 */
+	public static final Draft DEFAULT_DRAFT = createDefaultDraft(new DeflateExtension.Metrics());
 
 	protected final WebSocketClient ws;
 
 	private final Logger log = LoggerFactory.getLogger(AbstractWebsocketClient.class);
 	private final URI serverUri;
 	private final ClientReconnectorWorker reconnectorWorker;
+	private final DeflateExtension.Metrics deflateMetrics = new DeflateExtension.Metrics();
 
 	protected AbstractWebsocketClient(String name, URI serverUri) {
 		this(name, serverUri, AbstractWebsocketClient.DEFAULT_DRAFT, AbstractWebsocketClient.NO_HTTP_HEADERS,
@@ -55,7 +62,8 @@ public abstract class AbstractWebsocketClient<T extends WsData> extends Abstract
 			Proxy proxy) {
 		super(name);
 		this.serverUri = serverUri;
-		this.ws = new WebSocketClient(serverUri, draft, httpHeaders) {
+		this.ws = new WebSocketClient(serverUri,
+				draft == DEFAULT_DRAFT ? createDefaultDraft(this.deflateMetrics) : draft, httpHeaders) {
 
 			private void logInfo(String message) {
 				AbstractWebsocketClient.this.logInfo(AbstractWebsocketClient.this.log, message);
@@ -63,6 +71,12 @@ public abstract class AbstractWebsocketClient<T extends WsData> extends Abstract
 
 			@Override
 			public void onOpen(ServerHandshake handshake) {
+				// Server confirms the BinaryDataFormat; start with a new dictionary
+				WsData wsData = AbstractWebsocketClient.this.ws.getAttachment();
+				wsData.setBinaryDataFormat(
+						BinaryDataFormat.VERSION.equals(handshake.getFieldValue(BinaryDataFormat.HTTP_HEADER)));
+				wsData.setDataSequence(TimestampedDataNotification.SEQUENCE_VERSION
+						.equals(handshake.getFieldValue(TimestampedDataNotification.SEQUENCE_HTTP_HEADER)));
 				AbstractWebsocketClient.this.execute(new OnOpenHandler(//
 						AbstractWebsocketClient.this.ws, handshake, //
 						AbstractWebsocketClient.this.getOnOpen(), //
@@ -81,6 +95,23 @@ public abstract class AbstractWebsocketClient<T extends WsData> extends Abstract
 						AbstractWebsocketClient.this::logWarn));
 			}
 
+			@Override
+			public void onMessage(ByteBuffer message) {
+				// Decode in order of arrival; the dictionary depends on previous frames
+				final var decoded = AbstractWebsocketClient.this.decodeBinaryMessage(AbstractWebsocketClient.this.ws,
+						message);
+				if (decoded == null) {
+					return;
+				}
+				AbstractWebsocketClient.this.execute(new OnMessageHandler(//
+						AbstractWebsocketClient.this.ws, decoded, //
+						AbstractWebsocketClient.this.getOnRequest(), //
+						AbstractWebsocketClient.this.getOnNotification(), //
+						AbstractWebsocketClient.this::sendMessage, //
+						AbstractWebsocketClient.this::handleInternalError, //
+						AbstractWebsocketClient.this::logWarn));
+			}
+
 			@Override
 			public void onError(Exception ex) {
 				AbstractWebsocketClient.this.execute(new OnErrorHandler(//
@@ -119,6 +150,19 @@ public abstract class AbstractWebsocketClient<T extends WsData> extends Abstract
 		}
 	}
 
+	private static Draft createDefaultDraft(DeflateExtension.Metrics metrics) {
+		return new Draft_6455(new DeflateExtension(DeflateExtension.Settings.DEFAULT, metrics));
+	}
+
+	/**
+	 * Returns debug metrics of the current websocket state.
+	 *
+	 * @return the debug metrics
+	 */
+	public Map<String, Number> debugMetrics() {
+		return this.deflateMetrics.debugMetrics();
+	}
+
 	/**
 	 * Starts the websocket client.
 	 */
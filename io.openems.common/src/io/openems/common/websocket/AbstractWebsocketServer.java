@@ -4,9 +4,11 @@ import static io.openems.common.utils.ThreadPoolUtils.shutdownAndAwaitTerminatio
 
 import java.net.BindException;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
@@ -14,7 +16,10 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.exceptions.InvalidDataException;
 import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.handshake.ServerHandshakeBuilder;
 import org.java_websocket.server.WebSocketServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +27,7 @@ import org.slf4j.LoggerFactory;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.utils.ThreadPoolUtils;
 
 public abstract class AbstractWebsocketServer<T extends WsData> extends AbstractWebsocket<T> {
@@ -35,15 +41,29 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 	private final int port;
 	private final WebSocketServer ws;
 	private final Collection<WebSocket> connections = ConcurrentHashMap.newKeySet();
+	private final DeflateExtension.Metrics deflateMetrics = new DeflateExtension.Metrics();
 
 	/**
-	 * Construct an {@link AbstractWebsocketServer}.
+	 * Construct an {@link AbstractWebsocketServer} without 'permessage-deflate'.
 	 *
 	 * @param name     to identify this server
 	 * @param port     to listen on
 	 * @param poolSize number of threads dedicated to handle the tasks
 	 */
 	protected AbstractWebsocketServer(String name, int port, int poolSize) {
+		this(name, port, poolSize, null);
+	}
+
+	/**
+	 * Construct an {@link AbstractWebsocketServer}.
+	 *
+	 * @param name     to identify this server
+	 * @param port     to listen on
+	 * @param poolSize number of threads dedicated to handle the tasks
+	 * @param deflate  the {@link DeflateExtension.Settings}; null to disable
+	 *                 'permessage-deflate'
+	 */
+	protected AbstractWebsocketServer(String name, int port, int poolSize, DeflateExtension.Settings deflate) {
 		super(name);
 		this.executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(poolSize,
 				new ThreadFactoryBuilder().setNameFormat(name + "-%d").build());
@@ -51,16 +71,34 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		this.port = port;
 		this.ws = new WebSocketServer(new InetSocketAddress(port),
 				/* AVAILABLE_PROCESSORS */ Runtime.getRuntime().availableProcessors(), //
-				/* drafts, no filter */ List.of(new MyDraft6455()), //
+				/* drafts, no filter */ List.of(deflate == null //
+						? new MyDraft6455() //
+						: new MyDraft6455(new DeflateExtension(deflate, this.deflateMetrics))), //
 				this.connections) {
 
 			@Override
 			public void onStart() {
 			}
 
+			@Override
+			public ServerHandshakeBuilder onWebsocketHandshakeReceivedAsServer(WebSocket ws, Draft draft,
+					ClientHandshake request) throws InvalidDataException {
+				final var response = super.onWebsocketHandshakeReceivedAsServer(ws, draft, request);
+				if (AbstractWebsocketServer.this.isBinaryDataFormatAccepted(request)) {
+					response.put(BinaryDataFormat.HTTP_HEADER, BinaryDataFormat.VERSION);
+				}
+				if (AbstractWebsocketServer.this.isDataSequenceAccepted(request)) {
+					response.put(TimestampedDataNotification.SEQUENCE_HTTP_HEADER,
+							TimestampedDataNotification.SEQUENCE_VERSION);
+				}
+				return response;
+			}
+
 			@Override
 			public void onOpen(WebSocket ws, ClientHandshake handshake) {
 				T wsData = AbstractWebsocketServer.this.createWsData(ws);
+				wsData.setBinaryDataFormat(AbstractWebsocketServer.this.isBinaryDataFormatAccepted(handshake));
+				wsData.setDataSequence(AbstractWebsocketServer.this.isDataSequenceAccepted(handshake));
 				ws.setAttachment(wsData);
 				AbstractWebsocketServer.this.execute(new OnOpenHandler(//
 						ws, handshake, //
@@ -80,6 +118,22 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 						AbstractWebsocketServer.this::logWarn));
 			}
 
+			@Override
+			public void onMessage(WebSocket ws, ByteBuffer message) {
+				// Decode in order of arrival; the dictionary depends on previous frames
+				final var decoded = AbstractWebsocketServer.this.decodeBinaryMessage(ws, message);
+				if (decoded == null) {
+					return;
+				}
+				AbstractWebsocketServer.this.execute(new OnMessageHandler(//
+						ws, decoded, //
+						AbstractWebsocketServer.this.getOnRequest(), //
+						AbstractWebsocketServer.this.getOnNotification(), //
+						AbstractWebsocketServer.this::sendMessage, //
+						AbstractWebsocketServer.this::handleInternalError, //
+						AbstractWebsocketServer.this::logWarn));
+			}
+
 			@Override
 			public void onError(WebSocket ws, Exception ex) {
 				AbstractWebsocketServer.this.execute(new OnErrorHandler(//
@@ -135,6 +189,39 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		this.ws.setReuseAddr(true);
 	}
 
+	/**
+	 * Does this server accept the {@link BinaryDataFormat} for
+	 * {@link io.openems.common.jsonrpc.notification.AbstractDataNotification
+	 * Data-Notifications}? Disabled by default.
+	 *
+	 * @return true if it is accepted
+	 */
+	protected boolean isBinaryDataFormatEnabled() {
+		return false;
+	}
+
+	private boolean isBinaryDataFormatAccepted(ClientHandshake handshake) {
+		return this.isBinaryDataFormatEnabled() //
+				&& BinaryDataFormat.VERSION.equals(handshake.getFieldValue(BinaryDataFormat.HTTP_HEADER));
+	}
+
+	/**
+	 * Does this server accept the sequence Channels of
+	 * {@link TimestampedDataNotification TimestampedDataNotifications}? Disabled
+	 * by default.
+	 *
+	 * @return true if they are accepted
+	 */
+	protected boolean isDataSequenceEnabled() {
+		return false;
+	}
+
+	private boolean isDataSequenceAccepted(ClientHandshake handshake) {
+		return this.isDataSequenceEnabled() //
+				&& TimestampedDataNotification.SEQUENCE_VERSION
+						.equals(handshake.getFieldValue(TimestampedDataNotification.SEQUENCE_HTTP_HEADER));
+	}
+
 	/**
 	 * Returns a debug log of the current websocket state.
 	 * 
@@ -144,6 +231,8 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		return new StringBuilder("[monitor] ") //
 				.append("Connections: ").append(this.connections.size()).append(", ") //
 				.append(ThreadPoolUtils.debugLog(this.executor)) //
+				.append(", Deflate: ") //
+				.append(String.format(Locale.ROOT, "%.2f", this.deflateMetrics.getOutboundRatio())) //
 				.toString();
 	}
 
@@ -155,6 +244,7 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 	public Map<String, Number> debugMetrics() {
 		final var metrics = new HashMap<String, Number>();
 		metrics.putAll(ThreadPoolUtils.debugMetrics(this.executor));
+		metrics.putAll(this.deflateMetrics.debugMetrics());
 		metrics.put("Connections", this.connections.size());
 		return metrics;
 	}
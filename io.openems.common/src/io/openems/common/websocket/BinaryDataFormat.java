@@ -0,0 +1,359 @@
+package io.openems.common.websocket;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.notification.AbstractDataNotification;
+import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
+import io.openems.common.jsonrpc.notification.ResendDataNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+
+/**
+ * Binary wire format for {@link AbstractDataNotification Data-Notifications}
+ * from Edge to Backend.
+ *
+ * <p>
+ * The format is negotiated per connection: the client announces
+ * {@link #VERSION} in the {@link #HTTP_HEADER} of the handshake; the server
+ * confirms it with the same header in its handshake response. Without
+ * confirmation the messages are sent as JSON-RPC text.
+ *
+ * <p>
+ * Every Channel-Address is sent only once per connection. Each frame starts
+ * with the Channel-Addresses that are new to the dictionary; they get the next
+ * free IDs in order. Frames must therefore be encoded and decoded in the order
+ * they are sent.
+ *
+ * <pre>
+ * frame     = version:u8 method:u8 newCount:varint newAddress* rowCount:varint row*
+ * newAddress= length:varint utf8-bytes
+ * row       = timestampDelta:zigzag valueCount:varint (id:varint value)*
+ * value     = NULL | TRUE | FALSE | LONG zigzag | DOUBLE f64 | STRING length:varint utf8-bytes
+ *           | JSON length:varint utf8-bytes
+ * </pre>
+ *
+ * <p>
+ * The first timestamp is relative to zero; all others relative to the previous
+ * one.
+ */
+public final class BinaryDataFormat {
+
+	/** The name of the HTTP-Header that negotiates the format. */
+	public static final String HTTP_HEADER = "openems-data-format";
+
+	/** The version of the format. */
+	public static final String VERSION = "binary1";
+
+	private static final byte FRAME_VERSION = 1;
+
+	private static final byte METHOD_TIMESTAMPED = 1;
+	private static final byte METHOD_AGGREGATED = 2;
+	private static final byte METHOD_RESEND = 3;
+
+	private static final byte TYPE_NULL = 0;
+	private static final byte TYPE_TRUE = 1;
+	private static final byte TYPE_FALSE = 2;
+	private static final byte TYPE_LONG = 3;
+	private static final byte TYPE_DOUBLE = 4;
+	private static final byte TYPE_STRING = 5;
+	private static final byte TYPE_JSON = 6;
+
+	private BinaryDataFormat() {
+	}
+
+	/**
+	 * Encodes {@link AbstractDataNotification AbstractDataNotifications} for one
+	 * connection. Not thread-safe; callers have to keep encoding and sending in
+	 * one critical section.
+	 */
+	public static class Encoder {
+
+		private final Map<String, Integer> dictionary = new HashMap<>();
+
+		/**
+		 * Encodes a {@link AbstractDataNotification} and adds unknown
+		 * Channel-Addresses to the dictionary.
+		 *
+		 * @param notification the {@link AbstractDataNotification}
+		 * @return the frame
+		 */
+		public ByteBuffer encode(AbstractDataNotification notification) {
+			final var data = notification.getData();
+
+			// Collect new Channel-Addresses
+			final var newAddresses = new ArrayList<String>();
+			for (var address : data.columnKeySet()) {
+				if (!this.dictionary.containsKey(address)) {
+					this.dictionary.put(address, this.dictionary.size());
+					newAddresses.add(address);
+				}
+			}
+
+			final var out = new Output(64 + data.size() * 6);
+			out.writeByte(FRAME_VERSION);
+			out.writeByte(toMethod(notification));
+			out.writeVarint(newAddresses.size());
+			for (var address : newAddresses) {
+				out.writeString(address);
+			}
+
+			out.writeVarint(data.rowKeySet().size());
+			var previousTimestamp = 0L;
+			for (var row : data.rowMap().entrySet()) {
+				out.writeZigzag(row.getKey() - previousTimestamp);
+				previousTimestamp = row.getKey();
+				out.writeVarint(row.getValue().size());
+				for (var value : row.getValue().entrySet()) {
+					out.writeVarint(this.dictionary.get(value.getKey()));
+					writeValue(out, value.getValue());
+				}
+			}
+			return out.toByteBuffer();
+		}
+
+		/**
+		 * Gets the number of Channel-Addresses in the dictionary.
+		 *
+		 * @return the size of the dictionary
+		 */
+		public int getDictionarySize() {
+			return this.dictionary.size();
+		}
+	}
+
+	/**
+	 * Decodes frames of one connection. Not thread-safe; frames have to be
+	 * decoded in the order they were received.
+	 */
+	public static class Decoder {
+
+		private final List<String> dictionary = new ArrayList<>();
+
+		/**
+		 * Decodes a frame to a {@link AbstractDataNotification} and extends the
+		 * dictionary.
+		 *
+		 * @param frame the frame
+		 * @return the {@link AbstractDataNotification}
+		 * @throws OpenemsException on malformed frame
+		 */
+		public AbstractDataNotification decode(ByteBuffer frame) throws OpenemsException {
+			try {
+				final var version = frame.get();
+				if (version != FRAME_VERSION) {
+					throw new OpenemsException("Unsupported binary data format version [" + version + "]");
+				}
+				final var method = frame.get();
+
+				final var newCount = readVarint(frame);
+				for (var i = 0; i < newCount; i++) {
+					this.dictionary.add(readString(frame));
+				}
+
+				final var data = TreeBasedTable.<Long, String, JsonElement>create();
+				final var rowCount = readVarint(frame);
+				var timestamp = 0L;
+				for (var i = 0; i < rowCount; i++) {
+					timestamp += readZigzag(frame);
+					final var valueCount = readVarint(frame);
+					for (var j = 0; j < valueCount; j++) {
+						final var id = readVarint(frame);
+						if (id < 0 || id >= this.dictionary.size()) {
+							throw new OpenemsException("Unknown Channel-Address ID [" + id + "]");
+						}
+						data.put(timestamp, this.dictionary.get((int) id), readValue(frame));
+					}
+				}
+				return switch (method) {
+				case METHOD_TIMESTAMPED -> new TimestampedDataNotification(data);
+				case METHOD_AGGREGATED -> new AggregatedDataNotification(data);
+				case METHOD_RESEND -> new ResendDataNotification(data);
+				default -> throw new OpenemsException("Unknown binary data method [" + method + "]");
+				};
+
+			} catch (BufferUnderflowException e) {
+				throw new OpenemsException("Binary data frame is truncated");
+			}
+		}
+	}
+
+	private static byte toMethod(AbstractDataNotification notification) {
+		return switch (notification.getMethod()) {
+		case TimestampedDataNotification.METHOD -> METHOD_TIMESTAMPED;
+		case AggregatedDataNotification.METHOD -> METHOD_AGGREGATED;
+		case ResendDataNotification.METHOD -> METHOD_RESEND;
+		default -> throw new IllegalArgumentException("Unsupported method [" + notification.getMethod() + "]");
+		};
+	}
+
+	private static void writeValue(Output out, JsonElement value) {
+		if (value == null || value.isJsonNull()) {
+			out.writeByte(TYPE_NULL);
+
+		} else if (value.isJsonPrimitive()) {
+			final var primitive = value.getAsJsonPrimitive();
+			if (primitive.isBoolean()) {
+				out.writeByte(primitive.getAsBoolean() ? TYPE_TRUE : TYPE_FALSE);
+
+			} else if (primitive.isNumber()) {
+				final var number = primitive.getAsNumber();
+				if (isIntegral(number)) {
+					out.writeByte(TYPE_LONG);
+					out.writeZigzag(number.longValue());
+				} else {
+					out.writeByte(TYPE_DOUBLE);
+					out.writeLong(Double.doubleToRawLongBits(number.doubleValue()));
+				}
+
+			} else {
+				out.writeByte(TYPE_STRING);
+				out.writeString(primitive.getAsString());
+			}
+
+		} else {
+			out.writeByte(TYPE_JSON);
+			out.writeString(value.toString());
+		}
+	}
+
+	/**
+	 * Checks if a {@link Number} is an integer that fits in a long. Floating point
+	 * values stay floating point, even if they have no fractional part.
+	 *
+	 * @param number the {@link Number}
+	 * @return true for integers
+	 */
+	private static boolean isIntegral(Number number) {
+		if (number instanceof Long || number instanceof Integer || number instanceof Short
+				|| number instanceof Byte) {
+			return true;
+		}
+		if (number instanceof Double || number instanceof Float) {
+			return false;
+		}
+		// e.g. LazilyParsedNumber from JSON, BigInteger, BigDecimal
+		final var string = number.toString();
+		if (string.indexOf('.') >= 0 || string.indexOf('e') >= 0 || string.indexOf('E') >= 0) {
+			return false;
+		}
+		try {
+			new BigDecimal(string).longValueExact();
+			return true;
+		} catch (ArithmeticException | NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private static JsonElement readValue(ByteBuffer frame) throws OpenemsException {
+		final var type = frame.get();
+		return switch (type) {
+		case TYPE_NULL -> JsonNull.INSTANCE;
+		case TYPE_TRUE -> new JsonPrimitive(true);
+		case TYPE_FALSE -> new JsonPrimitive(false);
+		case TYPE_LONG -> new JsonPrimitive(readZigzag(frame));
+		case TYPE_DOUBLE -> new JsonPrimitive(Double.longBitsToDouble(frame.getLong()));
+		case TYPE_STRING -> new JsonPrimitive(readString(frame));
+		case TYPE_JSON -> JsonParser.parseString(readString(frame));
+		default -> throw new OpenemsException("Unknown binary data value type [" + type + "]");
+		};
+	}
+
+	private static long readVarint(ByteBuffer frame) throws OpenemsException {
+		var result = 0L;
+		for (var shift = 0; shift < 64; shift += 7) {
+			final var b = frame.get();
+			result |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new OpenemsException("Malformed varint in binary data frame");
+	}
+
+	private static long readZigzag(ByteBuffer frame) throws OpenemsException {
+		final var value = readVarint(frame);
+		return value >>> 1 ^ -(value & 1);
+	}
+
+	private static String readString(ByteBuffer frame) throws OpenemsException {
+		final var length = readVarint(frame);
+		if (length < 0 || length > frame.remaining()) {
+			throw new OpenemsException("Invalid string length [" + length + "] in binary data frame");
+		}
+		final var bytes = new byte[(int) length];
+		frame.get(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	/**
+	 * A growing byte buffer.
+	 */
+	private static class Output {
+
+		private byte[] buffer;
+		private int position = 0;
+
+		private Output(int capacity) {
+			this.buffer = new byte[capacity];
+		}
+
+		private void ensure(int length) {
+			if (this.position + length > this.buffer.length) {
+				this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.position + length));
+			}
+		}
+
+		private void writeByte(byte value) {
+			this.ensure(1);
+			this.buffer[this.position++] = value;
+		}
+
+		private void writeVarint(long value) {
+			this.ensure(10);
+			while ((value & ~0x7FL) != 0) {
+				this.buffer[this.position++] = (byte) (value & 0x7F | 0x80);
+				value >>>= 7;
+			}
+			this.buffer[this.position++] = (byte) value;
+		}
+
+		private void writeZigzag(long value) {
+			this.writeVarint(value << 1 ^ value >> 63);
+		}
+
+		private void writeLong(long value) {
+			this.ensure(8);
+			for (var i = 7; i >= 0; i--) {
+				this.buffer[this.position++] = (byte) (value >>> i * 8);
+			}
+		}
+
+		private void writeString(String value) {
+			final var bytes = value.getBytes(UTF_8);
+			this.writeVarint(bytes.length);
+			this.ensure(bytes.length);
+			System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+			this.position += bytes.length;
+		}
+
+		private ByteBuffer toByteBuffer() {
+			return ByteBuffer.wrap(this.buffer, 0, this.position);
+		}
+	}
+
+}
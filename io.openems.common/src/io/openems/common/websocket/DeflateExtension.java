@@ -0,0 +1,356 @@
+package io.openems.common.websocket;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.java_websocket.exceptions.InvalidDataException;
+import org.java_websocket.extensions.CompressionExtension;
+import org.java_websocket.extensions.IExtension;
+import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.framing.ContinuousFrame;
+import org.java_websocket.framing.DataFrame;
+import org.java_websocket.framing.Framedata;
+
+/**
+ * The 'permessage-deflate' extension as of RFC 7692.
+ *
+ * <p>
+ * Messages smaller than {@link Settings#threshold()} are sent uncompressed.
+ * With {@link Settings#contextTakeover()} the own compressor keeps its
+ * dictionary between messages, which compresses repetitive JSON much better
+ * but keeps a {@link Deflater} per connection. Without context takeover the
+ * {@link Deflater} - and the {@link Inflater} if the peer keeps no context -
+ * only lives for one message. The peer may always keep its context.
+ *
+ * <p>
+ * {@link java.util.zip} always uses a window of 15 bits; offers that limit the
+ * window of this side are declined.
+ */
+public class DeflateExtension extends CompressionExtension {
+
+	/**
+	 * Settings for the {@link DeflateExtension}.
+	 *
+	 * @param threshold       minimum payload size in bytes for compression
+	 * @param level           the {@link Deflater} compression level
+	 * @param contextTakeover keep the compression context between messages
+	 */
+	public static record Settings(int threshold, int level, boolean contextTakeover) {
+
+		public static final Settings DEFAULT = new Settings(256, Deflater.DEFAULT_COMPRESSION, true);
+	}
+
+	/**
+	 * Compression metrics, shared by all connections of a websocket.
+	 */
+	public static class Metrics {
+
+		private final LongAdder outRawBytes = new LongAdder();
+		private final LongAdder outWireBytes = new LongAdder();
+		private final LongAdder outNanos = new LongAdder();
+		private final LongAdder inWireBytes = new LongAdder();
+		private final LongAdder inRawBytes = new LongAdder();
+		private final LongAdder inNanos = new LongAdder();
+
+		/**
+		 * Gets the ratio of sent bytes on the wire to uncompressed bytes.
+		 *
+		 * @return the ratio; 1 if nothing was sent
+		 */
+		public double getOutboundRatio() {
+			return ratio(this.outWireBytes.sum(), this.outRawBytes.sum());
+		}
+
+		/**
+		 * Gets the ratio of received bytes on the wire to uncompressed bytes.
+		 *
+		 * @return the ratio; 1 if nothing was received
+		 */
+		public double getInboundRatio() {
+			return ratio(this.inWireBytes.sum(), this.inRawBytes.sum());
+		}
+
+		private static double ratio(long wire, long raw) {
+			return raw == 0 ? 1. : (double) wire / raw;
+		}
+
+		/**
+		 * Returns debug metrics.
+		 *
+		 * @return the debug metrics
+		 */
+		public Map<String, Number> debugMetrics() {
+			final var metrics = new HashMap<String, Number>();
+			metrics.put("Deflate/OutboundRatio", this.getOutboundRatio());
+			metrics.put("Deflate/OutboundBytes", this.outWireBytes.sum());
+			metrics.put("Deflate/OutboundTimeMs", this.outNanos.sum() / 1_000_000);
+			metrics.put("Deflate/InboundRatio", this.getInboundRatio());
+			metrics.put("Deflate/InboundBytes", this.inWireBytes.sum());
+			metrics.put("Deflate/InboundTimeMs", this.inNanos.sum() / 1_000_000);
+			return metrics;
+		}
+	}
+
+	private static final String EXTENSION_NAME = "permessage-deflate";
+	private static final String SERVER_NO_CONTEXT_TAKEOVER = "server_no_context_takeover";
+	private static final String CLIENT_NO_CONTEXT_TAKEOVER = "client_no_context_takeover";
+	private static final String SERVER_MAX_WINDOW_BITS = "server_max_window_bits";
+	private static final String CLIENT_MAX_WINDOW_BITS = "client_max_window_bits";
+	private static final int MAX_WINDOW_BITS = 15;
+	private static final byte[] TAIL = { 0, 0, (byte) 0xFF, (byte) 0xFF };
+
+	private final Settings settings;
+	private final Metrics metrics;
+
+	// Negotiated per connection
+	private boolean resetDeflater;
+	private boolean resetInflater = false;
+	private boolean serverNoContextTakeover = false;
+	private boolean clientNoContextTakeover = false;
+
+	// Created on first use; released after each message without context takeover
+	private Deflater deflater;
+	private Inflater inflater;
+	private boolean compressMessage = false;
+	private boolean decompressMessage = false;
+
+	public DeflateExtension(Settings settings, Metrics metrics) {
+		this.settings = settings;
+		this.metrics = metrics;
+		this.resetDeflater = !settings.contextTakeover();
+	}
+
+	@Override
+	public void encodeFrame(Framedata frame) {
+		if (!(frame instanceof DataFrame dataFrame)) {
+			return;
+		}
+		final var payload = frame.getPayloadData();
+		final var rawLength = payload.remaining();
+		if (!(frame instanceof ContinuousFrame)) {
+			// First frame decides for the whole message
+			this.compressMessage = rawLength >= this.settings.threshold();
+		}
+		if (!this.compressMessage) {
+			this.metrics.outRawBytes.add(rawLength);
+			this.metrics.outWireBytes.add(rawLength);
+			return;
+		}
+
+		final var start = System.nanoTime();
+		if (this.deflater == null) {
+			this.deflater = new Deflater(this.settings.level(), true);
+		}
+		this.deflater.setInput(payload);
+		final var out = new ByteArrayOutputStream(Math.max(64, rawLength / 2));
+		final var buffer = new byte[Math.max(1024, rawLength / 2)];
+		int length;
+		do {
+			length = this.deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+			out.write(buffer, 0, length);
+		} while (length == buffer.length || !this.deflater.needsInput());
+
+		var compressed = out.toByteArray();
+		var compressedLength = compressed.length;
+		if (frame.isFin()) {
+			// Message ends with an empty stored block; the peer appends it again
+			if (endsWithTail(compressed)) {
+				compressedLength -= TAIL.length;
+			}
+			if (this.resetDeflater) {
+				this.deflater.end();
+				this.deflater = null;
+			}
+		}
+		dataFrame.setPayload(ByteBuffer.wrap(compressed, 0, compressedLength));
+		if (!(frame instanceof ContinuousFrame)) {
+			dataFrame.setRSV1(true);
+		}
+		this.metrics.outNanos.add(System.nanoTime() - start);
+		this.metrics.outRawBytes.add(rawLength);
+		this.metrics.outWireBytes.add(compressedLength);
+	}
+
+	@Override
+	public void decodeFrame(Framedata frame) throws InvalidDataException {
+		if (!(frame instanceof DataFrame dataFrame)) {
+			return;
+		}
+		if (!(frame instanceof ContinuousFrame)) {
+			this.decompressMessage = frame.isRSV1();
+		}
+		final var payload = frame.getPayloadData();
+		final var wireLength = payload.remaining();
+		if (!this.decompressMessage) {
+			this.metrics.inWireBytes.add(wireLength);
+			this.metrics.inRawBytes.add(wireLength);
+			return;
+		}
+
+		final var start = System.nanoTime();
+		if (this.inflater == null) {
+			this.inflater = new Inflater(true);
+		}
+		final var out = new ByteArrayOutputStream(Math.max(64, wireLength * 4));
+		final var buffer = new byte[Math.max(1024, wireLength * 2)];
+		try {
+			this.inflate(payload, buffer, out);
+			if (frame.isFin()) {
+				this.inflate(ByteBuffer.wrap(TAIL), buffer, out);
+				if (this.resetInflater) {
+					this.inflater.end();
+					this.inflater = null;
+				}
+			}
+		} catch (DataFormatException e) {
+			throw new InvalidDataException(CloseFrame.POLICY_VALIDATION, e.getMessage());
+		}
+		dataFrame.setPayload(ByteBuffer.wrap(out.toByteArray()));
+		dataFrame.setRSV1(false);
+		this.metrics.inNanos.add(System.nanoTime() - start);
+		this.metrics.inWireBytes.add(wireLength);
+		this.metrics.inRawBytes.add(out.size());
+	}
+
+	private void inflate(ByteBuffer input, byte[] buffer, ByteArrayOutputStream out) throws DataFormatException {
+		this.inflater.setInput(input);
+		int length;
+		while ((length = this.inflater.inflate(buffer)) > 0) {
+			out.write(buffer, 0, length);
+		}
+	}
+
+	private static boolean endsWithTail(byte[] data) {
+		if (data.length < TAIL.length) {
+			return false;
+		}
+		for (var i = 0; i < TAIL.length; i++) {
+			if (data[data.length - TAIL.length + i] != TAIL[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean acceptProvidedExtensionAsServer(String inputExtension) {
+		if (inputExtension == null) {
+			return false;
+		}
+		for (var offer : inputExtension.split(",")) {
+			final var parameters = parseOffer(offer);
+			if (parameters == null) {
+				continue;
+			}
+			final var serverMaxWindowBits = parameters.get(SERVER_MAX_WINDOW_BITS);
+			if (serverMaxWindowBits != null && !String.valueOf(MAX_WINDOW_BITS).equals(serverMaxWindowBits)) {
+				// Deflater window can not be limited
+				continue;
+			}
+			this.serverNoContextTakeover = !this.settings.contextTakeover()
+					|| parameters.containsKey(SERVER_NO_CONTEXT_TAKEOVER);
+			this.clientNoContextTakeover = parameters.containsKey(CLIENT_NO_CONTEXT_TAKEOVER);
+			this.resetDeflater = this.serverNoContextTakeover;
+			this.resetInflater = this.clientNoContextTakeover;
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean acceptProvidedExtensionAsClient(String inputExtension) {
+		if (inputExtension == null) {
+			return false;
+		}
+		for (var response : inputExtension.split(",")) {
+			final var parameters = parseOffer(response);
+			if (parameters == null) {
+				continue;
+			}
+			final var clientMaxWindowBits = parameters.get(CLIENT_MAX_WINDOW_BITS);
+			if (clientMaxWindowBits != null && !String.valueOf(MAX_WINDOW_BITS).equals(clientMaxWindowBits)) {
+				// Deflater window can not be limited
+				continue;
+			}
+			this.serverNoContextTakeover = parameters.containsKey(SERVER_NO_CONTEXT_TAKEOVER);
+			this.clientNoContextTakeover = !this.settings.contextTakeover()
+					|| parameters.containsKey(CLIENT_NO_CONTEXT_TAKEOVER);
+			this.resetDeflater = this.clientNoContextTakeover;
+			this.resetInflater = this.serverNoContextTakeover;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Parses one extension offer.
+	 *
+	 * @param offer the offer, e.g. 'permessage-deflate; client_max_window_bits'
+	 * @return the parameters; null if it is not 'permessage-deflate'
+	 */
+	private static Map<String, String> parseOffer(String offer) {
+		final var parts = offer.split(";");
+		if (!EXTENSION_NAME.equalsIgnoreCase(parts[0].trim())) {
+			return null;
+		}
+		final var parameters = new HashMap<String, String>();
+		for (var i = 1; i < parts.length; i++) {
+			final var keyValue = parts[i].split("=", 2);
+			parameters.put(keyValue[0].trim().toLowerCase(), //
+					keyValue.length > 1 ? keyValue[1].trim().replace("\"", "") : "");
+		}
+		return parameters;
+	}
+
+	@Override
+	public String getProvidedExtensionAsClient() {
+		final var result = new StringBuilder(EXTENSION_NAME).append("; ").append(CLIENT_MAX_WINDOW_BITS);
+		if (!this.settings.contextTakeover()) {
+			result.append("; ").append(CLIENT_NO_CONTEXT_TAKEOVER);
+		}
+		return result.toString();
+	}
+
+	@Override
+	public String getProvidedExtensionAsServer() {
+		final var result = new StringBuilder(EXTENSION_NAME);
+		if (this.serverNoContextTakeover) {
+			result.append("; ").append(SERVER_NO_CONTEXT_TAKEOVER);
+		}
+		if (this.clientNoContextTakeover) {
+			result.append("; ").append(CLIENT_NO_CONTEXT_TAKEOVER);
+		}
+		return result.toString();
+	}
+
+	@Override
+	public IExtension copyInstance() {
+		return new DeflateExtension(this.settings, this.metrics);
+	}
+
+	@Override
+	public void reset() {
+		if (this.deflater != null) {
+			this.deflater.end();
+			this.deflater = null;
+		}
+		if (this.inflater != null) {
+			this.inflater.end();
+			this.inflater = null;
+		}
+		this.compressMessage = false;
+		this.decompressMessage = false;
+	}
+
+	@Override
+	public String toString() {
+		return "DeflateExtension";
+	}
+
+}
@@ -55,6 +55,9 @@ import com.google.common.primitives.Ints;
  * difference is that it does not throw a IncompleteException internally instead
  * it returns normally in those cases and checks afterwards with an "if" if the
  * result is correct.
+ *
+ * <p>
+ * Compression is negotiated by passing a {@link DeflateExtension}.
  */
 public class MyDraft6455 extends Draft {
 
@@ -31,6 +31,7 @@ public final class OnMessageHandler implements Runnable {
 	private final Logger log = LoggerFactory.getLogger(OnMessageHandler.class);
 	private final WebSocket ws;
 	private final String message;
+	private final JsonrpcMessage decodedMessage;
 	private final OnRequest onRequest;
 	private final OnNotification onNotification;
 	private final BiPredicate<WebSocket, JsonrpcMessage> sendMessage;
@@ -44,8 +45,29 @@ public final class OnMessageHandler implements Runnable {
 			BiPredicate<WebSocket, JsonrpcMessage> sendMessage, //
 			BiConsumer<Throwable, String> handleInternalError, //
 			BiConsumer<Logger, String> logWarn) {
+		this(ws, message, null, onRequest, onNotification, sendMessage, handleInternalError, logWarn);
+	}
+
+	public OnMessageHandler(//
+			WebSocket ws, JsonrpcMessage decodedMessage, //
+			OnRequest onRequest, //
+			OnNotification onNotification, //
+			BiPredicate<WebSocket, JsonrpcMessage> sendMessage, //
+			BiConsumer<Throwable, String> handleInternalError, //
+			BiConsumer<Logger, String> logWarn) {
+		this(ws, null, decodedMessage, onRequest, onNotification, sendMessage, handleInternalError, logWarn);
+	}
+
+	private OnMessageHandler(//
+			WebSocket ws, String message, JsonrpcMessage decodedMessage, //
+			OnRequest onRequest, //
+			OnNotification onNotification, //
+			BiPredicate<WebSocket, JsonrpcMessage> sendMessage, //
+			BiConsumer<Throwable, String> handleInternalError, //
+			BiConsumer<Logger, String> logWarn) {
 		this.ws = ws;
 		this.message = message;
+		this.decodedMessage = decodedMessage;
 		this.onRequest = onRequest;
 		this.onNotification = onNotification;
 		this.sendMessage = sendMessage;
@@ -56,7 +78,9 @@ public final class OnMessageHandler implements Runnable {
 	@Override
 	public final void run() {
 		try {
-			var message = JsonrpcMessage.from(this.message);
+			var message = this.decodedMessage != null //
+					? this.decodedMessage //
+					: JsonrpcMessage.from(this.message);
 
 			if (message instanceof JsonrpcRequest request) {
 				this.handleJsonrpcRequest(this.ws, request);
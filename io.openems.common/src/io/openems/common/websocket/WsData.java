@@ -38,6 +38,69 @@ public abstract class WsData {
 	// TODO add timeout to requestFutures
 	private final ConcurrentHashMap<UUID, CompletableFuture<JsonrpcResponseSuccess>> requestFutures = new ConcurrentHashMap<>();
 
+	/**
+	 * Holds the {@link BinaryDataFormat} state; null if the connection uses
+	 * JSON-RPC text only.
+	 */
+	private volatile BinaryDataFormat.Encoder binaryEncoder = null;
+	private volatile BinaryDataFormat.Decoder binaryDecoder = null;
+
+	/**
+	 * Were the sequence Channels negotiated for the current connection?.
+	 */
+	private volatile boolean dataSequence = false;
+
+	/**
+	 * Enables or disables the {@link BinaryDataFormat} for the current connection.
+	 * Enabling starts with empty dictionaries.
+	 *
+	 * @param enabled true to enable
+	 */
+	public void setBinaryDataFormat(boolean enabled) {
+		this.binaryEncoder = enabled ? new BinaryDataFormat.Encoder() : null;
+		this.binaryDecoder = enabled ? new BinaryDataFormat.Decoder() : null;
+	}
+
+	/**
+	 * Enables or disables the sequence Channels of
+	 * {@link io.openems.common.jsonrpc.notification.TimestampedDataNotification
+	 * TimestampedDataNotifications} for the current connection.
+	 *
+	 * @param enabled true to enable
+	 */
+	public void setDataSequence(boolean enabled) {
+		this.dataSequence = enabled;
+	}
+
+	/**
+	 * Were the sequence Channels of
+	 * {@link io.openems.common.jsonrpc.notification.TimestampedDataNotification
+	 * TimestampedDataNotifications} negotiated for the current connection?.
+	 *
+	 * @return true if they were negotiated
+	 */
+	public boolean isDataSequence() {
+		return this.dataSequence;
+	}
+
+	/**
+	 * Gets the {@link BinaryDataFormat.Encoder} of the current connection.
+	 *
+	 * @return the Encoder; null if the {@link BinaryDataFormat} was not negotiated
+	 */
+	public BinaryDataFormat.Encoder getBinaryEncoder() {
+		return this.binaryEncoder;
+	}
+
+	/**
+	 * Gets the {@link BinaryDataFormat.Decoder} of the current connection.
+	 *
+	 * @return the Decoder; null if the {@link BinaryDataFormat} was not negotiated
+	 */
+	public BinaryDataFormat.Decoder getBinaryDecoder() {
+		return this.binaryDecoder;
+	}
+
 	/**
 	 * This method is called on close of the parent websocket. Use it to release
 	 * blocked resources.
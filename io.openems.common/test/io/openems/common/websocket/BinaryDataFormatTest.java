@@ -0,0 +1,75 @@
+package io.openems.common.websocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+
+public class BinaryDataFormatTest {
+
+	@Test
+	public void testRoundtrip() throws OpenemsException {
+		final var encoder = new BinaryDataFormat.Encoder();
+		final var decoder = new BinaryDataFormat.Decoder();
+
+		final var json = new JsonObject();
+		json.addProperty("a", 1);
+		final var notification = new TimestampedDataNotification();
+		notification.add(1700000000000L, "_sum/State", new JsonPrimitive(0));
+		notification.add(1700000000000L, "_sum/EssSoc", new JsonPrimitive(-55L));
+		notification.add(1700000001000L, "_sum/EssSoc", new JsonPrimitive(54.5));
+		notification.add(1700000001000L, "meter0/ActivePower", JsonNull.INSTANCE);
+		notification.add(1700000001000L, "_meta/Version", new JsonPrimitive("2024.1.0"));
+		notification.add(1700000001000L, "ess0/Enabled", new JsonPrimitive(true));
+		notification.add(1700000001000L, "ess0/Json", json);
+
+		final var frame = encoder.encode(notification);
+		final var decoded = decoder.decode(frame);
+		assertTrue(decoded instanceof TimestampedDataNotification);
+		assertEquals(notification.getData(), decoded.getData());
+		assertEquals(6, encoder.getDictionarySize());
+	}
+
+	@Test
+	public void testDictionary() throws OpenemsException {
+		final var encoder = new BinaryDataFormat.Encoder();
+		final var decoder = new BinaryDataFormat.Decoder();
+
+		final var first = new AggregatedDataNotification();
+		first.add(1000L, "meter0/ActivePower", new JsonPrimitive(1.5));
+		final var firstFrame = encoder.encode(first);
+		decoder.decode(firstFrame);
+
+		// Channel-Address is only sent with the first frame
+		final var second = new AggregatedDataNotification();
+		second.add(2000L, "meter0/ActivePower", new JsonPrimitive(2.5));
+		final var secondFrame = encoder.encode(second);
+		assertTrue(secondFrame.remaining() < firstFrame.limit() - "meter0/ActivePower".length());
+
+		final var decoded = decoder.decode(secondFrame);
+		assertTrue(decoded instanceof AggregatedDataNotification);
+		assertEquals(2.5, decoded.getData().get(2000L, "meter0/ActivePower").getAsDouble(), 0);
+	}
+
+	@Test
+	public void testUnknownId() {
+		final var encoder = new BinaryDataFormat.Encoder();
+		final var notification = new TimestampedDataNotification();
+		notification.add(1000L, "meter0/ActivePower", new JsonPrimitive(1));
+		encoder.encode(notification);
+
+		// Decoder missed the first frame
+		final var frame = encoder.encode(notification);
+		assertThrows(OpenemsException.class, () -> new BinaryDataFormat.Decoder().decode(frame));
+	}
+
+}
@@ -0,0 +1,106 @@
+package io.openems.common.websocket;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.java_websocket.exceptions.InvalidDataException;
+import org.java_websocket.framing.TextFrame;
+import org.junit.Test;
+
+public class DeflateExtensionTest {
+
+	private static final String MESSAGE = "{\"jsonrpc\":\"2.0\",\"method\":\"timestampedData\",\"params\":{" //
+			+ "\"1700000000000\":{\"_sum/EssSoc\":55,\"_sum/GridActivePower\":1234,\"_sum/State\":0}}}";
+
+	private static TextFrame frame(String text) {
+		final var frame = new TextFrame();
+		frame.setPayload(ByteBuffer.wrap(text.getBytes(UTF_8)));
+		frame.setFin(true);
+		return frame;
+	}
+
+	private static String text(TextFrame frame) {
+		final var payload = frame.getPayloadData();
+		final var bytes = new byte[payload.remaining()];
+		payload.get(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	@Test
+	public void testNegotiation() {
+		final var client = new DeflateExtension(DeflateExtension.Settings.DEFAULT, new DeflateExtension.Metrics());
+		final var server = new DeflateExtension(new DeflateExtension.Settings(256, 6, false),
+				new DeflateExtension.Metrics());
+
+		assertTrue(server.acceptProvidedExtensionAsServer(client.getProvidedExtensionAsClient()));
+		assertEquals("permessage-deflate; server_no_context_takeover", server.getProvidedExtensionAsServer());
+		assertTrue(client.acceptProvidedExtensionAsClient(server.getProvidedExtensionAsServer()));
+
+		// Window of this side can not be limited
+		assertFalse(server.acceptProvidedExtensionAsServer("permessage-deflate; server_max_window_bits=10"));
+		assertFalse(server.acceptProvidedExtensionAsServer("x-webkit-deflate-frame"));
+	}
+
+	@Test
+	public void testContextTakeover() throws InvalidDataException {
+		final var clientMetrics = new DeflateExtension.Metrics();
+		final var client = new DeflateExtension(new DeflateExtension.Settings(16, 6, true), clientMetrics);
+		final var server = new DeflateExtension(DeflateExtension.Settings.DEFAULT, new DeflateExtension.Metrics());
+		server.acceptProvidedExtensionAsServer(client.getProvidedExtensionAsClient());
+		client.acceptProvidedExtensionAsClient(server.getProvidedExtensionAsServer());
+
+		var previousLength = Integer.MAX_VALUE;
+		for (var i = 0; i < 3; i++) {
+			final var frame = frame(MESSAGE);
+			client.encodeFrame(frame);
+			assertTrue(frame.isRSV1());
+			final var length = frame.getPayloadData().remaining();
+			assertTrue(length < previousLength);
+			previousLength = length;
+
+			server.decodeFrame(frame);
+			assertEquals(MESSAGE, text(frame));
+		}
+		assertTrue(clientMetrics.getOutboundRatio() < 0.5);
+	}
+
+	@Test
+	public void testNoContextTakeover() throws InvalidDataException {
+		final var client = new DeflateExtension(new DeflateExtension.Settings(16, 6, false),
+				new DeflateExtension.Metrics());
+		final var server = new DeflateExtension(DeflateExtension.Settings.DEFAULT, new DeflateExtension.Metrics());
+		server.acceptProvidedExtensionAsServer(client.getProvidedExtensionAsClient());
+		client.acceptProvidedExtensionAsClient(server.getProvidedExtensionAsServer());
+
+		// Every message is compressed on its own
+		var firstLength = -1;
+		for (var i = 0; i < 3; i++) {
+			final var frame = frame(MESSAGE);
+			client.encodeFrame(frame);
+			assertTrue(frame.isRSV1());
+			final var length = frame.getPayloadData().remaining();
+			if (firstLength == -1) {
+				firstLength = length;
+			}
+			assertEquals(firstLength, length);
+
+			server.decodeFrame(frame);
+			assertEquals(MESSAGE, text(frame));
+		}
+	}
+
+	@Test
+	public void testThreshold() {
+		final var client = new DeflateExtension(new DeflateExtension.Settings(1024, 6, true),
+				new DeflateExtension.Metrics());
+		final var frame = frame(MESSAGE);
+		client.encodeFrame(frame);
+		assertFalse(frame.isRSV1());
+		assertEquals(MESSAGE, text(frame));
+	}
+
+}
@@ -15,7 +15,7 @@ public class StoppedHandler extends StateHandler<State, Context> {
 		if (battery.getMinCellVoltage().isDefined()) {
 			currentMinVoltage = battery.getMinCellVoltage().get();
 		} else {
-			currentMinVoltage = battery.getMinCellVoltageChannel().getPastValues().lastEntry().getValue()
+			currentMinVoltage = battery.getMinCellVoltageChannel().getPastValues().getLatest()
 					.orElse(Integer.MAX_VALUE);
 		}
 
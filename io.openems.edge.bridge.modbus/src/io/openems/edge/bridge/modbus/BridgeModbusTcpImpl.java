@@ -22,6 +22,7 @@ import io.openems.common.utils.InetAddressUtils;
 import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
 import io.openems.edge.bridge.modbus.api.BridgeModbus;
 import io.openems.edge.bridge.modbus.api.BridgeModbusTcp;
+import io.openems.edge.bridge.modbus.api.worker.ModbusWorker;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.event.EdgeEventConstants;
 
@@ -56,22 +57,27 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 
 	@Activate
 	private void activate(ComponentContext context, ConfigTcp config) throws UnknownHostException {
-		super.activate(context, config.id(), config.alias(), config.enabled(), config.logVerbosity(),
-				config.invalidateElementsAfterReadErrors());
 		this.applyConfig(config);
+		super.activate(context, config.id(), config.alias(), config.enabled(), config.logVerbosity(),
+				config.invalidateElementsAfterReadErrors(), config.parallelConnections());
 	}
 
 	@Modified
 	private void modified(ComponentContext context, ConfigTcp config) throws UnknownHostException {
-		super.modified(context, config.id(), config.alias(), config.enabled(), config.logVerbosity(),
-				config.invalidateElementsAfterReadErrors());
-		this.applyConfig(config);
 		this.closeModbusConnection();
+		this.applyConfig(config);
+		super.modified(context, config.id(), config.alias(), config.enabled(), config.logVerbosity(),
+				config.invalidateElementsAfterReadErrors(), config.parallelConnections());
 	}
 
-	private void applyConfig(ConfigTcp config) {
+	private synchronized void applyConfig(ConfigTcp config) {
 		this.setIpAddress(InetAddressUtils.parseOrNull(config.ip()));
 		this.port = config.port();
+		var parallelConnections = Math.max(1, config.parallelConnections());
+		if (this._connections.length != parallelConnections) {
+			this.closeAllModbusConnections();
+			this._connections = new TCPMasterConnection[parallelConnections];
+		}
 	}
 
 	@Override
@@ -80,43 +86,72 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 		super.deactivate();
 	}
 
+	/**
+	 * Closes the Modbus connection of the current lane of the {@link ModbusWorker}
+	 * or all connections if not called by a lane.
+	 */
 	@Override
-	public void closeModbusConnection() {
-		if (this._connection != null) {
-			this._connection.close();
-			this._connection = null;
+	public synchronized void closeModbusConnection() {
+		var lane = ModbusWorker.getCurrentLane();
+		if (lane < 0) {
+			this.closeAllModbusConnections();
+			return;
+		}
+		var index = lane % this._connections.length;
+		if (this._connections[index] != null) {
+			this._connections[index].close();
+			this._connections[index] = null;
+		}
+	}
+
+	private synchronized void closeAllModbusConnections() {
+		for (var i = 0; i < this._connections.length; i++) {
+			if (this._connections[i] != null) {
+				this._connections[i].close();
+				this._connections[i] = null;
+			}
 		}
 	}
 
 	@Override
 	public ModbusTransaction getNewModbusTransaction() throws OpenemsException {
-		var connection = this.getModbusConnection();
+		var connection = this.getModbusConnection(Math.max(0, ModbusWorker.getCurrentLane()));
 		var transaction = new ModbusTCPTransaction(connection);
 		transaction.setRetries(AbstractModbusBridge.DEFAULT_RETRIES);
 		return transaction;
 	}
 
-	private TCPMasterConnection _connection = null;
-
-	private synchronized TCPMasterConnection getModbusConnection() throws OpenemsException {
-		if (this._connection == null) {
-			/*
-			 * create new connection
-			 */
-			var connection = new TCPMasterConnection(this.getIpAddress());
-			connection.setPort(this.port);
-			this._connection = connection;
+	/** One connection per lane of the {@link ModbusWorker}. */
+	private TCPMasterConnection[] _connections = new TCPMasterConnection[1];
+
+	private TCPMasterConnection getModbusConnection(int lane) throws OpenemsException {
+		final TCPMasterConnection connection;
+		synchronized (this) {
+			var index = lane % this._connections.length;
+			if (this._connections[index] == null) {
+				/*
+				 * create new connection
+				 */
+				var newConnection = new TCPMasterConnection(this.getIpAddress());
+				newConnection.setPort(this.port);
+				this._connections[index] = newConnection;
+			}
+			connection = this._connections[index];
 		}
-		if (!this._connection.isConnected()) {
-			try {
-				this._connection.connect();
-			} catch (Exception e) {
-				throw new OpenemsException(
-						"Connection to [" + this.getIpAddress().getHostAddress() + "] failed: " + e.getMessage());
+		// Connect outside of the bridge lock, so a slow connect does not block the
+		// other lanes
+		synchronized (connection) {
+			if (!connection.isConnected()) {
+				try {
+					connection.connect();
+				} catch (Exception e) {
+					throw new OpenemsException(
+							"Connection to [" + this.getIpAddress().getHostAddress() + "] failed: " + e.getMessage());
+				}
+				connection.getModbusTransport().setTimeout(AbstractModbusBridge.DEFAULT_TIMEOUT);
 			}
-			this._connection.getModbusTransport().setTimeout(AbstractModbusBridge.DEFAULT_TIMEOUT);
 		}
-		return this._connection;
+		return connection;
 	}
 
 	@Override
@@ -33,5 +33,8 @@ import io.openems.edge.bridge.modbus.api.LogVerbosity;
 	@AttributeDefinition(name = "Invalidate elements after how many read Errors?", description = "Increase this value if modbus read errors happen frequently.")
 	int invalidateElementsAfterReadErrors() default 1;
 
+	@AttributeDefinition(name = "Parallel connections", description = "Number of parallel TCP connections. Devices are assigned by Unit-ID modulo this value, so a slow Unit-ID does not hold up the others. The device has to support multiple connections.")
+	int parallelConnections() default 1;
+
 	String webconsole_configurationFactory_nameHint() default "Bridge Modbus/TCP [{id}]";
 }
\ No newline at end of file
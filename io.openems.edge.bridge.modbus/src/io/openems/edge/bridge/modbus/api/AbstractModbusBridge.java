@@ -64,10 +64,27 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 
 	protected void activate(ComponentContext context, String id, String alias, boolean enabled,
 			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors) {
+		this.activate(context, id, alias, enabled, logVerbosity, invalidateElementsAfterReadErrors, 1);
+	}
+
+	/**
+	 * Activates the bridge with parallel lanes; see {@link ModbusWorker}.
+	 *
+	 * @param context                           the {@link ComponentContext}
+	 * @param id                                the Component-ID
+	 * @param alias                             the Component-Alias
+	 * @param enabled                           is the Component enabled?
+	 * @param logVerbosity                      the {@link LogVerbosity}
+	 * @param invalidateElementsAfterReadErrors number of read errors before
+	 *                                          invalidating elements
+	 * @param numberOfLanes                     the number of parallel lanes
+	 */
+	protected void activate(ComponentContext context, String id, String alias, boolean enabled,
+			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors, int numberOfLanes) {
 		super.activate(context, id, alias, enabled);
 		this.applyConfig(logVerbosity, invalidateElementsAfterReadErrors);
 		if (enabled) {
-			this.worker.activate(id);
+			this.worker.activate(id, numberOfLanes);
 		}
 	}
 
@@ -86,10 +103,27 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 
 	protected void modified(ComponentContext context, String id, String alias, boolean enabled,
 			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors) {
+		this.modified(context, id, alias, enabled, logVerbosity, invalidateElementsAfterReadErrors, 1);
+	}
+
+	/**
+	 * Modifies the bridge with parallel lanes; see {@link ModbusWorker}.
+	 *
+	 * @param context                           the {@link ComponentContext}
+	 * @param id                                the Component-ID
+	 * @param alias                             the Component-Alias
+	 * @param enabled                           is the Component enabled?
+	 * @param logVerbosity                      the {@link LogVerbosity}
+	 * @param invalidateElementsAfterReadErrors number of read errors before
+	 *                                          invalidating elements
+	 * @param numberOfLanes                     the number of parallel lanes
+	 */
+	protected void modified(ComponentContext context, String id, String alias, boolean enabled,
+			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors, int numberOfLanes) {
 		super.modified(context, id, alias, enabled);
 		this.applyConfig(logVerbosity, invalidateElementsAfterReadErrors);
 		if (enabled) {
-			this.worker.modified(id);
+			this.worker.modified(id, numberOfLanes);
 		} else {
 			this.worker.deactivate();
 		}
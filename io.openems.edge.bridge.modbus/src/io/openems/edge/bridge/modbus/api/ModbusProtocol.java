@@ -1,10 +1,22 @@
 package io.openems.edge.bridge.modbus.api;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.edge.bridge.modbus.api.task.ReadTasksOptimizer;
 import io.openems.edge.bridge.modbus.api.task.Task;
 import io.openems.edge.common.taskmanager.TasksManager;
 
 public class ModbusProtocol {
 
+	private final Logger log = LoggerFactory.getLogger(ModbusProtocol.class);
+
 	/**
 	 * The Parent component.
 	 */
@@ -15,6 +27,25 @@ public class ModbusProtocol {
 	 */
 	private final TasksManager<Task> taskManager = new TasksManager<>();
 
+	/**
+	 * The Tasks as added by the parent; differs from {@link #taskManager} if Tasks
+	 * are optimized.
+	 */
+	private final List<Task> tasks = new ArrayList<>();
+
+	/**
+	 * Tasks that must not be merged, because the device rejected a merged request.
+	 */
+	private final Set<Task> pinnedTasks = new HashSet<>();
+
+	/**
+	 * Tasks whose merged request was rejected during execution; pinned in
+	 * {@link #onBeforeProcessImage()}.
+	 */
+	private final Set<Task> rejectedTasks = ConcurrentHashMap.newKeySet();
+
+	private ReadTasksOptimizer optimizer = null;
+
 	/**
 	 * Creates a new {@link ModbusProtocol}.
 	 *
@@ -45,8 +76,13 @@ public class ModbusProtocol {
 	public synchronized void addTask(Task task) {
 		// add the the parent to the Task
 		task.setParent(this.parent);
-		// fill taskManager
-		this.taskManager.addTask(task);
+		this.tasks.add(task);
+		if (this.optimizer == null) {
+			// fill taskManager
+			this.taskManager.addTask(task);
+		} else {
+			this.applyOptimizer();
+		}
 	}
 
 	/**
@@ -55,7 +91,104 @@ public class ModbusProtocol {
 	 * @param task the task
 	 */
 	public synchronized void removeTask(Task task) {
-		this.taskManager.removeTask(task);
+		this.tasks.remove(task);
+		this.pinnedTasks.remove(task);
+		if (this.optimizer == null) {
+			this.taskManager.removeTask(task);
+		} else {
+			this.applyOptimizer();
+		}
+	}
+
+	/**
+	 * Merges adjacent or nearly adjacent FC3/FC4 Read-Tasks of the same Priority
+	 * into the fewest requests and splits Read-Tasks that are too long; see
+	 * {@link ReadTasksOptimizer}.
+	 *
+	 * <p>
+	 * Use this for devices that allow reading across undefined registers. If the
+	 * device answers a merged request with an ILLEGAL DATA ADDRESS exception, the
+	 * affected Tasks fall back to their original definition.
+	 *
+	 * @param maxGap    the maximum number of unused registers between two elements
+	 *                  that are read in one request; 0 merges only directly
+	 *                  adjacent elements
+	 * @param maxLength the maximum number of registers per request; limited to
+	 *                  {@link ReadTasksOptimizer#MAX_LENGTH}
+	 * @return myself
+	 */
+	public synchronized ModbusProtocol optimizeReadTasks(int maxGap, int maxLength) {
+		this.optimizer = new ReadTasksOptimizer(maxGap, maxLength);
+		this.applyOptimizer();
+		return this;
+	}
+
+	private synchronized void applyOptimizer() {
+		var tasks = this.optimizer.optimize(this.tasks, this.pinnedTasks, this::onIllegalAddress);
+		for (var task : tasks) {
+			task.setParent(this.parent);
+		}
+		// Add new Tasks before removing old ones, so no Task is missing meanwhile
+		var oldTasks = List.copyOf(this.taskManager.getTasks());
+		for (var task : tasks) {
+			if (!oldTasks.contains(task)) {
+				this.taskManager.addTask(task);
+			}
+		}
+		for (var task : oldTasks) {
+			if (!tasks.contains(task)) {
+				this.taskManager.removeTask(task);
+			}
+		}
+	}
+
+	/**
+	 * Called by the executing thread if the device rejected a merged request. The
+	 * Tasks are only recorded here, because the {@link #taskManager} must not be
+	 * changed while the Tasks of the current Cycle are executed.
+	 *
+	 * @param tasks the original Tasks of the merged request
+	 */
+	private void onIllegalAddress(Set<? extends Task> tasks) {
+		this.rejectedTasks.addAll(tasks);
+	}
+
+	/**
+	 * Called by the bridge on BEFORE_PROCESS_IMAGE event, before the Tasks for the
+	 * next Cycle are collected.
+	 *
+	 * <p>
+	 * Falls back to the original definition of Tasks whose merged request was
+	 * rejected by the device with an ILLEGAL DATA ADDRESS exception.
+	 */
+	public void onBeforeProcessImage() {
+		if (this.rejectedTasks.isEmpty()) {
+			return;
+		}
+		synchronized (this) {
+			var tasks = new HashSet<Task>();
+			for (var iterator = this.rejectedTasks.iterator(); iterator.hasNext();) {
+				tasks.add(iterator.next());
+				iterator.remove();
+			}
+			tasks.retainAll(this.tasks);
+			if (this.optimizer == null || !this.pinnedTasks.addAll(tasks)) {
+				return;
+			}
+			this.log.warn("Device [" + (this.parent == null ? "" : this.parent.id())
+					+ "] rejected merged Modbus request with ILLEGAL DATA ADDRESS. " //
+					+ "Falling back to original definition of [" + tasks.size() + "] Tasks");
+			this.applyOptimizer();
+		}
+	}
+
+	/**
+	 * Gets the parent Component.
+	 *
+	 * @return the {@link AbstractOpenemsModbusComponent}; possibly null
+	 */
+	public AbstractOpenemsModbusComponent getParent() {
+		return this.parent;
 	}
 
 	/**
@@ -70,8 +203,7 @@ public class ModbusProtocol {
 	/**
 	 * Deactivate the {@link ModbusProtocol}.
 	 */
-	public void deactivate() {
-		this.taskManager.getTasks() //
-				.forEach(Task::deactivate);
+	public synchronized void deactivate() {
+		this.tasks.forEach(Task::deactivate);
 	}
 }
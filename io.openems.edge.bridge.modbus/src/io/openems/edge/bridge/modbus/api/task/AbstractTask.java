@@ -210,6 +210,15 @@ public abstract non-sealed class AbstractTask<//
 		return this;
 	}
 
+	/**
+	 * Is Debug-Mode activated?.
+	 *
+	 * @return true if {@link #debug()} was called
+	 */
+	protected boolean isDebug() {
+		return this.isDebug;
+	}
+
 	/**
 	 * Combines the global and local (via {@link #isDebug} log verbosity.
 	 *
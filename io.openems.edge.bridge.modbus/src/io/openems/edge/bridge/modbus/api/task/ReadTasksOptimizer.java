@@ -0,0 +1,242 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.ghgande.j2mod.modbus.Modbus;
+import com.ghgande.j2mod.modbus.ModbusSlaveException;
+
+import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
+import io.openems.edge.bridge.modbus.api.element.ModbusElement;
+import io.openems.edge.bridge.modbus.api.task.Task.ExecuteState;
+import io.openems.edge.common.taskmanager.Priority;
+
+/**
+ * Merges the {@link FC3ReadRegistersTask}s and {@link FC4ReadInputRegistersTask}s
+ * of one device into the fewest legal Modbus requests.
+ *
+ * <p>
+ * Elements of tasks with the same function code and {@link Priority} are sorted
+ * by address and packed into new tasks, as long as the gap to the previous
+ * element is at most 'maxGap' registers and the resulting request is at most
+ * 'maxLength' registers long. Gaps are filled with
+ * {@link DummyRegisterElement}s; hand-written {@link DummyRegisterElement}s are
+ * dropped. A merged task calls the 'onExecute' callbacks of all original tasks
+ * it contains.
+ *
+ * <p>
+ * If the device answers a merged task with an ILLEGAL DATA ADDRESS exception,
+ * the original tasks are reported via the 'onIllegalAddress' callback. Those
+ * 'pinned' tasks are not merged anymore; they are only split if they are longer
+ * than 'maxLength'.
+ *
+ * <p>
+ * All other tasks - Write-Tasks, Coil-Tasks and subclasses of the Read-Tasks -
+ * are kept as they are.
+ */
+public class ReadTasksOptimizer {
+
+	/** Maximum number of registers of one read request per Modbus spec. */
+	public static final int MAX_LENGTH = 125;
+
+	private static record Key(Class<?> clazz, Priority priority) {
+	}
+
+	private static class Block {
+		private final List<ModbusElement> elements = new ArrayList<>();
+		private final Set<AbstractReadRegistersTask<?, ?>> origins = new LinkedHashSet<>();
+		private final int startAddress;
+		private int endAddress; // exclusive
+
+		private Block(ModbusElement element, AbstractReadRegistersTask<?, ?> origin) {
+			this.startAddress = element.startAddress;
+			this.endAddress = element.startAddress;
+			this.add(element, origin);
+		}
+
+		private void add(ModbusElement element, AbstractReadRegistersTask<?, ?> origin) {
+			this.elements.add(element);
+			this.origins.add(origin);
+			this.endAddress = element.startAddress + element.length;
+		}
+	}
+
+	private static record Entry(ModbusElement element, AbstractReadRegistersTask<?, ?> origin) {
+	}
+
+	private final int maxGap;
+	private final int maxLength;
+
+	/**
+	 * Creates a {@link ReadTasksOptimizer}.
+	 *
+	 * @param maxGap    the maximum number of unused registers between two elements
+	 *                  that are read in one request
+	 * @param maxLength the maximum number of registers per request; limited to
+	 *                  {@link #MAX_LENGTH}
+	 */
+	public ReadTasksOptimizer(int maxGap, int maxLength) {
+		this.maxGap = Math.max(0, maxGap);
+		this.maxLength = Math.min(MAX_LENGTH, Math.max(1, maxLength));
+	}
+
+	/**
+	 * Optimizes the given tasks.
+	 *
+	 * @param tasks            the tasks as defined by the device
+	 * @param pinnedTasks      tasks that must not be merged with others
+	 * @param onIllegalAddress called with the original tasks of a merged task that
+	 *                         failed with an ILLEGAL DATA ADDRESS exception
+	 * @return the tasks that should actually be executed
+	 */
+	public List<Task> optimize(List<Task> tasks, Set<Task> pinnedTasks,
+			Consumer<Set<? extends Task>> onIllegalAddress) {
+		var result = new ArrayList<Task>();
+		var groups = new LinkedHashMap<Key, List<AbstractReadRegistersTask<?, ?>>>();
+		for (var task : tasks) {
+			if (!isOptimizable(task)) {
+				result.add(task);
+				continue;
+			}
+			var readTask = (AbstractReadRegistersTask<?, ?>) task;
+			if (pinnedTasks.contains(task) || !hasNonDummyElements(readTask)) {
+				result.addAll(this.split(readTask));
+				continue;
+			}
+			groups.computeIfAbsent(new Key(task.getClass(), readTask.getPriority()), k -> new ArrayList<>())
+					.add(readTask);
+		}
+		for (var group : groups.entrySet()) {
+			result.addAll(this.merge(group.getKey(), group.getValue(), onIllegalAddress));
+		}
+		return result;
+	}
+
+	private List<Task> merge(Key key, List<AbstractReadRegistersTask<?, ?>> tasks,
+			Consumer<Set<? extends Task>> onIllegalAddress) {
+		var entries = new ArrayList<Entry>();
+		for (var task : tasks) {
+			for (var element : task.elements) {
+				if (!(element instanceof DummyRegisterElement)) {
+					entries.add(new Entry(element, task));
+				}
+			}
+		}
+		entries.sort(Comparator.comparingInt(e -> e.element().startAddress));
+
+		var blocks = new ArrayList<Block>();
+		Block block = null;
+		for (var entry : entries) {
+			var element = entry.element();
+			if (block != null //
+					&& element.startAddress >= block.endAddress //
+					&& element.startAddress - block.endAddress <= this.maxGap //
+					&& element.startAddress + element.length - block.startAddress <= this.maxLength) {
+				if (element.startAddress > block.endAddress) {
+					block.elements.add(new DummyRegisterElement(block.endAddress, element.startAddress - 1));
+				}
+				block.add(element, entry.origin());
+			} else {
+				block = new Block(element, entry.origin());
+				blocks.add(block);
+			}
+		}
+
+		var result = new ArrayList<Task>();
+		for (var b : blocks) {
+			if (b.origins.size() == 1) {
+				var origin = b.origins.iterator().next();
+				if (origin.startAddress == b.startAddress && origin.length == b.endAddress - b.startAddress) {
+					// Nothing changed -> keep the original task
+					result.add(reuse(origin));
+					continue;
+				}
+			}
+			var origins = Set.copyOf(b.origins);
+			Consumer<ExecuteState> onExecute = state -> {
+				for (var origin : origins) {
+					origin.onExecute.accept(state);
+				}
+				if (isIllegalAddress(state)) {
+					onIllegalAddress.accept(origins);
+				}
+			};
+			result.add(createTask(key.clazz(), onExecute, key.priority(), b.elements,
+					origins.stream().anyMatch(AbstractTask::isDebug)));
+		}
+		return result;
+	}
+
+	/**
+	 * Splits a task into tasks of at most 'maxLength' registers; keeps the order
+	 * and all elements.
+	 *
+	 * @param task the task
+	 * @return the original task or the split tasks
+	 */
+	private List<Task> split(AbstractReadRegistersTask<?, ?> task) {
+		if (task.length <= this.maxLength) {
+			return List.of(reuse(task));
+		}
+		var result = new ArrayList<Task>();
+		var elements = new ArrayList<ModbusElement>();
+		var length = 0;
+		for (var element : task.elements) {
+			if (!elements.isEmpty() && length + element.length > this.maxLength) {
+				result.add(createTask(task.getClass(), task.onExecute, task.getPriority(), elements, task.isDebug()));
+				elements = new ArrayList<>();
+				length = 0;
+			}
+			elements.add(element);
+			length += element.length;
+		}
+		if (!elements.isEmpty()) {
+			result.add(createTask(task.getClass(), task.onExecute, task.getPriority(), elements, task.isDebug()));
+		}
+		return result;
+	}
+
+	private static boolean isOptimizable(Task task) {
+		return task.getClass() == FC3ReadRegistersTask.class || task.getClass() == FC4ReadInputRegistersTask.class;
+	}
+
+	private static boolean hasNonDummyElements(AbstractReadRegistersTask<?, ?> task) {
+		return Arrays.stream(task.elements).anyMatch(e -> !(e instanceof DummyRegisterElement));
+	}
+
+	private static boolean isIllegalAddress(ExecuteState state) {
+		return state instanceof ExecuteState.Error error //
+				&& error.exception() instanceof ModbusSlaveException e //
+				&& e.isType(Modbus.ILLEGAL_ADDRESS_EXCEPTION);
+	}
+
+	private static Task reuse(AbstractReadRegistersTask<?, ?> task) {
+		// Elements might still point to a merged task of a previous optimization
+		for (var element : task.elements) {
+			element.setModbusTask(task);
+		}
+		return task;
+	}
+
+	private static Task createTask(Class<?> clazz, Consumer<ExecuteState> onExecute, Priority priority,
+			List<ModbusElement> elements, boolean isDebug) {
+		var array = elements.toArray(ModbusElement[]::new);
+		final AbstractTask<?, ?> task;
+		if (clazz == FC4ReadInputRegistersTask.class) {
+			task = new FC4ReadInputRegistersTask(onExecute, array[0].startAddress, priority, array);
+		} else {
+			task = new FC3ReadRegistersTask(onExecute, array[0].startAddress, priority, array);
+		}
+		if (isDebug) {
+			task.debug();
+		}
+		return task;
+	}
+
+}
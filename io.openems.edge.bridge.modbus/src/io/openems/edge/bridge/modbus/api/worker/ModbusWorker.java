@@ -1,8 +1,11 @@
 package io.openems.edge.bridge.modbus.api.worker;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import io.openems.common.worker.AbstractImmediateWorker;
 import io.openems.edge.bridge.modbus.api.BridgeModbus;
@@ -28,20 +31,38 @@ import io.openems.edge.bridge.modbus.api.worker.internal.TasksSupplierImpl;
  * TOPIC_CYCLE_BEFORE_PROCESS_IMAGE event). For this it uses a
  * {@link CycleTasksManager} that internally uses a {@link TasksSupplierImpl}
  * that supplies the tasks for one Cycle ({@link CycleTasks}).
+ *
+ * <p>
+ * By default all Tasks are executed by one thread. Optionally the Tasks can be
+ * distributed to multiple lanes by Unit-ID (Unit-ID modulo number of lanes).
+ * Every lane has its own thread, {@link CycleTasksManager} and
+ * {@link DefectiveComponents}, so a slow or defective device only holds up the
+ * devices in its own lane. The bridge can use {@link #getCurrentLane()} to
+ * execute the Tasks of each lane on a separate connection.
  */
-public class ModbusWorker extends AbstractImmediateWorker {
+public class ModbusWorker {
+
+	private static final ThreadLocal<Integer> CURRENT_LANE = new ThreadLocal<>();
 
 	// Callbacks
 	private final Function<Task, ExecuteState> execute;
 	private final Consumer<ModbusElement[]> invalidate;
+	private final Consumer<Boolean> cycleTimeIsTooShortChannel;
+	private final Consumer<Long> cycleDelayChannel;
+	private final AtomicReference<LogVerbosity> logVerbosity;
+
+	/**
+	 * Source-ID -> {@link ModbusProtocol}; required to redistribute the protocols
+	 * if the number of lanes changes.
+	 */
+	private final Map<String, ModbusProtocol> protocols = new HashMap<>();
 
-	private final DefectiveComponents defectiveComponents;
-	private final TasksSupplierImpl tasksSupplier;
-	private final CycleTasksManager cycleTasksManager;
+	private volatile Lane[] lanes;
+	private String name = null;
 
 	/**
 	 * Constructor for {@link ModbusWorker}.
-	 * 
+	 *
 	 * @param execute                    executes a {@link Task}; returns number of
 	 *                                   actually executed subtasks
 	 * @param invalidate                 invalidates the given
@@ -59,60 +80,90 @@ public class ModbusWorker extends AbstractImmediateWorker {
 			AtomicReference<LogVerbosity> logVerbosity) {
 		this.execute = execute;
 		this.invalidate = invalidate;
+		this.cycleTimeIsTooShortChannel = cycleTimeIsTooShortChannel;
+		this.cycleDelayChannel = cycleDelayChannel;
+		this.logVerbosity = logVerbosity;
 
-		this.defectiveComponents = new DefectiveComponents(logVerbosity);
-		this.tasksSupplier = new TasksSupplierImpl();
-		this.cycleTasksManager = new CycleTasksManager(this.tasksSupplier, this.defectiveComponents,
-				cycleTimeIsTooShortChannel, cycleDelayChannel, logVerbosity);
+		this.lanes = this.createLanes(1);
 	}
 
-	@Override
-	protected void forever() throws InterruptedException {
-		var task = this.cycleTasksManager.getNextTask();
-
-		// execute the task
-		var result = this.execute.apply(task);
+	/**
+	 * Gets the lane of the current thread.
+	 *
+	 * @return the index of the lane; -1 if the current thread is not a lane of a
+	 *         {@link ModbusWorker}
+	 */
+	public static int getCurrentLane() {
+		var lane = CURRENT_LANE.get();
+		if (lane == null) {
+			return -1;
+		}
+		return lane;
+	}
 
-		// NOTE: with Java 21 LTS this can be refactored to a pattern matching switch
-		// statement
-		if (result instanceof ExecuteState.Ok) {
-			// no exception & at least one sub-task executed
-			this.markComponentAsDefective(task.getParent(), false);
+	/**
+	 * Initializes the worker with one lane and starts the worker thread.
+	 *
+	 * @param name the name of the worker thread
+	 */
+	public void activate(String name) {
+		this.activate(name, 1);
+	}
 
-		} else if (result instanceof ExecuteState.NoOp) {
-			// did not execute anything
+	/**
+	 * Initializes the worker and starts one worker thread per lane.
+	 *
+	 * @param name          the name of the worker thread
+	 * @param numberOfLanes the number of parallel lanes
+	 */
+	public synchronized void activate(String name, int numberOfLanes) {
+		this.name = name;
+		if (this.lanes.length != Math.max(1, numberOfLanes)) {
+			this.replaceLanes(numberOfLanes);
+		}
+		for (var lane : this.lanes) {
+			lane.activate(this.getLaneName(lane));
+		}
+	}
 
-		} else if (result instanceof ExecuteState.Error) {
-			this.markComponentAsDefective(task.getParent(), true);
+	/**
+	 * Modifies the worker thread.
+	 *
+	 * @param name the name of the worker thread
+	 */
+	public void modified(String name) {
+		this.modified(name, this.lanes.length);
+	}
 
-			// invalidate elements of this task
-			this.invalidate.accept(task.getElements());
+	/**
+	 * Modifies the worker threads.
+	 *
+	 * @param name          the name of the worker thread
+	 * @param numberOfLanes the number of parallel lanes
+	 */
+	public synchronized void modified(String name, int numberOfLanes) {
+		this.name = name;
+		if (this.lanes.length != Math.max(1, numberOfLanes)) {
+			for (var lane : this.lanes) {
+				lane.deactivate();
+			}
+			this.replaceLanes(numberOfLanes);
+			for (var lane : this.lanes) {
+				lane.activate(this.getLaneName(lane));
+			}
+		} else {
+			for (var lane : this.lanes) {
+				lane.modified(this.getLaneName(lane));
+			}
 		}
 	}
 
 	/**
-	 * Marks the given {@link ModbusComponent} as defective or non-defective.
-	 * 
-	 * <ul>
-	 * <li>Sets 'ModbusCommunicationFailed' Channel of the ModbusComponent
-	 * <li>Adds/Removes the component to/from the {@link DefectiveComponents}
-	 * </ul>
-	 * 
-	 * @param component   the {@link ModbusComponent}
-	 * @param isDefective mark as defective (true) or non-defective (false)
+	 * Stops the worker threads.
 	 */
-	private void markComponentAsDefective(ModbusComponent component, boolean isDefective) {
-		if (component != null) {
-			if (isDefective) {
-				// Component is defective
-				this.defectiveComponents.add(component.id());
-				component._setModbusCommunicationFailed(true);
-
-			} else {
-				// Read from/Write to Component was successful
-				this.defectiveComponents.remove(component.id());
-				component._setModbusCommunicationFailed(false);
-			}
+	public synchronized void deactivate() {
+		for (var lane : this.lanes) {
+			lane.deactivate();
 		}
 	}
 
@@ -122,9 +173,16 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	 * @param sourceId Component-ID of the source
 	 * @param protocol the ModbusProtocol
 	 */
-	public void addProtocol(String sourceId, ModbusProtocol protocol) {
-		this.tasksSupplier.addProtocol(sourceId, protocol);
-		this.defectiveComponents.remove(sourceId); // Cleanup
+	public synchronized void addProtocol(String sourceId, ModbusProtocol protocol) {
+		// Unit-ID might have changed -> remove from previous lane
+		for (var lane : this.lanes) {
+			lane.tasksSupplier.removeProtocol(sourceId);
+		}
+		this.protocols.put(sourceId, protocol);
+		this.getLane(protocol).tasksSupplier.addProtocol(sourceId, protocol);
+		for (var lane : this.lanes) {
+			lane.defectiveComponents.remove(sourceId); // Cleanup
+		}
 	}
 
 	/**
@@ -132,34 +190,182 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	 *
 	 * @param sourceId Component-ID of the source
 	 */
-	public void removeProtocol(String sourceId) {
-		this.tasksSupplier.removeProtocol(sourceId);
-		this.defectiveComponents.remove(sourceId); // Cleanup
+	public synchronized void removeProtocol(String sourceId) {
+		this.protocols.remove(sourceId);
+		for (var lane : this.lanes) {
+			lane.tasksSupplier.removeProtocol(sourceId);
+			lane.defectiveComponents.remove(sourceId); // Cleanup
+		}
 	}
 
 	/**
 	 * Retry Modbus communication to given Component-ID.
-	 * 
+	 *
 	 * <p>
 	 * See {@link BridgeModbus#retryModbusCommunication(String)}
-	 * 
+	 *
 	 * @param sourceId Component-ID of the source
 	 */
 	public void retryModbusCommunication(String sourceId) {
-		this.defectiveComponents.remove(sourceId);
+		for (var lane : this.lanes) {
+			lane.defectiveComponents.remove(sourceId);
+		}
 	}
 
 	/**
 	 * Called on EXECUTE_WRITE event.
 	 */
 	public void onExecuteWrite() {
-		this.cycleTasksManager.onExecuteWrite();
+		for (var lane : this.lanes) {
+			lane.cycleTasksManager.onExecuteWrite();
+		}
 	}
 
 	/**
 	 * Called on BEFORE_PROCESS_IMAGE event.
 	 */
 	public void onBeforeProcessImage() {
-		this.cycleTasksManager.onBeforeProcessImage();
+		synchronized (this) {
+			for (var protocol : this.protocols.values()) {
+				protocol.onBeforeProcessImage();
+			}
+		}
+		final var lanes = this.lanes;
+		for (var lane : lanes) {
+			lane.cycleTasksManager.onBeforeProcessImage();
+		}
+		if (lanes.length > 1) {
+			// Cycle-Time is too short if any lane did not finish; Delay of slowest lane
+			var cycleTimeIsTooShort = false;
+			var cycleDelay = Long.MAX_VALUE;
+			for (var lane : lanes) {
+				cycleTimeIsTooShort |= lane.cycleTimeIsTooShort;
+				cycleDelay = Math.min(cycleDelay, lane.cycleDelay);
+			}
+			this.cycleTimeIsTooShortChannel.accept(cycleTimeIsTooShort);
+			this.cycleDelayChannel.accept(cycleDelay);
+		}
+	}
+
+	private void replaceLanes(int numberOfLanes) {
+		this.lanes = this.createLanes(numberOfLanes);
+		for (var entry : this.protocols.entrySet()) {
+			this.getLane(entry.getValue()).tasksSupplier.addProtocol(entry.getKey(), entry.getValue());
+		}
+	}
+
+	private Lane[] createLanes(int numberOfLanes) {
+		if (numberOfLanes <= 1) {
+			// Single lane: write Channels directly
+			return new Lane[] { new Lane(0, this.cycleTimeIsTooShortChannel, this.cycleDelayChannel) };
+		}
+		return IntStream.range(0, numberOfLanes) //
+				.mapToObj(i -> new Lane(i, null, null)) //
+				.toArray(Lane[]::new);
+	}
+
+	private Lane getLane(ModbusProtocol protocol) {
+		final var lanes = this.lanes;
+		if (lanes.length == 1) {
+			return lanes[0];
+		}
+		var parent = protocol.getParent();
+		if (parent == null || parent.getUnitId() == null) {
+			return lanes[0];
+		}
+		return lanes[Math.floorMod(parent.getUnitId(), lanes.length)];
+	}
+
+	private String getLaneName(Lane lane) {
+		if (this.lanes.length == 1 || this.name == null) {
+			return this.name;
+		}
+		return this.name + "-" + lane.index;
+	}
+
+	private class Lane extends AbstractImmediateWorker {
+
+		private final int index;
+		private final DefectiveComponents defectiveComponents;
+		private final TasksSupplierImpl tasksSupplier;
+		private final CycleTasksManager cycleTasksManager;
+
+		private volatile boolean cycleTimeIsTooShort = false;
+		private volatile long cycleDelay = 0;
+
+		/**
+		 * Creates a {@link Lane}.
+		 *
+		 * @param index                      the index of the lane
+		 * @param cycleTimeIsTooShortChannel sets the Channel directly; null to only
+		 *                                   collect the value
+		 * @param cycleDelayChannel          sets the Channel directly; null to only
+		 *                                   collect the value
+		 */
+		private Lane(int index, Consumer<Boolean> cycleTimeIsTooShortChannel, Consumer<Long> cycleDelayChannel) {
+			this.index = index;
+			this.defectiveComponents = new DefectiveComponents(ModbusWorker.this.logVerbosity);
+			this.tasksSupplier = new TasksSupplierImpl();
+			this.cycleTasksManager = new CycleTasksManager(this.tasksSupplier, this.defectiveComponents,
+					cycleTimeIsTooShortChannel != null //
+							? cycleTimeIsTooShortChannel //
+							: value -> this.cycleTimeIsTooShort = value,
+					cycleDelayChannel != null //
+							? cycleDelayChannel //
+							: value -> this.cycleDelay = value,
+					ModbusWorker.this.logVerbosity);
+		}
+
+		@Override
+		protected void forever() throws InterruptedException {
+			CURRENT_LANE.set(this.index);
+
+			var task = this.cycleTasksManager.getNextTask();
+
+			// execute the task
+			var result = ModbusWorker.this.execute.apply(task);
+
+			// NOTE: with Java 21 LTS this can be refactored to a pattern matching switch
+			// statement
+			if (result instanceof ExecuteState.Ok) {
+				// no exception & at least one sub-task executed
+				this.markComponentAsDefective(task.getParent(), false);
+
+			} else if (result instanceof ExecuteState.NoOp) {
+				// did not execute anything
+
+			} else if (result instanceof ExecuteState.Error) {
+				this.markComponentAsDefective(task.getParent(), true);
+
+				// invalidate elements of this task
+				ModbusWorker.this.invalidate.accept(task.getElements());
+			}
+		}
+
+		/**
+		 * Marks the given {@link ModbusComponent} as defective or non-defective.
+		 *
+		 * <ul>
+		 * <li>Sets 'ModbusCommunicationFailed' Channel of the ModbusComponent
+		 * <li>Adds/Removes the component to/from the {@link DefectiveComponents}
+		 * </ul>
+		 *
+		 * @param component   the {@link ModbusComponent}
+		 * @param isDefective mark as defective (true) or non-defective (false)
+		 */
+		private void markComponentAsDefective(ModbusComponent component, boolean isDefective) {
+			if (component != null) {
+				if (isDefective) {
+					// Component is defective
+					this.defectiveComponents.add(component.id());
+					component._setModbusCommunicationFailed(true);
+
+				} else {
+					// Read from/Write to Component was successful
+					this.defectiveComponents.remove(component.id());
+					component._setModbusCommunicationFailed(false);
+				}
+			}
+		}
 	}
-}
\ No newline at end of file
+}
@@ -60,6 +60,16 @@ public class DummyModbusBridge extends AbstractModbusBridge implements BridgeMod
 		this.protocols.remove(sourceId);
 	}
 
+	/**
+	 * Gets the {@link ModbusProtocol} that was added for a Component.
+	 *
+	 * @param sourceId the Component-ID
+	 * @return the {@link ModbusProtocol}; null if none was added
+	 */
+	public ModbusProtocol getProtocol(String sourceId) {
+		return this.protocols.get(sourceId);
+	}
+
 	@Override
 	public InetAddress getIpAddress() {
 		if (this.ipAddress != null) {
@@ -12,6 +12,7 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 		private int port;
 		private LogVerbosity logVerbosity;
 		private int invalidateElementsAfterReadErrors;
+		private int parallelConnections = 1;
 
 		private Builder() {
 		}
@@ -41,6 +42,11 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 			return this;
 		}
 
+		public Builder setParallelConnections(int parallelConnections) {
+			this.parallelConnections = parallelConnections;
+			return this;
+		}
+
 		public MyConfigTcp build() {
 			return new MyConfigTcp(this);
 		}
@@ -82,4 +88,9 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 		return this.builder.invalidateElementsAfterReadErrors;
 	}
 
+	@Override
+	public int parallelConnections() {
+		return this.builder.parallelConnections;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.ghgande.j2mod.modbus.Modbus;
+import com.ghgande.j2mod.modbus.ModbusSlaveException;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.DummyModbusComponent;
+import io.openems.edge.bridge.modbus.api.ModbusProtocol;
+import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedDoublewordElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.bridge.modbus.api.task.Task.ExecuteState;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class ReadTasksOptimizerTest {
+
+	private static String toString(List<Task> tasks) {
+		var result = new ArrayList<String>();
+		for (var task : tasks) {
+			result.add(task.getClass().getSimpleName() + ":" + task.getStartAddress() + "/" + task.getLength());
+		}
+		result.sort(null);
+		return String.join(", ", result);
+	}
+
+	@Test
+	public void testMerge() {
+		var sut = new ReadTasksOptimizer(3, 125);
+		var tasks = List.<Task>of(//
+				new FC3ReadRegistersTask(0, Priority.HIGH, //
+						new UnsignedWordElement(0), //
+						new DummyRegisterElement(1, 9), //
+						new UnsignedWordElement(10)), //
+				new FC3ReadRegistersTask(12, Priority.HIGH, //
+						new UnsignedDoublewordElement(12)), //
+				new FC3ReadRegistersTask(15, Priority.LOW, //
+						new UnsignedWordElement(15)), //
+				new FC4ReadInputRegistersTask(16, Priority.HIGH, //
+						new UnsignedWordElement(16)), //
+				new FC4ReadInputRegistersTask(17, Priority.HIGH, //
+						new UnsignedWordElement(17)));
+
+		assertEquals("FC3ReadRegistersTask:0/1, " // gap of 9 is too large
+				+ "FC3ReadRegistersTask:10/4, " // merged with gap of 1
+				+ "FC3ReadRegistersTask:15/1, " // other Priority
+				+ "FC4ReadInputRegistersTask:16/2", //
+				toString(sut.optimize(tasks, Set.of(), t -> {
+				})));
+	}
+
+	@Test
+	public void testMaxLength() {
+		var sut = new ReadTasksOptimizer(0, 4);
+		var task = new FC3ReadRegistersTask(0, Priority.HIGH, //
+				new UnsignedDoublewordElement(0), //
+				new UnsignedDoublewordElement(2), //
+				new UnsignedDoublewordElement(4));
+
+		// Unchanged if it is not too long
+		assertSame(task, new ReadTasksOptimizer(0, 6).optimize(List.of(task), Set.of(), t -> {
+		}).get(0));
+
+		assertEquals("FC3ReadRegistersTask:0/4, FC3ReadRegistersTask:4/2", //
+				toString(sut.optimize(List.of(task), Set.of(), t -> {
+				})));
+		assertEquals("FC3ReadRegistersTask:0/4, FC3ReadRegistersTask:4/2", //
+				toString(sut.optimize(List.of(task), Set.of(task), t -> {
+				})));
+	}
+
+	@Test
+	public void testIllegalAddress() throws OpenemsException {
+		var component = new DummyModbusComponent();
+		var task1 = new FC3ReadRegistersTask(0, Priority.HIGH, new UnsignedWordElement(0));
+		var task2 = new FC3ReadRegistersTask(5, Priority.HIGH, new UnsignedWordElement(5));
+		var protocol = new ModbusProtocol(component, task1, task2) //
+				.optimizeReadTasks(10, 125);
+
+		var tasks = protocol.getTaskManager().getTasks();
+		assertEquals("FC3ReadRegistersTask:0/6", toString(tasks));
+		var merged = (FC3ReadRegistersTask) tasks.get(0);
+		assertSame(component, merged.getParent());
+
+		merged.onExecute.accept(ExecuteState.OK);
+		assertEquals(1, protocol.getTaskManager().countTasks());
+
+		merged.onExecute.accept(new ExecuteState.Error(new ModbusSlaveException(Modbus.ILLEGAL_ADDRESS_EXCEPTION)));
+		// Tasks are not changed while being executed
+		assertEquals(1, protocol.getTaskManager().countTasks());
+
+		protocol.onBeforeProcessImage();
+		tasks = protocol.getTaskManager().getTasks();
+		assertEquals(2, tasks.size());
+		assertTrue(tasks.contains(task1));
+		assertTrue(tasks.contains(task2));
+	}
+
+}
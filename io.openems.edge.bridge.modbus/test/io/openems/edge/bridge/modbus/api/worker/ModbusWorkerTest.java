@@ -0,0 +1,229 @@
+package io.openems.edge.bridge.modbus.api.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.DummyModbusComponent;
+import io.openems.edge.bridge.modbus.api.LogVerbosity;
+import io.openems.edge.bridge.modbus.api.ModbusProtocol;
+import io.openems.edge.bridge.modbus.api.task.Task;
+import io.openems.edge.bridge.modbus.api.task.Task.ExecuteState;
+import io.openems.edge.bridge.modbus.test.DummyModbusBridge;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class ModbusWorkerTest {
+
+	private static final int CYCLE_TIME = 100;
+	private static final int TIMEOUT_SECONDS = 10;
+
+	/** The Channel values at BEFORE_PROCESS_IMAGE of one Cycle. */
+	private static record CycleResult(Boolean cycleTimeIsTooShort, Long cycleDelay) {
+	}
+
+	/** Component-ID -> Lanes the Tasks of the Component were executed in. */
+	private final Map<String, Set<Integer>> lanesOfComponent = new ConcurrentHashMap<>();
+	/** Component-ID -> number of executed Read-Tasks. */
+	private final Map<String, AtomicInteger> executions = new ConcurrentHashMap<>();
+	/** Component-ID -> one permit per executed Read-Task. */
+	private final Map<String, Semaphore> reads = new ConcurrentHashMap<>();
+	private final AtomicReference<Boolean> cycleTimeIsTooShort = new AtomicReference<>();
+	private final AtomicReference<Long> cycleDelay = new AtomicReference<>();
+
+	private DummyModbusBridge bridge;
+	private ModbusWorker sut;
+
+	@Before
+	public void before() {
+		this.bridge = new DummyModbusBridge("modbus0");
+		this.sut = new ModbusWorker(this::execute, elements -> {
+		}, this.cycleTimeIsTooShort::set, this.cycleDelay::set, new AtomicReference<>(LogVerbosity.NONE));
+	}
+
+	@After
+	public void after() {
+		this.sut.deactivate();
+	}
+
+	private ExecuteState execute(Task task) {
+		var parent = task.getParent();
+		if (parent == null) {
+			return task.execute(null);
+		}
+		this.lanesOfComponent.computeIfAbsent(parent.id(), id -> ConcurrentHashMap.newKeySet()) //
+				.add(ModbusWorker.getCurrentLane());
+		var result = task.execute(null);
+		this.executions.computeIfAbsent(parent.id(), id -> new AtomicInteger()).incrementAndGet();
+		this.getReads(parent.id()).release();
+		return result;
+	}
+
+	private Semaphore getReads(String componentId) {
+		return this.reads.computeIfAbsent(componentId, id -> new Semaphore(0));
+	}
+
+	/**
+	 * Waits until the Read-Task of a Component was executed the given number of
+	 * times since the last call.
+	 *
+	 * @param componentId   the Component-ID
+	 * @param numberOfReads the number of reads
+	 * @throws InterruptedException on interrupt
+	 */
+	private void awaitReads(String componentId, int numberOfReads) throws InterruptedException {
+		assertTrue("Timeout while waiting for " + numberOfReads + " reads of [" + componentId + "]",
+				this.getReads(componentId).tryAcquire(numberOfReads, TIMEOUT_SECONDS, TimeUnit.SECONDS));
+	}
+
+	private DummyReadTask addComponent(String id, int unitId, long delay) throws OpenemsException {
+		var component = new DummyModbusComponent(id, this.bridge, unitId,
+				new io.openems.edge.common.channel.ChannelId[0]);
+		var task = new DummyReadTask(id, delay, Priority.HIGH);
+		this.sut.addProtocol(id, new ModbusProtocol(component, task));
+		return task;
+	}
+
+	/**
+	 * Simulates the Core.Cycle: triggers the Cycle events every
+	 * {@link #CYCLE_TIME} ms and waits until the given number of Cycles was
+	 * triggered.
+	 *
+	 * @param numberOfCycles the number of Cycles
+	 * @return a {@link CycleResult} per Cycle
+	 * @throws InterruptedException on interrupt
+	 */
+	private List<CycleResult> runCycles(int numberOfCycles) throws InterruptedException {
+		var results = Collections.synchronizedList(new ArrayList<CycleResult>());
+		var remaining = new CountDownLatch(numberOfCycles);
+		var cycle = Executors.newSingleThreadScheduledExecutor();
+		try {
+			cycle.scheduleAtFixedRate(() -> {
+				if (remaining.getCount() == 0) {
+					return;
+				}
+				this.sut.onBeforeProcessImage();
+				results.add(new CycleResult(this.cycleTimeIsTooShort.get(), this.cycleDelay.get()));
+				this.sut.onExecuteWrite();
+				remaining.countDown();
+			}, 0, CYCLE_TIME, TimeUnit.MILLISECONDS);
+			assertTrue("Timeout while running " + numberOfCycles + " Cycles",
+					remaining.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+		} finally {
+			cycle.shutdownNow();
+		}
+		return results;
+	}
+
+	private int getExecutions(String componentId) {
+		var result = this.executions.get(componentId);
+		return result == null ? 0 : result.get();
+	}
+
+	@Test
+	public void testSingleLane() throws Exception {
+		this.addComponent("device1", 1, 0);
+		this.addComponent("device2", 2, 0);
+		this.sut.activate("modbus0");
+
+		var results = this.runCycles(5);
+		this.awaitReads("device1", 4);
+		this.awaitReads("device2", 4);
+
+		assertEquals(Set.of(0), this.lanesOfComponent.get("device1"));
+		assertEquals(Set.of(0), this.lanesOfComponent.get("device2"));
+		assertFalse(results.get(results.size() - 1).cycleTimeIsTooShort());
+	}
+
+	@Test
+	public void testLaneAssignmentByUnitId() throws Exception {
+		this.addComponent("device1", 1, 0);
+		this.addComponent("device2", 2, 0);
+		this.addComponent("device3", 3, 0);
+		this.addComponent("device4", 4, 0);
+		this.sut.activate("modbus0", 3);
+
+		this.runCycles(5);
+		this.awaitReads("device1", 1);
+		this.awaitReads("device2", 1);
+		this.awaitReads("device3", 1);
+		this.awaitReads("device4", 1);
+
+		assertEquals(Set.of(1), this.lanesOfComponent.get("device1"));
+		assertEquals(Set.of(2), this.lanesOfComponent.get("device2"));
+		assertEquals(Set.of(0), this.lanesOfComponent.get("device3"));
+		assertEquals(Set.of(1), this.lanesOfComponent.get("device4"));
+
+		// Changing the number of lanes redistributes the protocols
+		this.sut.modified("modbus0", 2);
+		this.lanesOfComponent.clear();
+		this.reads.clear();
+
+		this.runCycles(5);
+		this.awaitReads("device1", 1);
+		this.awaitReads("device2", 1);
+		this.awaitReads("device3", 1);
+		this.awaitReads("device4", 1);
+
+		assertEquals(Set.of(1), this.lanesOfComponent.get("device1"));
+		assertEquals(Set.of(0), this.lanesOfComponent.get("device2"));
+		assertEquals(Set.of(1), this.lanesOfComponent.get("device3"));
+		assertEquals(Set.of(0), this.lanesOfComponent.get("device4"));
+	}
+
+	@Test
+	public void testCycleTimeIsTooShortAndCycleDelayOfAllLanes() throws Exception {
+		this.addComponent("device1", 1, 0);
+		var task2 = this.addComponent("device2", 2, 0);
+		this.sut.activate("modbus0", 2);
+
+		// All lanes finish within the Cycle -> both lanes can delay their reads
+		var results = this.runCycles(10);
+		var last = results.get(results.size() - 1);
+		assertFalse(last.cycleTimeIsTooShort());
+		assertTrue(last.cycleDelay() > 0);
+
+		// Lane 0 is too slow -> reported for the bridge with the Delay of the slowest
+		// lane, while lane 1 still finishes in time
+		task2.setDefective(null, CYCLE_TIME * 3);
+		results = this.runCycles(10);
+		var tooShort = results.stream() //
+				.filter(r -> Boolean.TRUE.equals(r.cycleTimeIsTooShort())) //
+				.toList();
+		assertFalse(tooShort.isEmpty());
+		tooShort.forEach(r -> assertEquals(0L, (long) r.cycleDelay()));
+		this.awaitReads("device1", 18);
+	}
+
+	@Test
+	public void testDefectiveComponentDoesNotDelayOtherLanes() throws Exception {
+		this.addComponent("device1", 1, 0);
+		var task2 = this.addComponent("device2", 2, 0);
+		task2.setDefective(new OpenemsException("defective"), CYCLE_TIME * 3);
+		this.sut.activate("modbus0", 2);
+
+		this.runCycles(10);
+
+		// device1 is read in (nearly) every Cycle
+		this.awaitReads("device1", 9);
+		assertTrue(this.getExecutions("device2") < 5);
+	}
+
+}
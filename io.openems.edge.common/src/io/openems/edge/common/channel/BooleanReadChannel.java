@@ -92,4 +92,16 @@ public class BooleanReadChannel extends AbstractReadChannel<OpenemsTypeDoc<Boole
 			super._setNextValue(true);
 		}
 	}
+
+	/**
+	 * Sets the next value from a primitive {@code boolean}. See
+	 * {@link #setNextValue(Object)}.
+	 *
+	 * @param value the 'next value'
+	 */
+	@SuppressWarnings("deprecation")
+	public void setNextValue(boolean value) {
+		this._setNextValue(Boolean.valueOf(value));
+	}
+
 }
@@ -1,15 +1,14 @@
 package io.openems.edge.common.channel;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.time.temporal.TemporalAmount;
-import java.util.TreeMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.internal.AbstractReadChannel;
+import io.openems.edge.common.channel.value.PastValues;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.TypeUtils;
@@ -167,12 +166,21 @@ public interface Channel<T> {
 	public Value<T> value() throws IllegalArgumentException;
 
 	/**
-	 * Gets the past values for this Channel.
+	 * Gets the number of times the active value changed in
+	 * {@link #nextProcessImage()}. Allows to detect changes without comparing
+	 * values.
 	 *
-	 * @return a map of recording time and historic value at that time
+	 * @return the change counter
 	 */
-	// TODO this should be a ZonedDateTime
-	public TreeMap<LocalDateTime, Value<T>> getPastValues();
+	public long getChangeCount();
+
+	/**
+	 * Gets the past values for this Channel, i.e. the values of the last
+	 * {@link #MAX_AGE_OF_PAST_VALUES}.
+	 *
+	 * @return the {@link PastValues}
+	 */
+	public PastValues<T> getPastValues();
 
 	/**
 	 * Add an onUpdate callback. It is called, after the active value was updated by
@@ -11,4 +11,21 @@ public class DoubleReadChannel extends AbstractReadChannel<OpenemsTypeDoc<Double
 		super(OpenemsType.DOUBLE, component, channelId, channelDoc);
 	}
 
+	/**
+	 * Sets the next value from a primitive {@code double}. NaN and infinite values
+	 * are set as null. If the value did not change the already boxed value is
+	 * reused. See {@link #setNextValue(Object)}.
+	 *
+	 * @param value the 'next value'
+	 */
+	@SuppressWarnings("deprecation")
+	public void setNextValue(double value) {
+		if (!Double.isFinite(value)) {
+			this._setNextValue(null);
+			return;
+		}
+		var next = this.getNextValue().get();
+		this._setNextValue(next != null && next.doubleValue() == value ? next : Double.valueOf(value));
+	}
+
 }
@@ -11,4 +11,16 @@ public class IntegerReadChannel extends AbstractReadChannel<OpenemsTypeDoc<Integ
 		super(OpenemsType.INTEGER, component, channelId, channelDoc);
 	}
 
+	/**
+	 * Sets the next value from a primitive {@code int}. If the value did not change
+	 * the already boxed value is reused. See {@link #setNextValue(Object)}.
+	 *
+	 * @param value the 'next value'
+	 */
+	@SuppressWarnings("deprecation")
+	public void setNextValue(int value) {
+		var next = this.getNextValue().get();
+		this._setNextValue(next != null && next.intValue() == value ? next : Integer.valueOf(value));
+	}
+
 }
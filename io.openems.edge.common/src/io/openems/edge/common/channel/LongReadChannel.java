@@ -11,4 +11,16 @@ public class LongReadChannel extends AbstractReadChannel<OpenemsTypeDoc<Long>, L
 		super(OpenemsType.LONG, component, channelId, channelDoc);
 	}
 
+	/**
+	 * Sets the next value from a primitive {@code long}. If the value did not change
+	 * the already boxed value is reused. See {@link #setNextValue(Object)}.
+	 *
+	 * @param value the 'next value'
+	 */
+	@SuppressWarnings("deprecation")
+	public void setNextValue(long value) {
+		var next = this.getNextValue().get();
+		this._setNextValue(next != null && next.longValue() == value ? next : Long.valueOf(value));
+	}
+
 }
@@ -1,9 +1,7 @@
 package io.openems.edge.common.channel.internal;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
-import java.util.TreeMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -19,8 +17,11 @@ import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.ChannelId;
 import io.openems.edge.common.channel.WriteChannel;
+import io.openems.edge.common.channel.value.PastValues;
 import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.channel.value.ValueTimestamp;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.type.TypeUtils;
 
 public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implements Channel<T> {
 
@@ -29,12 +30,13 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	protected final OpenemsComponent parent;
 
 	private final OpenemsType type;
+	private final Class<?> javaType;
 	private final ChannelId channelId;
 	private final D channelDoc;
 	private final List<Consumer<Value<T>>> onUpdateCallbacks = new CopyOnWriteArrayList<>();
 	private final List<Consumer<Value<T>>> onSetNextValueCallbacks = new CopyOnWriteArrayList<>();
 	private final List<BiConsumer<Value<T>, Value<T>>> onChangeCallbacks = new CopyOnWriteArrayList<>();
-	private final TreeMap<LocalDateTime, Value<T>> pastValues = new TreeMap<>();
+	private final PastValues<T> pastValues;
 
 	/**
 	 * The 'next' value of the Channel. Copied to 'active' in
@@ -45,12 +47,19 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	 * The 'active' value of the Channel. Never null.
 	 */
 	private volatile Value<T> activeValue = new Value<>(this, null);
+	/**
+	 * Incremented on every change of the 'active' value. Only written in
+	 * {@link #nextProcessImage()}.
+	 */
+	private volatile long changeCount = 0;
 
 	protected AbstractReadChannel(OpenemsType type, OpenemsComponent parent, ChannelId channelId, D channelDoc) {
 		this.type = type;
+		this.javaType = getJavaType(type);
 		this.parent = parent;
 		this.channelId = channelId;
 		this.channelDoc = channelDoc;
+		this.pastValues = PastValues.of(this, type);
 
 		// validate Type
 		if (!this.validateType(channelDoc.getType(), type)) {
@@ -107,6 +116,11 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		return this.parent;
 	}
 
+	@Override
+	public long getChangeCount() {
+		return this.changeCount;
+	}
+
 	@Override
 	public void nextProcessImage() {
 		var oldValue = this.activeValue;
@@ -117,15 +131,20 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 			this.activeValue = newValue;
 
 			// Always -> call 'onUpdate' callbacks
-			this.onUpdateCallbacks.forEach(callback -> callback.accept(newValue));
+			if (!this.onUpdateCallbacks.isEmpty()) {
+				this.onUpdateCallbacks.forEach(callback -> callback.accept(newValue));
+			}
 
 			// If value has changed -> call 'onChange' callbacks
-			if (!Objects.equals(oldValue.get(), newValue.get())) {
-				this.onChangeCallbacks.forEach(callback -> callback.accept(oldValue, newValue));
+			if (oldValue != newValue && !Objects.equals(oldValue.get(), newValue.get())) {
+				this.changeCount++;
+				if (!this.onChangeCallbacks.isEmpty()) {
+					this.onChangeCallbacks.forEach(callback -> callback.accept(oldValue, newValue));
+				}
 			}
 
 			// Additionally append to 'pastValues'
-			this.appendPastValue(newValue);
+			this.pastValues.append(newValue);
 
 		} catch (RuntimeException e) {
 			var component = this.parent != null ? this.parent.id() : "";
@@ -135,19 +154,6 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		}
 	}
 
-	/**
-	 * Appends a value to `pastValues` and deletes entries that are elder than
-	 * {@link Channel#MAX_AGE_OF_PAST_VALUES}.
-	 * 
-	 * @param value a new {@link Value}
-	 */
-	private void appendPastValue(Value<T> value) {
-		final var compareTime = value.getTimestamp().minus(Channel.MAX_AGE_OF_PAST_VALUES);
-		this.pastValues.put(value.getTimestamp(), value);
-		// changes to sub map are also applied to the backed map
-		this.pastValues.headMap(compareTime).clear();
-	}
-
 	@Override
 	public ChannelAddress address() {
 		return new ChannelAddress(this.parent.id(), this.channelId().id());
@@ -181,11 +187,66 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 			return;
 		}
 
-		this.nextValue = new Value<>(this, value);
+		var timestamp = ValueTimestamp.now();
+		var nextValue = this.nextValue;
+		if (nextValue.get() != value || nextValue.getTimestamp() != timestamp) {
+			// Reuse the existing Value if the same value was set within the same
+			// millisecond
+			nextValue = new Value<>(this, value, timestamp);
+			this.nextValue = nextValue;
+		}
 		if (this.channelDoc.isDebug()) {
-			this.log.info("Next value for [" + this.address() + "]: " + this.nextValue.asString());
+			this.log.info("Next value for [" + this.address() + "]: " + nextValue.asString());
+		}
+		if (!this.onSetNextValueCallbacks.isEmpty()) {
+			final var callbackValue = nextValue;
+			this.onSetNextValueCallbacks.forEach(callback -> callback.accept(callbackValue));
+		}
+	}
+
+	/**
+	 * Sets the next value. Values that already have the Java type of this Channel
+	 * skip the conversion in {@link TypeUtils#getAsType(OpenemsType, Object)}.
+	 *
+	 * @param value the 'next value'
+	 */
+	@Override
+	@SuppressWarnings({ "unchecked", "deprecation" })
+	public void setNextValue(Object value) {
+		if (value != null && value.getClass() == this.javaType && isFinite(value)) {
+			this._setNextValue((T) value);
+			return;
 		}
-		this.onSetNextValueCallbacks.forEach(callback -> callback.accept(this.nextValue));
+		Channel.super.setNextValue(value);
+	}
+
+	private static boolean isFinite(Object value) {
+		if (value instanceof Double d) {
+			return Double.isFinite(d);
+		}
+		if (value instanceof Float f) {
+			return Float.isFinite(f);
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the Java class of values of the given {@link OpenemsType} that can be
+	 * set without conversion.
+	 *
+	 * @param type the {@link OpenemsType}
+	 * @return the class; null for types without fast path
+	 */
+	private static Class<?> getJavaType(OpenemsType type) {
+		return switch (type) {
+		case BOOLEAN -> Boolean.class;
+		case SHORT -> Short.class;
+		case INTEGER -> Integer.class;
+		case LONG -> Long.class;
+		case FLOAT -> Float.class;
+		case DOUBLE -> Double.class;
+		case STRING -> null;
+		};
 	}
 
 	@Override
@@ -301,10 +362,10 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	/**
 	 * Gets the past values for this Channel.
 	 *
-	 * @return a map of recording time and historic value at that time
+	 * @return the {@link PastValues}
 	 */
 	@Override
-	public TreeMap<LocalDateTime, Value<T>> getPastValues() {
+	public PastValues<T> getPastValues() {
 		return this.pastValues;
 	}
 
@@ -0,0 +1,691 @@
+package io.openems.edge.common.channel.value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+
+/**
+ * Holds the past values of a {@link Channel} for
+ * {@link Channel#MAX_AGE_OF_PAST_VALUES}.
+ *
+ * <p>
+ * Values are stored in a ring buffer with epoch-millis timestamps and primitive
+ * arrays, so appending a value in {@link Channel#nextProcessImage()} does not
+ * allocate. The buffer starts small and doubles its capacity (up to
+ * {@link #MAX_CAPACITY}) only if the values within
+ * {@link Channel#MAX_AGE_OF_PAST_VALUES} do not fit.
+ *
+ * <p>
+ * Timestamps are the local date-times of {@link Value#getTimestamp()},
+ * converted to milliseconds without applying any time-zone offset.
+ *
+ * <p>
+ * This class is not thread-safe. A {@link Range} is a view on the buffer and
+ * should be evaluated right away.
+ *
+ * @param <T> the type of the Channel
+ */
+public abstract sealed class PastValues<T> {
+
+	/** The initial capacity of the ring buffer. */
+	public static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * The maximum capacity of the ring buffer, i.e.
+	 * {@link Channel#MAX_AGE_OF_PAST_VALUES} at a Cycle-Time of ~40 ms.
+	 */
+	public static final int MAX_CAPACITY = 8192;
+
+	private static final long MAX_AGE_MILLIS = Duration.from(Channel.MAX_AGE_OF_PAST_VALUES).toMillis();
+
+	/**
+	 * Creates {@link PastValues} with a primitive storage matching the
+	 * {@link OpenemsType} of the {@link Channel}.
+	 *
+	 * @param <T>     the type of the Channel
+	 * @param channel the {@link Channel}
+	 * @param type    the {@link OpenemsType} of the Channel
+	 * @return a new {@link PastValues} object
+	 */
+	public static <T> PastValues<T> of(Channel<T> channel, OpenemsType type) {
+		return switch (type) {
+		case BOOLEAN, SHORT, INTEGER -> new OfInt<>(channel, type);
+		case LONG -> new OfLong<>(channel);
+		case FLOAT, DOUBLE -> new OfDouble<>(channel, type);
+		case STRING -> new OfObject<>(channel);
+		};
+	}
+
+	/**
+	 * Converts a {@link LocalDateTime} to milliseconds, without applying any
+	 * time-zone offset.
+	 *
+	 * @param dateTime the {@link LocalDateTime}
+	 * @return the milliseconds
+	 */
+	public static long toMillis(LocalDateTime dateTime) {
+		return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + dateTime.getNano() / 1_000_000;
+	}
+
+	/**
+	 * Converts milliseconds created by {@link #toMillis(LocalDateTime)} back to a
+	 * {@link LocalDateTime}.
+	 *
+	 * @param millis the milliseconds
+	 * @return the {@link LocalDateTime}
+	 */
+	public static LocalDateTime toLocalDateTime(long millis) {
+		return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), //
+				(int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+	}
+
+	protected final Channel<T> channel;
+
+	private long[] timestamps = new long[INITIAL_CAPACITY];
+	private boolean[] defined = new boolean[INITIAL_CAPACITY];
+
+	/** Sequence number of the oldest value. */
+	private long first = 0;
+	/** Sequence number after the newest value. */
+	private long end = 0;
+
+	private PastValues(Channel<T> channel) {
+		this.channel = channel;
+	}
+
+	/**
+	 * Appends a {@link Value} and evicts values that are older than
+	 * {@link Channel#MAX_AGE_OF_PAST_VALUES}.
+	 *
+	 * <p>
+	 * A value with the same timestamp as the newest value replaces it. If the
+	 * timestamp is older than the newest value (i.e. the system time was set back)
+	 * all past values are discarded.
+	 *
+	 * @param value the {@link Value}
+	 */
+	public void append(Value<T> value) {
+		final var timestamp = toMillis(value.getTimestamp());
+		if (this.first != this.end) {
+			final var newest = this.timestamps[this.slot(this.end - 1)];
+			if (timestamp == newest) {
+				this.end--;
+			} else if (timestamp < newest) {
+				this.first = this.end;
+			}
+		}
+
+		// Evict outdated values
+		final var minTimestamp = timestamp - MAX_AGE_MILLIS;
+		while (this.first != this.end && this.timestamps[this.slot(this.first)] < minTimestamp) {
+			this.first++;
+		}
+
+		// Make room
+		if (this.end - this.first == this.capacity()) {
+			if (this.capacity() < MAX_CAPACITY) {
+				this.grow();
+			} else {
+				this.first++;
+			}
+		}
+
+		final var slot = this.slot(this.end);
+		this.timestamps[slot] = timestamp;
+		final var v = value.get();
+		this.defined[slot] = v != null;
+		if (v != null) {
+			this.set(slot, v);
+		} else {
+			this.clear(slot);
+		}
+		this.end++;
+	}
+
+	/**
+	 * Gets the number of past values.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return (int) (this.end - this.first);
+	}
+
+	/**
+	 * Are there no past values?.
+	 *
+	 * @return true if empty
+	 */
+	public boolean isEmpty() {
+		return this.first == this.end;
+	}
+
+	/**
+	 * Gets the newest past {@link Value}.
+	 *
+	 * @return the {@link Value}; an undefined {@link Value} if there are no past
+	 *         values
+	 */
+	public Value<T> getLatest() {
+		if (this.isEmpty()) {
+			return new Value<>(this.channel, null);
+		}
+		return this.toValue(this.end - 1);
+	}
+
+	/**
+	 * Gets a {@link Range} with all past values.
+	 *
+	 * @return the {@link Range}
+	 */
+	public Range<T> all() {
+		return new Range<>(this, this.first, this.end);
+	}
+
+	/**
+	 * Gets a {@link Range} with all past values with a timestamp at or after
+	 * 'from'.
+	 *
+	 * @param from the start timestamp (inclusive)
+	 * @return the {@link Range}
+	 */
+	public Range<T> tail(LocalDateTime from) {
+		return new Range<>(this, this.lowerBound(toMillis(from)), this.end);
+	}
+
+	/**
+	 * Gets a {@link Range} with all past values with a timestamp at or after
+	 * 'from' and before 'to'.
+	 *
+	 * @param from the start timestamp (inclusive)
+	 * @param to   the end timestamp (exclusive)
+	 * @return the {@link Range}
+	 */
+	public Range<T> range(LocalDateTime from, LocalDateTime to) {
+		final var fromSeq = this.lowerBound(toMillis(from));
+		return new Range<>(this, fromSeq, Math.max(fromSeq, this.lowerBound(toMillis(to))));
+	}
+
+	/**
+	 * Gets a {@link Range} like {@link #range(LocalDateTime, LocalDateTime)}, that
+	 * additionally starts with the newest value before 'from' if one exists.
+	 *
+	 * <p>
+	 * This makes sure the {@link Range} contains a value even for Channels whose
+	 * value has not changed since before 'from'.
+	 *
+	 * @param from the start timestamp
+	 * @param to   the end timestamp (exclusive)
+	 * @return the {@link Range}
+	 */
+	public Range<T> rangeFromFloor(LocalDateTime from, LocalDateTime to) {
+		final var fromMillis = toMillis(from);
+		var fromSeq = this.lowerBound(fromMillis);
+		if (fromSeq > this.first && (fromSeq == this.end || this.timestamps[this.slot(fromSeq)] != fromMillis)) {
+			fromSeq--;
+		}
+		return new Range<>(this, fromSeq, Math.max(fromSeq, this.lowerBound(toMillis(to))));
+	}
+
+	/**
+	 * Finds the sequence number of the first value with a timestamp at or after
+	 * the given one.
+	 *
+	 * @param millis the timestamp in milliseconds
+	 * @return the sequence number; {@link #end} if there is none
+	 */
+	private long lowerBound(long millis) {
+		var low = this.first;
+		var high = this.end;
+		while (low < high) {
+			final var mid = (low + high) >>> 1;
+			if (this.timestamps[this.slot(mid)] < millis) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private int capacity() {
+		return this.timestamps.length;
+	}
+
+	private int slot(long seq) {
+		return (int) (seq % this.capacity());
+	}
+
+	private void grow() {
+		final var oldCapacity = this.capacity();
+		final var newCapacity = oldCapacity * 2;
+		final var oldTimestamps = this.timestamps;
+		final var oldDefined = this.defined;
+		this.timestamps = new long[newCapacity];
+		this.defined = new boolean[newCapacity];
+		this.resize(newCapacity);
+		for (var seq = this.first; seq < this.end; seq++) {
+			final var from = (int) (seq % oldCapacity);
+			final var to = (int) (seq % newCapacity);
+			this.timestamps[to] = oldTimestamps[from];
+			this.defined[to] = oldDefined[from];
+			this.move(from, to);
+		}
+		this.resized();
+	}
+
+	private Value<T> toValue(long seq) {
+		final var slot = this.slot(seq);
+		return new Value<>(this.channel, this.defined[slot] ? this.get(slot) : null,
+				toLocalDateTime(this.timestamps[slot]));
+	}
+
+	/**
+	 * Stores a non-null value in the typed storage.
+	 *
+	 * @param slot  the slot
+	 * @param value the value
+	 */
+	protected abstract void set(int slot, T value);
+
+	/**
+	 * Clears a slot in the typed storage.
+	 *
+	 * @param slot the slot
+	 */
+	protected void clear(int slot) {
+	}
+
+	/**
+	 * Gets a boxed value from the typed storage.
+	 *
+	 * @param slot the slot
+	 * @return the value
+	 */
+	protected abstract T get(int slot);
+
+	/**
+	 * Gets a value from the typed storage as int.
+	 *
+	 * @param slot the slot
+	 * @return the value
+	 */
+	protected abstract int getAsInt(int slot);
+
+	/**
+	 * Gets a value from the typed storage as long.
+	 *
+	 * @param slot the slot
+	 * @return the value
+	 */
+	protected abstract long getAsLong(int slot);
+
+	/**
+	 * Gets a value from the typed storage as double.
+	 *
+	 * @param slot the slot
+	 * @return the value
+	 */
+	protected abstract double getAsDouble(int slot);
+
+	/**
+	 * Allocates a new typed storage with the given capacity, keeping the old one
+	 * for {@link #move(int, int)}.
+	 *
+	 * @param capacity the new capacity
+	 */
+	protected abstract void resize(int capacity);
+
+	/**
+	 * Moves a value from the old to the new typed storage while resizing.
+	 *
+	 * @param from the slot in the old storage
+	 * @param to   the slot in the new storage
+	 */
+	protected abstract void move(int from, int to);
+
+	/**
+	 * Releases the old typed storage after resizing.
+	 */
+	protected abstract void resized();
+
+	/**
+	 * A view on a sequence of past values, ordered from oldest to newest.
+	 *
+	 * @param <T> the type of the Channel
+	 */
+	public static final class Range<T> {
+
+		private final PastValues<T> pastValues;
+		private final long from;
+		private final long to;
+
+		private Range(PastValues<T> pastValues, long from, long to) {
+			this.pastValues = pastValues;
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * Gets the number of values in this {@link Range}.
+		 *
+		 * @return the size
+		 */
+		public int size() {
+			return (int) (this.to - this.from);
+		}
+
+		/**
+		 * Is this {@link Range} empty?.
+		 *
+		 * @return true if empty
+		 */
+		public boolean isEmpty() {
+			return this.from == this.to;
+		}
+
+		/**
+		 * Gets all values as {@link Value} objects, oldest first.
+		 *
+		 * @return a {@link Stream} of {@link Value}s
+		 */
+		public Stream<Value<T>> stream() {
+			return this.seqs().mapToObj(this.pastValues::toValue);
+		}
+
+		/**
+		 * Gets all values as {@link Value} objects, newest first.
+		 *
+		 * @return a {@link Stream} of {@link Value}s
+		 */
+		public Stream<Value<T>> descendingStream() {
+			final var last = this.to - 1;
+			return this.seqs().mapToObj(seq -> this.pastValues.toValue(last - (seq - this.from)));
+		}
+
+		/**
+		 * Gets all defined (i.e. non-null) values, oldest first.
+		 *
+		 * @return a {@link Stream} of values
+		 */
+		public Stream<T> definedValues() {
+			return this.definedSlots().mapToObj(this.pastValues::get);
+		}
+
+		/**
+		 * Gets all defined (i.e. non-null) values as int, oldest first. Booleans are
+		 * mapped to 0 and 1.
+		 *
+		 * @return an {@link IntStream}
+		 */
+		public IntStream definedAsInt() {
+			return this.definedSlots().map(this.pastValues::getAsInt);
+		}
+
+		/**
+		 * Gets all defined (i.e. non-null) values as long, oldest first. Booleans are
+		 * mapped to 0 and 1.
+		 *
+		 * @return a {@link LongStream}
+		 */
+		public LongStream definedAsLong() {
+			return this.definedSlots().mapToLong(this.pastValues::getAsLong);
+		}
+
+		/**
+		 * Gets all defined (i.e. non-null) values as double, oldest first. Booleans
+		 * are mapped to 0 and 1.
+		 *
+		 * @return a {@link DoubleStream}
+		 * @throws UnsupportedOperationException for STRING Channels
+		 */
+		public DoubleStream definedAsDouble() {
+			return this.definedSlots().mapToDouble(this.pastValues::getAsDouble);
+		}
+
+		private LongStream seqs() {
+			return LongStream.range(this.from, this.to);
+		}
+
+		private IntStream definedSlots() {
+			return this.seqs() //
+					.mapToInt(this.pastValues::slot) //
+					.filter(slot -> this.pastValues.defined[slot]);
+		}
+	}
+
+	private static final class OfInt<T> extends PastValues<T> {
+
+		private final OpenemsType type;
+		private int[] values = new int[INITIAL_CAPACITY];
+		private int[] oldValues = null;
+
+		private OfInt(Channel<T> channel, OpenemsType type) {
+			super(channel);
+			this.type = type;
+		}
+
+		@Override
+		protected void set(int slot, T value) {
+			this.values[slot] = value instanceof Boolean b //
+					? b ? 1 : 0 //
+					: ((Number) value).intValue();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected T get(int slot) {
+			final var value = this.values[slot];
+			return (T) switch (this.type) {
+			case BOOLEAN -> Boolean.valueOf(value != 0);
+			case SHORT -> Short.valueOf((short) value);
+			default -> Integer.valueOf(value);
+			};
+		}
+
+		@Override
+		protected int getAsInt(int slot) {
+			return this.values[slot];
+		}
+
+		@Override
+		protected long getAsLong(int slot) {
+			return this.values[slot];
+		}
+
+		@Override
+		protected double getAsDouble(int slot) {
+			return this.values[slot];
+		}
+
+		@Override
+		protected void resize(int capacity) {
+			this.oldValues = this.values;
+			this.values = new int[capacity];
+		}
+
+		@Override
+		protected void move(int from, int to) {
+			this.values[to] = this.oldValues[from];
+		}
+
+		@Override
+		protected void resized() {
+			this.oldValues = null;
+		}
+	}
+
+	private static final class OfLong<T> extends PastValues<T> {
+
+		private long[] values = new long[INITIAL_CAPACITY];
+		private long[] oldValues = null;
+
+		private OfLong(Channel<T> channel) {
+			super(channel);
+		}
+
+		@Override
+		protected void set(int slot, T value) {
+			this.values[slot] = ((Number) value).longValue();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected T get(int slot) {
+			return (T) Long.valueOf(this.values[slot]);
+		}
+
+		@Override
+		protected int getAsInt(int slot) {
+			return (int) this.values[slot];
+		}
+
+		@Override
+		protected long getAsLong(int slot) {
+			return this.values[slot];
+		}
+
+		@Override
+		protected double getAsDouble(int slot) {
+			return this.values[slot];
+		}
+
+		@Override
+		protected void resize(int capacity) {
+			this.oldValues = this.values;
+			this.values = new long[capacity];
+		}
+
+		@Override
+		protected void move(int from, int to) {
+			this.values[to] = this.oldValues[from];
+		}
+
+		@Override
+		protected void resized() {
+			this.oldValues = null;
+		}
+	}
+
+	private static final class OfDouble<T> extends PastValues<T> {
+
+		private final OpenemsType type;
+		private double[] values = new double[INITIAL_CAPACITY];
+		private double[] oldValues = null;
+
+		private OfDouble(Channel<T> channel, OpenemsType type) {
+			super(channel);
+			this.type = type;
+		}
+
+		@Override
+		protected void set(int slot, T value) {
+			this.values[slot] = ((Number) value).doubleValue();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected T get(int slot) {
+			final var value = this.values[slot];
+			if (this.type == OpenemsType.FLOAT) {
+				return (T) Float.valueOf((float) value);
+			}
+			return (T) Double.valueOf(value);
+		}
+
+		@Override
+		protected int getAsInt(int slot) {
+			return (int) this.values[slot];
+		}
+
+		@Override
+		protected long getAsLong(int slot) {
+			return (long) this.values[slot];
+		}
+
+		@Override
+		protected double getAsDouble(int slot) {
+			return this.values[slot];
+		}
+
+		@Override
+		protected void resize(int capacity) {
+			this.oldValues = this.values;
+			this.values = new double[capacity];
+		}
+
+		@Override
+		protected void move(int from, int to) {
+			this.values[to] = this.oldValues[from];
+		}
+
+		@Override
+		protected void resized() {
+			this.oldValues = null;
+		}
+	}
+
+	private static final class OfObject<T> extends PastValues<T> {
+
+		private Object[] values = new Object[INITIAL_CAPACITY];
+		private Object[] oldValues = null;
+
+		private OfObject(Channel<T> channel) {
+			super(channel);
+		}
+
+		@Override
+		protected void set(int slot, T value) {
+			this.values[slot] = value;
+		}
+
+		@Override
+		protected void clear(int slot) {
+			this.values[slot] = null;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected T get(int slot) {
+			return (T) this.values[slot];
+		}
+
+		@Override
+		protected int getAsInt(int slot) {
+			throw new UnsupportedOperationException("Channel [" + this.channel.address() + "] is not numeric");
+		}
+
+		@Override
+		protected long getAsLong(int slot) {
+			throw new UnsupportedOperationException("Channel [" + this.channel.address() + "] is not numeric");
+		}
+
+		@Override
+		protected double getAsDouble(int slot) {
+			throw new UnsupportedOperationException("Channel [" + this.channel.address() + "] is not numeric");
+		}
+
+		@Override
+		protected void resize(int capacity) {
+			this.oldValues = this.values;
+			this.values = new Object[capacity];
+		}
+
+		@Override
+		protected void move(int from, int to) {
+			this.values[to] = this.oldValues[from];
+		}
+
+		@Override
+		protected void resized() {
+			this.oldValues = null;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package io.openems.edge.common.channel.value;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Provides the timestamp for new {@link Value}s.
+ *
+ * <p>
+ * Drivers set hundreds of values per Cycle. Instead of creating a new
+ * {@link LocalDateTime} for every {@link Value}, the timestamp is cached and
+ * shared by all values that are set within the same millisecond.
+ */
+public final class ValueTimestamp {
+
+	private static record Cached(long millis, LocalDateTime timestamp) {
+	}
+
+	private static volatile Cached cached = new Cached(Long.MIN_VALUE, null);
+
+	private ValueTimestamp() {
+	}
+
+	/**
+	 * Gets the current timestamp, truncated to milliseconds.
+	 *
+	 * <p>
+	 * Consecutive calls within the same millisecond return the same instance.
+	 *
+	 * @return the current {@link LocalDateTime}
+	 */
+	public static LocalDateTime now() {
+		var millis = System.currentTimeMillis();
+		var cached = ValueTimestamp.cached;
+		if (cached.millis() == millis) {
+			return cached.timestamp();
+		}
+		var timestamp = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+		ValueTimestamp.cached = new Cached(millis, timestamp);
+		return timestamp;
+	}
+
+}
@@ -27,6 +27,38 @@ public interface Cycle extends OpenemsComponent {
 		 */
 		MEASURED_CYCLE_TIME(Doc.of(OpenemsType.LONG) //
 				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Part of the Cycle-Time that was used for switching the Process Image of all
+		 * Channels in [us].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		MEASURED_PROCESS_IMAGE_TIME(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MICROSECONDS)),
+		/**
+		 * Part of the Cycle-Time that was used for executing the Controllers in [us].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		MEASURED_CONTROLLERS_TIME(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MICROSECONDS)),
+		/**
+		 * Part of the Cycle-Time that was used for handling the Cycle Events (e.g.
+		 * BEFORE_PROCESS_IMAGE, EXECUTE_WRITE) in [us].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		MEASURED_EVENTS_TIME(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MICROSECONDS)),
 		/**
 		 * A configured Controller is not executed because it is disabled.
 		 *
@@ -88,6 +120,93 @@ public interface Cycle extends OpenemsComponent {
 		this.getMeasuredCycleTimeChannel().setNextValue(value);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#MEASURED_PROCESS_IMAGE_TIME}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getMeasuredProcessImageTimeChannel() {
+		return this.channel(ChannelId.MEASURED_PROCESS_IMAGE_TIME);
+	}
+
+	/**
+	 * Gets the Measured Process Image Time in [us]. See
+	 * {@link ChannelId#MEASURED_PROCESS_IMAGE_TIME}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getMeasuredProcessImageTime() {
+		return this.getMeasuredProcessImageTimeChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#MEASURED_PROCESS_IMAGE_TIME} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setMeasuredProcessImageTime(long value) {
+		this.getMeasuredProcessImageTimeChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#MEASURED_CONTROLLERS_TIME}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getMeasuredControllersTimeChannel() {
+		return this.channel(ChannelId.MEASURED_CONTROLLERS_TIME);
+	}
+
+	/**
+	 * Gets the Measured Controllers Time in [us]. See
+	 * {@link ChannelId#MEASURED_CONTROLLERS_TIME}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getMeasuredControllersTime() {
+		return this.getMeasuredControllersTimeChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#MEASURED_CONTROLLERS_TIME} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setMeasuredControllersTime(long value) {
+		this.getMeasuredControllersTimeChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#MEASURED_EVENTS_TIME}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getMeasuredEventsTimeChannel() {
+		return this.channel(ChannelId.MEASURED_EVENTS_TIME);
+	}
+
+	/**
+	 * Gets the Measured Events Time in [us]. See
+	 * {@link ChannelId#MEASURED_EVENTS_TIME}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getMeasuredEventsTime() {
+		return this.getMeasuredEventsTimeChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#MEASURED_EVENTS_TIME} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setMeasuredEventsTime(long value) {
+		this.getMeasuredEventsTimeChannel().setNextValue(value);
+	}
+
 	/**
 	 * Gets the Channel for {@link ChannelId#IGNORE_DISABLED_CONTROLLER}.
 	 *
@@ -0,0 +1,47 @@
+package io.openems.edge.common.channel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.openems.edge.common.sum.DummySum;
+
+public class IntegerReadChannelTest {
+
+	@Test
+	public void testSetNextValue() {
+		var channel = new DummySum().getEssActivePowerChannel();
+		var changes = new AtomicInteger();
+		channel.onChange((oldValue, newValue) -> changes.incrementAndGet());
+
+		channel.setNextValue(1000);
+		var boxed = channel.getNextValue().get();
+		channel.setNextValue(1000);
+		assertSame(boxed, channel.getNextValue().get());
+
+		channel.nextProcessImage();
+		channel.nextProcessImage();
+		assertEquals(1, changes.get());
+		assertEquals(1000, channel.value().get().intValue());
+
+		// Conversion via TypeUtils
+		channel.setNextValue(2000L);
+		assertEquals(Integer.valueOf(2000), channel.getNextValue().get());
+		channel.setNextValue("3000");
+		assertEquals(Integer.valueOf(3000), channel.getNextValue().get());
+		channel.setNextValue(Integer.valueOf(4000));
+		assertEquals(Integer.valueOf(4000), channel.getNextValue().get());
+		channel.setNextValue(null);
+		assertNull(channel.getNextValue().get());
+		assertThrows(IllegalArgumentException.class, () -> channel.setNextValue(Long.MAX_VALUE));
+
+		channel.nextProcessImage();
+		assertEquals(2, changes.get());
+	}
+
+}
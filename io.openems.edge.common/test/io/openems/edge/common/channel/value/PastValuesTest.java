@@ -0,0 +1,106 @@
+package io.openems.edge.common.channel.value;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.sum.Sum;
+
+public class PastValuesTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0, 0);
+
+	private static Channel<Integer> channel() {
+		return new DummySum().channel(Sum.ChannelId.GRID_ACTIVE_POWER);
+	}
+
+	private static void append(PastValues<Integer> pastValues, Channel<Integer> channel, int seconds,
+			Integer value) {
+		pastValues.append(new Value<>(channel, value, START.plusSeconds(seconds)));
+	}
+
+	@Test
+	public void testRanges() {
+		var channel = channel();
+		var sut = PastValues.of(channel, OpenemsType.INTEGER);
+		assertTrue(sut.isEmpty());
+		assertNull(sut.getLatest().get());
+
+		for (var i = 0; i < 10; i++) {
+			append(sut, channel, i * 10, i == 5 ? null : i);
+		}
+		assertEquals(10, sut.size());
+		assertEquals(9, sut.getLatest().get().intValue());
+		assertEquals(START.plusSeconds(90), sut.getLatest().getTimestamp());
+
+		assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 6, 7, 8, 9 }, sut.all().definedAsInt().toArray());
+		assertArrayEquals(new int[] { 7, 8, 9 }, sut.tail(START.plusSeconds(70)).definedAsInt().toArray());
+		assertArrayEquals(new int[] { 3, 4 },
+				sut.range(START.plusSeconds(25), START.plusSeconds(50)).definedAsInt().toArray());
+		assertArrayEquals(new int[] { 2, 3, 4 },
+				sut.rangeFromFloor(START.plusSeconds(25), START.plusSeconds(50)).definedAsInt().toArray());
+		assertArrayEquals(new int[] { 3, 4 },
+				sut.rangeFromFloor(START.plusSeconds(30), START.plusSeconds(50)).definedAsInt().toArray());
+		assertEquals(10, sut.range(START.minusSeconds(1), START.plusSeconds(91)).size());
+		assertTrue(sut.range(START.plusSeconds(91), START.plusSeconds(100)).isEmpty());
+
+		assertEquals(6.8, sut.tail(START.plusSeconds(40)).definedAsDouble().average().getAsDouble(), 0.001);
+		assertEquals(Integer.valueOf(9), sut.all().descendingStream().findFirst().get().get());
+		assertFalse(sut.all().stream().skip(5).findFirst().get().isDefined());
+	}
+
+	@Test
+	public void testEvictionAndGrowth() {
+		var channel = channel();
+		var sut = PastValues.of(channel, OpenemsType.INTEGER);
+
+		// 10 minutes with one value per second
+		for (var i = 0; i < 600; i++) {
+			append(sut, channel, i, i);
+		}
+		// MAX_AGE_OF_PAST_VALUES is 5 minutes and 10 seconds
+		assertEquals(311, sut.size());
+		assertEquals(289, sut.all().definedAsInt().findFirst().getAsInt());
+
+		// Same timestamp replaces the newest value
+		append(sut, channel, 599, 1000);
+		assertEquals(311, sut.size());
+		assertEquals(1000, sut.getLatest().get().intValue());
+
+		// Time going backwards discards all past values
+		append(sut, channel, 0, 5);
+		assertEquals(1, sut.size());
+	}
+
+	@Test
+	public void testTypes() {
+		var channel = channel();
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		PastValues<Boolean> booleans = PastValues.of((Channel) channel, OpenemsType.BOOLEAN);
+		booleans.append(new Value<>(null, true, START));
+		booleans.append(new Value<>(null, false, START.plusSeconds(1)));
+		assertArrayEquals(new int[] { 1, 0 }, booleans.all().definedAsInt().toArray());
+		assertEquals(Boolean.TRUE, booleans.all().definedValues().findFirst().get());
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		PastValues<Float> floats = PastValues.of((Channel) channel, OpenemsType.FLOAT);
+		floats.append(new Value<>(null, 1.5F, START));
+		assertEquals(Float.valueOf(1.5F), floats.getLatest().get());
+	}
+
+	@Test
+	public void testMillis() {
+		var dateTime = LocalDateTime.of(2024, 3, 31, 2, 30, 15, 123_000_000);
+		assertEquals(dateTime, PastValues.toLocalDateTime(PastValues.toMillis(dateTime)));
+	}
+
+}
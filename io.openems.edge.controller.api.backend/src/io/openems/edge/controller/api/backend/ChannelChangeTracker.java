@@ -0,0 +1,108 @@
+package io.openems.edge.controller.api.backend;
+
+import static io.openems.common.jsonrpc.notification.TimestampedDataNotification.FULL_KEYFRAME;
+import static io.openems.common.jsonrpc.notification.TimestampedDataNotification.KEYFRAME_SHARDS;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.PersistencePriority;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Collects the values of Channels that changed since they were collected the
+ * last time, using {@link Channel#getChangeCount()}. Values of unchanged
+ * Channels are neither read nor converted to JSON.
+ *
+ * <p>
+ * Every Channel belongs to one of
+ * {@link io.openems.common.jsonrpc.notification.TimestampedDataNotification#KEYFRAME_SHARDS
+ * KEYFRAME_SHARDS} keyframe shards. Collecting a keyframe shard includes all
+ * its Channels, changed or not. Not thread-safe.
+ */
+class ChannelChangeTracker {
+
+	private static class ChannelState {
+
+		private final String address;
+		private final int shard;
+		private long changeCount = -1;
+		private long lastSeen;
+
+		private ChannelState(String address) {
+			this.address = address;
+			this.shard = getShard(address);
+		}
+	}
+
+	private final Map<Channel<?>, ChannelState> states = new IdentityHashMap<>();
+	private long run = 0;
+
+	/**
+	 * Gets the keyframe shard of a Channel-Address.
+	 *
+	 * @param address the Channel-Address
+	 * @return the shard
+	 */
+	protected static int getShard(String address) {
+		return Math.floorMod(address.hashCode(), KEYFRAME_SHARDS);
+	}
+
+	/**
+	 * Collects the values of changed readable Channels with at least the given
+	 * {@link PersistencePriority}.
+	 *
+	 * @param components          the components
+	 * @param persistencePriority the minimum {@link PersistencePriority}
+	 * @param keyframeShard       the keyframe shard to collect completely;
+	 *                            {@link io.openems.common.jsonrpc.notification.TimestampedDataNotification#FULL_KEYFRAME
+	 *                            FULL_KEYFRAME} for all Channels; any other value
+	 *                            for changed Channels only
+	 * @param onDuplicate         called on duplicated Channel-Addresses
+	 * @return a map of Channel-Address to value
+	 */
+	public Map<String, JsonElement> collect(List<OpenemsComponent> components,
+			PersistencePriority persistencePriority, int keyframeShard, Consumer<String> onDuplicate) {
+		final var run = ++this.run;
+		final var result = new HashMap<String, JsonElement>();
+		for (var component : components) {
+			for (var channel : component.channels()) {
+				final var doc = channel.channelDoc();
+				if (doc.getAccessMode() == AccessMode.WRITE_ONLY // Ignore WRITE_ONLY Channels
+						|| !doc.getPersistencePriority().isAtLeast(persistencePriority)) { // Ignore Low-Priority
+					continue;
+				}
+				var state = this.states.get(channel);
+				if (state == null) {
+					state = new ChannelState(channel.address().toString());
+					this.states.put(channel, state);
+				}
+				state.lastSeen = run;
+
+				final var changeCount = channel.getChangeCount();
+				if (changeCount == state.changeCount && keyframeShard != FULL_KEYFRAME
+						&& keyframeShard != state.shard) {
+					continue;
+				}
+				state.changeCount = changeCount;
+				if (result.putIfAbsent(state.address, channel.value().asJson()) != null) {
+					onDuplicate.accept(state.address);
+				}
+			}
+		}
+
+		if (keyframeShard >= 0 || keyframeShard == FULL_KEYFRAME) {
+			// Forget Channels of removed Components once in a while
+			this.states.values().removeIf(state -> state.lastSeen != run);
+		}
+		return result;
+	}
+
+}
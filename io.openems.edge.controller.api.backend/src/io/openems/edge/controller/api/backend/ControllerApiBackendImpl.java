@@ -6,6 +6,7 @@ import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -30,14 +31,17 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import io.openems.common.OpenemsConstants;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
 import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.oem.OpenemsEdgeOem;
 import io.openems.common.types.EdgeConfig;
 import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.common.websocket.AbstractWebsocketClient;
+import io.openems.common.websocket.BinaryDataFormat;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -142,6 +146,10 @@ public class ControllerApiBackendImpl extends AbstractOpenemsComponent
 		// create http headers
 		Map<String, String> httpHeaders = new HashMap<>();
 		httpHeaders.put("apikey", config.apikey());
+		// Backend confirms in its handshake response; otherwise JSON is used
+		httpHeaders.put(BinaryDataFormat.HTTP_HEADER, BinaryDataFormat.VERSION);
+		httpHeaders.put(TimestampedDataNotification.SEQUENCE_HTTP_HEADER, //
+				TimestampedDataNotification.SEQUENCE_VERSION);
 
 		// Create Websocket instance
 		this.websocket = new WebsocketClient(this, name, uri, httpHeaders, proxy);
@@ -152,7 +160,11 @@ public class ControllerApiBackendImpl extends AbstractOpenemsComponent
 				this.getUnableToSendChannel().address(), //
 				this.getLastSuccessFulResendChannel().address(), //
 				config.resendPriority(), //
+				this.createResendCursor(), //
+				() -> this.websocket.getOutboundQueueSize(), //
 				t -> this.getLastSuccessFulResendChannel().setNextValue(t), //
+				t -> this.getResendProgressChannel().setNextValue(t), //
+				t -> this.getResendThroughputChannel().setNextValue(t), //
 				t -> this.websocket.sendMessage(t) //
 		));
 		this.resendHistoricDataWorker.activate(this.id(), false);
@@ -178,6 +190,20 @@ public class ControllerApiBackendImpl extends AbstractOpenemsComponent
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
 	}
 
+	/**
+	 * Creates the {@link ResendCursor}. It is only persisted if the OpenEMS Data
+	 * Directory is configured.
+	 *
+	 * @return the {@link ResendCursor}
+	 */
+	private ResendCursor createResendCursor() {
+		final var dataDir = OpenemsConstants.getOpenemsDataDir();
+		if (dataDir.isBlank()) {
+			return new ResendCursor(null);
+		}
+		return new ResendCursor(Paths.get(dataDir, "backend", this.id() + ".resend.json"));
+	}
+
 	@Override
 	public void run() throws OpenemsNamedException {
 		this.apiWorker.run();
@@ -0,0 +1,163 @@
+package io.openems.edge.controller.api.backend;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonArray;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Remembers the time windows that were already resent since the last
+ * successful resend, so that an interrupted resend can be resumed after a
+ * restart.
+ *
+ * <p>
+ * The windows are only valid for one 'base', i.e. the last successful resend
+ * timestamp at the start of the resend. If the file is null, the cursor is only
+ * kept in memory.
+ */
+public class ResendCursor {
+
+	private final Logger log = LoggerFactory.getLogger(ResendCursor.class);
+
+	private final Path file;
+	// from -> to in epoch seconds; inclusive, non-overlapping
+	private final TreeMap<Long, Long> done = new TreeMap<>();
+	private long base = Long.MIN_VALUE;
+
+	public ResendCursor(Path file) {
+		this.file = file;
+		this.load();
+	}
+
+	/**
+	 * Gets the last successful resend timestamp the windows belong to.
+	 *
+	 * @return the base in epoch seconds
+	 */
+	public synchronized long getBase() {
+		return this.base;
+	}
+
+	/**
+	 * Forgets all windows and sets a new base.
+	 *
+	 * @param base the last successful resend timestamp in epoch seconds
+	 */
+	public synchronized void reset(long base) {
+		if (this.base == base && this.done.isEmpty()) {
+			return;
+		}
+		this.base = base;
+		this.done.clear();
+		this.save();
+	}
+
+	/**
+	 * Sets the base of the current resend. If the base moved forward, e.g.
+	 * because a resend reported its progress, the windows after the new base stay
+	 * valid; otherwise all windows are forgotten.
+	 *
+	 * @param base the last successful resend timestamp in epoch seconds
+	 */
+	public synchronized void rebase(long base) {
+		if (this.base == base) {
+			return;
+		}
+		if (this.base == Long.MIN_VALUE || base < this.base) {
+			this.reset(base);
+			return;
+		}
+		this.base = base;
+		this.done.headMap(base, true).entrySet().removeIf(window -> window.getValue() <= base);
+		this.save();
+	}
+
+	/**
+	 * Checks if a window was already resent completely.
+	 *
+	 * @param from the start in epoch seconds, inclusive
+	 * @param to   the end in epoch seconds, inclusive
+	 * @return true if it was resent
+	 */
+	public synchronized boolean isDone(long from, long to) {
+		final var floor = this.done.floorEntry(from);
+		return floor != null && floor.getValue() >= to;
+	}
+
+	/**
+	 * Marks a window as resent.
+	 *
+	 * @param from the start in epoch seconds, inclusive
+	 * @param to   the end in epoch seconds, inclusive
+	 */
+	public synchronized void markDone(long from, long to) {
+		var start = from;
+		var end = to;
+		// Merge with adjacent or overlapping windows
+		final var floor = this.done.floorEntry(from);
+		if (floor != null && floor.getValue() >= from - 1) {
+			start = floor.getKey();
+			end = Math.max(end, floor.getValue());
+		}
+		for (var next = this.done.ceilingEntry(start); next != null
+				&& next.getKey() <= end + 1; next = this.done.ceilingEntry(start)) {
+			end = Math.max(end, next.getValue());
+			this.done.remove(next.getKey());
+		}
+		this.done.put(start, end);
+		this.save();
+	}
+
+	private void load() {
+		if (this.file == null || !Files.exists(this.file)) {
+			return;
+		}
+		try {
+			final var json = JsonUtils.parseToJsonObject(Files.readString(this.file, UTF_8));
+			this.base = JsonUtils.getAsLong(json, "base");
+			for (var window : JsonUtils.getAsJsonArray(json, "done")) {
+				final var range = JsonUtils.getAsJsonArray(window);
+				this.done.put(JsonUtils.getAsLong(range.get(0)), JsonUtils.getAsLong(range.get(1)));
+			}
+		} catch (IOException | OpenemsNamedException | RuntimeException e) {
+			this.log.warn("Unable to read resend cursor [" + this.file + "]: " + e.getMessage());
+			this.base = Long.MIN_VALUE;
+			this.done.clear();
+		}
+	}
+
+	private void save() {
+		if (this.file == null) {
+			return;
+		}
+		final var done = new JsonArray();
+		this.done.forEach((from, to) -> done.add(JsonUtils.buildJsonArray() //
+				.add(from) //
+				.add(to) //
+				.build()));
+		final var json = JsonUtils.buildJsonObject() //
+				.addProperty("base", this.base) //
+				.add("done", done) //
+				.build();
+		try {
+			Files.createDirectories(this.file.getParent());
+			final var temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+			Files.writeString(temp, json.toString(), UTF_8);
+			Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			this.log.warn("Unable to write resend cursor [" + this.file + "]: " + e.getMessage());
+		}
+	}
+
+}
@@ -6,14 +6,19 @@ import static java.util.stream.Collectors.toSet;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
 import org.osgi.service.component.annotations.Activate;
@@ -40,6 +45,7 @@ import io.openems.common.worker.AbstractWorker;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.type.TypeUtils;
 import io.openems.edge.timedata.api.Timedata;
+import io.openems.edge.timedata.api.Timeranges;
 
 @Component(//
 		scope = ServiceScope.PROTOTYPE, //
@@ -51,12 +57,25 @@ public final class ResendHistoricDataWorker extends AbstractWorker {
 			ChannelAddress addressForSuccessfulSend, //
 			ChannelAddress addressForSuccessfulResend, //
 			PersistencePriority resendPriority, //
+			ResendCursor cursor, //
+			IntSupplier outboundQueueSize, //
 			Consumer<? super Long> onLastSuccessfulResendUpdated, //
+			Consumer<? super Integer> onProgress, //
+			Consumer<? super Integer> onThroughput, //
 			Function<? super JsonrpcMessage, Boolean> onSendData //
 	) {
 
 	}
 
+	/**
+	 * A time window that is read from {@link Timedata} with one query.
+	 *
+	 * @param from the start in epoch seconds, inclusive
+	 * @param to   the end in epoch seconds, inclusive
+	 */
+	protected static record Window(long from, long to) {
+	}
+
 	protected enum TriggerState {
 		INIT, //
 		AFTER_TRIGGER, //
@@ -72,7 +91,12 @@ public final class ResendHistoricDataWorker extends AbstractWorker {
 	protected static final int DELAY_TRIGGER_TIME = 300_000; // [milliseconds] 5 min
 	private static final int MAX_RANDOM_DELAY = 3_600_000; // [milliseconds] 1 h
 	private static final int BUFFER_SECONDS = 300; // [seconds] 5 min
-	private static final int MAX_RESEND_TIMESPAN_SECONDS = 300; // [seconds] 5 min
+	private static final int MAX_RESEND_TIMESPAN_SECONDS = 300; // [seconds] 5 min per message
+	private static final int READ_WINDOW_SECONDS = 3_600; // [seconds] 1 h per Timedata query
+	private static final int MAX_QUEUED_FRAMES = 8;
+	private static final long MIN_PAUSE_MILLIS = 50;
+	private static final long MAX_PAUSE_MILLIS = 5_000;
+	private static final long MAX_WAIT_MILLIS = 60_000;
 
 	private final Logger log = LoggerFactory.getLogger(ResendHistoricDataWorker.class);
 
@@ -102,6 +126,9 @@ public final class ResendHistoricDataWorker extends AbstractWorker {
 	 */
 	protected final AtomicReference<TriggerState> triggerState = new AtomicReference<>(TriggerState.INIT);
 
+	/** Pause between two messages; adapted to the outbound buffer. */
+	private long pauseMillis = 0;
+
 	@Activate
 	public ResendHistoricDataWorker() {
 	}
@@ -144,13 +171,30 @@ public final class ResendHistoricDataWorker extends AbstractWorker {
 				.minus(DELAY_TRIGGER_TIME, ChronoUnit.MILLIS);
 		final var timeranges = timedata.getResendTimeranges(config.addressForSuccessfulSend(), latestResendTimestamp) //
 				.withBuffer(BUFFER_SECONDS, BUFFER_SECONDS);
+		final var windows = getResendWindows(timeranges, READ_WINDOW_SECONDS);
+		if (windows.isEmpty()) {
+			return;
+		}
+
+		// Resume an interrupted resend
+		final var cursor = config.cursor();
+		cursor.rebase(latestResendTimestamp);
+		final var pendingWindows = windows.stream() //
+				.filter(w -> !cursor.isDone(w.from(), w.to())) //
+				.toList();
 
 		final var channelsToResend = this.getChannelsToResend(config.resendPriority());
 
-		// maximum of 5 minutes range of resend data
-		for (var timerange : timeranges.maxDataInTime(MAX_RESEND_TIMESPAN_SECONDS)) {
-			final var from = Instant.ofEpochSecond(timerange.getMinTimestamp()).atZone(now.getZone());
-			final var to = Instant.ofEpochSecond(timerange.getMaxTimestamp()).atZone(now.getZone());
+		final var totalSeconds = pendingWindows.stream().mapToLong(w -> w.to() - w.from() + 1).sum();
+		final var startNanos = System.nanoTime();
+		var resentSeconds = 0L;
+		var resentValues = 0L;
+		var lastSuccessfulResend = latestResendTimestamp;
+		config.onProgress().accept(0);
+
+		for (var window : pendingWindows) {
+			final var from = Instant.ofEpochSecond(window.from()).atZone(now.getZone());
+			final var to = Instant.ofEpochSecond(window.to()).atZone(now.getZone());
 
 			timedata = this.timedata;
 			if (timedata == null) {
@@ -166,17 +210,114 @@ public final class ResendHistoricDataWorker extends AbstractWorker {
 
 			final var data = timedata.queryResendData(from, to, channelsToResend);
 
-			final var successful = config.onSendData().apply(new ResendDataNotification(mapResendData(data)));
+			// maximum of 5 minutes range of resend data per message
+			for (var chunkFrom = window.from(); chunkFrom <= window.to(); chunkFrom += MAX_RESEND_TIMESPAN_SECONDS) {
+				final var chunkTo = Math.min(window.to(), chunkFrom + MAX_RESEND_TIMESPAN_SECONDS - 1);
+				final var chunk = data.subMap(chunkFrom * 1000, (chunkTo + 1) * 1000);
+				if (chunk.isEmpty()) {
+					continue;
+				}
+				if (!this.awaitOutboundCapacity(config.outboundQueueSize())) {
+					this.log.warn("Unable to resend data! Outbound buffer is not draining.");
+					return;
+				}
+				final var successful = config.onSendData().apply(new ResendDataNotification(mapResendData(chunk)));
+				if (!successful) {
+					// if data can not be send wait for next trigger
+					this.log.warn("Unable to resend data!");
+					return;
+				}
+				resentValues += chunk.values().stream().mapToInt(Map::size).sum();
+			}
 
-			if (successful) {
-				config.onLastSuccessfulResendUpdated().accept(timerange.getMaxTimestamp());
-			} else {
-				// if data can not be send wait for next trigger
-				this.log.warn("Unable to resend data!");
-				return;
+			cursor.markDone(window.from(), window.to());
+			final var resendFrontier = getResendFrontier(windows, cursor);
+			if (resendFrontier > lastSuccessfulResend) {
+				lastSuccessfulResend = resendFrontier;
+				config.onLastSuccessfulResendUpdated().accept(resendFrontier);
 			}
+			resentSeconds += window.to() - window.from() + 1;
+			config.onProgress().accept((int) (resentSeconds * 100 / totalSeconds));
+			final var elapsedSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos));
+			config.onThroughput().accept((int) (resentValues / elapsedSeconds));
 		}
 
+		config.onProgress().accept(100);
+		final var resendFrontier = getResendFrontier(windows, cursor);
+		if (resendFrontier > lastSuccessfulResend) {
+			config.onLastSuccessfulResendUpdated().accept(resendFrontier);
+		}
+	}
+
+	/**
+	 * Gets the end of the oldest contiguous sequence of resent {@link Window
+	 * Windows}, i.e. the timestamp until which all data was resent. Newer windows
+	 * that were already resent are remembered by the {@link ResendCursor}.
+	 *
+	 * @param windows the {@link Window Windows}, most recent first
+	 * @param cursor  the {@link ResendCursor}
+	 * @return the timestamp in epoch seconds; {@link Long#MIN_VALUE} if the oldest
+	 *         window was not resent yet
+	 */
+	protected static long getResendFrontier(List<Window> windows, ResendCursor cursor) {
+		var result = Long.MIN_VALUE;
+		for (var i = windows.size() - 1; i >= 0; i--) {
+			final var window = windows.get(i);
+			if (!cursor.isDone(window.from(), window.to())) {
+				break;
+			}
+			result = window.to();
+		}
+		return result;
+	}
+
+	/**
+	 * Splits the {@link Timeranges} into {@link Window Windows} of at most the
+	 * given size. The most recent data comes first.
+	 *
+	 * @param timeranges    the {@link Timeranges}
+	 * @param windowSeconds the maximum size of a {@link Window}
+	 * @return the list of {@link Window Windows}
+	 */
+	protected static List<Window> getResendWindows(Timeranges timeranges, long windowSeconds) {
+		final var result = new ArrayList<Window>();
+		final var gaps = timeranges.getTimerangeAscending();
+		for (var i = gaps.size() - 1; i >= 0; i--) {
+			final var gap = gaps.get(i);
+			for (var to = gap.getMaxTimestamp(); to >= gap.getMinTimestamp(); to -= windowSeconds) {
+				result.add(new Window(Math.max(gap.getMinTimestamp(), to - windowSeconds + 1), to));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Waits until the outbound buffer of the websocket has capacity for the next
+	 * message. The pause between messages is doubled while the buffer is full and
+	 * halved when it drained in time, so that resent data does not delay the
+	 * current data.
+	 *
+	 * @param outboundQueueSize the number of frames in the outbound buffer
+	 * @return false if the buffer did not drain within {@link #MAX_WAIT_MILLIS}
+	 * @throws InterruptedException on interrupt
+	 */
+	protected boolean awaitOutboundCapacity(IntSupplier outboundQueueSize) throws InterruptedException {
+		var waited = 0L;
+		while (outboundQueueSize.getAsInt() > MAX_QUEUED_FRAMES) {
+			if (waited >= MAX_WAIT_MILLIS) {
+				return false;
+			}
+			this.pauseMillis = Math.min(MAX_PAUSE_MILLIS, Math.max(MIN_PAUSE_MILLIS, this.pauseMillis * 2));
+			Thread.sleep(this.pauseMillis);
+			waited += this.pauseMillis;
+		}
+		if (waited == 0) {
+			this.pauseMillis /= 2;
+		}
+		if (this.pauseMillis > 0) {
+			Thread.sleep(this.pauseMillis);
+		}
+		return true;
 	}
 
 	@Reference(//
@@ -1,9 +1,11 @@
 package io.openems.edge.controller.api.backend;
 
+import static io.openems.common.jsonrpc.notification.TimestampedDataNotification.FULL_KEYFRAME;
+import static io.openems.common.jsonrpc.notification.TimestampedDataNotification.KEYFRAME_SHARDS;
+import static io.openems.common.jsonrpc.notification.TimestampedDataNotification.NO_KEYFRAME;
 import static java.util.stream.Collectors.counting;
 import static java.util.stream.Collectors.groupingBy;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -12,8 +14,6 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -24,7 +24,6 @@ import java.util.stream.Collector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.TreeBasedTable;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
@@ -34,11 +33,13 @@ import com.google.gson.JsonPrimitive;
 import io.openems.common.channel.AccessMode;
 import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification.Sequence;
 import io.openems.common.timedata.DurationUnit;
 import io.openems.common.types.OpenemsType;
 import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.EnumDoc;
+import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.TypeUtils;
 
@@ -49,12 +50,16 @@ import io.openems.edge.common.type.TypeUtils;
  *
  * <p>
  * The logic tries to send changed values once per Cycle and all values once
- * every {@link #SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS}.
+ * every {@link #SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS}. Instead of all
+ * values at once, one of {@link TimestampedDataNotification#KEYFRAME_SHARDS}
+ * keyframe shards is sent in every {@link #KEYFRAME_SLOT_SECONDS}; see
+ * {@link ChannelChangeTracker}.
  */
 public class SendChannelValuesWorker {
 
 	private static final int AGGREGATION_MINUTES = 5;
 	private static final int SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS = 300; /* 5 minutes */
+	private static final int KEYFRAME_SLOT_SECONDS = SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS / KEYFRAME_SHARDS;
 
 	private final Logger log = LoggerFactory.getLogger(SendChannelValuesWorker.class);
 
@@ -72,14 +77,23 @@ public class SendChannelValuesWorker {
 	private final AtomicBoolean sendValuesOfAllChannelsAggregated = new AtomicBoolean(true);
 
 	/**
-	 * Keeps the last timestamp when all channel values were sent.
+	 * Only accessed in synchronized {@link #collectData()}.
 	 */
-	private Instant lastSendValuesOfAllChannels = Instant.MIN;
+	private final ChannelChangeTracker tracker = new ChannelChangeTracker();
+	private long lastKeyframeSlot = Long.MIN_VALUE;
 
 	/**
-	 * Keeps the values of last successful send.
+	 * Values that were collected, but not yet sent. Guarded by itself.
 	 */
-	private Map<String, JsonElement> lastAllValues = ImmutableMap.of();
+	private final Map<String, JsonElement> pendingValues = new HashMap<>();
+	private int pendingKeyframeShard = NO_KEYFRAME;
+
+	/**
+	 * Sequence number of the last sent message and the connection it was sent on.
+	 * Only accessed by the executor.
+	 */
+	private long sequence = 0;
+	private WsData sequenceConnection = null;
 
 	private Instant lastSendAggregatedDataTimestamp;
 
@@ -112,11 +126,19 @@ public class SendChannelValuesWorker {
 
 		// Update the values of all channels
 		final var enabledComponents = this.parent.componentManager.getEnabledComponents();
-		final var allValues = this.collectData(enabledComponents);
+		final var keyframeShard = this.getKeyframeShard(now);
+		final var changedValues = this.collectData(enabledComponents, keyframeShard);
 		final var aggregatedValues = this.collectAggregatedData(enabledComponents);
 
+		// Add to pending values; a SendTask that was not yet executed sends them
+		// together with its own
+		synchronized (this.pendingValues) {
+			this.pendingValues.putAll(changedValues);
+			this.pendingKeyframeShard = mergeKeyframeShard(this.pendingKeyframeShard, keyframeShard);
+		}
+
 		// Add to send Queue
-		this.executor.execute(new SendTask(this, now, allValues));
+		this.executor.execute(new SendTask(this, now));
 		if (aggregatedValues != null && !aggregatedValues.isEmpty()) {
 			aggregatedValues.rowMap().forEach((timestamp, data) -> {
 				this.executor.execute(new SendAggregatedDataTask(this, Instant.ofEpochMilli(timestamp), data));
@@ -125,35 +147,64 @@ public class SendChannelValuesWorker {
 	}
 
 	/**
-	 * Cycles through all Channels and collects the value.
+	 * Gets the keyframe shard for this Cycle. Every
+	 * {@link #KEYFRAME_SLOT_SECONDS} the next shard is due; all shards are due
+	 * after {@link #sendValuesOfAllChannelsOnce()}.
+	 *
+	 * @param now the current {@link Instant}
+	 * @return the keyframe shard, {@link TimestampedDataNotification#FULL_KEYFRAME}
+	 *         or {@link TimestampedDataNotification#NO_KEYFRAME}
+	 */
+	private int getKeyframeShard(Instant now) {
+		final var slot = now.getEpochSecond() / KEYFRAME_SLOT_SECONDS;
+		final var isNewSlot = slot != this.lastKeyframeSlot;
+		this.lastKeyframeSlot = slot;
+		if (this.sendValuesOfAllChannels.getAndSet(false)) {
+			return FULL_KEYFRAME;
+		}
+		if (isNewSlot) {
+			return (int) Math.floorMod(slot, (long) KEYFRAME_SHARDS);
+		}
+		return NO_KEYFRAME;
+	}
+
+	/**
+	 * Merges the keyframe shards of two collections that are sent in one message.
+	 * If both are different shards, only the newer one is marked; the older one is
+	 * sent again in the next rotation.
+	 *
+	 * @param older the older keyframe shard
+	 * @param newer the newer keyframe shard
+	 * @return the merged keyframe shard
+	 */
+	protected static int mergeKeyframeShard(int older, int newer) {
+		if (older == FULL_KEYFRAME || newer == FULL_KEYFRAME) {
+			return FULL_KEYFRAME;
+		}
+		if (newer == NO_KEYFRAME) {
+			return older;
+		}
+		return newer;
+	}
+
+	/**
+	 * Cycles through all Channels and collects the values of changed Channels and
+	 * of the given keyframe shard.
 	 *
 	 * @param enabledComponents the enabled components
+	 * @param keyframeShard     the keyframe shard
 	 * @return collected data
 	 */
-	private ImmutableMap<String, JsonElement> collectData(List<OpenemsComponent> enabledComponents) {
+	private Map<String, JsonElement> collectData(List<OpenemsComponent> enabledComponents, int keyframeShard) {
 		try {
-			return enabledComponents.parallelStream() //
-					.flatMap(component -> component.channels().parallelStream()) //
-					.filter(channel -> // Ignore WRITE_ONLY Channels
-					channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
-							// Ignore Low-Priority Channels
-							&& channel.channelDoc().getPersistencePriority()
-									.isAtLeast(this.parent.config.persistencePriority()))
-					.collect(//
-							ImmutableMap.toImmutableMap(//
-									c -> c.address().toString(), //
-									c -> c.value().asJson(), //
-									// simple/stupid merge function to avoid
-									// 'java.lang.IllegalArgumentException Duplicate Key'
-									(t, u) -> {
-										this.parent.logWarn(this.log, "Duplicate Key [" + t.toString() + "]");
-										return t;
-									}));
+			return this.tracker.collect(enabledComponents, this.parent.config.persistencePriority(), keyframeShard, //
+					duplicate -> this.parent.logWarn(this.log, "Duplicate Key [" + duplicate + "]"));
 		} catch (Exception e) {
 			// ConcurrentModificationException can happen if Channels are dynamically added
-			// or removed
+			// or removed. Changes might be lost -> send all values in next Cycle
 			this.parent.logWarn(this.log, "Unable to collect date: " + e.getMessage());
-			return ImmutableMap.of();
+			this.sendValuesOfAllChannels.set(true);
+			return Map.of();
 		}
 	}
 
@@ -186,25 +237,18 @@ public class SendChannelValuesWorker {
 								.isAtLeast(this.parent.config.aggregationPriority()))
 				.forEach(channel -> {
 					try {
-						// This is the highest timestamp before `startTime`. If existing it is used for
-						// the tailMap to make sure we get a Value even for Channels where the value has
-						// not changed within the last 5 minutes.
-						var channelStartTime = Optional.ofNullable(channel.getPastValues().floorKey(startTime))
-								.orElse(startTime);
-
+						// Starts with the latest value before `startTime` to make sure we get a Value
+						// even for Channels where the value has not changed within the last 5 minutes.
 						var value = channel.getPastValues() //
-								.tailMap(channelStartTime, true) //
-								.entrySet() //
-								.stream() //
-								.filter(e -> e.getKey().isBefore(endTime)) //
-								.filter(e -> e.getValue().isDefined()).map(e -> e.getValue().get()) //
+								.rangeFromFloor(startTime, endTime) //
+								.definedValues() //
 								.collect(aggregateCollector(channel.channelDoc().getUnit().isCumulated(), //
 										channel.getType()));
 
 						// TODO aggregation should be modifiable in Doc e. g. not every EnumDoc may want
 						// this behaviour
 						if (channel.channelDoc() instanceof EnumDoc) {
-							value = aggregateEnumChannel(channel, channelStartTime, endTime);
+							value = aggregateEnumChannel(channel, startTime, endTime);
 						}
 
 						if (!sendAllChannels && value.isJsonNull()) {
@@ -222,7 +266,7 @@ public class SendChannelValuesWorker {
 	// TODO aggregation should be moved to doc
 	protected static JsonElement aggregateEnumChannel(//
 			Channel<?> channel, //
-			LocalDateTime channelStartTime, //
+			LocalDateTime startTime, //
 			LocalDateTime endTime //
 	) {
 		final var doc = channel.channelDoc();
@@ -230,12 +274,9 @@ public class SendChannelValuesWorker {
 			return JsonNull.INSTANCE;
 		}
 		final var numberOfValuesPerOption = channel.getPastValues() //
-				.tailMap(channelStartTime, true) //
-				.entrySet() //
-				.stream() //
-				.filter(e -> e.getKey().isBefore(endTime)) //
-				.filter(e -> e.getValue().isDefined()) //
-				.map(e -> (Integer) e.getValue().get()) //
+				.rangeFromFloor(startTime, endTime) //
+				.definedAsInt() //
+				.boxed() //
 				.collect(groupingBy(Function.identity(), counting()));
 
 		final var values = numberOfValuesPerOption.entrySet().stream() //
@@ -258,18 +299,14 @@ public class SendChannelValuesWorker {
 		}
 
 		// pick first value with most appearances
-		for (var entry : channel.getPastValues().descendingMap().entrySet()) {
-			for (var optionValue : maxValues) {
-				if (!entry.getValue().isDefined()) {
-					continue;
-				}
-				final var entryValue = entry.getValue().get();
-				if (((Integer) entryValue).intValue() == optionValue) {
-					return new JsonPrimitive(optionValue);
-				}
-			}
-		}
-		return JsonNull.INSTANCE;
+		return channel.getPastValues().all() //
+				.descendingStream() //
+				.filter(Value::isDefined) //
+				.map(value -> (Integer) value.get()) //
+				.filter(maxValues::contains) //
+				.findFirst() //
+				.<JsonElement>map(JsonPrimitive::new) //
+				.orElse(JsonNull.INSTANCE);
 	}
 
 	protected static Collector<Object, ?, JsonElement> aggregateCollector(//
@@ -337,55 +374,42 @@ public class SendChannelValuesWorker {
 
 		private final SendChannelValuesWorker parent;
 		private final Instant timestamp;
-		private final Map<String, JsonElement> allValues;
 
-		public SendTask(SendChannelValuesWorker parent, Instant timestamp, Map<String, JsonElement> allValues) {
+		public SendTask(SendChannelValuesWorker parent, Instant timestamp) {
 			this.parent = parent;
 			this.timestamp = timestamp;
-			this.allValues = allValues;
 		}
 
 		@Override
 		public void run() {
-			// Holds the data of the last successful send. If the table is empty, it is also
-			// used as a marker to send all data.
-			final Map<String, JsonElement> lastAllValues;
-
-			if (this.parent.sendValuesOfAllChannels.getAndSet(false)) {
-				// Send values of all Channels once in a while
-				lastAllValues = ImmutableMap.of();
-
-			} else if (Duration.between(this.parent.lastSendValuesOfAllChannels, this.timestamp)
-					.getSeconds() > SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS) {
-				// Send values of all Channels if explicitly asked for
-				lastAllValues = ImmutableMap.of();
-
-			} else {
-				// Actually use the kept 'lastSentValues'
-				// CHECKSTYLE:OFF
-				lastAllValues = this.parent.lastAllValues;
-				// CHECKSTYLE:ON
+			// Take all pending values; they might have been collected in multiple Cycles
+			final Map<String, JsonElement> sendValuesMap;
+			final int keyframeShard;
+			synchronized (this.parent.pendingValues) {
+				sendValuesMap = new HashMap<>(this.parent.pendingValues);
+				keyframeShard = this.parent.pendingKeyframeShard;
+				this.parent.pendingValues.clear();
+				this.parent.pendingKeyframeShard = NO_KEYFRAME;
 			}
 
 			// Round timestamp to Global Cycle-Time
 			final var cycleTime = this.parent.parent.cycle.getCycleTime();
 			final var timestampMillis = this.timestamp.toEpochMilli() / cycleTime * cycleTime;
 
-			// Prepare message values
-			var sendValuesMap = new HashMap<String, JsonElement>();
-
-			// Collect Changed values
-			for (var entry : this.allValues.entrySet()) {
-				var channelAddress = entry.getKey();
-				var value = entry.getValue();
-				if (!Objects.equals(value, lastAllValues.get(channelAddress))) {
-					sendValuesMap.put(channelAddress, value);
-				}
+			// Restart the sequence on every connection
+			final var wsData = this.parent.parent.websocket.getWsData();
+			if (wsData != this.parent.sequenceConnection) {
+				this.parent.sequenceConnection = wsData;
+				this.parent.sequence = 0;
 			}
 
-			// Create JSON-RPC notification
+			// Create JSON-RPC notification; sequence only if the Backend confirmed it
+			final var sequence = new Sequence(this.parent.sequence + 1, keyframeShard);
 			var message = new TimestampedDataNotification();
 			message.add(timestampMillis, sendValuesMap);
+			if (wsData != null && wsData.isDataSequence()) {
+				message.setSequence(timestampMillis, sequence);
+			}
 
 			// Debug-Log
 			if (this.parent.parent.config.debugMode()) {
@@ -397,14 +421,15 @@ public class SendChannelValuesWorker {
 			var wasSent = this.parent.parent.websocket.sendMessage(message);
 
 			if (wasSent) {
-				// Successfully sent: update information for next runs
-				this.parent.lastAllValues = this.allValues;
-				if (lastAllValues.isEmpty()) {
-					// 'lastSentValues' was empty, i.e. all values were sent
-					this.parent.lastSendValuesOfAllChannels = this.timestamp;
+				this.parent.sequence = sequence.number();
+			} else {
+				// Not sent: keep values for next run; newer values take precedence
+				synchronized (this.parent.pendingValues) {
+					sendValuesMap.forEach(this.parent.pendingValues::putIfAbsent);
+					this.parent.pendingKeyframeShard = mergeKeyframeShard(keyframeShard,
+							this.parent.pendingKeyframeShard);
 				}
 			}
-
 		}
 
 	}
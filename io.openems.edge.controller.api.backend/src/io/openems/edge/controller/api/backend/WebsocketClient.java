@@ -8,6 +8,7 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -83,10 +84,31 @@ public class WebsocketClient extends AbstractWebsocketClient<WsData> {
 		this.parent.logError(log, message);
 	}
 
+	/**
+	 * Gets the {@link WsData} of the current connection.
+	 *
+	 * @return the {@link WsData}; a new instance after every reconnect
+	 */
+	public WsData getWsData() {
+		return this.ws.getAttachment();
+	}
+
 	public boolean isConnected() {
 		return this.ws.isOpen();
 	}
 
+	/**
+	 * Gets the number of frames that are waiting to be written to the socket.
+	 *
+	 * @return the number of queued frames
+	 */
+	public int getOutboundQueueSize() {
+		if (this.ws.getConnection() instanceof WebSocketImpl connection) {
+			return connection.outQueue.size();
+		}
+		return this.ws.hasBufferedData() ? 1 : 0;
+	}
+
 	@Override
 	protected void execute(Runnable command) {
 		this.parent.execute(command);
@@ -11,6 +11,7 @@ import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.channel.StringReadChannel;
@@ -31,6 +32,11 @@ public interface ControllerApiBackend extends Controller, OpenemsComponent, Even
 				// Make sure this is always persisted, as it is required for resending
 				.persistencePriority(PersistencePriority.VERY_HIGH) //
 				.text("Latest timestamp of successfully resent data")), //
+		RESEND_PROGRESS(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.PERCENT) //
+				.text("Progress of the current resend of historic data")), //
+		RESEND_THROUGHPUT(Doc.of(OpenemsType.INTEGER) //
+				.text("Resent values per second during the current resend of historic data")), //
 		;
 
 		private final Doc doc;
@@ -72,6 +78,24 @@ public interface ControllerApiBackend extends Controller, OpenemsComponent, Even
 		return this.channel(ChannelId.LAST_SUCCESSFUL_RESEND);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#RESEND_PROGRESS}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getResendProgressChannel() {
+		return this.channel(ChannelId.RESEND_PROGRESS);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#RESEND_THROUGHPUT}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getResendThroughputChannel() {
+		return this.channel(ChannelId.RESEND_THROUGHPUT);
+	}
+
 	/**
 	 * Gets if the edge is currently connected to the backend.
 	 * 
@@ -0,0 +1,65 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResendCursorTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testMarkDone() {
+		final var sut = new ResendCursor(null);
+		sut.reset(100);
+		sut.markDone(1000, 1999);
+		sut.markDone(3000, 3999);
+		assertTrue(sut.isDone(1200, 1500));
+		assertFalse(sut.isDone(1500, 2500));
+
+		// Fills the gap -> one window
+		sut.markDone(2000, 2999);
+		assertTrue(sut.isDone(1000, 3999));
+
+		sut.reset(200);
+		assertEquals(200, sut.getBase());
+		assertFalse(sut.isDone(1200, 1500));
+	}
+
+	@Test
+	public void testRebase() {
+		final var sut = new ResendCursor(null);
+		sut.rebase(100);
+		sut.markDone(1000, 1999);
+		sut.markDone(3000, 3999);
+
+		// Base moved forward -> newer windows stay valid
+		sut.rebase(1999);
+		assertEquals(1999, sut.getBase());
+		assertFalse(sut.isDone(1000, 1999));
+		assertTrue(sut.isDone(3000, 3999));
+
+		// Base moved back -> all windows are forgotten
+		sut.rebase(500);
+		assertFalse(sut.isDone(3000, 3999));
+	}
+
+	@Test
+	public void testReload() {
+		final var file = this.folder.getRoot().toPath().resolve("backend0.resend.json");
+		final var sut = new ResendCursor(file);
+		sut.reset(100);
+		sut.markDone(1000, 1999);
+
+		final var reloaded = new ResendCursor(file);
+		assertEquals(100, reloaded.getBase());
+		assertTrue(reloaded.isDone(1000, 1999));
+		assertFalse(reloaded.isDone(2000, 2999));
+	}
+
+}
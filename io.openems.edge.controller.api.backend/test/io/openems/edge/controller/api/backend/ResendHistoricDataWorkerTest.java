@@ -3,6 +3,7 @@ package io.openems.edge.controller.api.backend;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -13,6 +14,8 @@ import com.google.gson.JsonPrimitive;
 
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.controller.api.backend.ResendHistoricDataWorker.TriggerState;
+import io.openems.edge.controller.api.backend.ResendHistoricDataWorker.Window;
+import io.openems.edge.timedata.api.Timeranges;
 
 public class ResendHistoricDataWorkerTest {
 
@@ -40,4 +43,49 @@ public class ResendHistoricDataWorkerTest {
 		assertEquals(testValue, mapped.get(testTimestamp, testChannel.toString()));
 	}
 
+	@Test
+	public void testGetResendWindows() {
+		final var timeranges = new Timeranges();
+		timeranges.insert(1000);
+		timeranges.insert(1200);
+		timeranges.insert(10_000);
+		timeranges.insert(10_300);
+
+		// Most recent data first
+		assertEquals(List.of(//
+				new Window(10_200, 10_300), //
+				new Window(10_000, 10_199), //
+				new Window(1000, 1200)), //
+				ResendHistoricDataWorker.getResendWindows(timeranges, 200));
+	}
+
+	@Test
+	public void testGetResendFrontier() {
+		final var windows = List.of(//
+				new Window(10_200, 10_300), //
+				new Window(10_000, 10_199), //
+				new Window(1000, 1200));
+		final var cursor = new ResendCursor(null);
+		cursor.rebase(900);
+
+		// Most recent window is done, but older data is still missing
+		cursor.markDone(10_200, 10_300);
+		assertEquals(Long.MIN_VALUE, ResendHistoricDataWorker.getResendFrontier(windows, cursor));
+
+		cursor.markDone(1000, 1200);
+		assertEquals(1200, ResendHistoricDataWorker.getResendFrontier(windows, cursor));
+
+		cursor.markDone(10_000, 10_199);
+		assertEquals(10_300, ResendHistoricDataWorker.getResendFrontier(windows, cursor));
+	}
+
+	@Test
+	public void testAwaitOutboundCapacity() throws InterruptedException {
+		final var worker = new ResendHistoricDataWorker();
+		assertTrue(worker.awaitOutboundCapacity(() -> 0));
+
+		final var queue = new int[] { 10 };
+		assertTrue(worker.awaitOutboundCapacity(() -> queue[0]--));
+	}
+
 }
@@ -1,15 +1,21 @@
 package io.openems.edge.controller.api.backend;
 
+import static io.openems.common.jsonrpc.notification.TimestampedDataNotification.FULL_KEYFRAME;
+import static io.openems.common.jsonrpc.notification.TimestampedDataNotification.NO_KEYFRAME;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.junit.Test;
 
 import com.google.common.collect.Lists;
 
+import io.openems.common.channel.PersistencePriority;
 import io.openems.common.function.ThrowingFunction;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.OpenemsType;
 import io.openems.common.types.OptionsEnum;
 import io.openems.edge.common.channel.Channel;
@@ -119,6 +125,56 @@ public class SendChannelValuesWorkerTest {
 		});
 	}
 
+	@Test
+	public void testMergeKeyframeShard() {
+		assertEquals(FULL_KEYFRAME, SendChannelValuesWorker.mergeKeyframeShard(FULL_KEYFRAME, 3));
+		assertEquals(FULL_KEYFRAME, SendChannelValuesWorker.mergeKeyframeShard(3, FULL_KEYFRAME));
+		assertEquals(3, SendChannelValuesWorker.mergeKeyframeShard(3, NO_KEYFRAME));
+		assertEquals(4, SendChannelValuesWorker.mergeKeyframeShard(3, 4));
+		assertEquals(NO_KEYFRAME, SendChannelValuesWorker.mergeKeyframeShard(NO_KEYFRAME, NO_KEYFRAME));
+	}
+
+	@Test
+	public void testChannelChangeTracker() throws Exception {
+		final var component = new DummyComponent("component0");
+		final var channel = component.<Channel<DummyEnum>>channel(DummyComponent.ChannelId.DUMMY_ENUM_CHANNEL);
+		final var address = channel.address().toString();
+		final var shard = ChannelChangeTracker.getShard(address);
+		final var otherShard = (shard + 1) % TimestampedDataNotification.KEYFRAME_SHARDS;
+		final var components = List.<OpenemsComponent>of(component);
+		final var sut = new ChannelChangeTracker();
+
+		// First collect includes all Channels
+		var values = sut.collect(components, PersistencePriority.VERY_LOW, NO_KEYFRAME, duplicate -> {
+		});
+		assertTrue(values.containsKey(address));
+
+		// Unchanged
+		values = sut.collect(components, PersistencePriority.VERY_LOW, otherShard, duplicate -> {
+		});
+		assertFalse(values.containsKey(address));
+
+		// Changed
+		writeValue(channel, DummyEnum.VALUE_1);
+		values = sut.collect(components, PersistencePriority.VERY_LOW, NO_KEYFRAME, duplicate -> {
+		});
+		assertEquals(1, values.get(address).getAsInt());
+
+		// Same value again
+		writeValue(channel, DummyEnum.VALUE_1);
+		values = sut.collect(components, PersistencePriority.VERY_LOW, NO_KEYFRAME, duplicate -> {
+		});
+		assertFalse(values.containsKey(address));
+
+		// Keyframes
+		values = sut.collect(components, PersistencePriority.VERY_LOW, shard, duplicate -> {
+		});
+		assertEquals(1, values.get(address).getAsInt());
+		values = sut.collect(components, PersistencePriority.VERY_LOW, FULL_KEYFRAME, duplicate -> {
+		});
+		assertEquals(1, values.get(address).getAsInt());
+	}
+
 	private static void testAggregateEnumChannel(int numberOfValues,
 			ThrowingFunction<Channel<?>, DummyEnum, Exception> test) throws Exception {
 		final var component = new DummyComponent("component0");
@@ -5,8 +5,11 @@ import org.osgi.annotation.versioning.ProviderType;
 import io.openems.common.channel.AccessMode;
 import io.openems.common.channel.Level;
 import io.openems.common.channel.PersistencePriority;
+import io.openems.common.channel.Unit;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -26,7 +29,62 @@ public interface Controller extends OpenemsComponent {
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
 		RUN_FAILED(Doc.of(Level.FAULT) //
 				.persistencePriority(PersistencePriority.HIGH) //
-				.text("Running the Controller failed"));
+				.text("Running the Controller failed")),
+		/**
+		 * Duration of the last execution of {@link Controller#run()} in [us].
+		 *
+		 * <ul>
+		 * <li>Interface: Controller
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		RUN_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MICROSECONDS) //
+				.text("Duration of the last Controller run")),
+		/**
+		 * Minimum duration of {@link Controller#run()} in [us] over the last runs.
+		 *
+		 * <ul>
+		 * <li>Interface: Controller
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		RUN_DURATION_MIN(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MICROSECONDS) //
+				.text("Minimum duration of the Controller runs")),
+		/**
+		 * Average duration of {@link Controller#run()} in [us] over the last runs.
+		 *
+		 * <ul>
+		 * <li>Interface: Controller
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		RUN_DURATION_AVG(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MICROSECONDS) //
+				.text("Average duration of the Controller runs")),
+		/**
+		 * Maximum duration of {@link Controller#run()} in [us] over the last runs.
+		 *
+		 * <ul>
+		 * <li>Interface: Controller
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		RUN_DURATION_MAX(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MICROSECONDS) //
+				.text("Maximum duration of the Controller runs")),
+		/**
+		 * 99th percentile duration of {@link Controller#run()} in [us] over the last runs.
+		 *
+		 * <ul>
+		 * <li>Interface: Controller
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		RUN_DURATION_P99(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MICROSECONDS) //
+				.text("99th percentile duration of the Controller runs"));
 
 		private final Doc doc;
 
@@ -68,6 +126,151 @@ public interface Controller extends OpenemsComponent {
 		this.getRunFailedChannel().setNextValue(value);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#RUN_DURATION}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getRunDurationChannel() {
+		return this.channel(ChannelId.RUN_DURATION);
+	}
+
+	/**
+	 * Gets the duration of the last Controller run in [us]. See
+	 * {@link ChannelId#RUN_DURATION}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getRunDuration() {
+		return this.getRunDurationChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#RUN_DURATION}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setRunDuration(long value) {
+		this.getRunDurationChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#RUN_DURATION_MIN}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getRunDurationMinChannel() {
+		return this.channel(ChannelId.RUN_DURATION_MIN);
+	}
+
+	/**
+	 * Gets the minimum duration of the Controller runs in [us]. See
+	 * {@link ChannelId#RUN_DURATION_MIN}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getRunDurationMin() {
+		return this.getRunDurationMinChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#RUN_DURATION_MIN} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setRunDurationMin(Long value) {
+		this.getRunDurationMinChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#RUN_DURATION_AVG}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getRunDurationAvgChannel() {
+		return this.channel(ChannelId.RUN_DURATION_AVG);
+	}
+
+	/**
+	 * Gets the average duration of the Controller runs in [us]. See
+	 * {@link ChannelId#RUN_DURATION_AVG}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getRunDurationAvg() {
+		return this.getRunDurationAvgChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#RUN_DURATION_AVG} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setRunDurationAvg(Long value) {
+		this.getRunDurationAvgChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#RUN_DURATION_MAX}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getRunDurationMaxChannel() {
+		return this.channel(ChannelId.RUN_DURATION_MAX);
+	}
+
+	/**
+	 * Gets the maximum duration of the Controller runs in [us]. See
+	 * {@link ChannelId#RUN_DURATION_MAX}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getRunDurationMax() {
+		return this.getRunDurationMaxChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#RUN_DURATION_MAX} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setRunDurationMax(Long value) {
+		this.getRunDurationMaxChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#RUN_DURATION_P99}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getRunDurationP99Channel() {
+		return this.channel(ChannelId.RUN_DURATION_P99);
+	}
+
+	/**
+	 * Gets the 99th percentile duration of the Controller runs in [us]. See
+	 * {@link ChannelId#RUN_DURATION_P99}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getRunDurationP99() {
+		return this.getRunDurationP99Channel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#RUN_DURATION_P99} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setRunDurationP99(Long value) {
+		this.getRunDurationP99Channel().setNextValue(value);
+	}
+
 	/**
 	 * Used for Modbus/TCP Api Controller. Provides a Modbus table for the Channels
 	 * of this Component.
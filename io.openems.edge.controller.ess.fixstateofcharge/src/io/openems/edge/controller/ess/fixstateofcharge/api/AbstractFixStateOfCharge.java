@@ -26,7 +26,6 @@ import io.openems.common.utils.DateUtils;
 import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.channel.StateChannel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -463,10 +462,8 @@ public abstract class AbstractFixStateOfCharge extends AbstractOpenemsComponent
 	 */
 	public static OptionalInt getLastValidValue(IntegerReadChannel channel) {
 		// Possibly shift "getLastValidValue" to AbstractReadChannels
-		return channel.getPastValues().values() //
-				.stream() //
-				.filter(Value::isDefined) //
-				.mapToInt(Value::get) //
+		return channel.getPastValues().all() //
+				.definedAsInt() //
 				.findFirst();
 	}
 
@@ -477,10 +474,9 @@ public abstract class AbstractFixStateOfCharge extends AbstractOpenemsComponent
 	 * @return Last defined value
 	 */
 	private static Optional<Boolean> getLastValidValue(StateChannel channel) {
-		return channel.getPastValues().values() //
-				.stream() //
-				.filter(Value::isDefined) //
-				.map(Value::get).findFirst();
+		return channel.getPastValues().all() //
+				.definedValues() //
+				.findFirst();
 	}
 
 	/**
@@ -491,10 +487,8 @@ public abstract class AbstractFixStateOfCharge extends AbstractOpenemsComponent
 	 * @return Last defined value from given {@link LongReadChannel}
 	 */
 	public static OptionalLong getLastValidValue(LongReadChannel channel) {
-		return channel.getPastValues().values() //
-				.stream() //
-				.filter(Value::isDefined) //
-				.mapToLong(Value::get) //
+		return channel.getPastValues().all() //
+				.definedAsLong() //
 				.findFirst();
 	}
 
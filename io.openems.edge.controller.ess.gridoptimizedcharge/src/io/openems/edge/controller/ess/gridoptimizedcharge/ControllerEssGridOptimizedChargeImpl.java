@@ -4,8 +4,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoField;
-import java.util.ArrayList;
 import java.util.OptionalDouble;
+import java.util.stream.Stream;
 
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.ComponentContext;
@@ -363,17 +363,16 @@ public class ControllerEssGridOptimizedChargeImpl extends AbstractOpenemsCompone
 
 		// Get the past channel values
 		var pastValues = channel.getPastValues()
-				.tailMap(LocalDateTime.now(this.componentManager.getClock()).minusSeconds(consideredSeconds), true)
-				.values();
+				.tail(LocalDateTime.now(this.componentManager.getClock()).minusSeconds(consideredSeconds));
 
 		// Make sure we have at least one value
 		if (pastValues.isEmpty()) {
-			pastValues = new ArrayList<>();
-			pastValues.add(channel.value());
+			return Stream.of(channel.value()).filter(Value::isDefined) //
+					.mapToInt(Value::get) //
+					.average();
 		}
 
-		return pastValues.stream().filter(Value::isDefined) //
-				.mapToInt(Value::get) //
+		return pastValues.definedAsInt() //
 				.average();
 	}
 
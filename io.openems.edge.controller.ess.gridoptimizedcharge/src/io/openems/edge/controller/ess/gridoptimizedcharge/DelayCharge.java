@@ -25,7 +25,6 @@ import io.openems.common.types.OpenemsType;
 import io.openems.common.utils.DateUtils;
 import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.StateChannel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.type.TypeUtils;
 import io.openems.edge.ess.power.api.Phase;
 import io.openems.edge.ess.power.api.Pwr;
@@ -309,9 +308,8 @@ public class DelayCharge {
 		var minimumPowerFactor = MINIMUM_POWER_FACTOR;
 
 		boolean delayChargeMinimumReached = this.parent.getDelayChargeStateChannel().getPastValues()
-				.tailMap(LocalDateTime.now(this.parent.componentManager.getClock()).with(MINUTE_OF_DAY, 5), true)
-				.values().stream().filter(Value::isDefined)
-				.filter(channel -> channel.asEnum() == DelayChargeState.ACTIVE_LIMIT).findAny().isPresent();
+				.tail(LocalDateTime.now(this.parent.componentManager.getClock()).with(MINUTE_OF_DAY, 5))
+				.definedAsInt().anyMatch(value -> value == DelayChargeState.ACTIVE_LIMIT.getValue());
 
 		minimumPowerFactor = delayChargeMinimumReached ? minimumPowerFactor * 0.5F : minimumPowerFactor;
 		var minimumPower = Math.round(capacity * minimumPowerFactor);
@@ -358,8 +356,8 @@ public class DelayCharge {
 		this.parent._setRawDelayChargeLimit(calculatedPower);
 
 		var pastLimits = delayChargeLimitRawChannel.getPastValues()
-				.tailMap(LocalDateTime.now(this.parent.componentManager.getClock()).minusSeconds(900), true) //
-				.values().stream().filter(Value::isDefined).mapToInt(Value::get);
+				.tail(LocalDateTime.now(this.parent.componentManager.getClock()).minusSeconds(900)) //
+				.definedAsInt();
 
 		var currentLimit = IntStream.of(calculatedPower);
 
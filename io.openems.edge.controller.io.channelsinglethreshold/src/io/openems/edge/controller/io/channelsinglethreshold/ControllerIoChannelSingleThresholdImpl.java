@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -161,19 +162,13 @@ public class ControllerIoChannelSingleThresholdImpl extends AbstractOpenemsCompo
 
 		// Get average input value of the last 'minimumSwitchingTime' seconds
 		IntegerReadChannel inputChannel = this.componentManager.getChannel(inputChannelAddress);
-		var values = inputChannel.getPastValues().tailMap(
-				LocalDateTime.now(this.componentManager.getClock()).minusSeconds(this.config.minimumSwitchingTime()),
-				true).values();
+		var values = inputChannel.getPastValues().tail(
+				LocalDateTime.now(this.componentManager.getClock()).minusSeconds(this.config.minimumSwitchingTime()));
 
 		// make sure we have at least one value
-		if (values.isEmpty()) {
-			values = new ArrayList<>();
-			values.add(inputChannel.value());
-		}
-
-		var inputValueOpt = values.stream().filter(Value::isDefined) //
-				.mapToInt(Value::get) //
-				.average();
+		var inputValueOpt = values.isEmpty() //
+				? Stream.of(inputChannel.value()).filter(Value::isDefined).mapToInt(Value::get).average() //
+				: values.definedAsInt().average();
 		int inputValue;
 		if (inputValueOpt.isPresent()) {
 			inputValue = (int) Math.round(inputValueOpt.getAsDouble());
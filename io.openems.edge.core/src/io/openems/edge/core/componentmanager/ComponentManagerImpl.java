@@ -8,7 +8,6 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.List;
@@ -92,6 +91,8 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 
 	protected BundleContext bundleContext;
 
+	private volatile ComponentRegistry registry = null;
+
 	@Reference(cardinality = ReferenceCardinality.OPTIONAL)
 	private volatile ClockProvider clockProvider = null;
 
@@ -123,6 +124,11 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 		super.activate(componentContext, SINGLETON_COMPONENT_ID, SINGLETON_SERVICE_PID, true);
 		this.bundleContext = bundleContext;
 
+		if (bundleContext != null) {
+			this.registry = new ComponentRegistry(bundleContext);
+			this.registry.open();
+		}
+
 		for (ComponentManagerWorker worker : this.workers) {
 			worker.activate(this.id());
 		}
@@ -151,6 +157,11 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	protected void deactivate() {
 		super.deactivate();
 
+		if (this.registry != null) {
+			this.registry.close();
+			this.registry = null;
+		}
+
 		for (ComponentManagerWorker worker : this.workers) {
 			worker.deactivate();
 		}
@@ -158,120 +169,61 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 
 	@Override
 	public List<OpenemsComponent> getEnabledComponents() {
-		return this.getComponentsViaService("(&(enabled=true)(!(service.factoryPid=Core.ComponentManager)))");
+		return this.getSnapshot().getEnabledComponents();
 	}
 
 	@Override
 	public <T extends OpenemsComponent> List<T> getEnabledComponentsOfType(Class<T> clazz) {
-		return this.getComponentsViaService(clazz, "(enabled=true)");
+		return this.getSnapshot().getEnabledComponentsOfType(clazz);
 	}
 
 	@Override
 	public List<OpenemsComponent> getAllComponents() {
-		return this.getComponentsViaService("(!(service.factoryPid=" + ComponentManager.SINGLETON_SERVICE_PID + "))");
+		return this.getSnapshot().getAllComponents();
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public <T extends OpenemsComponent> T getComponent(String componentId) throws OpenemsNamedException {
-		var component = this.getComponentViaService(componentId, true);
+		T component = this.getSnapshot().getComponent(componentId, true);
 		if (component != null) {
-			return (T) component;
+			return component;
 		}
 		throw OpenemsError.EDGE_NO_COMPONENT_WITH_ID.exception(componentId);
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public <T extends OpenemsComponent> T getPossiblyDisabledComponent(String componentId)
 			throws OpenemsNamedException {
-		var component = this.getComponentViaService(componentId);
+		T component = this.getSnapshot().getComponent(componentId, false);
 		if (component != null) {
-			return (T) component;
+			return component;
 		}
 		throw OpenemsError.EDGE_NO_COMPONENT_WITH_ID.exception(componentId);
 	}
 
-	/**
-	 * Gets the components via OSGi service reference.
-	 *
-	 * @param filter the filter for the components
-	 * @return the components matching the filter
-	 */
-	private List<OpenemsComponent> getComponentsViaService(String filter) {
-		return this.getComponentsViaService(OpenemsComponent.class, filter);
-	}
-
-	/**
-	 * Gets the components via OSGi service reference.
-	 * 
-	 * @param <T>    the class type
-	 * @param clazz  The class under whose name the service was registered. Must not
-	 *               be {@code null}.
-	 * @param filter the filter for the components
-	 * @return the components matching the filter
-	 */
-	private <T> List<T> getComponentsViaService(Class<T> clazz, String filter) {
-		if (this.bundleContext == null) {
-			// Can be null in JUnit tests
-			return Collections.emptyList();
-		}
-
-		try {
-			var serviceReferences = this.bundleContext.getServiceReferences(clazz, filter);
-
-			var allComponents = new ArrayList<T>(serviceReferences.size());
-			for (var reference : serviceReferences) {
-				var component = this.bundleContext.getService(reference);
-				if (component == null) {
-					continue;
-				}
-				allComponents.add(component);
-				this.bundleContext.ungetService(reference);
-			}
-			return allComponents;
-
-		} catch (InvalidSyntaxException e) {
-			// filter invalid
-			e.printStackTrace();
-			return Collections.emptyList();
-		} catch (RuntimeException e) {
-			e.printStackTrace();
-			return Collections.emptyList();
+	@Override
+	public <T extends Channel<?>> T getChannel(ChannelAddress channelAddress)
+			throws IllegalArgumentException, OpenemsNamedException {
+		T channel = this.getSnapshot().getChannel(channelAddress);
+		if (channel != null) {
+			return channel;
 		}
+		throw OpenemsError.EDGE_NO_COMPONENT_WITH_ID.exception(channelAddress.getComponentId());
 	}
 
 	/**
-	 * Gets the component via OSGi service reference. Be careful, that the Component
-	 * might not be 'enabled'.
+	 * Gets the current {@link ComponentRegistry.Snapshot} of all OpenEMS
+	 * Components.
 	 *
-	 * @param <T>         the type of the component
-	 * @param componentId the id of the component
-	 * @return the component or null if not found
+	 * @return the {@link ComponentRegistry.Snapshot}; never null
 	 */
-	private <T extends OpenemsComponent> T getComponentViaService(String componentId) {
-		return this.getComponentViaService(componentId, false);
-	}
-
-	/**
-	 * Gets the component via OSGi service reference.
-	 *
-	 * @param <T>            the type of the component
-	 * @param componentId    the id of the component
-	 * @param hasToBeEnabled if the component has to be enabled
-	 * @return the component or null if not found
-	 */
-	@SuppressWarnings("unchecked")
-	private <T extends OpenemsComponent> T getComponentViaService(String componentId, boolean hasToBeEnabled) {
-		var filter = "(id=" + componentId + ")";
-		if (hasToBeEnabled) {
-			filter = "(&(enabled=true)" + filter + ")";
-		}
-		var components = this.getComponentsViaService(filter);
-		if (components.isEmpty()) {
-			return null;
+	private ComponentRegistry.Snapshot getSnapshot() {
+		var registry = this.registry;
+		if (registry == null) {
+			// Can be null in JUnit tests
+			return ComponentRegistry.Snapshot.EMPTY;
 		}
-		return (T) components.get(0);
+		return registry.getSnapshot();
 	}
 
 	@Override
@@ -0,0 +1,260 @@
+package io.openems.edge.core.componentmanager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.cm.ConfigurationAdmin;
+import org.osgi.util.tracker.ServiceTracker;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Tracks all {@link OpenemsComponent} services and maintains an immutable
+ * {@link Snapshot} of them.
+ *
+ * <p>
+ * The {@link Snapshot} is replaced (copy-on-write) on every OSGi service event,
+ * so readers like the Core.Cycle never have to parse LDAP filters or query the
+ * OSGi service registry.
+ */
+public class ComponentRegistry extends ServiceTracker<OpenemsComponent, OpenemsComponent> {
+
+	private static final String PROPERTY_ID = "id";
+	private static final String PROPERTY_ENABLED = "enabled";
+
+	/**
+	 * A tracked Component with the service properties that are relevant for
+	 * lookups.
+	 */
+	public static record Entry(long serviceId, OpenemsComponent component, String id, boolean enabled,
+			String factoryPid, List<String> objectClasses) {
+
+		/**
+		 * Is this the entry of the {@link ComponentManager} itself?.
+		 *
+		 * @return true for the {@link ComponentManager}
+		 */
+		public boolean isComponentManager() {
+			return ComponentManager.SINGLETON_SERVICE_PID.equals(this.factoryPid);
+		}
+	}
+
+	/**
+	 * An immutable view on all tracked Components.
+	 */
+	public static final class Snapshot {
+
+		public static final Snapshot EMPTY = Snapshot.from(ImmutableList.of());
+
+		/**
+		 * Builds a {@link Snapshot} from a Collection of {@link Entry}s.
+		 *
+		 * @param entries the entries in service registration order
+		 * @return the {@link Snapshot}
+		 */
+		public static Snapshot from(Collection<Entry> entries) {
+			var byId = new HashMap<String, Entry>();
+			var all = ImmutableList.<OpenemsComponent>builder();
+			var enabled = ImmutableList.<OpenemsComponent>builder();
+			for (var entry : entries) {
+				if (entry.id() != null) {
+					// On duplicated Component-IDs prefer the enabled Component
+					byId.merge(entry.id(), entry, (a, b) -> !a.enabled() && b.enabled() ? b : a);
+				}
+				if (entry.isComponentManager()) {
+					continue;
+				}
+				all.add(entry.component());
+				if (entry.enabled()) {
+					enabled.add(entry.component());
+				}
+			}
+			return new Snapshot(ImmutableList.copyOf(entries), ImmutableMap.copyOf(byId), all.build(),
+					enabled.build());
+		}
+
+		private final ImmutableList<Entry> entries;
+		private final ImmutableMap<String, Entry> byId;
+		private final ImmutableList<OpenemsComponent> allComponents;
+		private final ImmutableList<OpenemsComponent> enabledComponents;
+		private final Map<Class<?>, List<?>> enabledComponentsByType = new ConcurrentHashMap<>();
+
+		private Snapshot(ImmutableList<Entry> entries, ImmutableMap<String, Entry> byId,
+				ImmutableList<OpenemsComponent> allComponents, ImmutableList<OpenemsComponent> enabledComponents) {
+			this.entries = entries;
+			this.byId = byId;
+			this.allComponents = allComponents;
+			this.enabledComponents = enabledComponents;
+		}
+
+		/**
+		 * Gets all Components, excluding the {@link ComponentManager}.
+		 *
+		 * @return an immutable List of Components
+		 */
+		public List<OpenemsComponent> getAllComponents() {
+			return this.allComponents;
+		}
+
+		/**
+		 * Gets all enabled Components, excluding the {@link ComponentManager}.
+		 *
+		 * @return an immutable List of Components
+		 */
+		public List<OpenemsComponent> getEnabledComponents() {
+			return this.enabledComponents;
+		}
+
+		/**
+		 * Gets all enabled Components that were registered as OSGi service of the
+		 * given type. The result is computed once per type and {@link Snapshot}.
+		 *
+		 * @param <T>   the type
+		 * @param clazz the type
+		 * @return an immutable List of Components
+		 */
+		@SuppressWarnings("unchecked")
+		public <T> List<T> getEnabledComponentsOfType(Class<T> clazz) {
+			return (List<T>) this.enabledComponentsByType.computeIfAbsent(clazz, c -> {
+				var name = c.getName();
+				return this.entries.stream() //
+						.filter(e -> e.enabled() && e.objectClasses().contains(name)) //
+						.map(e -> c.cast(e.component())) //
+						.collect(ImmutableList.toImmutableList());
+			});
+		}
+
+		/**
+		 * Gets a Component by its Component-ID.
+		 *
+		 * @param <T>            the type of the component
+		 * @param componentId    the Component-ID
+		 * @param hasToBeEnabled if the component has to be enabled
+		 * @return the Component or null if not found
+		 */
+		@SuppressWarnings("unchecked")
+		public <T extends OpenemsComponent> T getComponent(String componentId, boolean hasToBeEnabled) {
+			var entry = this.byId.get(componentId);
+			if (entry == null || hasToBeEnabled && !entry.enabled()) {
+				return null;
+			}
+			return (T) entry.component();
+		}
+
+		/**
+		 * Gets a Channel of an enabled Component by its {@link ChannelAddress}.
+		 *
+		 * <p>
+		 * Channels are not cached: Components can remove Channels at runtime without
+		 * an OSGi service event, so the Channel is always taken from the Component.
+		 *
+		 * @param <T>            the type of the Channel
+		 * @param channelAddress the {@link ChannelAddress}
+		 * @return the Channel or null if the Component was not found
+		 * @throws IllegalArgumentException if the Channel is not available
+		 */
+		@SuppressWarnings("unchecked")
+		public <T extends Channel<?>> T getChannel(ChannelAddress channelAddress) throws IllegalArgumentException {
+			var component = this.getComponent(channelAddress.getComponentId(), true);
+			if (component == null) {
+				return null;
+			}
+			return (T) component.channel(channelAddress.getChannelId());
+		}
+	}
+
+	private final Map<Long, Entry> entries = new TreeMap<>();
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+	public ComponentRegistry(BundleContext context) {
+		super(context, OpenemsComponent.class, null);
+	}
+
+	/**
+	 * Gets the current {@link Snapshot}.
+	 *
+	 * @return the {@link Snapshot}; never null
+	 */
+	public Snapshot getSnapshot() {
+		return this.snapshot;
+	}
+
+	@Override
+	public OpenemsComponent addingService(ServiceReference<OpenemsComponent> reference) {
+		var component = super.addingService(reference);
+		if (component != null) {
+			this.update(reference, component);
+		}
+		return component;
+	}
+
+	@Override
+	public void modifiedService(ServiceReference<OpenemsComponent> reference, OpenemsComponent component) {
+		this.update(reference, component);
+	}
+
+	@Override
+	public void removedService(ServiceReference<OpenemsComponent> reference, OpenemsComponent component) {
+		synchronized (this.entries) {
+			this.entries.remove(getServiceId(reference));
+			this.snapshot = Snapshot.from(this.entries.values());
+		}
+		super.removedService(reference, component);
+	}
+
+	@Override
+	public void close() {
+		super.close();
+		synchronized (this.entries) {
+			this.entries.clear();
+			this.snapshot = Snapshot.EMPTY;
+		}
+	}
+
+	private void update(ServiceReference<OpenemsComponent> reference, OpenemsComponent component) {
+		var entry = new Entry(getServiceId(reference), component, //
+				toString(reference.getProperty(PROPERTY_ID)), //
+				Boolean.parseBoolean(toString(reference.getProperty(PROPERTY_ENABLED))), //
+				toString(reference.getProperty(ConfigurationAdmin.SERVICE_FACTORYPID)), //
+				getObjectClasses(reference));
+		synchronized (this.entries) {
+			this.entries.put(entry.serviceId(), entry);
+			this.snapshot = Snapshot.from(this.entries.values());
+		}
+	}
+
+	private static long getServiceId(ServiceReference<?> reference) {
+		return (Long) reference.getProperty(Constants.SERVICE_ID);
+	}
+
+	private static List<String> getObjectClasses(ServiceReference<?> reference) {
+		if (reference.getProperty(Constants.OBJECTCLASS) instanceof String[] objectClasses) {
+			return List.of(objectClasses);
+		}
+		return List.of();
+	}
+
+	private static String toString(Object value) {
+		if (value == null) {
+			return null;
+		}
+		if (value instanceof Object[] array) {
+			return array.length == 0 ? null : String.valueOf(array[0]);
+		}
+		return String.valueOf(value);
+	}
+
+}
@@ -13,6 +13,18 @@ import io.openems.edge.common.cycle.Cycle;
 	@AttributeDefinition(name = "Cycle-Time", description = "The duration of one global OpenEMS Cycle in [ms]")
 	int cycleTime() default Cycle.DEFAULT_CYCLE_TIME;
 
+	@AttributeDefinition(name = "Parallel Process-Image", description = "Switch the Process-Image of Components in "
+			+ "parallel. Callbacks must not rely on Channels of other Components being switched already.")
+	boolean parallelProcessImage() default false;
+
+	@AttributeDefinition(name = "Process-Image Threads", description = "Number of threads for the parallel "
+			+ "Process-Image switch; 0 for number of available processors")
+	int processImageThreads() default 0;
+
+	@AttributeDefinition(name = "Profile Event-Handlers", description = "Deliver the Cycle Events directly to "
+			+ "each EventHandler instead of via EventAdmin to measure the duration of every handler")
+	boolean profileEventHandlers() default false;
+
 	String webconsole_configurationFactory_nameHint() default "Core Cycle";
 
 }
\ No newline at end of file
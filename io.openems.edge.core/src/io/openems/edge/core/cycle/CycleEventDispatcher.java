@@ -0,0 +1,171 @@
+package io.openems.edge.core.cycle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Filter;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+import org.osgi.util.tracker.ServiceTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers the synchronous Cycle Events directly to the matching
+ * {@link EventHandler}s instead of via EventAdmin and measures the duration of
+ * each handler in the {@link CycleProfiler}.
+ *
+ * <p>
+ * Like EventAdmin#sendEvent() this honours the {@link EventConstants#EVENT_TOPIC}
+ * (including wildcards) and {@link EventConstants#EVENT_FILTER} properties of
+ * the handlers and returns after all handlers were called. Handlers are called
+ * in service ranking order.
+ */
+public class CycleEventDispatcher extends ServiceTracker<EventHandler, EventHandler> {
+
+	private static record Handler(ServiceReference<EventHandler> reference, EventHandler handler, String name,
+			List<String> topics, Filter filter) {
+
+		private boolean matches(Event event) {
+			return this.topics.stream().anyMatch(t -> matchesTopic(t, event.getTopic()))
+					&& (this.filter == null || event.matches(this.filter));
+		}
+	}
+
+	private final Logger log = LoggerFactory.getLogger(CycleEventDispatcher.class);
+
+	private final CycleProfiler profiler;
+	private final Map<ServiceReference<EventHandler>, Handler> handlers = new ConcurrentHashMap<>();
+
+	/** Matching Handlers per topic; cleared on every service change. */
+	private final Map<String, List<Handler>> handlersByTopic = new ConcurrentHashMap<>();
+
+	public CycleEventDispatcher(BundleContext context, CycleProfiler profiler) {
+		super(context, EventHandler.class, null);
+		this.profiler = profiler;
+	}
+
+	/**
+	 * Synchronously delivers an Event without properties to all matching
+	 * {@link EventHandler}s.
+	 *
+	 * @param topic the Event topic
+	 */
+	public void send(String topic) {
+		var event = new Event(topic, Map.of());
+		for (var handler : this.handlersByTopic.computeIfAbsent(topic, t -> this.getMatchingHandlers(event))) {
+			final var start = System.nanoTime();
+			try {
+				handler.handler().handleEvent(event);
+			} catch (RuntimeException e) {
+				this.log.warn("EventHandler [" + handler.name() + "] failed on [" + topic + "]. "
+						+ e.getClass().getSimpleName() + ": " + e.getMessage());
+			}
+			this.profiler.addEventHandler(topic, handler.name(), System.nanoTime() - start);
+		}
+	}
+
+	private List<Handler> getMatchingHandlers(Event event) {
+		return this.handlers.values().stream() //
+				.filter(h -> h.matches(event)) //
+				.sorted(Comparator.comparing(Handler::reference, Comparator.reverseOrder())) //
+				.toList();
+	}
+
+	@Override
+	public EventHandler addingService(ServiceReference<EventHandler> reference) {
+		var service = super.addingService(reference);
+		if (service != null) {
+			this.update(reference, service);
+		}
+		return service;
+	}
+
+	@Override
+	public void modifiedService(ServiceReference<EventHandler> reference, EventHandler service) {
+		this.update(reference, service);
+	}
+
+	@Override
+	public void removedService(ServiceReference<EventHandler> reference, EventHandler service) {
+		this.handlers.remove(reference);
+		this.handlersByTopic.clear();
+		super.removedService(reference, service);
+	}
+
+	@Override
+	public void close() {
+		super.close();
+		this.handlers.clear();
+		this.handlersByTopic.clear();
+	}
+
+	private void update(ServiceReference<EventHandler> reference, EventHandler service) {
+		Filter filter = null;
+		if (reference.getProperty(EventConstants.EVENT_FILTER) instanceof String f) {
+			try {
+				filter = FrameworkUtil.createFilter(f);
+			} catch (InvalidSyntaxException e) {
+				// EventAdmin ignores handlers with invalid filter
+				this.log.warn("EventHandler [" + getName(reference, service) + "] has invalid filter: " + f);
+				this.handlers.remove(reference);
+				this.handlersByTopic.clear();
+				return;
+			}
+		}
+		this.handlers.put(reference,
+				new Handler(reference, service, getName(reference, service), getTopics(reference), filter));
+		this.handlersByTopic.clear();
+	}
+
+	private static String getName(ServiceReference<?> reference, EventHandler service) {
+		if (reference.getProperty("id") instanceof String id) {
+			return id;
+		}
+		if (reference.getProperty("component.name") instanceof String name) {
+			return name;
+		}
+		return service.getClass().getName();
+	}
+
+	private static List<String> getTopics(ServiceReference<?> reference) {
+		var property = reference.getProperty(EventConstants.EVENT_TOPIC);
+		var result = new ArrayList<String>();
+		if (property instanceof String topic) {
+			result.add(topic);
+		} else if (property instanceof String[] topics) {
+			result.addAll(List.of(topics));
+		} else if (property instanceof Collection<?> topics) {
+			topics.forEach(t -> result.add(String.valueOf(t)));
+		}
+		return result;
+	}
+
+	/**
+	 * Matches an Event topic against a handler topic, which may be "*" or end with
+	 * "/*".
+	 *
+	 * @param handlerTopic the topic of the {@link EventHandler}
+	 * @param topic        the Event topic
+	 * @return true if the topic matches
+	 */
+	protected static boolean matchesTopic(String handlerTopic, String topic) {
+		if (handlerTopic.equals("*")) {
+			return true;
+		}
+		if (handlerTopic.endsWith("/*")) {
+			return topic.startsWith(handlerTopic.substring(0, handlerTopic.length() - 1));
+		}
+		return handlerTopic.equals(topic);
+	}
+
+}
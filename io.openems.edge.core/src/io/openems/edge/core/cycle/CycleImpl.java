@@ -1,7 +1,9 @@
 package io.openems.edge.core.cycle;
 
 import java.util.Comparator;
+import java.util.Queue;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.ComponentContext;
@@ -20,11 +22,17 @@ import org.slf4j.Logger;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.session.Role;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.cycle.Cycle;
+import io.openems.edge.common.jsonapi.ComponentJsonApi;
+import io.openems.edge.common.jsonapi.EdgeGuards;
+import io.openems.edge.common.jsonapi.JsonApiBuilder;
 import io.openems.edge.common.sum.Sum;
+import io.openems.edge.core.cycle.CycleProfiler.Phase;
+import io.openems.edge.core.cycle.jsonrpc.GetCycleProfile;
 import io.openems.edge.scheduler.api.Scheduler;
 
 @Designate(ocd = Config.class, factory = false)
@@ -35,7 +43,7 @@ import io.openems.edge.scheduler.api.Scheduler;
 		property = { //
 				"enabled=true" //
 		})
-public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle {
+public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle, ComponentJsonApi {
 
 	private final CycleWorker worker = new CycleWorker(this);
 
@@ -59,6 +67,21 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 
 	private Config config = null;
 
+	/** Switches the Process Image; replaced on configuration change. */
+	protected volatile ProcessImageSwitcher processImageSwitcher = new ProcessImageSwitcher(1);
+
+	/**
+	 * Replaced {@link ProcessImageSwitcher}s; shut down by the Cycle thread at the
+	 * start of the next Cycle, when they are guaranteed to be idle.
+	 */
+	private final Queue<ProcessImageSwitcher> retiredProcessImageSwitchers = new ConcurrentLinkedQueue<>();
+
+	/** Collects the durations of Cycle phases, Schedulers and Controllers. */
+	protected final CycleProfiler profiler = new CycleProfiler();
+
+	/** Delivers the Cycle Events if 'profileEventHandlers' is enabled. */
+	protected volatile CycleEventDispatcher eventDispatcher = null;
+
 	@Reference(//
 			policy = ReferencePolicy.DYNAMIC, //
 			policyOption = ReferencePolicyOption.GREEDY, //
@@ -81,12 +104,17 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 				OpenemsComponent.ChannelId.values(), //
 				Cycle.ChannelId.values() //
 		);
+		CycleProfiler.CHANNEL_IDS.values().forEach(channelIds -> {
+			channelIds.values().forEach(this::addChannel);
+		});
 	}
 
 	@Activate
 	private void activate(ComponentContext context, Config config) throws OpenemsException {
 		super.activate(context, SINGLETON_COMPONENT_ID, SINGLETON_SERVICE_PID, true);
 		this.config = config;
+		this.applyProcessImageSwitcher(config);
+		this.applyEventDispatcher(context, config);
 		this.worker.activate(this.id());
 
 		if (OpenemsComponent.validateSingleton(this.cm, SINGLETON_SERVICE_PID, SINGLETON_COMPONENT_ID)) {
@@ -98,6 +126,8 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 	private void modified(ComponentContext context, Config config) throws OpenemsNamedException {
 		super.modified(context, SINGLETON_COMPONENT_ID, SINGLETON_SERVICE_PID, true);
 		this.config = config;
+		this.applyProcessImageSwitcher(config);
+		this.applyEventDispatcher(context, config);
 		this.worker.modified(this.id());
 
 		if (OpenemsComponent.validateSingleton(this.cm, SINGLETON_SERVICE_PID, SINGLETON_COMPONENT_ID)) {
@@ -110,6 +140,92 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 	protected void deactivate() {
 		super.deactivate();
 		this.worker.deactivate();
+		this.shutdownRetiredProcessImageSwitchers();
+		this.processImageSwitcher.shutdown();
+		this.closeEventDispatcher();
+	}
+
+	private void applyProcessImageSwitcher(Config config) {
+		final int parallelism;
+		if (!config.parallelProcessImage()) {
+			parallelism = 1;
+		} else if (config.processImageThreads() > 0) {
+			parallelism = config.processImageThreads();
+		} else {
+			parallelism = Runtime.getRuntime().availableProcessors();
+		}
+		if (parallelism == this.processImageSwitcher.getParallelism()) {
+			return;
+		}
+		var previous = this.processImageSwitcher;
+		this.processImageSwitcher = new ProcessImageSwitcher(parallelism);
+		// The Cycle thread might still be using the previous one
+		this.retiredProcessImageSwitchers.add(previous);
+	}
+
+	/**
+	 * Shuts down replaced {@link ProcessImageSwitcher}s. Must be called from the
+	 * Cycle thread outside of the Process Image switch.
+	 */
+	protected void shutdownRetiredProcessImageSwitchers() {
+		ProcessImageSwitcher retired;
+		while ((retired = this.retiredProcessImageSwitchers.poll()) != null) {
+			retired.shutdown();
+		}
+	}
+
+	private synchronized void applyEventDispatcher(ComponentContext context, Config config) {
+		if (!config.profileEventHandlers()) {
+			this.closeEventDispatcher();
+			return;
+		}
+		// BundleContext is null in JUnit tests
+		var bundleContext = context == null ? null : context.getBundleContext();
+		if (this.eventDispatcher != null || bundleContext == null) {
+			return;
+		}
+		var eventDispatcher = new CycleEventDispatcher(bundleContext, this.profiler);
+		eventDispatcher.open();
+		this.eventDispatcher = eventDispatcher;
+	}
+
+	private synchronized void closeEventDispatcher() {
+		var eventDispatcher = this.eventDispatcher;
+		this.eventDispatcher = null;
+		if (eventDispatcher != null) {
+			eventDispatcher.close();
+		}
+	}
+
+	/**
+	 * Updates the profiling Channels of each {@link Phase} and the RunDuration
+	 * Channels of each Controller with the statistics over the last Cycles.
+	 *
+	 * <p>
+	 * Called once per completed {@link CycleProfiler#WINDOW_SIZE window}, so the
+	 * window is only sorted when it was completely replaced.
+	 */
+	protected void updateProfileChannels() {
+		for (var phase : Phase.values()) {
+			var summary = this.profiler.getPhaseSummary(phase);
+			for (var entry : CycleProfiler.CHANNEL_IDS.get(phase).entrySet()) {
+				this.channel(entry.getValue()).setNextValue(CycleProfiler.toChannelValue(summary, entry.getKey()));
+			}
+		}
+		this.profiler.updateControllerChannels();
+	}
+
+	@Override
+	public void buildJsonApiRoutes(JsonApiBuilder builder) {
+		builder.handleRequest(new GetCycleProfile(), endpoint -> {
+			endpoint.setDescription("""
+					Gets min/avg/max/p99 durations in [us] of the Cycle phases, Schedulers,
+					Controllers and - if enabled - EventHandlers over the last Cycles.
+					""") //
+					.setGuards(EdgeGuards.roleIsAtleast(Role.ADMIN));
+		}, call -> {
+			return new GetCycleProfile.Response(this.profiler.toJson());
+		});
 	}
 
 	@Override
@@ -0,0 +1,269 @@
+package io.openems.edge.core.cycle;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonObject;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
+import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.channel.ChannelId.ChannelIdImpl;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.controller.api.Controller;
+
+/**
+ * Collects the durations of the phases of the Core.Cycle, of each Scheduler,
+ * each Controller and - if enabled - each synchronous EventHandler over a
+ * sliding window of {@link #WINDOW_SIZE} Cycles.
+ *
+ * <p>
+ * Controller runs are additionally counted in a {@link RollingHistogram} over
+ * the last {@link #CONTROLLER_WINDOWS} windows; its statistics are published
+ * on the RunDuration Channels of each {@link Controller}.
+ *
+ * <p>
+ * Entries of Schedulers, Controllers and EventHandlers that were not executed
+ * during a full window - e.g. because the Component was deactivated - are
+ * evicted in {@link #onCycleFinished()}.
+ */
+public class CycleProfiler {
+
+	public static final int WINDOW_SIZE = 60;
+	public static final int CONTROLLER_WINDOWS = 5;
+
+	private static record ControllerProfile(Controller controller, RollingHistogram histogram) {
+	}
+
+	public enum Phase {
+		BEFORE_PROCESS_IMAGE(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE), //
+		PROCESS_IMAGE(null), //
+		AFTER_PROCESS_IMAGE(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE), //
+		BEFORE_CONTROLLERS(EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS), //
+		CONTROLLERS(null), //
+		AFTER_CONTROLLERS(EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS), //
+		BEFORE_WRITE(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE), //
+		EXECUTE_WRITE(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE), //
+		AFTER_WRITE(EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
+
+		/** The Event topic; null if this phase is not an Event. */
+		public final String topic;
+
+		private Phase(String topic) {
+			this.topic = topic;
+		}
+	}
+
+	public enum Statistic {
+		MIN, AVG, MAX, P99;
+
+		private long of(TimingStatistics.Summary summary) {
+			return switch (this) {
+			case MIN -> summary.min();
+			case AVG -> summary.avg();
+			case MAX -> summary.max();
+			case P99 -> summary.p99();
+			};
+		}
+	}
+
+	/**
+	 * Creates the dynamic Channel-IDs for each {@link Phase} and
+	 * {@link Statistic}, e.g. "ProfileExecuteWriteP99".
+	 *
+	 * @return the Channel-IDs
+	 */
+	private static Map<Phase, Map<Statistic, ChannelIdImpl>> createChannelIds() {
+		var result = new EnumMap<Phase, Map<Statistic, ChannelIdImpl>>(Phase.class);
+		for (var phase : Phase.values()) {
+			var channelIds = new EnumMap<Statistic, ChannelIdImpl>(Statistic.class);
+			for (var statistic : Statistic.values()) {
+				channelIds.put(statistic, new ChannelIdImpl("PROFILE_" + phase.name() + "_" + statistic.name(), //
+						Doc.of(OpenemsType.LONG) //
+								.unit(Unit.MICROSECONDS) //
+								.text(statistic.name() + " duration of " + phase.name() + " over the last "
+										+ WINDOW_SIZE + " Cycles")));
+			}
+			result.put(phase, ImmutableMap.copyOf(channelIds));
+		}
+		return ImmutableMap.copyOf(result);
+	}
+
+	public static final Map<Phase, Map<Statistic, ChannelIdImpl>> CHANNEL_IDS = createChannelIds();
+
+	private final Map<Phase, TimingStatistics> phases;
+	private final Map<String, TimingStatistics> schedulers = new ConcurrentHashMap<>();
+	private final Map<String, ControllerProfile> controllers = new ConcurrentHashMap<>();
+	private final Map<String, Map<String, TimingStatistics>> eventHandlers = new ConcurrentHashMap<>();
+
+	/** Cycles since the last completed window; only accessed by the Cycle thread. */
+	private int cycles = 0;
+
+	public CycleProfiler() {
+		var phases = new EnumMap<Phase, TimingStatistics>(Phase.class);
+		for (var phase : Phase.values()) {
+			phases.put(phase, new TimingStatistics(WINDOW_SIZE));
+		}
+		this.phases = phases;
+	}
+
+	/**
+	 * Adds the duration of a {@link Phase}.
+	 *
+	 * @param phase the {@link Phase}
+	 * @param nanos the duration in [ns]
+	 */
+	public void addPhase(Phase phase, long nanos) {
+		this.phases.get(phase).add(nanos);
+	}
+
+	/**
+	 * Adds the duration of a Scheduler including all of its Controllers.
+	 *
+	 * @param schedulerId the Component-ID of the Scheduler
+	 * @param nanos       the duration in [ns]
+	 */
+	public void addScheduler(String schedulerId, long nanos) {
+		getOrCreate(this.schedulers, schedulerId).add(nanos);
+	}
+
+	/**
+	 * Adds the duration of a Controller run.
+	 *
+	 * @param controller the {@link Controller}
+	 * @param nanos      the duration in [ns]
+	 */
+	public void addController(Controller controller, long nanos) {
+		var profile = this.controllers.get(controller.id());
+		if (profile == null || profile.controller() != controller) {
+			// New or re-activated Controller
+			profile = new ControllerProfile(controller, new RollingHistogram(CONTROLLER_WINDOWS));
+			this.controllers.put(controller.id(), profile);
+		}
+		profile.histogram().add(nanos);
+	}
+
+	/**
+	 * Adds the duration of one EventHandler handling a Cycle Event.
+	 *
+	 * @param topic   the Event topic
+	 * @param handler the name of the EventHandler
+	 * @param nanos   the duration in [ns]
+	 */
+	public void addEventHandler(String topic, String handler, long nanos) {
+		getOrCreate(this.eventHandlers.computeIfAbsent(topic, t -> new ConcurrentHashMap<>()), handler).add(nanos);
+	}
+
+	/**
+	 * Called by the Cycle thread at the end of every Cycle. After every
+	 * {@link #WINDOW_SIZE} Cycles the entries without samples during the
+	 * finished window are evicted.
+	 *
+	 * @return true if a window was completed
+	 */
+	public boolean onCycleFinished() {
+		if (++this.cycles < WINDOW_SIZE) {
+			return false;
+		}
+		this.cycles = 0;
+		evictStale(this.schedulers);
+		this.controllers.values().removeIf(profile -> !profile.histogram().rollover());
+		this.eventHandlers.values().removeIf(handlers -> {
+			evictStale(handlers);
+			return handlers.isEmpty();
+		});
+		return true;
+	}
+
+	/**
+	 * Gets the {@link TimingStatistics.Summary} of a {@link Phase}.
+	 *
+	 * @param phase the {@link Phase}
+	 * @return the {@link TimingStatistics.Summary}
+	 */
+	public TimingStatistics.Summary getPhaseSummary(Phase phase) {
+		return this.phases.get(phase).getSummary();
+	}
+
+	/**
+	 * Sets the RunDuration statistics Channels of every {@link Controller} that
+	 * was executed during the last window.
+	 */
+	public void updateControllerChannels() {
+		for (var profile : this.controllers.values()) {
+			var summary = profile.histogram().getSummary();
+			var controller = profile.controller();
+			controller._setRunDurationMin(toChannelValue(summary, Statistic.MIN));
+			controller._setRunDurationAvg(toChannelValue(summary, Statistic.AVG));
+			controller._setRunDurationMax(toChannelValue(summary, Statistic.MAX));
+			controller._setRunDurationP99(toChannelValue(summary, Statistic.P99));
+		}
+	}
+
+	/**
+	 * Gets the value for a {@link Statistic} from a
+	 * {@link TimingStatistics.Summary}.
+	 *
+	 * @param summary   the {@link TimingStatistics.Summary}
+	 * @param statistic the {@link Statistic}
+	 * @return the value in [us]; null if there are no samples
+	 */
+	public static Long toChannelValue(TimingStatistics.Summary summary, Statistic statistic) {
+		if (summary.count() == 0) {
+			return null;
+		}
+		return TimingStatistics.toMicros(statistic.of(summary));
+	}
+
+	/**
+	 * Serializes all collected statistics. Durations are in [us].
+	 *
+	 * @return a {@link JsonObject}
+	 */
+	public JsonObject toJson() {
+		var phases = JsonUtils.buildJsonObject();
+		for (var entry : this.phases.entrySet()) {
+			phases.add(entry.getKey().name(), entry.getValue().getSummary().toJson());
+		}
+		var eventHandlers = JsonUtils.buildJsonObject();
+		for (var entry : new TreeMap<>(this.eventHandlers).entrySet()) {
+			eventHandlers.add(entry.getKey(), toJson(entry.getValue(), TimingStatistics::getSummary));
+		}
+		return JsonUtils.buildJsonObject() //
+				.addProperty("windowSize", WINDOW_SIZE) //
+				.addProperty("controllerWindows", CONTROLLER_WINDOWS) //
+				.add("phases", phases.build()) //
+				.add("schedulers", toJson(this.schedulers, TimingStatistics::getSummary)) //
+				.add("controllers", toJson(this.controllers, p -> p.histogram().getSummary())) //
+				.add("eventHandlers", eventHandlers.build()) //
+				.build();
+	}
+
+	private static <T> JsonObject toJson(Map<String, T> statistics,
+			Function<T, TimingStatistics.Summary> summary) {
+		var result = JsonUtils.buildJsonObject();
+		for (Entry<String, T> entry : new TreeMap<>(statistics).entrySet()) {
+			result.add(entry.getKey(), summary.apply(entry.getValue()).toJson());
+		}
+		return result.build();
+	}
+
+	private static void evictStale(Map<String, TimingStatistics> statistics) {
+		statistics.values().removeIf(s -> !s.wasUpdated());
+	}
+
+	private static TimingStatistics getOrCreate(Map<String, TimingStatistics> map, String key) {
+		var statistics = map.get(key);
+		if (statistics != null) {
+			return statistics;
+		}
+		return map.computeIfAbsent(key, k -> new TimingStatistics(WINDOW_SIZE));
+	}
+
+}
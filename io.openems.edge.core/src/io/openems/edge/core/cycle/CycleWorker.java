@@ -11,9 +11,9 @@ import info.faljse.SDNotify.SDNotify;
 import io.openems.common.event.EventBuilder;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.worker.AbstractWorker;
-import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.sum.Sum;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.core.cycle.CycleProfiler.Phase;
 import io.openems.edge.scheduler.api.Scheduler;
 
 public class CycleWorker extends AbstractWorker {
@@ -21,6 +21,9 @@ public class CycleWorker extends AbstractWorker {
 	private final Logger log = LoggerFactory.getLogger(CycleWorker.class);
 	private final CycleImpl parent;
 
+	/** Accumulated time for handling Cycle Events in the current Cycle. */
+	private long eventsNanos = 0;
+
 	public CycleWorker(CycleImpl parent) {
 		this.parent = parent;
 	}
@@ -34,6 +37,9 @@ public class CycleWorker extends AbstractWorker {
 	protected void forever() {
 		// Prepare Cycle-Time measurement
 		var stopwatch = Stopwatch.createStarted();
+		this.eventsNanos = 0;
+		long processImageNanos = 0;
+		long controllersNanos = 0;
 
 		// Kick Operating System Watchdog
 		var socketName = System.getenv().get("NOTIFY_SOCKET");
@@ -43,22 +49,23 @@ public class CycleWorker extends AbstractWorker {
 			}
 		}
 
+		// Shut down ProcessImageSwitchers that were replaced by a configuration change
+		this.parent.shutdownRetiredProcessImageSwitchers();
+
 		try {
 			/*
 			 * Trigger BEFORE_PROCESS_IMAGE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE);
+			this.sendEvent(Phase.BEFORE_PROCESS_IMAGE);
 
 			/*
 			 * Before Controllers start: switch to next process image for each channel
 			 */
-			this.parent.componentManager.getEnabledComponents().stream() //
-					.filter(c -> c.isEnabled() && !(c instanceof Sum)) //
-					.forEach(component -> {
-						component.channels().forEach(channel -> {
-							channel.nextProcessImage();
-						});
-					});
+			final var processImageStart = System.nanoTime();
+			this.parent.processImageSwitcher.switchProcessImage(//
+					this.parent.componentManager.getEnabledComponents().stream() //
+							.filter(c -> c.isEnabled() && !(c instanceof Sum)) //
+							.toList());
 			this.parent.channels().forEach(channel -> {
 				channel.nextProcessImage();
 			});
@@ -70,17 +77,20 @@ public class CycleWorker extends AbstractWorker {
 			this.parent.sumComponent.channels().forEach(channel -> {
 				channel.nextProcessImage();
 			});
+			processImageNanos = System.nanoTime() - processImageStart;
+			this.parent.profiler.addPhase(Phase.PROCESS_IMAGE, processImageNanos);
 
 			/*
 			 * Trigger AFTER_PROCESS_IMAGE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE);
+			this.sendEvent(Phase.AFTER_PROCESS_IMAGE);
 
 			/*
 			 * Trigger BEFORE_CONTROLLERS event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS);
+			this.sendEvent(Phase.BEFORE_CONTROLLERS);
 
+			final var controllersStart = System.nanoTime();
 			var hasDisabledController = false;
 
 			/*
@@ -90,6 +100,7 @@ public class CycleWorker extends AbstractWorker {
 				this.parent.logWarn(this.log, "There are no Schedulers configured!");
 			} else {
 				for (Scheduler scheduler : this.parent.schedulers) {
+					final var schedulerStart = System.nanoTime();
 					var schedulerControllerIsMissing = false;
 
 					for (String controllerId : scheduler.getControllers()) {
@@ -109,6 +120,7 @@ public class CycleWorker extends AbstractWorker {
 							continue;
 						}
 
+						final var controllerStart = System.nanoTime();
 						try {
 							// Execute Controller logic
 							controller.run();
@@ -133,35 +145,41 @@ public class CycleWorker extends AbstractWorker {
 							// announce running failed
 							controller._setRunFailed(true);
 						}
+						final var controllerNanos = System.nanoTime() - controllerStart;
+						this.parent.profiler.addController(controller, controllerNanos);
+						controller._setRunDuration(TimeUnit.NANOSECONDS.toMicros(controllerNanos));
 					}
 
 					// announce Scheduler Controller is missing
 					scheduler._setControllerIsMissing(schedulerControllerIsMissing);
+					this.parent.profiler.addScheduler(scheduler.id(), System.nanoTime() - schedulerStart);
 				}
 			}
 
 			// announce ignoring disabled Controllers.
 			this.parent._setIgnoreDisabledController(hasDisabledController);
+			controllersNanos = System.nanoTime() - controllersStart;
+			this.parent.profiler.addPhase(Phase.CONTROLLERS, controllersNanos);
 
 			/*
 			 * Trigger AFTER_CONTROLLERS event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS);
+			this.sendEvent(Phase.AFTER_CONTROLLERS);
 
 			/*
 			 * Trigger BEFORE_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE);
+			this.sendEvent(Phase.BEFORE_WRITE);
 
 			/*
 			 * Trigger EXECUTE_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE);
+			this.sendEvent(Phase.EXECUTE_WRITE);
 
 			/*
 			 * Trigger AFTER_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
+			this.sendEvent(Phase.AFTER_WRITE);
 
 		} catch (Throwable t) {
 			this.parent.logWarn(this.log,
@@ -173,6 +191,31 @@ public class CycleWorker extends AbstractWorker {
 
 		// Measure actual Cycle-Time
 		this.parent._setMeasuredCycleTime(stopwatch.elapsed(TimeUnit.MILLISECONDS));
+		this.parent._setMeasuredProcessImageTime(TimeUnit.NANOSECONDS.toMicros(processImageNanos));
+		this.parent._setMeasuredControllersTime(TimeUnit.NANOSECONDS.toMicros(controllersNanos));
+		this.parent._setMeasuredEventsTime(TimeUnit.NANOSECONDS.toMicros(this.eventsNanos));
+		if (this.parent.profiler.onCycleFinished()) {
+			this.parent.updateProfileChannels();
+		}
+	}
+
+	/**
+	 * Synchronously sends the Cycle Event of a {@link Phase} and measures the time
+	 * for handling it.
+	 *
+	 * @param phase the {@link Phase}
+	 */
+	private void sendEvent(Phase phase) {
+		final var start = System.nanoTime();
+		var eventDispatcher = this.parent.eventDispatcher;
+		if (eventDispatcher != null) {
+			eventDispatcher.send(phase.topic);
+		} else {
+			EventBuilder.send(this.parent.eventAdmin, phase.topic);
+		}
+		final var nanos = System.nanoTime() - start;
+		this.eventsNanos += nanos;
+		this.parent.profiler.addPhase(phase, nanos);
 	}
 
 }
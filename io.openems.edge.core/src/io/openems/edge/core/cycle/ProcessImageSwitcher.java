@@ -0,0 +1,141 @@
+package io.openems.edge.core.cycle;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Switches the Process Image of all Channels of a List of Components, either
+ * serially on the calling thread or partitioned across a bounded
+ * {@link ForkJoinPool}.
+ *
+ * <p>
+ * Ordering guarantees in parallel mode:
+ * <ul>
+ * <li>All Channels of one Component are switched on the same thread, in the
+ * order of {@link OpenemsComponent#channels()}. Callbacks within one Component
+ * observe the same order as in serial mode.
+ * <li>Different Components are switched concurrently. Callbacks
+ * ({@link Channel#onUpdate(java.util.function.Consumer)},
+ * {@link Channel#onChange(java.util.function.BiConsumer)}) that read or write
+ * Channels of another Component must not rely on that Component being switched
+ * already - or not yet.
+ * <li>{@link #switchProcessImage(List)} returns only after all Channels were
+ * switched, i.e. all effects are visible to the Cycle thread before the
+ * AFTER_PROCESS_IMAGE event.
+ * </ul>
+ */
+public class ProcessImageSwitcher {
+
+	/**
+	 * Each worker gets roughly this many partitions to balance Components with
+	 * differing number of Channels.
+	 */
+	private static final int PARTITIONS_PER_THREAD = 4;
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates a {@link ProcessImageSwitcher}.
+	 *
+	 * @param parallelism the number of threads; values smaller than 2 switch the
+	 *                    Process Image serially on the calling thread
+	 */
+	public ProcessImageSwitcher(int parallelism) {
+		if (parallelism < 2) {
+			this.pool = null;
+		} else {
+			this.pool = new ForkJoinPool(parallelism, pool -> {
+				var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				thread.setName("Core.Cycle:ProcessImage-" + thread.getPoolIndex());
+				return thread;
+			}, null, false);
+		}
+	}
+
+	/**
+	 * Gets the number of threads used for switching the Process Image.
+	 *
+	 * @return the parallelism; 1 for serial mode
+	 */
+	public int getParallelism() {
+		return this.pool == null ? 1 : this.pool.getParallelism();
+	}
+
+	/**
+	 * Switches the Process Image of all Channels of the given Components.
+	 *
+	 * @param components the Components
+	 */
+	public void switchProcessImage(List<? extends OpenemsComponent> components) {
+		if (this.pool == null || this.pool.isShutdown() || components.size() < 2) {
+			switchProcessImage(components, 0, components.size());
+			return;
+		}
+		var threshold = Math.max(1, components.size() / (this.pool.getParallelism() * PARTITIONS_PER_THREAD));
+		try {
+			this.pool.invoke(new Partition(components, 0, components.size(), threshold));
+		} catch (RejectedExecutionException e) {
+			// Pool was shut down concurrently; nothing was switched yet
+			switchProcessImage(components, 0, components.size());
+		}
+	}
+
+	/**
+	 * Shuts down the {@link ForkJoinPool}.
+	 */
+	public void shutdown() {
+		if (this.pool == null) {
+			return;
+		}
+		this.pool.shutdown();
+		try {
+			this.pool.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void switchProcessImage(List<? extends OpenemsComponent> components, int from, int to) {
+		for (var i = from; i < to; i++) {
+			for (var channel : components.get(i).channels()) {
+				channel.nextProcessImage();
+			}
+		}
+	}
+
+	private static class Partition extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient List<? extends OpenemsComponent> components;
+		private final int from;
+		private final int to;
+		private final int threshold;
+
+		private Partition(List<? extends OpenemsComponent> components, int from, int to, int threshold) {
+			this.components = components;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= this.threshold) {
+				switchProcessImage(this.components, this.from, this.to);
+				return;
+			}
+			var mid = (this.from + this.to) >>> 1;
+			invokeAll(//
+					new Partition(this.components, this.from, mid, this.threshold), //
+					new Partition(this.components, mid, this.to, this.threshold));
+		}
+	}
+
+}
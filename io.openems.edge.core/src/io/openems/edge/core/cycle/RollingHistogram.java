@@ -0,0 +1,159 @@
+package io.openems.edge.core.cycle;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogram of durations over the last completed windows and the current one.
+ * The caller starts a new window via {@link #rollover()}; the oldest window is
+ * dropped.
+ *
+ * <p>
+ * Durations are counted in logarithmic buckets of [us] with
+ * {@link #SUB_BUCKETS} sub-buckets per power of two, so percentiles have a
+ * relative error of at most 12.5 %, while memory and the cost of
+ * {@link #add(long)} do not depend on the number of samples. Min, avg and max
+ * are exact.
+ */
+public class RollingHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/** Covers durations up to {@link Integer#MAX_VALUE} [us]; longer ones are capped. */
+	protected static final int BUCKETS = (Integer.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final int windows;
+	private final int[][] counts;
+	private final int[] count;
+	private final long[] sum;
+	private final long[] min;
+	private final long[] max;
+
+	/** Index of the current window. */
+	private int current = 0;
+
+	/**
+	 * Creates a {@link RollingHistogram}.
+	 *
+	 * @param windows the number of completed windows to keep
+	 */
+	public RollingHistogram(int windows) {
+		if (windows < 1) {
+			throw new IllegalArgumentException("Number of windows must be positive");
+		}
+		this.windows = windows + 1; // plus the current window
+		this.counts = new int[this.windows][BUCKETS];
+		this.count = new int[this.windows];
+		this.sum = new long[this.windows];
+		this.min = new long[this.windows];
+		this.max = new long[this.windows];
+		Arrays.fill(this.min, Long.MAX_VALUE);
+		Arrays.fill(this.max, Long.MIN_VALUE);
+	}
+
+	/**
+	 * Adds a measured duration to the current window.
+	 *
+	 * @param nanos the duration in [ns]
+	 */
+	public synchronized void add(long nanos) {
+		final var w = this.current;
+		this.counts[w][bucketOf(TimeUnit.NANOSECONDS.toMicros(nanos))]++;
+		this.count[w]++;
+		this.sum[w] += nanos;
+		this.min[w] = Math.min(this.min[w], nanos);
+		this.max[w] = Math.max(this.max[w], nanos);
+	}
+
+	/**
+	 * Finishes the current window and starts a new one, which replaces the oldest
+	 * window.
+	 *
+	 * @return true if samples were added to the finished window
+	 */
+	public synchronized boolean rollover() {
+		final var wasUpdated = this.count[this.current] > 0;
+		final var w = (this.current + 1) % this.windows;
+		Arrays.fill(this.counts[w], 0);
+		this.count[w] = 0;
+		this.sum[w] = 0;
+		this.min[w] = Long.MAX_VALUE;
+		this.max[w] = Long.MIN_VALUE;
+		this.current = w;
+		return wasUpdated;
+	}
+
+	/**
+	 * Calculates the {@link TimingStatistics.Summary} over all windows, including
+	 * the current one.
+	 *
+	 * @return the {@link TimingStatistics.Summary};
+	 *         {@link TimingStatistics.Summary#EMPTY} if no samples exist
+	 */
+	public synchronized TimingStatistics.Summary getSummary() {
+		var count = 0;
+		var sum = 0L;
+		var min = Long.MAX_VALUE;
+		var max = Long.MIN_VALUE;
+		for (var w = 0; w < this.windows; w++) {
+			count += this.count[w];
+			sum += this.sum[w];
+			min = Math.min(min, this.min[w]);
+			max = Math.max(max, this.max[w]);
+		}
+		if (count == 0) {
+			return TimingStatistics.Summary.EMPTY;
+		}
+
+		// Nearest-rank method on the merged buckets
+		final var rank = (int) Math.ceil(0.99 * count);
+		var cumulated = 0;
+		var p99 = max;
+		for (var bucket = 0; bucket < BUCKETS; bucket++) {
+			for (var w = 0; w < this.windows; w++) {
+				cumulated += this.counts[w][bucket];
+			}
+			if (cumulated >= rank) {
+				// Upper bound of the bucket, but never outside the exact min/max
+				p99 = Math.max(min, Math.min(max, TimeUnit.MICROSECONDS.toNanos(upperBoundOf(bucket) + 1) - 1));
+				break;
+			}
+		}
+		return new TimingStatistics.Summary(count, min, sum / count, max, p99);
+	}
+
+	/**
+	 * Gets the bucket of a duration.
+	 *
+	 * @param micros the duration in [us]
+	 * @return the index of the bucket
+	 */
+	protected static int bucketOf(long micros) {
+		if (micros < SUB_BUCKETS) {
+			return (int) Math.max(0, micros);
+		}
+		final var exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+		if (exponent >= Integer.SIZE - 1) {
+			return BUCKETS - 1;
+		}
+		final var subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Gets the highest duration that is counted in a bucket.
+	 *
+	 * @param bucket the index of the bucket
+	 * @return the duration in [us]
+	 */
+	protected static long upperBoundOf(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		final var shift = bucket / SUB_BUCKETS - 1;
+		final var lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return lowerBound + (1L << shift) - 1;
+	}
+
+}
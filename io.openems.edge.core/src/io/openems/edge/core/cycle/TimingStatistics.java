@@ -0,0 +1,115 @@
+package io.openems.edge.core.cycle;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Holds the last {@link #windowSize} durations of a measured section and
+ * provides min/avg/max/p99 over this sliding window.
+ */
+public class TimingStatistics {
+
+	/**
+	 * Summary of a {@link TimingStatistics} window. All durations in [ns].
+	 */
+	public static record Summary(int count, long min, long avg, long max, long p99) {
+
+		public static final Summary EMPTY = new Summary(0, 0, 0, 0, 0);
+
+		/**
+		 * Serializes this {@link Summary}. Durations are converted to [us].
+		 *
+		 * @return a {@link JsonObject}
+		 */
+		public JsonObject toJson() {
+			return JsonUtils.buildJsonObject() //
+					.addProperty("count", this.count) //
+					.addProperty("min", toMicros(this.min)) //
+					.addProperty("avg", toMicros(this.avg)) //
+					.addProperty("max", toMicros(this.max)) //
+					.addProperty("p99", toMicros(this.p99)) //
+					.build();
+		}
+	}
+
+	private final int windowSize;
+	private final long[] samples;
+
+	/** Total number of samples ever added. */
+	private long total = 0;
+
+	/** {@link #total} at the last call of {@link #wasUpdated()}. */
+	private long mark = 0;
+
+	public TimingStatistics(int windowSize) {
+		if (windowSize < 1) {
+			throw new IllegalArgumentException("Window size must be positive");
+		}
+		this.windowSize = windowSize;
+		this.samples = new long[windowSize];
+	}
+
+	/**
+	 * Adds a measured duration.
+	 *
+	 * @param nanos the duration in [ns]
+	 */
+	public synchronized void add(long nanos) {
+		this.samples[(int) (this.total % this.windowSize)] = nanos;
+		this.total++;
+	}
+
+	/**
+	 * Gets the number of samples ever added.
+	 *
+	 * @return the number of samples
+	 */
+	public synchronized long getTotal() {
+		return this.total;
+	}
+
+	/**
+	 * Checks whether samples were added since the last call of this method.
+	 *
+	 * @return true if samples were added
+	 */
+	public synchronized boolean wasUpdated() {
+		var result = this.total != this.mark;
+		this.mark = this.total;
+		return result;
+	}
+
+	/**
+	 * Calculates the {@link Summary} of the current window.
+	 *
+	 * @return the {@link Summary}; {@link Summary#EMPTY} if no samples exist
+	 */
+	public Summary getSummary() {
+		final long[] window;
+		synchronized (this) {
+			var count = (int) Math.min(this.total, this.windowSize);
+			if (count == 0) {
+				return Summary.EMPTY;
+			}
+			window = Arrays.copyOf(this.samples, count);
+		}
+		Arrays.sort(window);
+		long sum = 0;
+		for (var sample : window) {
+			sum += sample;
+		}
+		// Nearest-rank method
+		var p99Index = (int) Math.ceil(0.99 * window.length) - 1;
+		return new Summary(window.length, window[0], sum / window.length, window[window.length - 1],
+				window[p99Index]);
+	}
+
+	protected static long toMicros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+
+}
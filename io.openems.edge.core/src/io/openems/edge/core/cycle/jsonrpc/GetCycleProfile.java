@@ -0,0 +1,68 @@
+package io.openems.edge.core.cycle.jsonrpc;
+
+import static io.openems.common.jsonrpc.serialization.JsonSerializerUtil.emptyObjectSerializer;
+import static io.openems.common.jsonrpc.serialization.JsonSerializerUtil.jsonObjectSerializer;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.jsonrpc.serialization.JsonSerializer;
+import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.jsonapi.EndpointRequestType;
+import io.openems.edge.core.cycle.jsonrpc.GetCycleProfile.Request;
+import io.openems.edge.core.cycle.jsonrpc.GetCycleProfile.Response;
+
+public class GetCycleProfile implements EndpointRequestType<Request, Response> {
+
+	@Override
+	public String getMethod() {
+		return "getCycleProfile";
+	}
+
+	@Override
+	public JsonSerializer<Request> getRequestSerializer() {
+		return Request.serializer();
+	}
+
+	@Override
+	public JsonSerializer<Response> getResponseSerializer() {
+		return Response.serializer();
+	}
+
+	public record Request() {
+
+		/**
+		 * Returns a {@link JsonSerializer} for a {@link GetCycleProfile.Request}.
+		 * 
+		 * @return the created {@link JsonSerializer}
+		 */
+		public static JsonSerializer<Request> serializer() {
+			return emptyObjectSerializer(Request::new);
+		}
+
+	}
+
+	/**
+	 * The profile with 'windowSize', 'phases', 'schedulers', 'controllers' and
+	 * 'eventHandlers'; each statistic has 'count', 'min', 'avg', 'max' and 'p99'
+	 * in [us].
+	 */
+	public record Response(JsonObject profile) {
+
+		/**
+		 * Returns a {@link JsonSerializer} for a {@link GetCycleProfile.Response}.
+		 * 
+		 * @return the created {@link JsonSerializer}
+		 */
+		public static JsonSerializer<GetCycleProfile.Response> serializer() {
+			return jsonObjectSerializer(GetCycleProfile.Response.class, json -> {
+				return new Response(json.getJsonElementPath("profile").getAsJsonObjectPath().get());
+			}, obj -> {
+				return JsonUtils.buildJsonObject() //
+						.add("profile", obj.profile()) //
+						.build();
+			});
+		}
+
+	}
+
+}
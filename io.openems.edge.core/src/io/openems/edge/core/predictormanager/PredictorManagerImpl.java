@@ -3,8 +3,14 @@ package io.openems.edge.core.predictormanager;
 import static io.openems.edge.common.channel.ChannelId.channelIdCamelToUpper;
 import static io.openems.edge.predictor.api.prediction.Prediction.EMPTY_PREDICTION;
 import static io.openems.edge.predictor.api.prediction.Prediction.sum;
+import static java.util.stream.Collectors.toSet;
 
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.osgi.service.cm.ConfigurationAdmin;
@@ -22,15 +28,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.session.Role;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.jsonapi.ComponentJsonApi;
+import io.openems.edge.common.jsonapi.EdgeGuards;
+import io.openems.edge.common.jsonapi.JsonApiBuilder;
 import io.openems.edge.common.sum.Sum;
+import io.openems.edge.core.predictormanager.jsonrpc.GetPredictions;
 import io.openems.edge.ess.dccharger.api.EssDcCharger;
 import io.openems.edge.meter.api.ElectricityMeter;
 import io.openems.edge.predictor.api.manager.PredictorManager;
 import io.openems.edge.predictor.api.prediction.Prediction;
+import io.openems.edge.predictor.api.prediction.PredictionSnapshot;
 import io.openems.edge.predictor.api.prediction.Predictor;
 
 @Designate(ocd = Config.class, factory = false)
@@ -40,7 +52,8 @@ import io.openems.edge.predictor.api.prediction.Predictor;
 		property = { //
 				"enabled=true" //
 		})
-public class PredictorManagerImpl extends AbstractOpenemsComponent implements PredictorManager, OpenemsComponent {
+public class PredictorManagerImpl extends AbstractOpenemsComponent
+		implements PredictorManager, OpenemsComponent, ComponentJsonApi {
 
 	private final Logger log = LoggerFactory.getLogger(PredictorManagerImpl.class);
 
@@ -56,6 +69,8 @@ public class PredictorManagerImpl extends AbstractOpenemsComponent implements Pr
 			target = "(enabled=true)")
 	private volatile List<Predictor> predictors = new CopyOnWriteArrayList<>();
 
+	private volatile PredictionSnapshot snapshot = PredictionSnapshot.EMPTY;
+
 	public PredictorManagerImpl() {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
@@ -89,11 +104,71 @@ public class PredictorManagerImpl extends AbstractOpenemsComponent implements Pr
 
 	@Override
 	public Prediction getPrediction(ChannelAddress channelAddress) {
-		var predictor = this.getPredictorBestMatch(channelAddress);
-		if (predictor != null) {
-			return predictor.getPrediction(channelAddress);
+		return this.getPredictions(Set.of(channelAddress)).get(channelAddress);
+	}
+
+	@Override
+	public Map<ChannelAddress, Prediction> getPredictions(Set<ChannelAddress> channelAddresses) {
+		var result = this.createPredictions(channelAddresses);
+		this.updateSnapshot(result);
+		return result;
+	}
+
+	@Override
+	public PredictionSnapshot getSnapshot() {
+		return this.snapshot;
+	}
+
+	@Override
+	public void buildJsonApiRoutes(JsonApiBuilder builder) {
+		builder.handleRequest(new GetPredictions(), endpoint -> {
+			endpoint.setDescription("""
+					Gets the latest Predictions that were requested by any consumer. Never creates
+					new Predictions; an empty list of 'channels' returns all available Channels.
+					""") //
+					.setGuards(EdgeGuards.roleIsAtleast(Role.GUEST));
+		}, call -> {
+			return GetPredictions.Response.from(this.snapshot, call.getRequest().channels());
+		});
+	}
+
+	/**
+	 * Gets the {@link Prediction}s for the given {@link ChannelAddress}es; all
+	 * {@link ChannelAddress}es of one {@link Predictor} are requested in one
+	 * batch.
+	 *
+	 * @param channelAddresses the {@link ChannelAddress}es
+	 * @return a {@link Prediction} for every {@link ChannelAddress}
+	 */
+	private Map<ChannelAddress, Prediction> createPredictions(Set<ChannelAddress> channelAddresses) {
+		var result = new HashMap<ChannelAddress, Prediction>();
+		var batches = new HashMap<Predictor, Set<ChannelAddress>>();
+		for (var channelAddress : channelAddresses) {
+			var predictor = this.getPredictorBestMatch(channelAddress);
+			if (predictor != null) {
+				batches.computeIfAbsent(predictor, p -> new HashSet<>()).add(channelAddress);
+			} else {
+				// No explicit predictor found
+				result.put(channelAddress, this.createPredictionFallback(channelAddress));
+			}
 		}
-		// No explicit predictor found
+		batches.forEach((predictor, batch) -> {
+			var predictions = predictor.getPredictions(batch);
+			for (var channelAddress : batch) {
+				result.put(channelAddress, predictions.getOrDefault(channelAddress, EMPTY_PREDICTION));
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Gets the {@link Prediction} for a {@link ChannelAddress} without explicit
+	 * {@link Predictor}.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return the {@link Prediction}
+	 */
+	private Prediction createPredictionFallback(ChannelAddress channelAddress) {
 		if (channelAddress.getComponentId().equals(Sum.SINGLETON_COMPONENT_ID)) {
 			// This is a Sum-Channel. Try to get predictions for each source channel.
 			try {
@@ -110,6 +185,23 @@ public class PredictorManagerImpl extends AbstractOpenemsComponent implements Pr
 		}
 	}
 
+	/**
+	 * Updates the shared {@link PredictionSnapshot}; the version is only
+	 * incremented if any value changed. Unchanged {@link Prediction}s are detected
+	 * without locking and without copying the snapshot.
+	 *
+	 * @param predictions the new {@link Prediction}s
+	 */
+	private void updateSnapshot(Map<ChannelAddress, Prediction> predictions) {
+		final var now = ZonedDateTime.now(this.componentManager.getClock());
+		if (this.snapshot.contains(now, predictions)) {
+			return;
+		}
+		synchronized (this) {
+			this.snapshot = this.snapshot.with(now, predictions);
+		}
+	}
+
 	/**
 	 * Gets the {@link Prediction} for a Sum-Channel.
 	 *
@@ -138,10 +230,12 @@ public class PredictorManagerImpl extends AbstractOpenemsComponent implements Pr
 				HAS_IGNORED_COMPONENT_STATES ->
 			EMPTY_PREDICTION;
 
-		case UNMANAGED_CONSUMPTION_ACTIVE_POWER ->
+		case UNMANAGED_CONSUMPTION_ACTIVE_POWER -> {
 			// Fallback for elder systems that only provide predictors for
 			// ConsumptionActivePower by default
-			this.getPrediction(new ChannelAddress("_sum", "ConsumptionActivePower"));
+			var channelAddress = new ChannelAddress("_sum", "ConsumptionActivePower");
+			yield this.createPredictions(Set.of(channelAddress)).get(channelAddress);
+		}
 
 		// TODO
 		case CONSUMPTION_ACTIVE_POWER -> EMPTY_PREDICTION;
@@ -149,13 +243,10 @@ public class PredictorManagerImpl extends AbstractOpenemsComponent implements Pr
 		case PRODUCTION_DC_ACTUAL_POWER -> {
 			// Sum up "ActualPower" prediction of all EssDcChargers
 			List<EssDcCharger> chargers = this.componentManager.getEnabledComponentsOfType(EssDcCharger.class);
-			var predictions = new Prediction[chargers.size()];
-			for (var i = 0; i < chargers.size(); i++) {
-				var charger = chargers.get(i);
-				predictions[i] = this
-						.getPrediction(new ChannelAddress(charger.id(), EssDcCharger.ChannelId.ACTUAL_POWER.id()));
-			}
-			yield sum(predictions);
+			var predictions = this.createPredictions(chargers.stream() //
+					.map(charger -> new ChannelAddress(charger.id(), EssDcCharger.ChannelId.ACTUAL_POWER.id())) //
+					.collect(toSet()));
+			yield sum(predictions.values().toArray(Prediction[]::new));
 		}
 
 		case PRODUCTION_AC_ACTIVE_POWER -> {
@@ -176,13 +267,10 @@ public class PredictorManagerImpl extends AbstractOpenemsComponent implements Pr
 						// should never come here
 						return false;
 					}).toList();
-			var predictions = new Prediction[meters.size()];
-			for (var i = 0; i < meters.size(); i++) {
-				var meter = meters.get(i);
-				predictions[i] = this
-						.getPrediction(new ChannelAddress(meter.id(), ElectricityMeter.ChannelId.ACTIVE_POWER.id()));
-			}
-			yield sum(predictions);
+			var predictions = this.createPredictions(meters.stream() //
+					.map(meter -> new ChannelAddress(meter.id(), ElectricityMeter.ChannelId.ACTIVE_POWER.id())) //
+					.collect(toSet()));
+			yield sum(predictions.values().toArray(Prediction[]::new));
 		}
 
 		case PRODUCTION_ACTIVE_POWER -> sum(//
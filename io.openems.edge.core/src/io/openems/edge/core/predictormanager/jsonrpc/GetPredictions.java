@@ -0,0 +1,140 @@
+package io.openems.edge.core.predictormanager.jsonrpc;
+
+import static io.openems.common.jsonrpc.serialization.JsonSerializerUtil.jsonObjectSerializer;
+
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsRuntimeException;
+import io.openems.common.jsonrpc.serialization.JsonSerializer;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.jsonapi.EndpointRequestType;
+import io.openems.edge.core.predictormanager.jsonrpc.GetPredictions.Request;
+import io.openems.edge.core.predictormanager.jsonrpc.GetPredictions.Response;
+import io.openems.edge.predictor.api.prediction.PredictionSnapshot;
+
+public class GetPredictions implements EndpointRequestType<Request, Response> {
+
+	@Override
+	public String getMethod() {
+		return "getPredictions";
+	}
+
+	@Override
+	public JsonSerializer<Request> getRequestSerializer() {
+		return Request.serializer();
+	}
+
+	@Override
+	public JsonSerializer<Response> getResponseSerializer() {
+		return Response.serializer();
+	}
+
+	public record Request(//
+			List<ChannelAddress> channels // empty for all Channels
+	) {
+
+		/**
+		 * Returns a {@link JsonSerializer} for a {@link GetPredictions.Request}.
+		 *
+		 * @return the created {@link JsonSerializer}
+		 */
+		public static JsonSerializer<Request> serializer() {
+			return jsonObjectSerializer(Request.class, //
+					json -> new Request(json.getList("channels", t -> toChannelAddress(t.getAsString()))), //
+					obj -> JsonUtils.buildJsonObject() //
+							.add("channels", obj.channels().stream() //
+									.map(c -> JsonUtils.toJson(c.toString())) //
+									.collect(JsonUtils.toJsonArray())) //
+							.build());
+		}
+
+		private static ChannelAddress toChannelAddress(String channel) {
+			try {
+				return ChannelAddress.fromString(channel);
+			} catch (OpenemsNamedException e) {
+				throw new OpenemsRuntimeException(e.getMessage(), e);
+			}
+		}
+
+	}
+
+	/**
+	 * The Predictions of a {@link PredictionSnapshot}: one value per quarter,
+	 * starting at 'time'; missing values are null.
+	 */
+	public record Response(//
+			long version, //
+			ZonedDateTime time, //
+			Map<ChannelAddress, Integer[]> predictions //
+	) {
+
+		/**
+		 * Creates a {@link Response} from a {@link PredictionSnapshot}.
+		 *
+		 * @param snapshot the {@link PredictionSnapshot}
+		 * @param channels the requested Channels; empty for all Channels
+		 * @return the {@link Response}
+		 */
+		public static Response from(PredictionSnapshot snapshot, List<ChannelAddress> channels) {
+			var predictions = new LinkedHashMap<ChannelAddress, Integer[]>();
+			for (var channel : channels.isEmpty() ? snapshot.getChannelAddresses() : channels) {
+				var values = new Integer[snapshot.size(channel)];
+				for (var i = 0; i < values.length; i++) {
+					var value = snapshot.get(channel, i);
+					values[i] = value == PredictionSnapshot.NULL ? null : value;
+				}
+				predictions.put(channel, values);
+			}
+			return new Response(snapshot.getVersion(), snapshot.getTime(), predictions);
+		}
+
+		/**
+		 * Returns a {@link JsonSerializer} for a {@link GetPredictions.Response}.
+		 *
+		 * @return the created {@link JsonSerializer}
+		 */
+		public static JsonSerializer<GetPredictions.Response> serializer() {
+			return jsonObjectSerializer(GetPredictions.Response.class, json -> {
+				var j = json.get();
+				var predictions = new LinkedHashMap<ChannelAddress, Integer[]>();
+				for (var entry : json.getJsonObject("predictions").entrySet()) {
+					var array = entry.getValue().getAsJsonArray();
+					var values = new Integer[array.size()];
+					for (var i = 0; i < values.length; i++) {
+						var value = array.get(i);
+						values[i] = value.isJsonNull() ? null : value.getAsInt();
+					}
+					predictions.put(Request.toChannelAddress(entry.getKey()), values);
+				}
+				return new Response(j.get("version").getAsLong(), //
+						j.has("time") ? ZonedDateTime.parse(j.get("time").getAsString()) : null, //
+						predictions);
+			}, obj -> {
+				var predictions = new JsonObject();
+				obj.predictions().forEach((channel, values) -> {
+					var array = new JsonArray(values.length);
+					for (var value : values) {
+						array.add(value == null ? JsonNull.INSTANCE : JsonUtils.toJson(value));
+					}
+					predictions.add(channel.toString(), array);
+				});
+				return JsonUtils.buildJsonObject() //
+						.addProperty("version", obj.version()) //
+						.addProperty("time", obj.time()) //
+						.add("predictions", predictions) //
+						.build();
+			});
+		}
+
+	}
+
+}
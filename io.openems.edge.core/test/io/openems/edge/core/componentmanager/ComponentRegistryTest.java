@@ -0,0 +1,92 @@
+package io.openems.edge.core.componentmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.host.DummyHost;
+import io.openems.edge.common.host.Host;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.sum.Sum;
+import io.openems.edge.core.componentmanager.ComponentRegistry.Entry;
+import io.openems.edge.core.componentmanager.ComponentRegistry.Snapshot;
+
+public class ComponentRegistryTest {
+
+	private static final String OPENEMS_COMPONENT = OpenemsComponent.class.getName();
+
+	private static class MySum extends DummySum {
+
+		@Override
+		public void removeChannel(Channel<?> channel) {
+			super.removeChannel(channel);
+		}
+	}
+
+	@Test
+	public void testSnapshot() {
+		var sum = new DummySum();
+		var host = new DummyHost();
+		var cm = new ComponentManagerImpl();
+
+		var snapshot = Snapshot.from(List.of(//
+				new Entry(1L, sum, "_sum", true, null, List.of(OPENEMS_COMPONENT, Sum.class.getName())), //
+				new Entry(2L, host, "_host", false, null, List.of(OPENEMS_COMPONENT, Host.class.getName())), //
+				new Entry(3L, cm, "_componentManager", true, ComponentManager.SINGLETON_SERVICE_PID,
+						List.of(OPENEMS_COMPONENT, ComponentManager.class.getName()))));
+
+		assertEquals(List.of(sum, host), snapshot.getAllComponents());
+		assertEquals(List.of(sum), snapshot.getEnabledComponents());
+		assertEquals(List.of(sum), snapshot.getEnabledComponentsOfType(Sum.class));
+		assertEquals(List.of(), snapshot.getEnabledComponentsOfType(Host.class));
+		assertEquals(List.of(cm), snapshot.getEnabledComponentsOfType(ComponentManager.class));
+
+		assertSame(sum, snapshot.getComponent("_sum", true));
+		assertNull(snapshot.getComponent("_host", true));
+		assertSame(host, snapshot.getComponent("_host", false));
+		assertNull(snapshot.getComponent("foo0", false));
+
+		var address = new ChannelAddress("_sum", "GridActivePower");
+		assertSame(sum.channel(Sum.ChannelId.GRID_ACTIVE_POWER), snapshot.getChannel(address));
+		assertSame(snapshot.getChannel(address), snapshot.getChannel(address));
+		assertNull(snapshot.getChannel(new ChannelAddress("_host", "Hostname")));
+	}
+
+	@Test
+	public void testRemovedChannel() {
+		var sum = new MySum();
+		var snapshot = Snapshot.from(List.of(//
+				new Entry(1L, sum, "_sum", true, null, List.of(OPENEMS_COMPONENT, Sum.class.getName()))));
+
+		var address = new ChannelAddress("_sum", "GridActivePower");
+		Channel<?> channel = snapshot.getChannel(address);
+		assertSame(sum.channel(Sum.ChannelId.GRID_ACTIVE_POWER), channel);
+
+		// Removing a Channel triggers no OSGi service event -> Snapshot is not replaced
+		sum.removeChannel(channel);
+		assertThrows(IllegalArgumentException.class, () -> snapshot.getChannel(address));
+	}
+
+	@Test
+	public void testDuplicatedComponentId() {
+		var disabled = new DummySum();
+		var enabled = new DummySum();
+
+		var snapshot = Snapshot.from(List.of(//
+				new Entry(1L, disabled, "_sum", false, null, List.of(OPENEMS_COMPONENT)), //
+				new Entry(2L, enabled, "_sum", true, null, List.of(OPENEMS_COMPONENT))));
+
+		assertSame(enabled, snapshot.getComponent("_sum", true));
+		assertSame(enabled, snapshot.getComponent("_sum", false));
+	}
+
+}
@@ -0,0 +1,68 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.openems.edge.controller.test.DummyController;
+import io.openems.edge.core.cycle.CycleProfiler.Phase;
+
+public class CycleProfilerTest {
+
+	@Test
+	public void testEvictStale() {
+		var sut = new CycleProfiler();
+		var ctrl0 = new DummyController("ctrl0");
+		var ctrl1 = new DummyController("ctrl1");
+		for (var i = 1; i < CycleProfiler.WINDOW_SIZE; i++) {
+			sut.addPhase(Phase.CONTROLLERS, 1_000L);
+			sut.addController(ctrl0, 1_000L);
+			sut.addController(ctrl1, 1_000L);
+			sut.addEventHandler("topic", "handler0", 1_000L);
+			assertFalse(sut.onCycleFinished());
+		}
+		assertTrue(sut.onCycleFinished());
+		assertEquals(2, sut.toJson().getAsJsonObject("controllers").size());
+		assertEquals(1, sut.toJson().getAsJsonObject("eventHandlers").size());
+
+		// 'ctrl1' and 'handler0' are not executed anymore
+		for (var i = 1; i <= CycleProfiler.WINDOW_SIZE; i++) {
+			sut.addController(ctrl0, 1_000L);
+			sut.onCycleFinished();
+		}
+		var json = sut.toJson();
+		assertTrue(json.getAsJsonObject("controllers").has("ctrl0"));
+		assertFalse(json.getAsJsonObject("controllers").has("ctrl1"));
+		assertEquals(0, json.getAsJsonObject("eventHandlers").size());
+
+		// Phases are never evicted
+		assertEquals(CycleProfiler.WINDOW_SIZE - 1,
+				json.getAsJsonObject("phases").getAsJsonObject("CONTROLLERS").get("count").getAsInt());
+	}
+
+	@Test
+	public void testControllerChannels() {
+		var sut = new CycleProfiler();
+		var ctrl0 = new DummyController("ctrl0");
+		for (var window = 0; window < CycleProfiler.CONTROLLER_WINDOWS + 1; window++) {
+			for (var i = 1; i <= CycleProfiler.WINDOW_SIZE; i++) {
+				// One slow run per window
+				sut.addController(ctrl0, i == 1 ? 50_000_000L : 1_000_000L);
+				sut.onCycleFinished();
+			}
+		}
+		sut.updateControllerChannels();
+
+		assertEquals(1_000L, (long) ctrl0.getRunDurationMinChannel().getNextValue().get());
+		assertEquals(50_000L, (long) ctrl0.getRunDurationMaxChannel().getNextValue().get());
+		// 5 of the 300 runs in the histogram are slow
+		assertEquals(50_000L, (long) ctrl0.getRunDurationP99Channel().getNextValue().get());
+		var avg = ctrl0.getRunDurationAvgChannel().getNextValue().get();
+		assertEquals(1_816L, (long) avg);
+		assertEquals(CycleProfiler.CONTROLLER_WINDOWS * CycleProfiler.WINDOW_SIZE,
+				sut.toJson().getAsJsonObject("controllers").getAsJsonObject("ctrl0").get("count").getAsInt());
+	}
+
+}
@@ -0,0 +1,59 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class RollingHistogramTest {
+
+	@Test
+	public void testBuckets() {
+		for (var micros = 0L; micros < 100_000L; micros++) {
+			var bucket = RollingHistogram.bucketOf(micros);
+			assertTrue(micros <= RollingHistogram.upperBoundOf(bucket));
+			if (bucket > 0) {
+				assertTrue(micros > RollingHistogram.upperBoundOf(bucket - 1));
+			}
+		}
+		assertEquals(RollingHistogram.BUCKETS - 1, RollingHistogram.bucketOf(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void testSummary() {
+		var sut = new RollingHistogram(1);
+		assertEquals(TimingStatistics.Summary.EMPTY, sut.getSummary());
+
+		for (var i = 100; i >= 1; i--) {
+			sut.add(i * 1_000L);
+		}
+		var summary = sut.getSummary();
+		assertEquals(100, summary.count());
+		assertEquals(1_000L, summary.min());
+		assertEquals(50_500L, summary.avg());
+		assertEquals(100_000L, summary.max());
+		// 99 [us] is in bucket [96; 103] -> upper bound is capped by max
+		assertEquals(100_000L, summary.p99());
+	}
+
+	@Test
+	public void testRollover() {
+		var sut = new RollingHistogram(2);
+		sut.add(1_000_000L);
+		assertTrue(sut.rollover());
+		sut.add(10_000L);
+		assertTrue(sut.rollover());
+		assertFalse(sut.rollover());
+
+		// First window was dropped
+		var summary = sut.getSummary();
+		assertEquals(1, summary.count());
+		assertEquals(10_000L, summary.max());
+		assertEquals(10_000L, summary.p99());
+
+		assertFalse(sut.rollover());
+		assertEquals(TimingStatistics.Summary.EMPTY, sut.getSummary());
+	}
+
+}
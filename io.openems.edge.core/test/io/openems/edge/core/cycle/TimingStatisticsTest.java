@@ -0,0 +1,55 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TimingStatisticsTest {
+
+	@Test
+	public void testSummary() {
+		var sut = new TimingStatistics(100);
+		assertEquals(TimingStatistics.Summary.EMPTY, sut.getSummary());
+
+		for (var i = 100; i >= 1; i--) {
+			sut.add(i * 1_000L);
+		}
+		var summary = sut.getSummary();
+		assertEquals(100, summary.count());
+		assertEquals(1_000L, summary.min());
+		assertEquals(50_500L, summary.avg());
+		assertEquals(100_000L, summary.max());
+		assertEquals(99_000L, summary.p99());
+		assertEquals(99L, summary.toJson().get("p99").getAsLong());
+	}
+
+	@Test
+	public void testSlidingWindow() {
+		var sut = new TimingStatistics(3);
+		sut.add(1_000_000L);
+		sut.add(10L);
+		sut.add(20L);
+		sut.add(30L);
+		var summary = sut.getSummary();
+		assertEquals(4, sut.getTotal());
+		assertEquals(3, summary.count());
+		assertEquals(10L, summary.min());
+		assertEquals(30L, summary.max());
+		assertEquals(30L, summary.p99());
+	}
+
+	@Test
+	public void testMatchesTopic() {
+		assertTrue(CycleEventDispatcher.matchesTopic("*", "openems/edge/cycle/BEFORE_WRITE"));
+		assertTrue(CycleEventDispatcher.matchesTopic("openems/edge/cycle/*", "openems/edge/cycle/BEFORE_WRITE"));
+		assertTrue(CycleEventDispatcher.matchesTopic("openems/edge/*", "openems/edge/cycle/BEFORE_WRITE"));
+		assertTrue(CycleEventDispatcher.matchesTopic("openems/edge/cycle/BEFORE_WRITE",
+				"openems/edge/cycle/BEFORE_WRITE"));
+		assertFalse(CycleEventDispatcher.matchesTopic("openems/edge/cycle/AFTER_WRITE",
+				"openems/edge/cycle/BEFORE_WRITE"));
+		assertFalse(CycleEventDispatcher.matchesTopic("openems/edge/cyc*", "openems/edge/cycle/BEFORE_WRITE"));
+	}
+
+}
@@ -4,11 +4,13 @@ import static io.openems.edge.predictor.api.prediction.Prediction.EMPTY_PREDICTI
 import static java.time.temporal.ChronoUnit.DAYS;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -19,7 +21,9 @@ import io.openems.edge.common.sum.DummySum;
 import io.openems.edge.common.test.ComponentTest;
 import io.openems.edge.common.test.DummyComponentManager;
 import io.openems.edge.common.test.DummyConfigurationAdmin;
+import io.openems.edge.core.predictormanager.jsonrpc.GetPredictions;
 import io.openems.edge.predictor.api.prediction.Prediction;
+import io.openems.edge.predictor.api.prediction.PredictionSnapshot;
 import io.openems.edge.predictor.api.prediction.Predictor;
 import io.openems.edge.predictor.api.test.DummyPredictor;
 
@@ -82,4 +86,46 @@ public class PredictorManagerImplTest {
 				sut.getPrediction(SUM_UNMANAGED_CONSUMPTION_ACTIVE_POWER).asArray());
 	}
 
+	@Test
+	public void testSnapshot() throws OpenemsException, Exception {
+		final var clock = new TimeLeapClock(Instant.parse("2020-01-01T00:00:00.00Z"), ZoneOffset.UTC);
+		final var cm = new DummyComponentManager(clock);
+		final var sum = new DummySum();
+		final var midnight = ZonedDateTime.now(clock).truncatedTo(DAYS);
+		var consumptionPredictor = new DummyPredictor(PREDICTOR_ID, cm,
+				Prediction.from(sum, SUM_CONSUMPTION_ACTIVE_POWER, midnight, DEFAULT_CONSUMPTION_PREDICTION),
+				SUM_CONSUMPTION_ACTIVE_POWER);
+
+		var sut = new PredictorManagerImpl();
+		new ComponentTest(sut) //
+				.addReference("cm", new DummyConfigurationAdmin()) //
+				.addReference("componentManager", cm) //
+				.addReference("predictors", List.<Predictor>of(consumptionPredictor)) //
+				.activate(MyConfig.create()//
+						.build());
+
+		assertEquals(PredictionSnapshot.EMPTY, sut.getSnapshot());
+
+		var predictions = sut
+				.getPredictions(Set.of(SUM_CONSUMPTION_ACTIVE_POWER, SUM_UNMANAGED_CONSUMPTION_ACTIVE_POWER));
+		assertArrayEquals(DEFAULT_CONSUMPTION_PREDICTION, predictions.get(SUM_CONSUMPTION_ACTIVE_POWER).asArray());
+		assertArrayEquals(DEFAULT_CONSUMPTION_PREDICTION,
+				predictions.get(SUM_UNMANAGED_CONSUMPTION_ACTIVE_POWER).asArray());
+
+		var snapshot = sut.getSnapshot();
+		assertEquals(1, snapshot.getVersion());
+		assertEquals(midnight, snapshot.getTime());
+		assertArrayEquals(DEFAULT_CONSUMPTION_PREDICTION,
+				snapshot.getPrediction(SUM_UNMANAGED_CONSUMPTION_ACTIVE_POWER).asArray());
+
+		// Unchanged Predictions keep the version
+		sut.getPrediction(SUM_CONSUMPTION_ACTIVE_POWER);
+		assertSame(snapshot, sut.getSnapshot());
+
+		// JSON-RPC serves the snapshot
+		var response = GetPredictions.Response.from(sut.getSnapshot(), List.of(SUM_CONSUMPTION_ACTIVE_POWER));
+		assertEquals(1, response.version());
+		assertArrayEquals(DEFAULT_CONSUMPTION_PREDICTION, response.predictions().get(SUM_CONSUMPTION_ACTIVE_POWER));
+	}
+
 }
@@ -1,6 +1,10 @@
 package io.openems.edge.energy.api;
 
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.jsonapi.ComponentJsonApi;
 
@@ -12,8 +16,29 @@ public interface EnergyScheduler extends OpenemsComponent, ComponentJsonApi {
 	public static final String SINGLETON_SERVICE_PID = "Core.Energy";
 	public static final String SINGLETON_COMPONENT_ID = "_energy";
 
+	/**
+	 * The statistics Channels describe the genetic algorithm. Depending on the
+	 * configured solver it does not run if the Schedule is solved by dynamic
+	 * programming; then the Channels are null.
+	 */
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
-		;
+		/**
+		 * Generations per second of the last run of the genetic algorithm.
+		 */
+		GENERATIONS_PER_SECOND(Doc.of(OpenemsType.INTEGER) //
+				.text("Generations per second of the last genetic algorithm run")), //
+		/**
+		 * Simulated Schedules per second of the last run of the genetic algorithm.
+		 */
+		EVALUATIONS_PER_SECOND(Doc.of(OpenemsType.INTEGER) //
+				.text("Simulated Schedules per second of the last genetic algorithm run")), //
+		/**
+		 * Duration till the best Schedule was found in the last run of the genetic
+		 * algorithm.
+		 */
+		TIME_TO_BEST(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS) //
+				.text("Duration till the best Schedule was found in the last genetic algorithm run")); //
 
 		private final Doc doc;
 
@@ -26,4 +51,61 @@ public interface EnergyScheduler extends OpenemsComponent, ComponentJsonApi {
 			return this.doc;
 		}
 	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#GENERATIONS_PER_SECOND}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getGenerationsPerSecondChannel() {
+		return this.channel(ChannelId.GENERATIONS_PER_SECOND);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#GENERATIONS_PER_SECOND} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setGenerationsPerSecond(Integer value) {
+		this.getGenerationsPerSecondChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#EVALUATIONS_PER_SECOND}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getEvaluationsPerSecondChannel() {
+		return this.channel(ChannelId.EVALUATIONS_PER_SECOND);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#EVALUATIONS_PER_SECOND} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setEvaluationsPerSecond(Integer value) {
+		this.getEvaluationsPerSecondChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#TIME_TO_BEST}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getTimeToBestChannel() {
+		return this.channel(ChannelId.TIME_TO_BEST);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#TIME_TO_BEST}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setTimeToBest(Long value) {
+		this.getTimeToBestChannel().setNextValue(value);
+	}
 }
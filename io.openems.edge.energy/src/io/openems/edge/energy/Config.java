@@ -3,6 +3,8 @@ package io.openems.edge.energy;
 import org.osgi.service.metatype.annotations.AttributeDefinition;
 import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 
+import io.openems.edge.energy.optimizer.Solver;
+
 @ObjectClassDefinition(//
 		name = "Core Energy Scheduler", //
 		description = "The global Energy Scheduler.")
@@ -11,5 +13,11 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Is enabled?", description = "Is this Component enabled?")
 	boolean enabled() default true;
 
+	@AttributeDefinition(name = "Solver", description = "Genetic algorithm, dynamic programming, or dynamic programming with the genetic algorithm as fallback if the Schedule can not be solved that way, e.g. without ESS capacity.")
+	Solver solver() default Solver.GENETIC_ALGORITHM;
+
+	@AttributeDefinition(name = "Optimizer Threads", description = "Number of threads for evaluating Schedules in the genetic algorithm. '1' evaluates in the Optimizer thread.")
+	int optimizerThreads() default 1;
+
 	String webconsole_configurationFactory_nameHint() default "Core Energy Scheduler";
 }
\ No newline at end of file
@@ -33,6 +33,7 @@ import io.openems.edge.energy.api.EnergyScheduler;
 import io.openems.edge.energy.jsonrpc.GetScheduleRequest;
 import io.openems.edge.energy.optimizer.GlobalContext;
 import io.openems.edge.energy.optimizer.Optimizer;
+import io.openems.edge.energy.optimizer.Simulator.Statistics;
 import io.openems.edge.predictor.api.manager.PredictorManager;
 import io.openems.edge.timedata.api.Timedata;
 import io.openems.edge.timeofusetariff.api.TimeOfUseTariff;
@@ -101,7 +102,7 @@ public class EnergySchedulerImpl extends AbstractOpenemsComponent
 					.setPredictorManager(this.predictorManager) //
 					.setTimeOfUseTariff(this.timeOfUseTariff) //
 					.build();
-		});
+		}, this::updateStatistics);
 	}
 
 	@Activate
@@ -130,9 +131,30 @@ public class EnergySchedulerImpl extends AbstractOpenemsComponent
 			return false;
 		}
 
+		this.optimizer.setSolver(config.solver());
+		this.optimizer.setThreads(config.optimizerThreads());
 		return true;
 	}
 
+	/**
+	 * Publishes the {@link Statistics} of the last Optimizer run.
+	 * 
+	 * @param statistics the {@link Statistics}; null if the genetic algorithm
+	 *                   did not run, i.e. the Schedule was solved by dynamic
+	 *                   programming
+	 */
+	private void updateStatistics(Statistics statistics) {
+		if (statistics == null) {
+			this._setGenerationsPerSecond(null);
+			this._setEvaluationsPerSecond(null);
+			this._setTimeToBest(null);
+			return;
+		}
+		this._setGenerationsPerSecond((int) Math.round(statistics.generationsPerSecond()));
+		this._setEvaluationsPerSecond((int) Math.round(statistics.evaluationsPerSecond()));
+		this._setTimeToBest(statistics.timeToBest().toMillis());
+	}
+
 	@Override
 	@Deactivate
 	protected void deactivate() {
@@ -0,0 +1,126 @@
+package io.openems.edge.energy.optimizer;
+
+import static io.openems.edge.energy.optimizer.Simulator.simulatePeriod;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.openems.edge.controller.ess.timeofusetariff.StateMachine;
+
+/**
+ * Finds the best Schedule by dynamic programming over a discretised ESS energy
+ * grid, using the cost model of {@link Simulator#simulatePeriod}.
+ *
+ * <p>
+ * The only state that is carried from one period to the next is the ESS
+ * energy. For every period and every cell of the energy grid the cheapest path
+ * that ends in that cell is kept, together with its exact ESS energy; paths are
+ * simulated exactly, only paths ending in the same cell are merged. With
+ * {@link #ENERGY_GRID_STEPS} cells the result is optimal up to the value of
+ * one cell of ESS energy.
+ *
+ * <p>
+ * Runtime is periods x cells x states simulations, i.e. milliseconds for a 24
+ * hours forecast.
+ */
+public class DynamicProgramming {
+
+	/** Number of cells of the ESS energy grid. */
+	protected static final int ENERGY_GRID_STEPS = 1000;
+
+	private DynamicProgramming() {
+	}
+
+	/**
+	 * Finds the best Schedule.
+	 *
+	 * @param p the {@link Params}
+	 * @return the best Schedule; null if the {@link Params} can not be solved on
+	 *         an energy grid
+	 */
+	protected static StateMachine[] getBestSchedule(Params p) {
+		final var periods = p.optimizePeriods();
+		final var states = p.states();
+		if (p.essTotalEnergy() <= 0 || states.length == 0 || states.length > Byte.MAX_VALUE) {
+			return null;
+		}
+		final var noOfPeriods = periods.size();
+		final var cells = ENERGY_GRID_STEPS + 1;
+
+		// Cheapest path per cell: cost and exact ESS energy at the start of a period
+		var cost = new double[cells];
+		var energy = new int[cells];
+		var nextCost = new double[cells];
+		var nextEnergy = new int[cells];
+		// Backtracking: previous cell and state index per period and cell
+		final var previousCell = new int[noOfPeriods][cells];
+		final var stateIndex = new byte[noOfPeriods][cells];
+
+		Arrays.fill(cost, Double.POSITIVE_INFINITY);
+		var initialCell = toCell(p, p.essInitialEnergy());
+		cost[initialCell] = 0.;
+		energy[initialCell] = p.essInitialEnergy();
+
+		final var nextEssInitial = new AtomicInteger();
+		for (var period = 0; period < noOfPeriods; period++) {
+			final var op = periods.get(period);
+			Arrays.fill(nextCost, Double.POSITIVE_INFINITY);
+			for (var cell = 0; cell < cells; cell++) {
+				if (cost[cell] == Double.POSITIVE_INFINITY) {
+					continue;
+				}
+				for (var s = 0; s < states.length; s++) {
+					nextEssInitial.set(energy[cell]);
+					var pathCost = cost[cell] + simulatePeriod(p, op, states[s], nextEssInitial, null);
+					var pathEnergy = nextEssInitial.get();
+					var nextCell = toCell(p, pathEnergy);
+					// On equal cost prefer more energy, then the first state
+					if (pathCost < nextCost[nextCell]
+							|| pathCost == nextCost[nextCell] && pathEnergy > nextEnergy[nextCell]) {
+						nextCost[nextCell] = pathCost;
+						nextEnergy[nextCell] = pathEnergy;
+						previousCell[period][nextCell] = cell;
+						stateIndex[period][nextCell] = (byte) s;
+					}
+				}
+			}
+			var swapCost = cost;
+			cost = nextCost;
+			nextCost = swapCost;
+			var swapEnergy = energy;
+			energy = nextEnergy;
+			nextEnergy = swapEnergy;
+		}
+
+		// Find cheapest end
+		var bestCell = -1;
+		for (var cell = 0; cell < cells; cell++) {
+			if (cost[cell] == Double.POSITIVE_INFINITY) {
+				continue;
+			}
+			if (bestCell == -1 || cost[cell] < cost[bestCell]
+					|| cost[cell] == cost[bestCell] && energy[cell] > energy[bestCell]) {
+				bestCell = cell;
+			}
+		}
+		if (bestCell == -1) {
+			return null;
+		}
+
+		// Backtrack
+		var result = new StateMachine[noOfPeriods];
+		for (var period = noOfPeriods - 1; period >= 0; period--) {
+			result[period] = states[stateIndex[period][bestCell]];
+			bestCell = previousCell[period][bestCell];
+		}
+		return result;
+	}
+
+	private static int toCell(Params p, int energy) {
+		var cell = (long) max(0, energy) * ENERGY_GRID_STEPS / p.essTotalEnergy();
+		return (int) min(ENERGY_GRID_STEPS, cell);
+	}
+
+}
@@ -6,6 +6,7 @@ import static io.openems.edge.controller.ess.timeofusetariff.StateMachine.DELAY_
 import static io.openems.edge.energy.optimizer.Utils.findFirstPeakIndex;
 import static io.openems.edge.energy.optimizer.Utils.findFirstValleyIndex;
 
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -13,6 +14,7 @@ import java.util.function.BiConsumer;
 import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.math.Quantiles;
 
 import io.jenetics.Genotype;
@@ -44,6 +46,24 @@ public class InitialPopulationUtils {
 	 * @return the {@link Genotype}
 	 */
 	public static ImmutableList<Genotype<IntegerGene>> buildInitialPopulation(Params p) {
+		return buildInitialPopulation(p, List.of());
+	}
+
+	/**
+	 * Builds an initial population as {@link #buildInitialPopulation(Params)},
+	 * followed by the Schedules of a previous population, e.g. of a
+	 * {@link WarmStart}.
+	 * 
+	 * <p>
+	 * Schedules are mapped by the start time of each {@link OptimizePeriod};
+	 * periods that are not covered are filled with BALANCING.
+	 * 
+	 * @param p                  the {@link Params}
+	 * @param previousPopulation the previous Schedules per quarter, best first
+	 * @return the {@link Genotype}
+	 */
+	public static ImmutableList<Genotype<IntegerGene>> buildInitialPopulation(Params p,
+			List<ImmutableSortedMap<ZonedDateTime, StateMachine>> previousPopulation) {
 		var states = List.of(p.states());
 		if (!states.contains(BALANCING)) {
 			throw new IllegalArgumentException("State option BALANCING is always required!");
@@ -61,12 +81,7 @@ public class InitialPopulationUtils {
 		if (p.existingSchedule().values().stream() //
 				.anyMatch(s -> s != BALANCING)) {
 			// Existing Schedule if available
-			b.add(Genotype.of(//
-					p.optimizePeriods().stream() //
-							.map(op -> Optional.ofNullable(p.existingSchedule().get(op.time())).orElse(BALANCING))
-							.map(state -> IntegerChromosome.of(IntegerGene.of(//
-									toIndex(states, state), 0, p.states().length))) //
-							.toList()));
+			b.add(toGenotype(p, states, p.existingSchedule()));
 		}
 
 		// Suggest different combinations of CHARGE_GRID and DELAY_CHARGE
@@ -87,9 +102,24 @@ public class InitialPopulationUtils {
 			}
 		}
 
+		// Previous population
+		for (var schedule : previousPopulation) {
+			b.add(toGenotype(p, states, schedule));
+		}
+
 		return b.build();
 	}
 
+	private static Genotype<IntegerGene> toGenotype(Params p, List<StateMachine> states,
+			ImmutableSortedMap<ZonedDateTime, StateMachine> schedule) {
+		return Genotype.of(//
+				p.optimizePeriods().stream() //
+						.map(op -> Optional.ofNullable(schedule.get(op.time())).orElse(BALANCING))
+						.map(state -> IntegerChromosome.of(IntegerGene.of(//
+								toIndex(states, state), 0, p.states().length))) //
+						.toList());
+	}
+
 	private static int toIndex(List<StateMachine> states, StateMachine state) {
 		var result = states.indexOf(state);
 		if (result != -1) {
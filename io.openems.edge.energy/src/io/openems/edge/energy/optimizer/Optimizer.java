@@ -2,19 +2,24 @@ package io.openems.edge.energy.optimizer;
 
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSortedMap.toImmutableSortedMap;
+import static io.openems.edge.controller.ess.timeofusetariff.StateMachine.BALANCING;
 import static io.openems.edge.energy.optimizer.Simulator.simulate;
 import static io.openems.edge.energy.optimizer.Utils.calculateExecutionLimitSeconds;
 import static io.openems.edge.energy.optimizer.Utils.createSimulatorParams;
 import static io.openems.edge.energy.optimizer.Utils.initializeRandomRegistryForProduction;
 import static io.openems.edge.energy.optimizer.Utils.logSchedule;
+import static io.openems.edge.energy.optimizer.Utils.paramsAreValid;
 import static io.openems.edge.energy.optimizer.Utils.updateSchedule;
 import static java.lang.Thread.sleep;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,8 +30,11 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.function.ThrowingSupplier;
 import io.openems.common.test.TimeLeapClock;
 import io.openems.common.worker.AbstractImmediateWorker;
+import io.openems.edge.controller.ess.timeofusetariff.StateMachine;
 import io.openems.edge.energy.api.EnergyScheduleHandler;
 import io.openems.edge.energy.optimizer.Simulator.Period;
+import io.openems.edge.energy.optimizer.Simulator.Result;
+import io.openems.edge.energy.optimizer.Simulator.Statistics;
 
 /**
  * This task is executed once in the beginning and afterwards every full 15
@@ -37,12 +45,26 @@ public class Optimizer extends AbstractImmediateWorker {
 	private final Logger log = LoggerFactory.getLogger(Optimizer.class);
 
 	private final ThrowingSupplier<GlobalContext, OpenemsException> globalContext;
+	private final Consumer<Statistics> onStatistics;
 	private final TreeMap<ZonedDateTime, Period> schedule = new TreeMap<>();
 
 	private Params params = null;
+	/** The population of the last genetic optimization; null for none. */
+	private WarmStart warmStart = null;
+	/** The {@link Solver}; applied with the next run. */
+	private volatile Solver solver = Solver.GENETIC_ALGORITHM;
+	/** The requested number of threads; applied between runs. */
+	private volatile int threads = 1;
+	/**
+	 * Evaluates Schedules of the genetic algorithm; null for this thread. Only
+	 * replaced by the Optimizer thread.
+	 */
+	private volatile ForkJoinPool executor = null;
 
-	public Optimizer(ThrowingSupplier<GlobalContext, OpenemsException> globalContext) {
+	public Optimizer(ThrowingSupplier<GlobalContext, OpenemsException> globalContext,
+			Consumer<Statistics> onStatistics) {
 		this.globalContext = globalContext;
+		this.onStatistics = onStatistics;
 		initializeRandomRegistryForProduction();
 
 		// Run Optimizer thread in LOW PRIORITY
@@ -64,7 +86,7 @@ public class Optimizer extends AbstractImmediateWorker {
 		executionLimitSeconds = calculateExecutionLimitSeconds(globalContext.clock());
 
 		// Find best Schedule
-		var schedule = Simulator.getBestSchedule(this.params, executionLimitSeconds);
+		var schedule = this.getBestSchedule(this.params, executionLimitSeconds);
 
 		// Re-Simulate and keep best Schedule
 		var newSchedule = simulate(this.params, schedule);
@@ -95,6 +117,119 @@ public class Optimizer extends AbstractImmediateWorker {
 		}
 	}
 
+	@Override
+	public void deactivate() {
+		super.deactivate();
+		this.threads = 1;
+		var executor = this.executor;
+		if (executor != null) {
+			// The Optimizer thread is stopped; a running optimization is abandoned
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Sets the {@link Solver}.
+	 * 
+	 * @param solver the {@link Solver}
+	 */
+	public void setSolver(Solver solver) {
+		this.solver = solver;
+	}
+
+	/**
+	 * Sets the number of threads for evaluating Schedules in the genetic
+	 * algorithm. Bounded by the number of available processors.
+	 * 
+	 * <p>
+	 * The new value is applied by the Optimizer thread before the next run of the
+	 * genetic algorithm, so a running optimization keeps its executor.
+	 * 
+	 * @param threads the number of threads; '1' evaluates in the Optimizer thread
+	 */
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	/**
+	 * Replaces the executor if the number of threads changed. Must only be called
+	 * by the Optimizer thread between runs.
+	 * 
+	 * @return the executor; null for the current thread
+	 */
+	private ForkJoinPool updateExecutor() {
+		var parallelism = Math.max(1, Math.min(this.threads, Runtime.getRuntime().availableProcessors()));
+		var executor = this.executor;
+		if (executor == null ? parallelism == 1 : executor.getParallelism() == parallelism) {
+			return executor;
+		}
+		if (executor != null) {
+			executor.shutdown();
+		}
+		executor = parallelism > 1 //
+				? new ForkJoinPool(parallelism) //
+				: null;
+		this.executor = executor;
+		return executor;
+	}
+
+	/**
+	 * Finds the best Schedule with the configured {@link Solver}.
+	 * 
+	 * <p>
+	 * {@link DynamicProgramming} solves every run from scratch. The genetic
+	 * algorithm is warm-started from its last population with a smaller budget if
+	 * its {@link WarmStart} is applicable.
+	 * 
+	 * <p>
+	 * {@link Statistics} are only published for the genetic algorithm; they are
+	 * reset to null whenever {@link DynamicProgramming} answers.
+	 * 
+	 * @param p                     the {@link Params}
+	 * @param executionLimitSeconds the execution limit of the genetic algorithm
+	 * @return the best schedule
+	 */
+	protected StateMachine[] getBestSchedule(Params p, long executionLimitSeconds) {
+		final var solver = this.solver;
+		if (solver != Solver.GENETIC_ALGORITHM) {
+			final var start = System.nanoTime();
+			var schedule = paramsAreValid(p) //
+					? DynamicProgramming.getBestSchedule(p) //
+					: null;
+			if (schedule != null) {
+				this.log.info("Solved by dynamic programming in [" //
+						+ Duration.ofNanos(System.nanoTime() - start).toMillis() + "ms]");
+				this.warmStart = null;
+				this.onStatistics.accept(null);
+				return schedule;
+			}
+			if (solver == Solver.DYNAMIC_PROGRAMMING) {
+				this.log.info("Unable to solve by dynamic programming. Applying BALANCING");
+				this.warmStart = null;
+				this.onStatistics.accept(null);
+				return p.optimizePeriods().stream() //
+						.map(op -> BALANCING) //
+						.toArray(StateMachine[]::new);
+			}
+		}
+		var executor = this.updateExecutor();
+		var warmStart = this.warmStart;
+		Result result;
+		if (warmStart != null && warmStart.isApplicable(p)) {
+			// Re-solve from the shifted previous population with a smaller budget
+			result = Simulator.optimize(p, Math.max(1, executionLimitSeconds / WarmStart.EXECUTION_LIMIT_DIVISOR),
+					null, null, executor, warmStart.population());
+			this.warmStart = warmStart.withPopulation(p, result.population());
+			this.log.info("Genetic algorithm (warm start): " + result.statistics());
+		} else {
+			result = Simulator.optimize(p, executionLimitSeconds, null, null, executor, List.of());
+			this.warmStart = WarmStart.of(p, result.population());
+			this.log.info("Genetic algorithm: " + result.statistics());
+		}
+		this.onStatistics.accept(result.statistics());
+		return result.schedule();
+	}
+
 	/**
 	 * Try forever till all data is available (e.g. ESS Capacity)
 	 * 
@@ -115,6 +250,7 @@ public class Optimizer extends AbstractImmediateWorker {
 			} catch (OpenemsException e) {
 				this.log.info("# Stuck trying to get Params. " + e.getMessage());
 				this.params = null;
+				this.warmStart = null;
 				synchronized (this.schedule) {
 					this.schedule.clear();
 				}
@@ -1,18 +1,28 @@
 package io.openems.edge.energy.optimizer;
 
-import static io.jenetics.engine.EvolutionResult.toBestGenotype;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.jenetics.engine.EvolutionResult.toBestEvolutionResult;
 import static io.jenetics.engine.Limits.byExecutionTime;
+import static io.jenetics.engine.Limits.byFitnessConvergence;
+import static io.jenetics.engine.Limits.bySteadyFitness;
 import static io.openems.edge.energy.optimizer.InitialPopulationUtils.buildInitialPopulation;
 import static io.openems.edge.energy.optimizer.Utils.paramsAreValid;
 import static io.openems.edge.energy.optimizer.Utils.postprocessSimulatorState;
 import static java.lang.Math.max;
 import static java.time.Duration.ofSeconds;
+import static java.util.Comparator.comparing;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableList;
@@ -21,6 +31,7 @@ import com.google.common.collect.ImmutableSortedMap;
 import io.jenetics.Genotype;
 import io.jenetics.IntegerChromosome;
 import io.jenetics.IntegerGene;
+import io.jenetics.Phenotype;
 import io.jenetics.engine.Engine;
 import io.jenetics.engine.EvolutionResult;
 import io.openems.edge.controller.ess.timeofusetariff.StateMachine;
@@ -32,9 +43,70 @@ public class Simulator {
 	/** Used to incorporate charge/discharge efficiency. */
 	public static final double EFFICIENCY_FACTOR = 1.17;
 
+	/** Stop if the best cost did not change for this number of generations. */
+	protected static final int STEADY_FITNESS_GENERATIONS = 50;
+	/**
+	 * Stop if the mean best cost of the last
+	 * {@value #CONVERGENCE_SHORT_GENERATIONS} generations differs by less than
+	 * {@value #CONVERGENCE_EPSILON} (relative) from the mean best cost of the last
+	 * {@value #CONVERGENCE_LONG_GENERATIONS} generations.
+	 */
+	protected static final int CONVERGENCE_SHORT_GENERATIONS = 10;
+	protected static final int CONVERGENCE_LONG_GENERATIONS = 50;
+	protected static final double CONVERGENCE_EPSILON = 0.0001;
+
+	/** Max number of memorized fitness values per run. */
+	protected static final int MAX_FITNESS_MEMO_SIZE = 100_000;
+
 	public record Period(OptimizePeriod op, StateMachine state, int essInitial, EnergyFlow ef) {
 	}
 
+	/**
+	 * The result of one run of the genetic algorithm.
+	 * 
+	 * @param schedule   the best Schedule
+	 * @param population the Schedules of the final population, best first
+	 * @param statistics the {@link Statistics}; null if the genetic algorithm did
+	 *                   not run
+	 */
+	public record Result(StateMachine[] schedule, ImmutableList<StateMachine[]> population, Statistics statistics) {
+	}
+
+	/**
+	 * Statistics of one run of the genetic algorithm.
+	 * 
+	 * @param generations the number of generations
+	 * @param evaluations the number of simulated Schedules, i.e. without hits in
+	 *                    the fitness memo
+	 * @param duration    the total duration
+	 * @param timeToBest  the duration till the best Schedule was found
+	 */
+	public record Statistics(long generations, long evaluations, Duration duration, Duration timeToBest) {
+
+		/**
+		 * Gets the generations per second.
+		 * 
+		 * @return generations per second
+		 */
+		public double generationsPerSecond() {
+			return perSecond(this.generations);
+		}
+
+		/**
+		 * Gets the evaluations per second.
+		 * 
+		 * @return evaluations per second
+		 */
+		public double evaluationsPerSecond() {
+			return perSecond(this.evaluations);
+		}
+
+		private double perSecond(long value) {
+			var millis = this.duration.toMillis();
+			return millis == 0 ? 0. : value * 1000. / millis;
+		}
+	}
+
 	/**
 	 * Simulates a Schedule and calculates the cost.
 	 * 
@@ -140,38 +212,96 @@ public class Simulator {
 
 	protected static StateMachine[] getBestSchedule(Params p, long executionLimitSeconds, Integer populationSize,
 			Integer limit) {
+		return optimize(p, executionLimitSeconds, populationSize, limit, null, List.of()).schedule();
+	}
+
+	/**
+	 * Runs the optimization.
+	 * 
+	 * <p>
+	 * Stops at the execution limit or as soon as the best cost stops improving.
+	 * Fitness values are memorized per {@link Genotype}, so Schedules that are
+	 * bred again are not simulated again.
+	 * 
+	 * @param p                     the {@link Params}
+	 * @param executionLimitSeconds limit.byExecutionTime.ofSeconds
+	 * @param populationSize        the population size; null for default
+	 * @param limit                 the max number of generations; null for no
+	 *                              limit
+	 * @param executor              the {@link Executor} for fitness evaluation;
+	 *                              null for the current thread
+	 * @param previousPopulation    Schedules per quarter to add to the initial
+	 *                              population, e.g. of a {@link WarmStart}
+	 * @return the {@link Result}
+	 */
+	protected static Result optimize(Params p, long executionLimitSeconds, Integer populationSize, Integer limit,
+			Executor executor, List<ImmutableSortedMap<ZonedDateTime, StateMachine>> previousPopulation) {
 		// Return pure BALANCING Schedule if no predictions are available
 		if (!paramsAreValid(p)) {
-			return p.optimizePeriods().stream() //
+			return new Result(p.optimizePeriods().stream() //
 					.map(op -> StateMachine.BALANCING) //
-					.toArray(StateMachine[]::new);
+					.toArray(StateMachine[]::new), ImmutableList.of(), null);
 		}
 
+		final var start = System.nanoTime();
+		final var evaluations = new LongAdder();
+		final var memo = new ConcurrentHashMap<Genotype<IntegerGene>, Double>();
 		var gtf = Genotype.of(IntegerChromosome.of(IntegerGene.of(0, p.states().length)), p.optimizePeriods().size()); //
 		var eval = (Function<Genotype<IntegerGene>, Double>) (gt) -> {
-			var modes = new StateMachine[p.optimizePeriods().size()];
-			for (var i = 0; i < modes.length; i++) {
-				modes[i] = p.states()[gt.get(i).get(0).intValue()];
+			var cost = memo.get(gt);
+			if (cost != null) {
+				return cost;
 			}
-			return calculateCost(p, modes);
+			cost = calculateCost(p, toSchedule(p, gt));
+			evaluations.increment();
+			if (memo.size() < MAX_FITNESS_MEMO_SIZE) {
+				memo.put(gt, cost);
+			}
+			return cost;
 		};
 		var engine = Engine //
 				.builder(eval, gtf) //
-				.executor(Runnable::run) // current thread
+				.executor(executor != null ? executor : Runnable::run) //
 				.minimizing();
 		if (populationSize != null) {
 			engine.populationSize(populationSize); //
 		}
+		final var generations = new AtomicInteger();
+		final var timeToBest = new AtomicLong();
+		final var bestCost = new AtomicReference<Double>();
 		Stream<EvolutionResult<IntegerGene, Double>> stream = engine.build() //
-				.stream(buildInitialPopulation(p)) //
-				.limit(byExecutionTime(ofSeconds(executionLimitSeconds))); //
+				.stream(buildInitialPopulation(p, previousPopulation)) //
+				.limit(byExecutionTime(ofSeconds(executionLimitSeconds))) //
+				.limit(bySteadyFitness(STEADY_FITNESS_GENERATIONS)) //
+				.limit(byFitnessConvergence(CONVERGENCE_SHORT_GENERATIONS, CONVERGENCE_LONG_GENERATIONS,
+						CONVERGENCE_EPSILON)) //
+				.peek(er -> {
+					generations.incrementAndGet();
+					var cost = er.bestFitness();
+					if (bestCost.get() == null || cost < bestCost.get()) {
+						bestCost.set(cost);
+						timeToBest.set(System.nanoTime() - start);
+					}
+				});
 		if (limit != null) {
 			stream = stream.limit(limit); // apply optional limit
 		}
-		var bestGt = stream //
-				.collect(toBestGenotype());
-		return IntStream.range(0, p.optimizePeriods().size()) //
-				.mapToObj(period -> p.states()[bestGt.get(period).get(0).intValue()]) //
-				.toArray(StateMachine[]::new);
+		var best = stream //
+				.collect(toBestEvolutionResult());
+		var population = best.population().stream() //
+				.sorted(comparing(Phenotype::fitness)) //
+				.map(pt -> toSchedule(p, pt.genotype())) //
+				.collect(toImmutableList());
+		return new Result(toSchedule(p, best.bestPhenotype().genotype()), population,
+				new Statistics(generations.get(), evaluations.sum(), Duration.ofNanos(System.nanoTime() - start),
+						Duration.ofNanos(timeToBest.get())));
+	}
+
+	private static StateMachine[] toSchedule(Params p, Genotype<IntegerGene> gt) {
+		var schedule = new StateMachine[p.optimizePeriods().size()];
+		for (var i = 0; i < schedule.length; i++) {
+			schedule[i] = p.states()[gt.get(i).get(0).intValue()];
+		}
+		return schedule;
 	}
 }
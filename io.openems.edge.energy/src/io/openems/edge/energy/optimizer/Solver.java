@@ -0,0 +1,21 @@
+package io.openems.edge.energy.optimizer;
+
+/**
+ * The solver used by the {@link Optimizer} to find the best Schedule.
+ */
+public enum Solver {
+	/**
+	 * The genetic algorithm of the {@link Simulator}.
+	 */
+	GENETIC_ALGORITHM,
+	/**
+	 * {@link DynamicProgramming}; BALANCING if the Params can not be solved that
+	 * way, e.g. without ESS capacity.
+	 */
+	DYNAMIC_PROGRAMMING,
+	/**
+	 * {@link DynamicProgramming}; the genetic algorithm if the Params can not be
+	 * solved that way.
+	 */
+	DYNAMIC_PROGRAMMING_WITH_FALLBACK;
+}
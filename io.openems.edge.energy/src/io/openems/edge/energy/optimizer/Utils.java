@@ -134,11 +134,13 @@ public final class Utils {
 		final var time = roundDownToQuarter(ZonedDateTime.now());
 
 		// Prediction values
+		final var predictions = globalContext.predictorManager() //
+				.getPredictions(Set.of(SUM_CONSUMPTION, SUM_UNMANAGED_CONSUMPTION, SUM_PRODUCTION));
 		final var predictionConsumption = joinConsumptionPredictions(4, //
-				globalContext.predictorManager().getPrediction(SUM_CONSUMPTION).asArray(), //
-				globalContext.predictorManager().getPrediction(SUM_UNMANAGED_CONSUMPTION).asArray());
+				predictions.get(SUM_CONSUMPTION).asArray(), //
+				predictions.get(SUM_UNMANAGED_CONSUMPTION).asArray());
 		final var predictionProduction = generateProductionPrediction(//
-				globalContext.predictorManager().getPrediction(SUM_PRODUCTION).asArray(), //
+				predictions.get(SUM_PRODUCTION).asArray(), //
 				predictionConsumption.length);
 
 		// Prices contains the price values and the time it is retrieved.
@@ -0,0 +1,151 @@
+package io.openems.edge.energy.optimizer;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static com.google.common.collect.ImmutableSortedMap.toImmutableSortedMap;
+import static java.lang.Math.abs;
+import static java.lang.Math.max;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+
+import io.openems.edge.controller.ess.timeofusetariff.StateMachine;
+import io.openems.edge.energy.optimizer.Params.QuarterPeriod;
+
+/**
+ * The population of the last run of the genetic algorithm, used as initial
+ * population of the next run with a smaller budget.
+ *
+ * <p>
+ * Schedules are stored per quarter, so they can be applied to {@link Params}
+ * that start one or more quarters later. A warm start is only applicable as
+ * long as the {@link Params} did not change too much compared to the
+ * {@link Params} of the last full run, and the ESS followed the best Schedule
+ * of the last run.
+ *
+ * @param reference          the {@link Params} of the last full run
+ * @param population         the Schedules of the last run, best first
+ * @param essInitialEnergies the expected ESS energy at the start of each
+ *                           quarter when following the best Schedule
+ */
+public record WarmStart(Params reference, //
+		ImmutableList<ImmutableSortedMap<ZonedDateTime, StateMachine>> population, //
+		ImmutableSortedMap<ZonedDateTime, Integer> essInitialEnergies) {
+
+	/** The execution limit of a warm start is divided by this value. */
+	public static final int EXECUTION_LIMIT_DIVISOR = 10;
+
+	/** Max number of quarters that are not covered by the reference. */
+	protected static final int MAX_NEW_QUARTERS = 16;
+	/** Max relative deviation of the ESS Total Energy. */
+	protected static final double MAX_ESS_TOTAL_ENERGY_DEVIATION = 0.05;
+	/**
+	 * Max deviation of the ESS Initial Energy from the expected energy, relative
+	 * to the ESS Total Energy.
+	 */
+	protected static final double MAX_ESS_INITIAL_ENERGY_DEVIATION = 0.05;
+	/** Max relative deviation of the price of any quarter. */
+	protected static final double MAX_PRICE_DEVIATION = 0.05;
+	/** Max relative deviation of the sum of production and consumption. */
+	protected static final double MAX_ENERGY_DEVIATION = 0.10;
+
+	/**
+	 * Creates a {@link WarmStart} after a full run.
+	 *
+	 * @param p          the {@link Params} of the run
+	 * @param population the Schedules of the run, best first
+	 * @return the {@link WarmStart}
+	 */
+	public static WarmStart of(Params p, List<StateMachine[]> population) {
+		return new WarmStart(p, toQuarterlySchedules(p, population), toEssInitialEnergies(p, population));
+	}
+
+	/**
+	 * Creates a {@link WarmStart} after a warm-started run; keeps the reference.
+	 *
+	 * @param p          the {@link Params} of the run
+	 * @param population the Schedules of the run, best first
+	 * @return the {@link WarmStart}
+	 */
+	public WarmStart withPopulation(Params p, List<StateMachine[]> population) {
+		return new WarmStart(this.reference, toQuarterlySchedules(p, population),
+				toEssInitialEnergies(p, population));
+	}
+
+	/**
+	 * Checks if the given {@link Params} can be solved with a warm start, i.e.
+	 * the ESS, prices and predictions did not change beyond a threshold compared
+	 * to the reference and the ESS Initial Energy is close to the energy that was
+	 * expected for the best Schedule.
+	 *
+	 * @param p the new {@link Params}
+	 * @return true if a warm start is applicable
+	 */
+	public boolean isApplicable(Params p) {
+		if (this.population.isEmpty() //
+				|| !Arrays.equals(this.reference.states(), p.states()) //
+				|| deviation(p.essTotalEnergy(), this.reference.essTotalEnergy()) > MAX_ESS_TOTAL_ENERGY_DEVIATION) {
+			return false;
+		}
+		var expectedEssInitialEnergy = this.essInitialEnergies.get(p.time());
+		if (expectedEssInitialEnergy == null || abs(p.essInitialEnergy() - expectedEssInitialEnergy) //
+				> MAX_ESS_INITIAL_ENERGY_DEVIATION * max(1, p.essTotalEnergy())) {
+			return false;
+		}
+
+		final var references = this.reference.optimizePeriods().stream() //
+				.flatMap(op -> op.quarterPeriods().stream()) //
+				.collect(toImmutableMap(QuarterPeriod::time, Function.identity()));
+		var newQuarters = 0;
+		var energy = 0L;
+		var energyDeviation = 0L;
+		for (var qp : p.optimizePeriods().stream().flatMap(op -> op.quarterPeriods().stream()).toList()) {
+			var ref = references.get(qp.time());
+			if (ref == null) {
+				newQuarters++;
+				continue;
+			}
+			if (deviation(qp.price(), ref.price()) > MAX_PRICE_DEVIATION) {
+				return false;
+			}
+			energy += ref.production() + ref.consumption();
+			energyDeviation += abs(qp.production() - ref.production()) + abs(qp.consumption() - ref.consumption());
+		}
+		return newQuarters <= MAX_NEW_QUARTERS //
+				&& energyDeviation <= MAX_ENERGY_DEVIATION * max(1, energy);
+	}
+
+	private static double deviation(double value, double reference) {
+		return abs(value - reference) / max(1., abs(reference));
+	}
+
+	private static ImmutableList<ImmutableSortedMap<ZonedDateTime, StateMachine>> toQuarterlySchedules(Params p,
+			List<StateMachine[]> population) {
+		return population.stream() //
+				.map(schedule -> {
+					var result = ImmutableSortedMap.<ZonedDateTime, StateMachine>naturalOrder();
+					for (var i = 0; i < p.optimizePeriods().size(); i++) {
+						for (var qp : p.optimizePeriods().get(i).quarterPeriods()) {
+							result.put(qp.time(), schedule[i]);
+						}
+					}
+					return result.build();
+				}) //
+				.collect(toImmutableList());
+	}
+
+	private static ImmutableSortedMap<ZonedDateTime, Integer> toEssInitialEnergies(Params p,
+			List<StateMachine[]> population) {
+		if (population.isEmpty()) {
+			return ImmutableSortedMap.of();
+		}
+		return Simulator.simulate(p, population.get(0)).entrySet().stream() //
+				.collect(toImmutableSortedMap(ZonedDateTime::compareTo, Entry::getKey, e -> e.getValue().essInitial()));
+	}
+}
@@ -0,0 +1,92 @@
+package io.openems.edge.energy.optimizer;
+
+import static io.openems.edge.controller.ess.timeofusetariff.StateMachine.BALANCING;
+import static io.openems.edge.controller.ess.timeofusetariff.StateMachine.CHARGE_GRID;
+import static io.openems.edge.controller.ess.timeofusetariff.StateMachine.DELAY_DISCHARGE;
+import static io.openems.edge.energy.optimizer.Simulator.calculateCost;
+import static io.openems.edge.energy.optimizer.SimulatorTest.TIME;
+import static io.openems.edge.energy.optimizer.SimulatorTest.createParams888d20231106;
+import static io.openems.edge.energy.optimizer.Utils.initializeRandomRegistryForUnitTest;
+import static io.openems.edge.energy.optimizer.Utils.toEnergy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+import io.openems.edge.controller.ess.timeofusetariff.ControlMode;
+import io.openems.edge.controller.ess.timeofusetariff.StateMachine;
+
+public class DynamicProgrammingTest {
+
+	private static final StateMachine[] STATES = { BALANCING, DELAY_DISCHARGE, CHARGE_GRID };
+
+	@Before
+	public void before() {
+		// Make reproducible results of the genetic algorithm
+		initializeRandomRegistryForUnitTest();
+	}
+
+	private static double bruteForce(Params p, StateMachine[] schedule, int period) {
+		if (period == schedule.length) {
+			return calculateCost(p, schedule);
+		}
+		var best = Double.POSITIVE_INFINITY;
+		for (var state : p.states()) {
+			schedule[period] = state;
+			best = Math.min(best, bruteForce(p, schedule, period + 1));
+		}
+		return best;
+	}
+
+	@Test
+	public void testOptimal() {
+		var p = Params.create() //
+				.setTime(TIME) //
+				.setEssTotalEnergy(10000) //
+				.setEssMinSocEnergy(1000) //
+				.setEssMaxSocEnergy(9000) //
+				.setEssInitialEnergy(3000) //
+				.setEssMaxChargeEnergy(toEnergy(8000)) //
+				.setEssMaxDischargeEnergy(toEnergy(8000)) //
+				.seMaxBuyFromGrid(toEnergy(20000)) //
+				.setProductions(0, 0, 500, 1500, 2000, 1000, 0, 0) //
+				.setConsumptions(800, 700, 600, 500, 600, 900, 1500, 1800) //
+				.setPrices(100, 90, 150, 200, 220, 180, 300, 350) //
+				.setStates(STATES) //
+				.setExistingSchedule(ImmutableSortedMap.of()) //
+				.build();
+
+		var schedule = DynamicProgramming.getBestSchedule(p);
+		assertEquals(p.optimizePeriods().size(), schedule.length);
+		var expected = bruteForce(p, new StateMachine[p.optimizePeriods().size()], 0);
+		assertEquals(expected, calculateCost(p, schedule), 0.001);
+	}
+
+	@Test
+	public void testBetterThanGeneticAlgorithm() {
+		for (var controlMode : ControlMode.values()) {
+			var p = createParams888d20231106(controlMode.states);
+			var schedule = DynamicProgramming.getBestSchedule(p);
+			var geneticSchedule = Simulator.getBestSchedule(p, 30, 20, 20);
+			assertTrue(controlMode.name(), calculateCost(p, schedule) <= calculateCost(p, geneticSchedule));
+		}
+	}
+
+	@Test
+	public void testWithoutEss() {
+		var p = Params.create() //
+				.setTime(TIME) //
+				.setEssTotalEnergy(0) //
+				.setProductions(0) //
+				.setConsumptions(100) //
+				.setPrices(100) //
+				.setStates(STATES) //
+				.build();
+		assertNull(DynamicProgramming.getBestSchedule(p));
+	}
+
+}
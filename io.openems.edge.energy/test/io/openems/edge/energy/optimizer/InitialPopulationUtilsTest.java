@@ -16,9 +16,12 @@ import static org.junit.Assert.assertEquals;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableSortedMap;
+
 import io.openems.edge.controller.ess.timeofusetariff.ControlMode;
 
 public class InitialPopulationUtilsTest {
@@ -83,6 +86,25 @@ public class InitialPopulationUtilsTest {
 			assertEquals(0 /* BALANCING */, gt.get(4).get(0).intValue());
 			assertEquals(0 /* BALANCING */, gt.get(5).get(0).intValue()); // default
 		}
+		{
+			var lgt = buildInitialPopulation(Params.create() //
+					.setTime(TIME) //
+					.setProductions(stream(interpolateArray(PRODUCTION_888_20231106)).map(v -> toEnergy(v)).toArray()) //
+					.setConsumptions(stream(interpolateArray(CONSUMPTION_888_20231106)).map(v -> toEnergy(v)).toArray()) //
+					.setPrices(hourlyToQuarterly(interpolateArray(PRICES_888_20231106))) //
+					.setStates(ControlMode.CHARGE_CONSUMPTION.states) //
+					.setExistingSchedule(prepareExistingSchedule(TIME)) //
+					.build(), //
+					List.of(ImmutableSortedMap.of(//
+							TIME.minusMinutes(15), CHARGE_GRID, // before start of Schedule
+							TIME, CHARGE_GRID, //
+							TIME.plusMinutes(15), DELAY_DISCHARGE)));
+			assertEquals(6, lgt.size()); // Previous population is added at the end
+			var gt = lgt.get(5);
+			assertEquals(2 /* CHARGE_GRID */, gt.get(0).get(0).intValue());
+			assertEquals(1 /* DELAY_DISCHARGE */, gt.get(1).get(0).intValue());
+			assertEquals(0 /* BALANCING */, gt.get(2).get(0).intValue()); // default
+		}
 	}
 
 }
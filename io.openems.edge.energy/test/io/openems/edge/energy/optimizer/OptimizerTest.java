@@ -1,13 +1,26 @@
 package io.openems.edge.energy.optimizer;
 
+import static io.openems.edge.controller.ess.timeofusetariff.StateMachine.BALANCING;
+import static io.openems.edge.controller.ess.timeofusetariff.StateMachine.CHARGE_GRID;
+import static io.openems.edge.controller.ess.timeofusetariff.StateMachine.DELAY_DISCHARGE;
 import static io.openems.edge.energy.EnergySchedulerImplTest.CLOCK;
 import static io.openems.edge.energy.EnergySchedulerImplTest.getOptimizer;
+import static io.openems.edge.energy.optimizer.SimulatorTest.TIME;
+import static io.openems.edge.energy.optimizer.SimulatorTest.createParams888d20231106;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
 import org.junit.Test;
 
+import io.openems.edge.controller.ess.timeofusetariff.ControlMode;
+import io.openems.edge.controller.ess.timeofusetariff.StateMachine;
 import io.openems.edge.energy.EnergySchedulerImplTest;
+import io.openems.edge.energy.optimizer.Simulator.Statistics;
 
 public class OptimizerTest {
 
@@ -18,4 +31,70 @@ public class OptimizerTest {
 		assertTrue(sut.getSchedule().isEmpty());
 	}
 
+	@Test
+	public void testGeneticAlgorithmFallback() {
+		var statistics = new AtomicReference<Statistics>();
+		var sut = new Optimizer(() -> null, statistics::set);
+		sut.setSolver(Solver.DYNAMIC_PROGRAMMING_WITH_FALLBACK);
+		sut.setThreads(2);
+		try {
+			// Without ESS capacity -> genetic algorithm publishes Statistics
+			var p = Params.create() //
+					.setTime(TIME) //
+					.setEssTotalEnergy(0) //
+					.setProductions(0, 500, 1000, 0) //
+					.setConsumptions(800, 700, 600, 900) //
+					.setPrices(100, 150, 200, 300) //
+					.setStates(new StateMachine[] { BALANCING, DELAY_DISCHARGE, CHARGE_GRID }) //
+					.build();
+			var schedule = sut.getBestSchedule(p, 1);
+			assertEquals(p.optimizePeriods().size(), schedule.length);
+			assertNotNull(statistics.get());
+			assertTrue(statistics.get().evaluations() > 0);
+
+			// Solved by DynamicProgramming -> Statistics are reset
+			p = createParams888d20231106(ControlMode.CHARGE_CONSUMPTION.states);
+			schedule = sut.getBestSchedule(p, 1);
+			assertEquals(p.optimizePeriods().size(), schedule.length);
+			assertNull(statistics.get());
+		} finally {
+			sut.deactivate();
+		}
+	}
+
+	@Test
+	public void testSolver() {
+		var statistics = new AtomicReference<Statistics>();
+		var sut = new Optimizer(() -> null, statistics::set);
+		try {
+			// Default: genetic algorithm
+			var p = createParams888d20231106(ControlMode.CHARGE_CONSUMPTION.states);
+			var schedule = sut.getBestSchedule(p, 1);
+			assertEquals(p.optimizePeriods().size(), schedule.length);
+			assertNotNull(statistics.get());
+
+			// Dynamic programming
+			sut.setSolver(Solver.DYNAMIC_PROGRAMMING);
+			schedule = sut.getBestSchedule(p, 1);
+			assertEquals(p.optimizePeriods().size(), schedule.length);
+			assertNull(statistics.get());
+
+			// Dynamic programming without ESS capacity -> BALANCING
+			p = Params.create() //
+					.setTime(TIME) //
+					.setEssTotalEnergy(0) //
+					.setProductions(0, 500) //
+					.setConsumptions(800, 700) //
+					.setPrices(100, 150) //
+					.setStates(new StateMachine[] { BALANCING, DELAY_DISCHARGE, CHARGE_GRID }) //
+					.build();
+			schedule = sut.getBestSchedule(p, 1);
+			assertEquals(p.optimizePeriods().size(), schedule.length);
+			assertTrue(Stream.of(schedule).allMatch(s -> s == BALANCING));
+			assertNull(statistics.get());
+		} finally {
+			sut.deactivate();
+		}
+	}
+
 }
@@ -7,17 +7,21 @@ import static io.openems.edge.energy.TestData.CONSUMPTION_888_20231106;
 import static io.openems.edge.energy.TestData.PRICES_888_20231106;
 import static io.openems.edge.energy.TestData.PRODUCTION_888_20231106;
 import static io.openems.edge.energy.optimizer.Simulator.getBestSchedule;
+import static io.openems.edge.energy.optimizer.Simulator.optimize;
 import static io.openems.edge.energy.optimizer.Simulator.simulate;
 import static io.openems.edge.energy.optimizer.Utils.interpolateArray;
 import static io.openems.edge.energy.optimizer.Utils.toEnergy;
 import static java.util.Arrays.stream;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.DoubleStream;
@@ -31,6 +35,7 @@ import io.jenetics.util.RandomRegistry;
 import io.openems.edge.controller.ess.timeofusetariff.ControlMode;
 import io.openems.edge.controller.ess.timeofusetariff.StateMachine;
 import io.openems.edge.energy.optimizer.Simulator.Period;
+import io.openems.edge.energy.optimizer.Simulator.Result;
 
 public class SimulatorTest {
 
@@ -166,6 +171,30 @@ public class SimulatorTest {
 		assertArrayEquals(existingSchedule, Arrays.copyOfRange(s, 0, existingSchedule.length));
 	}
 
+	@Test
+	public void testOptimizeStopsOnConvergence() {
+		var p = createParams888d20231106(ControlMode.CHARGE_CONSUMPTION.states);
+		var executor = new ForkJoinPool(2);
+		Result result;
+		try {
+			result = optimize(p, //
+					/* executionLimitSeconds */ 30, //
+					/* populationSize */ null, //
+					/* limit */ null, //
+					executor, List.of());
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(p.optimizePeriods().size(), result.schedule().length);
+		assertArrayEquals(result.schedule(), result.population().get(0));
+
+		var st = result.statistics();
+		assertTrue(st.generations() > 0);
+		assertTrue(st.evaluations() > 0);
+		assertTrue(st.duration().getSeconds() < 30);
+		assertTrue(st.timeToBest().compareTo(st.duration()) <= 0);
+	}
+
 	/**
 	 * Creates dummy {@link Params}.
 	 * 
@@ -0,0 +1,120 @@
+package io.openems.edge.energy.optimizer;
+
+import static io.openems.edge.controller.ess.timeofusetariff.StateMachine.BALANCING;
+import static io.openems.edge.controller.ess.timeofusetariff.StateMachine.CHARGE_GRID;
+import static io.openems.edge.controller.ess.timeofusetariff.StateMachine.DELAY_DISCHARGE;
+import static io.openems.edge.energy.optimizer.WarmStart.MAX_NEW_QUARTERS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import io.openems.edge.controller.ess.timeofusetariff.ControlMode;
+import io.openems.edge.controller.ess.timeofusetariff.StateMachine;
+
+public class WarmStartTest {
+
+	private static final ZonedDateTime TIME = ZonedDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+	private static final int QUARTERS = 96;
+
+	private static Params createParams(int offset, int essTotalEnergy, double priceFactor, double energyFactor) {
+		return createParams(offset, essTotalEnergy, expectedEssInitialEnergy(offset), priceFactor, energyFactor);
+	}
+
+	private static Params createParams(int offset, int essTotalEnergy, int essInitialEnergy, double priceFactor,
+			double energyFactor) {
+		return Params.create() //
+				.setTime(TIME.plusMinutes(15 * offset)) //
+				.setEssTotalEnergy(essTotalEnergy) //
+				.setEssMinSocEnergy(0) //
+				.setEssMaxSocEnergy(essTotalEnergy) //
+				.setEssInitialEnergy(essInitialEnergy) //
+				.setEssMaxChargeEnergy(2500) //
+				.setEssMaxDischargeEnergy(2500) //
+				.seMaxBuyFromGrid(6000) //
+				.setProductions(IntStream.range(offset, offset + QUARTERS) //
+						.map(i -> (int) (energyFactor * Math.max(0, 2500 * Math.sin(Math.PI * (i - 24) / 48)))) //
+						.toArray()) //
+				.setConsumptions(IntStream.range(offset, offset + QUARTERS) //
+						.map(i -> (int) (energyFactor * 500)) //
+						.toArray()) //
+				.setPrices(IntStream.range(offset, offset + QUARTERS) //
+						.mapToDouble(i -> priceFactor * (250 + 100 * Math.sin(Math.PI * (i - 40) / 48))) //
+						.toArray()) //
+				.setStates(ControlMode.CHARGE_CONSUMPTION.states) //
+				.build();
+	}
+
+	private static Params createReferenceParams() {
+		return createParams(0, 22000, 6000, 1, 1);
+	}
+
+	private static StateMachine[] createSchedule(Params p) {
+		var schedule = p.optimizePeriods().stream() //
+				.map(op -> BALANCING) //
+				.toArray(StateMachine[]::new);
+		schedule[1] = CHARGE_GRID;
+		schedule[2] = DELAY_DISCHARGE;
+		return schedule;
+	}
+
+	private static int expectedEssInitialEnergy(int offset) {
+		var p = createReferenceParams();
+		return Simulator.simulate(p, createSchedule(p)).get(TIME.plusMinutes(15 * offset)).essInitial();
+	}
+
+	private static WarmStart createWarmStart() {
+		var p = createReferenceParams();
+		return WarmStart.of(p, List.<StateMachine[]>of(createSchedule(p)));
+	}
+
+	@Test
+	public void testEssInitialEnergies() {
+		var essInitialEnergies = createWarmStart().essInitialEnergies();
+		assertEquals(QUARTERS, essInitialEnergies.size());
+		assertEquals(6000, (int) essInitialEnergies.get(TIME));
+		var afterBalancing = essInitialEnergies.get(TIME.plusMinutes(15));
+		assertTrue(afterBalancing < 6000); // discharges for consumption
+		assertTrue(essInitialEnergies.get(TIME.plusMinutes(30)) > afterBalancing); // CHARGE_GRID
+	}
+
+	@Test
+	public void testPopulation() {
+		var population = createWarmStart().population();
+		assertEquals(1, population.size());
+		var schedule = population.get(0);
+		assertEquals(QUARTERS, schedule.size());
+		assertEquals(BALANCING, schedule.get(TIME));
+		assertEquals(CHARGE_GRID, schedule.get(TIME.plusMinutes(15)));
+		assertEquals(DELAY_DISCHARGE, schedule.get(TIME.plusMinutes(30)));
+	}
+
+	@Test
+	public void testIsApplicable() {
+		var warmStart = createWarmStart();
+		assertTrue(warmStart.isApplicable(createParams(0, 22000, 1, 1)));
+		assertTrue(warmStart.isApplicable(createParams(1, 22000, 1, 1)));
+		assertTrue(warmStart.isApplicable(createParams(MAX_NEW_QUARTERS, 22000, 1, 1)));
+		assertTrue(warmStart.isApplicable(createParams(1, 22000, 1.01, 1.05)));
+		assertTrue(warmStart.isApplicable(createParams(2, 22000, expectedEssInitialEnergy(2) - 1000, 1, 1)));
+
+		assertFalse("Horizon", warmStart.isApplicable(createParams(MAX_NEW_QUARTERS + 1, 22000, 1, 1)));
+		assertFalse("Capacity", warmStart.isApplicable(createParams(1, 10000, 1, 1)));
+		assertFalse("Prices", warmStart.isApplicable(createParams(1, 22000, 1.1, 1)));
+		assertFalse("Predictions", warmStart.isApplicable(createParams(1, 22000, 1, 1.2)));
+		assertFalse("Initial Energy",
+				warmStart.isApplicable(createParams(2, 22000, expectedEssInitialEnergy(2) - 2000, 1, 1)));
+		var p = createParams(1, 22000, 1, 1);
+		assertFalse("States", warmStart.isApplicable(new Params(p.time(), p.essTotalEnergy(), p.essMinSocEnergy(),
+				p.essMaxSocEnergy(), p.essInitialEnergy(), ControlMode.DELAY_DISCHARGE.states, p.existingSchedule(),
+				p.optimizePeriods())));
+		assertFalse("Population", warmStart.withPopulation(p, List.of()).isApplicable(p));
+	}
+
+}
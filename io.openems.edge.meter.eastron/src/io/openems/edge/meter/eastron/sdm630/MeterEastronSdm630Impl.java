@@ -31,6 +31,7 @@ import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
 import io.openems.edge.bridge.modbus.api.element.FloatDoublewordElement;
 import io.openems.edge.bridge.modbus.api.element.WordOrder;
 import io.openems.edge.bridge.modbus.api.task.FC4ReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTasksOptimizer;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.modbusslave.ModbusSlave;
@@ -52,6 +53,9 @@ import io.openems.edge.meter.api.MeterType;
 public class MeterEastronSdm630Impl extends AbstractOpenemsModbusComponent
 		implements MeterEastronSdm630, ElectricityMeter, ModbusComponent, OpenemsComponent, ModbusSlave {
 
+	/** Largest gap of the Read-Tasks, i.e. registers 30031 to 30048. */
+	private static final int MAX_REGISTER_GAP = 18;
+
 	private MeterType meterType = MeterType.PRODUCTION;
 
 	@Reference
@@ -223,7 +227,7 @@ public class MeterEastronSdm630Impl extends AbstractOpenemsModbusComponent
 					m(ElectricityMeter.ChannelId.ACTIVE_PRODUCTION_ENERGY_L3, new FloatDoublewordElement(30357 - offset)
 							.wordOrder(WordOrder.MSWLSW).byteOrder(ByteOrder.BIG_ENDIAN),
 							ElementToChannelConverter.SCALE_FACTOR_3)));
-			return modbusProtocol;
+			return optimize(modbusProtocol);
 
 		} else { // Consumption-Meter darf nicht negativ werden
 			var modbusProtocol = new ModbusProtocol(this, //
@@ -348,11 +352,23 @@ public class MeterEastronSdm630Impl extends AbstractOpenemsModbusComponent
 									.byteOrder(ByteOrder.BIG_ENDIAN),
 							ElementToChannelConverter.SCALE_FACTOR_3)));
 
-			return modbusProtocol;
+			return optimize(modbusProtocol);
 		}
 
 	}
 
+	/**
+	 * Merges the adjacent Read-Tasks into one request. The SDM630 allows reading
+	 * undefined registers; the hand-written Tasks already read across gaps of up to
+	 * {@link #MAX_REGISTER_GAP} registers.
+	 *
+	 * @param modbusProtocol the {@link ModbusProtocol}
+	 * @return the optimized {@link ModbusProtocol}
+	 */
+	private static ModbusProtocol optimize(ModbusProtocol modbusProtocol) {
+		return modbusProtocol.optimizeReadTasks(MAX_REGISTER_GAP, ReadTasksOptimizer.MAX_LENGTH);
+	}
+
 	@Override
 	public String debugLog() {
 		return "L:" + this.getActivePower().asString();
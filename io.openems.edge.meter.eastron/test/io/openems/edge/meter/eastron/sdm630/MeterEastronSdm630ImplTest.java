@@ -1,5 +1,9 @@
 package io.openems.edge.meter.eastron.sdm630;
 
+import static org.junit.Assert.assertEquals;
+
+import java.util.stream.Collectors;
+
 import org.junit.Test;
 
 import io.openems.edge.bridge.modbus.test.DummyModbusBridge;
@@ -24,4 +28,26 @@ public class MeterEastronSdm630ImplTest {
 						.build()) //
 		;
 	}
+
+	@Test
+	public void testOptimizedReadTasks() throws Exception {
+		var bridge = new DummyModbusBridge(MODBUS_ID);
+		new ComponentTest(new MeterEastronSdm630Impl()) //
+				.addReference("cm", new DummyConfigurationAdmin()) //
+				.addReference("setModbus", bridge) //
+				.activate(MyConfig.create() //
+						.setId(METER_ID) //
+						.setModbusId(MODBUS_ID) //
+						.setType(MeterType.CONSUMPTION_METERED) //
+						.build()) //
+		;
+
+		// Registers 30001-30080 are merged into one request, 30347-30358 are too far
+		// away
+		var tasks = bridge.getProtocol(METER_ID).getTaskManager().getTasks();
+		assertEquals("FC4ReadInputRegistersTask:0/80, FC4ReadInputRegistersTask:346/12", tasks.stream() //
+				.map(t -> t.getClass().getSimpleName() + ":" + t.getStartAddress() + "/" + t.getLength()) //
+				.sorted() //
+				.collect(Collectors.joining(", ")));
+	}
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package io.openems.edge.predictor.api.manager;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.predictor.api.prediction.Prediction;
+import io.openems.edge.predictor.api.prediction.PredictionSnapshot;
 import io.openems.edge.predictor.api.prediction.Predictor;
 
 public interface PredictorManager extends OpenemsComponent {
@@ -34,4 +39,37 @@ public interface PredictorManager extends OpenemsComponent {
 	 *         Predictor matches the Channel-Address
 	 */
 	public Prediction getPrediction(ChannelAddress channelAddress);
+
+	/**
+	 * Gets the {@link Prediction}s by the best matching {@link Predictor}s for the
+	 * given {@link ChannelAddress}es.
+	 *
+	 * <p>
+	 * All {@link ChannelAddress}es of one {@link Predictor} are predicted in one
+	 * batch.
+	 *
+	 * @param channelAddresses the {@link ChannelAddress}es
+	 * @return a {@link Prediction} for every {@link ChannelAddress};
+	 *         {@link Prediction#EMPTY_PREDICTION} if no Predictor matches the
+	 *         Channel-Address
+	 */
+	public default Map<ChannelAddress, Prediction> getPredictions(Set<ChannelAddress> channelAddresses) {
+		var result = new HashMap<ChannelAddress, Prediction>();
+		for (var channelAddress : channelAddresses) {
+			result.put(channelAddress, this.getPrediction(channelAddress));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the {@link PredictionSnapshot} of all {@link Prediction}s that were
+	 * requested so far.
+	 *
+	 * <p>
+	 * Never creates new {@link Prediction}s, i.e. this is cheap and can be called
+	 * by any number of consumers.
+	 *
+	 * @return the latest {@link PredictionSnapshot}
+	 */
+	public PredictionSnapshot getSnapshot();
 }
@@ -5,14 +5,23 @@ import static io.openems.edge.predictor.api.prediction.Prediction.EMPTY_PREDICTI
 
 import java.time.ZonedDateTime;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -21,9 +30,12 @@ public abstract class AbstractPredictor extends AbstractOpenemsComponent impleme
 
 	private final Logger log = LoggerFactory.getLogger(AbstractPredictor.class);
 
-	private final Map<ChannelAddress, Prediction> predictions = new HashMap<>();
+	private final Map<ChannelAddress, Prediction> predictions = new ConcurrentHashMap<>();
+	private final Map<ChannelAddress, CompletableFuture<Prediction>> updates = new HashMap<>();
 
 	private LogVerbosity logVerbosity = LogVerbosity.NONE;
+	/** Creates new Predictions in the background; null for the calling thread. */
+	private volatile ExecutorService executor = null;
 
 	protected abstract ClockProvider getClockProvider();
 
@@ -42,12 +54,47 @@ public abstract class AbstractPredictor extends AbstractOpenemsComponent impleme
 
 	protected void activate(ComponentContext context, String id, String alias, boolean enabled,
 			String[] channelAddresses, LogVerbosity logVerbosity) throws OpenemsNamedException {
+		this.activate(context, id, alias, enabled, channelAddresses, logVerbosity, false);
+	}
+
+	/**
+	 * Activates the Predictor.
+	 * 
+	 * <p>
+	 * With 'background' set, new Predictions are created in a background thread:
+	 * {@link #getPrediction(ChannelAddress)} never blocks and returns the last
+	 * finished {@link Prediction}, i.e. {@link Prediction#EMPTY_PREDICTION} till
+	 * the first one is finished.
+	 * 
+	 * @param context          the {@link ComponentContext}
+	 * @param id               the Component-ID
+	 * @param alias            the Alias
+	 * @param enabled          is the Component enabled?
+	 * @param channelAddresses the Channel-Addresses
+	 * @param logVerbosity     the {@link LogVerbosity}
+	 * @param background       create new Predictions in a background thread
+	 * @throws OpenemsNamedException on error
+	 */
+	protected void activate(ComponentContext context, String id, String alias, boolean enabled,
+			String[] channelAddresses, LogVerbosity logVerbosity, boolean background) throws OpenemsNamedException {
 		super.activate(context, id, alias, enabled);
 		this.logVerbosity = logVerbosity;
 
 		for (var i = 0; i < channelAddresses.length; i++) {
 			this.predictions.put(ChannelAddress.fromString(channelAddresses[i]), EMPTY_PREDICTION);
 		}
+
+		if (background) {
+			this.executor = Executors.newSingleThreadExecutor(//
+					new ThreadFactoryBuilder().setNameFormat("Predictor:" + id + "-%d").build());
+		}
+	}
+
+	@Override
+	protected void deactivate() {
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 1);
+		this.executor = null;
+		super.deactivate();
 	}
 
 	@Override
@@ -57,20 +104,128 @@ public abstract class AbstractPredictor extends AbstractOpenemsComponent impleme
 
 	@Override
 	public Prediction getPrediction(ChannelAddress channelAddress) {
+		return this.getPredictions(Set.of(channelAddress)).get(channelAddress);
+	}
+
+	@Override
+	public Map<ChannelAddress, Prediction> getPredictions(Set<ChannelAddress> channelAddresses) {
 		var now = roundDownToQuarter(ZonedDateTime.now(this.getClockProvider().getClock()));
-		var prediction = this.predictions.get(channelAddress);
-		if (prediction == null || prediction.isEmpty() || now.isAfter(prediction.valuePerQuarter.firstKey())) {
-			// Create new prediction
-			prediction = this.createNewPrediction(channelAddress);
-			this.predictions.put(channelAddress, prediction);
-		} else {
-			// Reuse existing prediction
+		var result = new HashMap<ChannelAddress, Prediction>();
+		var outdated = new HashSet<ChannelAddress>();
+		for (var channelAddress : channelAddresses) {
+			var prediction = this.predictions.get(channelAddress);
+			if (prediction == null || prediction.isEmpty() || now.isAfter(prediction.valuePerQuarter.firstKey())) {
+				outdated.add(channelAddress);
+				result.put(channelAddress, Prediction.from(now, prediction));
+			} else {
+				// Reuse existing prediction
+				result.put(channelAddress, prediction);
+			}
+		}
+		if (!outdated.isEmpty()) {
+			if (this.executor == null) {
+				// Create new predictions
+				var predictions = this.createNewPredictions(outdated);
+				this.predictions.putAll(predictions);
+				result.putAll(predictions);
+			} else {
+				// Create new predictions in background; meanwhile use the last ones
+				this.updatePredictions(outdated);
+			}
 		}
 		switch (this.logVerbosity) {
 		case NONE -> {
 		}
-		case REQUESTED_PREDICTIONS -> this.logInfo(this.log, "Prediction for [" + channelAddress + "]: " + prediction);
+		case REQUESTED_PREDICTIONS -> result.forEach((channelAddress, prediction) -> {
+			this.logInfo(this.log, "Prediction for [" + channelAddress + "]: " + prediction);
+		});
+		}
+		return result;
+	}
+
+	/**
+	 * Creates new {@link Prediction}s for the given {@link ChannelAddress}es.
+	 * 
+	 * <p>
+	 * Override to create all {@link Prediction}s in one batch, e.g. from one
+	 * Timedata query. By default {@link #createNewPrediction(ChannelAddress)} is
+	 * called for every {@link ChannelAddress}.
+	 * 
+	 * @param channelAddresses the {@link ChannelAddress}es
+	 * @return a {@link Prediction} for every {@link ChannelAddress}
+	 */
+	protected Map<ChannelAddress, Prediction> createNewPredictions(Set<ChannelAddress> channelAddresses) {
+		var result = new HashMap<ChannelAddress, Prediction>();
+		for (var channelAddress : channelAddresses) {
+			result.put(channelAddress, this.createNewPrediction(channelAddress));
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new {@link Prediction} for the given {@link ChannelAddress},
+	 * unless one is already being created.
+	 * 
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return a {@link CompletableFuture} of the new {@link Prediction}
+	 */
+	public CompletableFuture<Prediction> updatePrediction(ChannelAddress channelAddress) {
+		return this.updatePredictions(Set.of(channelAddress)) //
+				.thenApply(predictions -> predictions.get(channelAddress));
+	}
+
+	/**
+	 * Creates new {@link Prediction}s for the given {@link ChannelAddress}es in
+	 * one batch; {@link ChannelAddress}es whose {@link Prediction} is already
+	 * being created are not created again.
+	 * 
+	 * @param channelAddresses the {@link ChannelAddress}es
+	 * @return a {@link CompletableFuture} of the new {@link Prediction}s
+	 */
+	public CompletableFuture<Map<ChannelAddress, Prediction>> updatePredictions(Set<ChannelAddress> channelAddresses) {
+		final var futures = new HashMap<ChannelAddress, CompletableFuture<Prediction>>();
+		synchronized (this.updates) {
+			final var missing = new HashSet<ChannelAddress>();
+			for (var channelAddress : channelAddresses) {
+				var future = this.updates.get(channelAddress);
+				if (future != null) {
+					futures.put(channelAddress, future);
+				} else {
+					missing.add(channelAddress);
+				}
+			}
+			if (!missing.isEmpty()) {
+				var executor = this.executor;
+				var batch = CompletableFuture //
+						.supplyAsync(() -> this.createNewPredictions(missing), //
+								executor != null ? executor : Runnable::run) //
+						.whenComplete((predictions, e) -> {
+							if (predictions != null) {
+								this.predictions.putAll(predictions);
+							} else if (e != null) {
+								this.logError(this.log,
+										"Unable to create Predictions for " + missing + ": " + e.getMessage());
+							}
+							synchronized (this.updates) {
+								missing.forEach(this.updates::remove);
+							}
+						});
+				for (var channelAddress : missing) {
+					var future = batch.thenApply(predictions -> {
+						return predictions.getOrDefault(channelAddress, EMPTY_PREDICTION);
+					});
+					futures.put(channelAddress, future);
+					if (!batch.isDone()) {
+						this.updates.put(channelAddress, future);
+					}
+				}
+			}
 		}
-		return prediction;
+		return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)) //
+				.thenApply(v -> {
+					var result = new HashMap<ChannelAddress, Prediction>();
+					futures.forEach((channelAddress, future) -> result.put(channelAddress, future.join()));
+					return result;
+				});
 	}
 }
@@ -0,0 +1,239 @@
+package io.openems.edge.predictor.api.prediction;
+
+import static io.openems.common.utils.DateUtils.roundDownToQuarter;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * An immutable snapshot of the {@link Prediction}s of multiple Channels, shared
+ * by all consumers.
+ *
+ * <p>
+ * Values are stored as primitive arrays with one value per quarter, starting at
+ * {@link #getTime()}; missing values are stored as {@link #NULL}. The
+ * {@link #getVersion()} is incremented on every change, so consumers can detect
+ * updates without comparing values.
+ */
+public final class PredictionSnapshot {
+
+	/** Marks a missing value. */
+	public static final int NULL = Integer.MIN_VALUE;
+
+	/** An 'empty' {@link PredictionSnapshot} without any Channels. */
+	public static final PredictionSnapshot EMPTY = new PredictionSnapshot(0, null, ImmutableMap.of());
+
+	private static final Duration QUARTER = Duration.ofMinutes(15);
+
+	private final long version;
+	private final ZonedDateTime time;
+	private final ImmutableMap<ChannelAddress, int[]> values;
+
+	private PredictionSnapshot(long version, ZonedDateTime time, ImmutableMap<ChannelAddress, int[]> values) {
+		this.version = version;
+		this.time = time;
+		this.values = values;
+	}
+
+	/**
+	 * Creates the next {@link PredictionSnapshot}: the values of this snapshot
+	 * are moved to the given time and updated with the given {@link Prediction}s.
+	 *
+	 * <p>
+	 * If the time moved backwards, e.g. after a clock adjustment, the existing
+	 * values are moved to the back, so no Channel is lost.
+	 *
+	 * @param time        the current time; rounded down to quarter
+	 * @param predictions the new {@link Prediction}s
+	 * @return a {@link PredictionSnapshot} with incremented version; this
+	 *         snapshot if nothing changed
+	 */
+	public PredictionSnapshot with(ZonedDateTime time, Map<ChannelAddress, Prediction> predictions) {
+		time = roundDownToQuarter(time);
+		if (this.contains(time, predictions)) {
+			return this;
+		}
+		var result = new LinkedHashMap<ChannelAddress, int[]>();
+		if (this.time != null) {
+			var offset = Duration.between(this.time, time).dividedBy(QUARTER);
+			this.values.forEach((channelAddress, values) -> {
+				result.put(channelAddress, shift(values, offset));
+			});
+		}
+		for (var entry : predictions.entrySet()) {
+			result.put(entry.getKey(), toValues(time, entry.getValue()));
+		}
+		return new PredictionSnapshot(this.version + 1, time, ImmutableMap.copyOf(result));
+	}
+
+	/**
+	 * Checks if this snapshot already holds the given {@link Prediction}s at the
+	 * given time, without creating any copies.
+	 *
+	 * @param time        the current time; rounded down to quarter
+	 * @param predictions the {@link Prediction}s
+	 * @return true if {@link #with(ZonedDateTime, Map)} would not change anything
+	 */
+	public boolean contains(ZonedDateTime time, Map<ChannelAddress, Prediction> predictions) {
+		time = roundDownToQuarter(time);
+		if (!time.equals(this.time)) {
+			return false;
+		}
+		for (var entry : predictions.entrySet()) {
+			if (!matches(time, entry.getValue(), this.values.get(entry.getKey()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the version; incremented on every change.
+	 *
+	 * @return the version
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Gets the time of the first value.
+	 *
+	 * @return the time; null for {@link #EMPTY}
+	 */
+	public ZonedDateTime getTime() {
+		return this.time;
+	}
+
+	/**
+	 * Gets the {@link ChannelAddress}es of this snapshot.
+	 *
+	 * @return a Set of {@link ChannelAddress}es
+	 */
+	public ImmutableSet<ChannelAddress> getChannelAddresses() {
+		return this.values.keySet();
+	}
+
+	/**
+	 * Gets the number of quarters for the given {@link ChannelAddress}.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return the number of quarters; zero if the Channel is not available
+	 */
+	public int size(ChannelAddress channelAddress) {
+		var values = this.values.get(channelAddress);
+		return values == null ? 0 : values.length;
+	}
+
+	/**
+	 * Gets the value of the given {@link ChannelAddress} for a quarter.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param quarter        the index of the quarter, starting at
+	 *                       {@link #getTime()}
+	 * @return the value; {@link #NULL} if not available
+	 */
+	public int get(ChannelAddress channelAddress, int quarter) {
+		var values = this.values.get(channelAddress);
+		if (values == null || quarter < 0 || quarter >= values.length) {
+			return NULL;
+		}
+		return values[quarter];
+	}
+
+	/**
+	 * Gets a copy of the values of the given {@link ChannelAddress}.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return the values; missing values are {@link #NULL}
+	 */
+	public int[] toArray(ChannelAddress channelAddress) {
+		var values = this.values.get(channelAddress);
+		return values == null ? new int[0] : values.clone();
+	}
+
+	/**
+	 * Gets the {@link Prediction} of the given {@link ChannelAddress}.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return the {@link Prediction}; {@link Prediction#EMPTY_PREDICTION} if the
+	 *         Channel is not available
+	 */
+	public Prediction getPrediction(ChannelAddress channelAddress) {
+		var values = this.values.get(channelAddress);
+		if (values == null) {
+			return Prediction.EMPTY_PREDICTION;
+		}
+		return Prediction.from(this.time, Arrays.stream(values) //
+				.mapToObj(v -> v == NULL ? null : v) //
+				.toArray(Integer[]::new));
+	}
+
+	private static boolean matches(ZonedDateTime time, Prediction prediction, int[] values) {
+		if (values == null) {
+			return false;
+		}
+		if (prediction == null || prediction.isEmpty()) {
+			return values.length == 0;
+		}
+		var tail = prediction.valuePerQuarter.tailMap(time);
+		if (tail.isEmpty()) {
+			return values.length == 0;
+		}
+		var offset = (int) Duration.between(time, tail.firstKey()).dividedBy(QUARTER);
+		if (offset + tail.size() != values.length) {
+			return false;
+		}
+		for (var i = 0; i < offset; i++) {
+			if (values[i] != NULL) {
+				return false;
+			}
+		}
+		var i = offset;
+		for (var value : tail.values()) {
+			if (values[i++] != (value == null ? NULL : value)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int[] shift(int[] values, long offset) {
+		if (offset == 0) {
+			// Arrays are never modified; share them between snapshots
+			return values;
+		}
+		if (offset > 0 || -offset > values.length) {
+			// Forwards; or backwards beyond the available values
+			return Arrays.copyOfRange(values, (int) Math.min(Math.abs(offset), values.length), values.length);
+		}
+		var result = new int[values.length - (int) offset];
+		Arrays.fill(result, 0, (int) -offset, NULL);
+		System.arraycopy(values, 0, result, (int) -offset, values.length);
+		return result;
+	}
+
+	private static int[] toValues(ZonedDateTime time, Prediction prediction) {
+		prediction = Prediction.from(time, prediction);
+		if (prediction.isEmpty()) {
+			return new int[0];
+		}
+		var offset = (int) Duration.between(time, prediction.valuePerQuarter.firstKey()).dividedBy(QUARTER);
+		var result = new int[offset + prediction.valuePerQuarter.size()];
+		Arrays.fill(result, NULL);
+		var i = offset;
+		for (var value : prediction.valuePerQuarter.values()) {
+			result[i++] = value == null ? NULL : value;
+		}
+		return result;
+	}
+
+}
@@ -1,5 +1,9 @@
 package io.openems.edge.predictor.api.prediction;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 import org.osgi.annotation.versioning.ProviderType;
 
 import io.openems.common.types.ChannelAddress;
@@ -30,4 +34,23 @@ public interface Predictor extends OpenemsComponent {
 	 */
 	public Prediction getPrediction(ChannelAddress channelAddress);
 
+	/**
+	 * Gets the {@link Prediction}s for the given {@link ChannelAddress}es.
+	 *
+	 * <p>
+	 * Implementations may create all {@link Prediction}s in one batch; by default
+	 * {@link #getPrediction(ChannelAddress)} is called for every
+	 * {@link ChannelAddress}.
+	 *
+	 * @param channelAddresses the {@link ChannelAddress}es
+	 * @return a {@link Prediction} for every {@link ChannelAddress}
+	 */
+	public default Map<ChannelAddress, Prediction> getPredictions(Set<ChannelAddress> channelAddresses) {
+		var result = new HashMap<ChannelAddress, Prediction>();
+		for (var channelAddress : channelAddresses) {
+			result.put(channelAddress, this.getPrediction(channelAddress));
+		}
+		return result;
+	}
+
 }
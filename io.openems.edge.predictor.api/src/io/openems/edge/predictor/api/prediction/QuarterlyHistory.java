@@ -0,0 +1,179 @@
+package io.openems.edge.predictor.api.prediction;
+
+import static io.openems.common.utils.DateUtils.roundDownToQuarter;
+import static java.util.stream.Collectors.toSet;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.timedata.CommonTimedataService;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * A rolling history of the quarterly values of one Channel.
+ *
+ * <p>
+ * Values are kept in a primitive ring buffer. The first
+ * {@link #update(CommonTimedataService, ZonedDateTime)} queries the full
+ * length from Timedata; afterwards only the quarters since the last update are
+ * queried and appended. Multiple histories can be updated with one query via
+ * {@link #update(CommonTimedataService, ZonedDateTime, Collection)}.
+ */
+public class QuarterlyHistory {
+
+	/** Marks a missing value in the ring buffer. */
+	protected static final int NULL = Integer.MIN_VALUE;
+
+	/**
+	 * The newest quarters are queried again on every update, because they might
+	 * not have been complete at the last update.
+	 */
+	protected static final int REFRESH_QUARTERS = 1;
+
+	private static final Duration QUARTER = Duration.ofMinutes(15);
+	private static final Resolution RESOLUTION = new Resolution(15, ChronoUnit.MINUTES);
+
+	private final ChannelAddress channelAddress;
+	private final int[] values;
+
+	/** Index of the oldest value. */
+	private int head = 0;
+	/** End (exclusive) of the newest value; null before the first update. */
+	private ZonedDateTime end = null;
+
+	public QuarterlyHistory(ChannelAddress channelAddress, int quarters) {
+		this.channelAddress = channelAddress;
+		this.values = new int[quarters];
+		Arrays.fill(this.values, NULL);
+	}
+
+	/**
+	 * Queries the missing quarters till now from Timedata and appends them.
+	 *
+	 * @param timedata the {@link CommonTimedataService}
+	 * @param now      the current time; rounded down to quarter
+	 * @return the values of the history, oldest first, ending before now; null
+	 *         values if data is missing. Null if Timedata returned no result.
+	 * @throws OpenemsNamedException on error
+	 */
+	public synchronized List<Integer> update(CommonTimedataService timedata, ZonedDateTime now)
+			throws OpenemsNamedException {
+		var result = update(timedata, now, List.of(this));
+		return result == null ? null : result.get(this.channelAddress);
+	}
+
+	/**
+	 * Updates all given {@link QuarterlyHistory}s with one Timedata query over
+	 * all their Channels.
+	 *
+	 * <p>
+	 * The query starts at the earliest From-Date of all histories; the
+	 * {@link ChannelAddress}es of the histories must be unique.
+	 *
+	 * @param timedata  the {@link CommonTimedataService}
+	 * @param now       the current time; rounded down to quarter
+	 * @param histories the {@link QuarterlyHistory}s
+	 * @return the values of each history by its {@link ChannelAddress}; see
+	 *         {@link #update(CommonTimedataService, ZonedDateTime)}. Null if
+	 *         Timedata returned no result.
+	 * @throws OpenemsNamedException on error
+	 */
+	public static Map<ChannelAddress, List<Integer>> update(CommonTimedataService timedata, ZonedDateTime now,
+			Collection<QuarterlyHistory> histories) throws OpenemsNamedException {
+		final var toDate = roundDownToQuarter(now);
+		final var fromDate = histories.stream() //
+				.map(history -> history.getQueryFromDate(toDate)) //
+				.min(ZonedDateTime::compareTo) //
+				.orElse(toDate);
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult = null;
+		if (fromDate.isBefore(toDate)) {
+			queryResult = timedata.queryHistoricData(null, fromDate, toDate, histories.stream() //
+					.map(history -> history.channelAddress) //
+					.collect(toSet()), RESOLUTION);
+			if (queryResult == null) {
+				return null;
+			}
+		}
+		var result = new HashMap<ChannelAddress, List<Integer>>();
+		for (var history : histories) {
+			result.put(history.channelAddress, history.apply(toDate, queryResult));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the From-Date of the next query.
+	 *
+	 * @param now the current time; rounded down to quarter
+	 * @return the From-Date
+	 */
+	protected synchronized ZonedDateTime getQueryFromDate(ZonedDateTime now) {
+		var start = now.minus(QUARTER.multipliedBy(this.values.length));
+		if (this.end == null || this.end.isBefore(start)) {
+			return start;
+		}
+		var refresh = this.end.minus(QUARTER.multipliedBy(REFRESH_QUARTERS));
+		return refresh.isBefore(start) ? start : refresh;
+	}
+
+	/**
+	 * Moves the end of the history to the given time; skipped quarters are
+	 * cleared.
+	 *
+	 * @param now the new end
+	 */
+	private void shiftTo(ZonedDateTime now) {
+		var shift = this.end == null //
+				? this.values.length //
+				: Math.min(this.values.length, Duration.between(this.end, now).dividedBy(QUARTER));
+		for (var i = 0; i < shift; i++) {
+			this.values[this.head] = NULL;
+			this.head = (this.head + 1) % this.values.length;
+		}
+		this.end = now;
+	}
+
+	private synchronized List<Integer> apply(ZonedDateTime now,
+			SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult) {
+		if (queryResult != null) {
+			this.shiftTo(now);
+			queryResult.forEach((time, row) -> {
+				var value = row.get(this.channelAddress);
+				if (value != null && !value.isJsonNull()) {
+					this.set(time, value.getAsInt());
+				}
+			});
+		}
+		return this.toList();
+	}
+
+	private void set(ZonedDateTime time, int value) {
+		var age = Duration.between(roundDownToQuarter(time), this.end).dividedBy(QUARTER);
+		if (age < 1 || age > this.values.length) {
+			return;
+		}
+		this.values[(int) ((this.head + this.values.length - age) % this.values.length)] = value;
+	}
+
+	private List<Integer> toList() {
+		var result = new ArrayList<Integer>(this.values.length);
+		for (var i = 0; i < this.values.length; i++) {
+			var value = this.values[(this.head + i) % this.values.length];
+			result.add(value == NULL ? null : value);
+		}
+		return result;
+	}
+
+}
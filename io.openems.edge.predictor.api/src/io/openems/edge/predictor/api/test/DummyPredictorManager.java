@@ -5,12 +5,14 @@ import static io.openems.edge.predictor.api.prediction.Prediction.EMPTY_PREDICTI
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.test.AbstractDummyOpenemsComponent;
 import io.openems.edge.predictor.api.manager.PredictorManager;
 import io.openems.edge.predictor.api.prediction.Prediction;
+import io.openems.edge.predictor.api.prediction.PredictionSnapshot;
 import io.openems.edge.predictor.api.prediction.Predictor;
 
 public class DummyPredictorManager extends AbstractDummyOpenemsComponent<DummyPredictorManager>
@@ -18,6 +20,8 @@ public class DummyPredictorManager extends AbstractDummyOpenemsComponent<DummyPr
 
 	private final List<Predictor> predictors = new ArrayList<>();
 
+	private PredictionSnapshot snapshot = PredictionSnapshot.EMPTY;
+
 	public DummyPredictorManager(Predictor... predictors) {
 		super(PredictorManager.SINGLETON_COMPONENT_ID, //
 				OpenemsComponent.ChannelId.values(), //
@@ -48,10 +52,20 @@ public class DummyPredictorManager extends AbstractDummyOpenemsComponent<DummyPr
 					// Predictor does not work for this ChannelAddress
 					continue;
 				}
-				return predictor.getPrediction(channelAddress);
+				var prediction = predictor.getPrediction(channelAddress);
+				if (!prediction.isEmpty()) {
+					this.snapshot = this.snapshot.with(prediction.valuePerQuarter.firstKey(),
+							Map.of(channelAddress, prediction));
+				}
+				return prediction;
 			}
 		}
 		// No matching Predictor found
 		return EMPTY_PREDICTION;
 	}
+
+	@Override
+	public PredictionSnapshot getSnapshot() {
+		return this.snapshot;
+	}
 }
@@ -0,0 +1,68 @@
+package io.openems.edge.predictor.api.prediction;
+
+import static io.openems.edge.predictor.api.prediction.PredictionSnapshot.NULL;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.openems.common.types.ChannelAddress;
+
+public class PredictionSnapshotTest {
+
+	private static final ZonedDateTime TIME = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+	private static final ChannelAddress PRODUCTION = new ChannelAddress("_sum", "ProductionActivePower");
+	private static final ChannelAddress CONSUMPTION = new ChannelAddress("_sum", "ConsumptionActivePower");
+
+	@Test
+	public void test() {
+		var snapshot = PredictionSnapshot.EMPTY.with(TIME, Map.of(//
+				PRODUCTION, Prediction.from(TIME, 1, null, 3, 4), //
+				CONSUMPTION, Prediction.from(TIME.plusMinutes(15), 10, 20)));
+		assertEquals(1, snapshot.getVersion());
+		assertEquals(TIME, snapshot.getTime());
+		assertArrayEquals(new int[] { 1, NULL, 3, 4 }, snapshot.toArray(PRODUCTION));
+		assertArrayEquals(new int[] { NULL, 10, 20 }, snapshot.toArray(CONSUMPTION));
+		assertEquals(3, snapshot.get(PRODUCTION, 2));
+		assertEquals(NULL, snapshot.get(PRODUCTION, 4));
+		assertArrayEquals(new Integer[] { 1, null, 3, 4 }, snapshot.getPrediction(PRODUCTION).asArray());
+
+		// Unchanged
+		assertTrue(snapshot.contains(TIME, Map.of(PRODUCTION, Prediction.from(TIME, 1, null, 3, 4))));
+		assertTrue(snapshot.contains(TIME, Map.of(CONSUMPTION, Prediction.from(TIME.plusMinutes(15), 10, 20))));
+		assertSame(snapshot, snapshot.with(TIME, Map.of(PRODUCTION, Prediction.from(TIME, 1, null, 3, 4))));
+		assertSame(snapshot, snapshot.with(TIME.plusMinutes(5), Map.of()));
+		assertFalse(snapshot.contains(TIME, Map.of(PRODUCTION, Prediction.from(TIME, 1, null, 3, 5))));
+		assertFalse(snapshot.contains(TIME, Map.of(PRODUCTION, Prediction.from(TIME, 1, null, 3))));
+		assertFalse(snapshot.contains(TIME.plusMinutes(15), Map.of()));
+
+		// Next quarter: values are moved; changed Channels are replaced
+		var next = snapshot.with(TIME.plusMinutes(15), Map.of(PRODUCTION, Prediction.from(TIME, 1, 2, 3, 5)));
+		assertEquals(2, next.getVersion());
+		assertEquals(TIME.plusMinutes(15), next.getTime());
+		assertArrayEquals(new int[] { 2, 3, 5 }, next.toArray(PRODUCTION));
+		assertArrayEquals(new int[] { 10, 20 }, next.toArray(CONSUMPTION));
+
+		// Snapshot is immutable
+		next.toArray(PRODUCTION)[0] = 0;
+		assertEquals(2, next.get(PRODUCTION, 0));
+		assertArrayEquals(new int[] { 1, NULL, 3, 4 }, snapshot.toArray(PRODUCTION));
+
+		// Time moved backwards: values are moved to the back; Channels are kept
+		var previous = next.with(TIME, Map.of(CONSUMPTION, Prediction.from(TIME, 5, 10, 20)));
+		assertEquals(3, previous.getVersion());
+		assertEquals(TIME, previous.getTime());
+		assertArrayEquals(new int[] { NULL, 2, 3, 5 }, previous.toArray(PRODUCTION));
+		assertArrayEquals(new int[] { 5, 10, 20 }, previous.toArray(CONSUMPTION));
+		assertEquals(0, next.with(TIME.minusDays(1), Map.of()).size(PRODUCTION));
+		assertTrue(next.with(TIME.minusDays(1), Map.of()).getChannelAddresses().contains(PRODUCTION));
+	}
+
+}
@@ -0,0 +1,71 @@
+package io.openems.edge.predictor.api.prediction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.timedata.test.DummyTimedata;
+
+public class QuarterlyHistoryTest {
+
+	private static final ZonedDateTime TIME = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+	private static final ChannelAddress METER1_ACTIVE_POWER = new ChannelAddress("meter1", "ActivePower");
+	private static final ChannelAddress METER2_ACTIVE_POWER = new ChannelAddress("meter2", "ActivePower");
+
+	private static ZonedDateTime quarter(int index) {
+		return TIME.plusMinutes(15 * index);
+	}
+
+	@Test
+	public void test() throws Exception {
+		var timedata = new DummyTimedata("timedata0");
+		for (var i = 0; i < 12; i++) {
+			if (i != 7) {
+				timedata.add(quarter(i), METER1_ACTIVE_POWER, i);
+			}
+		}
+		var sut = new QuarterlyHistory(METER1_ACTIVE_POWER, 8);
+
+		// First update queries the full length
+		assertEquals(quarter(0), sut.getQueryFromDate(quarter(8)));
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, null), sut.update(timedata, quarter(8)));
+
+		// Next update queries only the newest quarters; late values are refreshed
+		timedata.add(quarter(7), METER1_ACTIVE_POWER, 7);
+		assertEquals(quarter(7), sut.getQueryFromDate(quarter(9)));
+		assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8), sut.update(timedata, quarter(9).plusMinutes(3)));
+
+		// Same quarter again -> only the refresh quarter is queried
+		assertEquals(quarter(8), sut.getQueryFromDate(quarter(9)));
+		assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8), sut.update(timedata, quarter(9)));
+
+		// Gap longer than the history
+		assertEquals(quarter(22), sut.getQueryFromDate(quarter(30)));
+		sut.update(timedata, quarter(30)).forEach(v -> assertNull(v));
+	}
+
+	@Test
+	public void testMultipleChannels() throws Exception {
+		var timedata = new DummyTimedata("timedata0");
+		for (var i = 0; i < 8; i++) {
+			timedata.add(quarter(i), METER1_ACTIVE_POWER, i);
+			timedata.add(quarter(i), METER2_ACTIVE_POWER, 10 * i);
+		}
+		var meter1 = new QuarterlyHistory(METER1_ACTIVE_POWER, 4);
+		var meter2 = new QuarterlyHistory(METER2_ACTIVE_POWER, 2);
+		meter2.update(timedata, quarter(6));
+
+		// One query from the earliest From-Date
+		var result = QuarterlyHistory.update(timedata, quarter(8), List.of(meter1, meter2));
+		assertEquals(List.of(4, 5, 6, 7), result.get(METER1_ACTIVE_POWER));
+		assertEquals(List.of(60, 70), result.get(METER2_ACTIVE_POWER));
+	}
+
+}
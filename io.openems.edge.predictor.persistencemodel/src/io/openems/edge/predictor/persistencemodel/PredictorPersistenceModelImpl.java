@@ -1,13 +1,15 @@
 package io.openems.edge.predictor.persistencemodel;
 
+import static io.openems.common.utils.DateUtils.roundDownToQuarter;
 import static io.openems.edge.predictor.api.prediction.Prediction.EMPTY_PREDICTION;
 
 import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.SortedMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
@@ -23,13 +25,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import com.google.common.collect.Streams;
 import com.google.common.util.concurrent.AtomicDouble;
-import com.google.gson.JsonElement;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
-import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.ComponentManager;
@@ -39,6 +38,7 @@ import io.openems.edge.controller.api.Controller;
 import io.openems.edge.predictor.api.prediction.AbstractPredictor;
 import io.openems.edge.predictor.api.prediction.Prediction;
 import io.openems.edge.predictor.api.prediction.Predictor;
+import io.openems.edge.predictor.api.prediction.QuarterlyHistory;
 import io.openems.edge.timedata.api.Timedata;
 
 @Designate(ocd = Config.class, factory = true)
@@ -62,6 +62,8 @@ public class PredictorPersistenceModelImpl extends AbstractPredictor implements
 
 	private final Logger log = LoggerFactory.getLogger(PredictorPersistenceModelImpl.class);
 
+	private final Map<ChannelAddress, QuarterlyHistory> histories = new ConcurrentHashMap<>();
+
 	@Reference
 	private Sum sum;
 
@@ -81,8 +83,9 @@ public class PredictorPersistenceModelImpl extends AbstractPredictor implements
 
 	@Activate
 	private void activate(ComponentContext context, Config config) throws OpenemsNamedException {
+		this.histories.clear();
 		super.activate(context, config.id(), config.alias(), config.enabled(), config.channelAddresses(),
-				config.logVerbosity());
+				config.logVerbosity(), true);
 	}
 
 	@Override
@@ -92,38 +95,45 @@ public class PredictorPersistenceModelImpl extends AbstractPredictor implements
 	}
 
 	@Override
-	protected Prediction createNewPrediction(ChannelAddress channelAddress) {
-		var now = ZonedDateTime.now(this.componentManager.getClock());
-		var fromDate = now.minus(24 * 60 + EXTRA_QUERY_QUARTERS * 15, ChronoUnit.MINUTES);
+	protected Map<ChannelAddress, Prediction> createNewPredictions(Set<ChannelAddress> channelAddresses) {
+		var now = roundDownToQuarter(ZonedDateTime.now(this.componentManager.getClock()));
+		var histories = channelAddresses.stream() //
+				.map(channelAddress -> this.histories.computeIfAbsent(channelAddress,
+						c -> new QuarterlyHistory(c, 24 * 4 + EXTRA_QUERY_QUARTERS))) //
+				.toList();
 
-		// Query database
-		final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult;
+		// Query database for all Channels at once; only the quarters since the last
+		// query
+		Map<ChannelAddress, List<Integer>> data;
 		try {
-			queryResult = this.timedata.queryHistoricData(null, fromDate, now, Sets.newHashSet(channelAddress),
-					new Resolution(15, ChronoUnit.MINUTES));
+			data = QuarterlyHistory.update(this.timedata, now, histories);
+			if (data == null) {
+				this.logError(this.log, "Historic data is not available: query result is null");
+			}
 		} catch (OpenemsNamedException e) {
 			this.logError(this.log, "Historic data is not available: " + e.getMessage());
 			e.printStackTrace();
-			return EMPTY_PREDICTION;
+			data = null;
 		}
-		if (queryResult == null) {
-			this.logError(this.log, "Historic data is not available: query result is null");
-			return EMPTY_PREDICTION;
+
+		var result = new HashMap<ChannelAddress, Prediction>();
+		for (var channelAddress : channelAddresses) {
+			result.put(channelAddress, data == null //
+					? EMPTY_PREDICTION //
+					: this.createNewPrediction(channelAddress, now, data.get(channelAddress)));
 		}
-		// Extract data
-		var data = queryResult.values().stream() //
-				.map(SortedMap::values) //
-				// extract JsonElement values as flat stream
-				.flatMap(Collection::stream) //
-				// convert JsonElement to Integer
-				.map(v -> {
-					if (v.isJsonNull()) {
-						return (Integer) null;
-					}
-					return v.getAsInt();
-				}).toList();
-		if (data.isEmpty()) {
-			this.logError(this.log, "Historic data is not available: query result is empty");
+		return result;
+	}
+
+	@Override
+	protected Prediction createNewPrediction(ChannelAddress channelAddress) {
+		return this.createNewPredictions(Set.of(channelAddress)).get(channelAddress);
+	}
+
+	private Prediction createNewPrediction(ChannelAddress channelAddress, ZonedDateTime now, List<Integer> data) {
+		if (data.stream().allMatch(Objects::isNull)) {
+			this.logError(this.log,
+					"Historic data for [" + channelAddress + "] is not available: query result is empty");
 			return EMPTY_PREDICTION;
 		}
 
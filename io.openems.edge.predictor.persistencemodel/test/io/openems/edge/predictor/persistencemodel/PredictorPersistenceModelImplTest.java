@@ -60,6 +60,7 @@ public class PredictorPersistenceModelImplTest {
 						.setLogVerbosity(LogVerbosity.NONE) //
 						.build());
 
+		sut.updatePrediction(METER1_ACTIVE_POWER).get();
 		var prediction = sut.getPrediction(METER1_ACTIVE_POWER);
 		var p = prediction.asArray();
 
@@ -105,7 +106,7 @@ public class PredictorPersistenceModelImplTest {
 
 		clock.leap(39, ChronoUnit.HOURS);
 
-		sut.getPrediction(METER1_ACTIVE_POWER);
+		sut.updatePrediction(METER1_ACTIVE_POWER).get();
 	}
 
 	@Test
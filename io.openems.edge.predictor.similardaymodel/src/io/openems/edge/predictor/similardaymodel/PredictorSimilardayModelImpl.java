@@ -4,11 +4,13 @@ import static io.openems.common.utils.DateUtils.roundDownToQuarter;
 import static io.openems.edge.predictor.api.prediction.Prediction.EMPTY_PREDICTION;
 
 import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.SortedMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -20,11 +22,7 @@ import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.Sets;
-import com.google.gson.JsonElement;
-
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
-import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.ComponentManager;
@@ -34,6 +32,7 @@ import io.openems.edge.controller.api.Controller;
 import io.openems.edge.predictor.api.prediction.AbstractPredictor;
 import io.openems.edge.predictor.api.prediction.Prediction;
 import io.openems.edge.predictor.api.prediction.Predictor;
+import io.openems.edge.predictor.api.prediction.QuarterlyHistory;
 import io.openems.edge.timedata.api.Timedata;
 
 @Designate(ocd = Config.class, factory = true)
@@ -55,6 +54,10 @@ public class PredictorSimilardayModelImpl extends AbstractPredictor implements P
 	public static final int PREDCTION_FOR_SIX_DAY = 5;
 	public static final int PREDCTION_FOR_SEVEN_DAY = 6;
 
+	// Num of Data per day
+	// TODO change this variable based on the resolution which is 900 in query
+	private static final int NUM_OF_DATA_PER_DAY = 96;
+
 	@Reference
 	private Sum sum;
 
@@ -64,6 +67,8 @@ public class PredictorSimilardayModelImpl extends AbstractPredictor implements P
 	@Reference
 	private ComponentManager componentManager;
 
+	private final Map<ChannelAddress, QuarterlyHistory> histories = new ConcurrentHashMap<>();
+
 	private Config config;
 
 	public PredictorSimilardayModelImpl() throws OpenemsNamedException {
@@ -77,8 +82,9 @@ public class PredictorSimilardayModelImpl extends AbstractPredictor implements P
 	@Activate
 	private void activate(ComponentContext context, Config config) throws OpenemsNamedException {
 		this.config = config;
+		this.histories.clear();
 		super.activate(context, this.config.id(), this.config.alias(), this.config.enabled(),
-				this.config.channelAddresses(), config.logVerbosity());
+				this.config.channelAddresses(), config.logVerbosity(), true);
 	}
 
 	@Override
@@ -93,43 +99,46 @@ public class PredictorSimilardayModelImpl extends AbstractPredictor implements P
 	}
 
 	@Override
-	protected Prediction createNewPrediction(ChannelAddress channelAddress) {
+	protected Map<ChannelAddress, Prediction> createNewPredictions(Set<ChannelAddress> channelAddresses) {
 		var now = roundDownToQuarter(ZonedDateTime.now(this.componentManager.getClock()));
-		// From now time to Last 4 weeks
-		var fromDate = now.minus(this.config.numOfWeeks(), ChronoUnit.WEEKS);
 
-		final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult;
+		// From now time to Last 4 weeks
+		var histories = channelAddresses.stream() //
+				.map(channelAddress -> this.histories.computeIfAbsent(channelAddress, c -> new QuarterlyHistory(c,
+						this.config.numOfWeeks() * NUM_OF_DAYS_OF_WEEK * NUM_OF_DATA_PER_DAY))) //
+				.toList();
 
-		// Query database
+		// Query database for all Channels at once; only the quarters since the last
+		// query
+		Map<ChannelAddress, List<Integer>> data;
 		try {
-			queryResult = this.timedata.queryHistoricData(null, fromDate, now, Sets.newHashSet(channelAddress),
-					new Resolution(15, ChronoUnit.MINUTES));
+			data = QuarterlyHistory.update(this.timedata, now, histories);
 		} catch (OpenemsNamedException e) {
 			this.logError(this.log, e.getMessage());
 			e.printStackTrace();
-			return EMPTY_PREDICTION;
+			data = null;
 		}
 
-		// Extract data
-		List<Integer> result = queryResult.values().stream() //
-				.map(SortedMap::values) //
-				// extract JsonElement values as flat stream
-				.flatMap(Collection::stream) //
-				// convert JsonElement to Integer
-				.map(v -> {
-					if (v.isJsonNull()) {
-						return (Integer) null;
-					}
-					return v.getAsInt();
-				})
-				// get as Array
-				.toList();
+		var result = new HashMap<ChannelAddress, Prediction>();
+		for (var channelAddress : channelAddresses) {
+			result.put(channelAddress, data == null //
+					? EMPTY_PREDICTION //
+					: this.createNewPrediction(channelAddress, now, data.get(channelAddress)));
+		}
+		return result;
+	}
+
+	@Override
+	protected Prediction createNewPrediction(ChannelAddress channelAddress) {
+		return this.createNewPredictions(Set.of(channelAddress)).get(channelAddress);
+	}
 
-		// Num of Data per day
-		// TODO change this variable based on the resolution which is 900 in query
-		var numOfDataPerDay = 96;
+	private Prediction createNewPrediction(ChannelAddress channelAddress, ZonedDateTime now, List<Integer> result) {
+		if (result.stream().allMatch(Objects::isNull)) {
+			return EMPTY_PREDICTION;
+		}
 
-		var mainData = getSlicedArrayList(result, numOfDataPerDay);
+		var mainData = getSlicedArrayList(result, NUM_OF_DATA_PER_DAY);
 
 		// Getting the indexes of the last four similar days
 		var lastFourSimilarDays = getCorrectIndexes(mainData, NUM_OF_DAYS_OF_WEEK, PREDCTION_FOR_ONE_DAY);
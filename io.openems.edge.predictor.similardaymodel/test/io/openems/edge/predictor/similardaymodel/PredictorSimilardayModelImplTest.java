@@ -51,6 +51,7 @@ public class PredictorSimilardayModelImplTest {
 						.setLogVerbosity(LogVerbosity.NONE) //
 						.build());
 
+		sut.updatePrediction(METER1_ACTIVE_POWER).get();
 		var prediction = sut.getPrediction(METER1_ACTIVE_POWER);
 		var p = prediction.asArray();
 
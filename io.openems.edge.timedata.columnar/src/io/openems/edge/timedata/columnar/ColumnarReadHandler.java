@@ -0,0 +1,290 @@
+package io.openems.edge.timedata.columnar;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.timedata.api.Timeranges;
+import io.openems.edge.timedata.columnar.store.ColumnarStore;
+import io.openems.edge.timedata.columnar.store.Series;
+
+/**
+ * Answers the {@link io.openems.edge.timedata.api.Timedata} queries from a
+ * {@link ColumnarStore}. Every query reads all requested Channels in one pass
+ * over the affected segments.
+ */
+class ColumnarReadHandler {
+
+	private final ComponentManager componentManager;
+	private final ColumnarStore store;
+
+	ColumnarReadHandler(ComponentManager componentManager, ColumnarStore store) {
+		this.componentManager = componentManager;
+		this.store = store;
+	}
+
+	private static List<String> toKeys(Set<ChannelAddress> channels) {
+		return channels.stream() //
+				.map(ChannelAddress::toString) //
+				.toList();
+	}
+
+	private Unit getUnit(ChannelAddress channelAddress) {
+		try {
+			return this.componentManager.getChannel(channelAddress).channelDoc().getUnit();
+		} catch (Exception e) {
+			// Channel does not exist (anymore) -> data is still available
+			return Unit.NONE;
+		}
+	}
+
+	/**
+	 * Queries historic data. Values are aggregated per period of the
+	 * {@link Resolution}; see {@link Unit#getChannelAggregateFunction()}.
+	 *
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param channels   the Channels
+	 * @param resolution the {@link Resolution}
+	 * @return the query result
+	 * @throws OpenemsNamedException if the {@link Resolution} is not supported
+	 */
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(//
+			final ZonedDateTime fromDate, //
+			final ZonedDateTime toDate, //
+			final Set<ChannelAddress> channels, //
+			final Resolution resolution //
+	) throws OpenemsNamedException {
+		final var periods = getPeriods(fromDate, toDate, resolution);
+		final var series = this.store.read(toKeys(channels), fromDate.toEpochSecond(), toDate.toEpochSecond());
+
+		final var table = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+		periods.forEach(period -> table.put(period, new TreeMap<>()));
+		for (var channel : channels) {
+			final var data = series.getOrDefault(channel.toString(), Series.EMPTY);
+			final var aggregate = this.getUnit(channel).getChannelAggregateFunction();
+			var index = 0;
+			for (var i = 0; i < periods.size(); i++) {
+				final var end = getPeriodEnd(periods, i, toDate);
+				final var start = index;
+				while (index < data.size() && data.timestamps()[index] < end) {
+					index++;
+				}
+				final var value = aggregate.apply(Arrays.stream(data.values(), start, index));
+				table.get(periods.get(i)).put(channel, toJson(value));
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Queries historic energy, i.e. the difference between the last value before
+	 * the From-Date and the last value before the To-Date.
+	 *
+	 * @param fromDate the From-Date
+	 * @param toDate   the To-Date
+	 * @param channels the Channels
+	 * @return the query result
+	 * @throws OpenemsNamedException if none of the Channels has data
+	 */
+	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(//
+			final ZonedDateTime fromDate, //
+			final ZonedDateTime toDate, //
+			final Set<ChannelAddress> channels //
+	) throws OpenemsNamedException {
+		final var from = fromDate.toEpochSecond();
+		final var to = toDate.toEpochSecond();
+
+		final var result = new TreeMap<ChannelAddress, JsonElement>();
+		for (var channel : channels) {
+			final var key = channel.toString();
+			result.put(channel, toJson(energy(//
+					this.store.getLatest(key, from), //
+					this.store.getLatest(key, to))));
+		}
+
+		// If no Channel can be read successfully: throw exception
+		if (result.values().stream().allMatch(JsonElement::isJsonNull)) {
+			throw new OpenemsException("Unable to read historic data: None of the requested Channels is available: "
+					+ String.join(", ", toKeys(channels)));
+		}
+		return result;
+	}
+
+	/**
+	 * Queries historic energy per period of the {@link Resolution}.
+	 *
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param channels   the Channels
+	 * @param resolution the {@link Resolution}
+	 * @return the query result
+	 * @throws OpenemsNamedException if the {@link Resolution} is not supported
+	 */
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(//
+			final ZonedDateTime fromDate, //
+			final ZonedDateTime toDate, //
+			final Set<ChannelAddress> channels, //
+			final Resolution resolution //
+	) throws OpenemsNamedException {
+		final var periods = getPeriods(fromDate, toDate, resolution);
+		final var series = this.store.read(toKeys(channels), fromDate.toEpochSecond(), toDate.toEpochSecond());
+
+		final var table = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+		periods.forEach(period -> table.put(period, new TreeMap<>()));
+		for (var channel : channels) {
+			final var data = series.getOrDefault(channel.toString(), Series.EMPTY);
+			var previous = this.store.getLatest(channel.toString(), fromDate.toEpochSecond());
+			var index = 0;
+			for (var i = 0; i < periods.size(); i++) {
+				final var end = getPeriodEnd(periods, i, toDate);
+				var last = previous;
+				while (index < data.size() && data.timestamps()[index] < end) {
+					last = OptionalDouble.of(data.values()[index]);
+					index++;
+				}
+				table.get(periods.get(i)).put(channel, toJson(energy(previous, last)));
+				previous = last;
+			}
+		}
+		return table;
+	}
+
+	private static OptionalDouble energy(OptionalDouble first, OptionalDouble last) {
+		if (last.isEmpty()) {
+			return OptionalDouble.empty();
+		}
+		if (first.isEmpty()) {
+			return last;
+		}
+		return OptionalDouble.of(last.getAsDouble() - first.getAsDouble());
+	}
+
+	/**
+	 * Gets the start of each period between From-Date and To-Date. The first period
+	 * starts at From-Date; following periods are aligned to the {@link Resolution}.
+	 *
+	 * @param from       the From-Date
+	 * @param to         the To-Date
+	 * @param resolution the {@link Resolution}
+	 * @return the list of period starts
+	 * @throws OpenemsNamedException if the {@link Resolution} is not supported
+	 */
+	protected static List<ZonedDateTime> getPeriods(ZonedDateTime from, ZonedDateTime to, Resolution resolution)
+			throws OpenemsNamedException {
+		if (from.isAfter(to)) {
+			throw new IllegalArgumentException("'from' needs to be lower than 'to'!");
+		}
+		final var result = new ArrayList<ZonedDateTime>();
+		for (var period = from; period.isBefore(to); period = next(period, resolution)) {
+			result.add(period);
+		}
+		return result;
+	}
+
+	private static long getPeriodEnd(List<ZonedDateTime> periods, int index, ZonedDateTime to) {
+		return index + 1 < periods.size() //
+				? periods.get(index + 1).toEpochSecond() //
+				: to.toEpochSecond();
+	}
+
+	private static ZonedDateTime next(ZonedDateTime date, Resolution resolution) throws OpenemsNamedException {
+		return switch (resolution.getUnit()) {
+		case DAYS, HALF_DAYS, HOURS, SECONDS, MINUTES, MILLIS, NANOS, MICROS -> //
+			date.plus(resolution.getValue(), resolution.getUnit()).truncatedTo(resolution.getUnit());
+		case WEEKS -> date.plusWeeks(resolution.getValue()).truncatedTo(ChronoUnit.DAYS);
+		case MONTHS -> date.plusMonths(resolution.getValue()).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+		case YEARS -> date.plusYears(resolution.getValue()).withDayOfYear(1).truncatedTo(ChronoUnit.DAYS);
+		case CENTURIES, DECADES, ERAS, FOREVER, MILLENNIA ->
+			throw new OpenemsException("Resolution [" + resolution + "] is not supported");
+		};
+	}
+
+	/**
+	 * Gets the {@link Timeranges} of data that was not sent. These are the
+	 * timestamps after the last resend, where the 'notSendChannel' is set.
+	 *
+	 * @param notSendChannel      the Channel that marks data that was not sent
+	 * @param lastResendTimestamp the timestamp of the last resend in epoch seconds
+	 * @return the {@link Timeranges}
+	 */
+	public Timeranges getResendTimeranges(//
+			final ChannelAddress notSendChannel, //
+			final long lastResendTimestamp //
+	) {
+		final var timeranges = new Timeranges();
+		final var data = this.store.read(List.of(notSendChannel.toString()), lastResendTimestamp + 1, Long.MAX_VALUE) //
+				.getOrDefault(notSendChannel.toString(), Series.EMPTY);
+		for (var i = 0; i < data.size(); i++) {
+			// 0.0 => data got send successfully
+			if (data.values()[i] != 0.0) {
+				timeranges.insert(data.timestamps()[i]);
+			}
+		}
+		return timeranges;
+	}
+
+	/**
+	 * Queries the raw data to resend.
+	 *
+	 * @param fromDate the start date
+	 * @param toDate   the end date, inclusive
+	 * @param channels the Channels
+	 * @return the query result with timestamps in milliseconds
+	 */
+	public SortedMap<Long, SortedMap<ChannelAddress, JsonElement>> queryResendData(//
+			final ZonedDateTime fromDate, //
+			final ZonedDateTime toDate, //
+			final Set<ChannelAddress> channels //
+	) {
+		final var series = this.store.read(toKeys(channels), fromDate.toEpochSecond(), toDate.toEpochSecond() + 1);
+		final var result = new TreeMap<Long, SortedMap<ChannelAddress, JsonElement>>();
+		for (var channel : channels) {
+			final var data = series.getOrDefault(channel.toString(), Series.EMPTY);
+			for (var i = 0; i < data.size(); i++) {
+				result.computeIfAbsent(data.timestamps()[i] * 1000, t -> new TreeMap<>()) //
+						.put(channel, new JsonPrimitive(data.values()[i]));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the latest known value for the given {@link ChannelAddress}, even if the
+	 * Channel does not exist anymore.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return the latest known value or Empty
+	 */
+	public CompletableFuture<Optional<Object>> getLatestValue(ChannelAddress channelAddress) {
+		return CompletableFuture.supplyAsync(() -> {
+			final var value = this.store.getLatest(channelAddress.toString(), Long.MAX_VALUE);
+			return value.isPresent() ? Optional.<Object>of(value.getAsDouble()) : Optional.empty();
+		});
+	}
+
+	private static JsonElement toJson(OptionalDouble value) {
+		return value.isPresent() //
+				? new JsonPrimitive(value.getAsDouble()) //
+				: JsonNull.INSTANCE;
+	}
+
+}
@@ -0,0 +1,32 @@
+package io.openems.edge.timedata.columnar;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import io.openems.common.channel.PersistencePriority;
+
+@ObjectClassDefinition(//
+		name = "Timedata Columnar", //
+		description = "This component persists data of all Channels to one columnar file.")
+@interface Config {
+
+	@AttributeDefinition(name = "Component-ID", description = "Unique ID of this Component")
+	String id() default "columnar0";
+
+	@AttributeDefinition(name = "Alias", description = "Human-readable name of this Component; defaults to Component-ID")
+	String alias() default "";
+
+	@AttributeDefinition(name = "Is enabled?", description = "Is this Component enabled?")
+	boolean enabled() default true;
+
+	@AttributeDefinition(name = "Persistence Priority", description = "Store only Channels with a Persistence Priority above this. Be aware that too many writes can wear-out your flash storage.")
+	PersistencePriority persistencePriority() default PersistencePriority.HIGH;
+
+	@AttributeDefinition(name = "Retention [days]", description = "Segments older than this are removed from the file.")
+	int retentionDays() default 365;
+
+	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
+	boolean debugMode() default false;
+
+	String webconsole_configurationFactory_nameHint() default "Timedata Columnar [{id}]";
+}
@@ -0,0 +1,144 @@
+package io.openems.edge.timedata.columnar;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.timedata.DurationUnit;
+import io.openems.common.worker.AbstractImmediateWorker;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.EnumDoc;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.timedata.columnar.store.ColumnarStore;
+
+/**
+ * Collects one row of aggregated Channel values per heartbeat and appends it to
+ * the {@link ColumnarStore}.
+ */
+class RecordWorker extends AbstractImmediateWorker {
+
+	/** Rows are written every 5 minutes, like for RRD4J. */
+	public static final int HEARTBEAT_SECONDS = 300;
+
+	private static final int QUEUE_SIZE = 12;
+	private static final long COMPACTION_INTERVAL_SECONDS = Duration.ofDays(1).toSeconds();
+
+	public record Config(//
+			PersistencePriority persistencePriority, //
+			int retentionDays, //
+			boolean debugMode, //
+			Consumer<? super Boolean> onUnableToInsert, //
+			Consumer<? super Boolean> onWriteFailed //
+	) {
+	}
+
+	private static record Row(long timestamp, Map<String, Double> values) {
+	}
+
+	private final Logger log = LoggerFactory.getLogger(RecordWorker.class);
+
+	private final BlockingQueue<Row> rows = new ArrayBlockingQueue<>(QUEUE_SIZE);
+	private final ComponentManager componentManager;
+	private final ColumnarStore store;
+	private final Config config;
+
+	private Instant lastTimestamp = Instant.MIN;
+	private long lastCompaction = 0;
+
+	RecordWorker(ComponentManager componentManager, ColumnarStore store, Config config) {
+		this.componentManager = componentManager;
+		this.store = store;
+		this.config = config;
+	}
+
+	/**
+	 * Collects the data from Channels. This is called synchronously by the main
+	 * OpenEMS cycle once per cycle, but creates only one row per heartbeat.
+	 *
+	 * <p>
+	 * Every value is the aggregate of the previous heartbeat, i.e. the row with
+	 * timestamp 08:00 holds the average (or maximum for cumulated Channels) of the
+	 * values between 08:00 and 08:05.
+	 */
+	public void collectData() {
+		final var timestamp = Instant.now(this.componentManager.getClock()) //
+				.truncatedTo(DurationUnit.ofSeconds(HEARTBEAT_SECONDS)) //
+				.minusSeconds(HEARTBEAT_SECONDS);
+		if (!timestamp.isAfter(this.lastTimestamp)) {
+			return;
+		}
+		this.lastTimestamp = timestamp;
+
+		final var to = LocalDateTime.now(this.componentManager.getClock())
+				.truncatedTo(DurationUnit.ofSeconds(HEARTBEAT_SECONDS));
+		final var from = to.minusSeconds(HEARTBEAT_SECONDS);
+
+		final var values = new HashMap<String, Double>();
+		this.componentManager.getEnabledComponents().stream() //
+				.flatMap(component -> component.channels().stream()) //
+				.filter(channel -> {
+					final var doc = channel.channelDoc();
+					return doc.getPersistencePriority().isAtLeast(this.config.persistencePriority()) //
+							&& doc.getAccessMode() != AccessMode.WRITE_ONLY;
+				}) //
+				.forEach(channel -> {
+					final var value = aggregate(channel, from, to);
+					if (value.isPresent()) {
+						values.put(channel.address().toString(), value.getAsDouble());
+					}
+				});
+
+		this.config.onUnableToInsert().accept(!this.rows.offer(new Row(timestamp.getEpochSecond(), values)));
+	}
+
+	private static OptionalDouble aggregate(Channel<?> channel, LocalDateTime from, LocalDateTime to) {
+		final var pastValues = channel.getPastValues().rangeFromFloor(from, to);
+		return switch (channel.getType()) {
+		case BOOLEAN, SHORT, INTEGER, LONG, FLOAT, DOUBLE -> {
+			if (channel.channelDoc() instanceof EnumDoc) {
+				// Average of an enum is meaningless -> latest value
+				yield pastValues.definedAsDouble() //
+						.reduce((first, second) -> second);
+			}
+			yield channel.channelDoc().getUnit().getChannelAggregateFunction() //
+					.apply(pastValues.definedAsDouble());
+		}
+		case STRING -> OptionalDouble.empty();
+		};
+	}
+
+	@Override
+	protected void forever() throws InterruptedException {
+		final var row = this.rows.take();
+		try {
+			this.store.append(row.timestamp(), row.values());
+
+			if (row.timestamp() - this.lastCompaction >= COMPACTION_INTERVAL_SECONDS) {
+				this.lastCompaction = row.timestamp();
+				this.store.compact(row.timestamp() - Duration.ofDays(this.config.retentionDays()).toSeconds());
+			}
+			this.config.onWriteFailed().accept(false);
+
+		} catch (IOException e) {
+			this.config.onWriteFailed().accept(true);
+			if (this.config.debugMode()) {
+				this.log.error("Unable to write row [" + row.timestamp() + "]: " + e.getMessage(), e);
+			} else {
+				this.log.error("Unable to write row [" + row.timestamp() + "]: " + e.getMessage());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+package io.openems.edge.timedata.columnar;
+
+import io.openems.common.channel.Level;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.StateChannel;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.timedata.api.Timedata;
+
+public interface TimedataColumnar extends Timedata, OpenemsComponent {
+
+	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+		UNABLE_TO_INSERT_SAMPLE(Doc.of(Level.WARNING) //
+				.text("Write queue is full")), //
+		WRITE_FAILED(Doc.of(Level.WARNING) //
+				.text("Unable to write to the columnar file"));
+
+		private final Doc doc;
+
+		private ChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#UNABLE_TO_INSERT_SAMPLE}.
+	 *
+	 * @return the Channel
+	 */
+	public default StateChannel getUnableToInsertSampleChannel() {
+		return this.channel(ChannelId.UNABLE_TO_INSERT_SAMPLE);
+	}
+
+	/**
+	 * Gets the {@link StateChannel} for {@link ChannelId#UNABLE_TO_INSERT_SAMPLE}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Boolean> getUnableToInsertSample() {
+		return this.getUnableToInsertSampleChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#UNABLE_TO_INSERT_SAMPLE} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setUnableToInsertSample(Boolean value) {
+		this.getUnableToInsertSampleChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#WRITE_FAILED}.
+	 *
+	 * @return the Channel
+	 */
+	public default StateChannel getWriteFailedChannel() {
+		return this.channel(ChannelId.WRITE_FAILED);
+	}
+
+	/**
+	 * Gets the {@link StateChannel} for {@link ChannelId#WRITE_FAILED}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Boolean> getWriteFailed() {
+		return this.getWriteFailedChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#WRITE_FAILED}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setWriteFailed(Boolean value) {
+		this.getWriteFailedChannel().setNextValue(value);
+	}
+}
@@ -0,0 +1,206 @@
+package io.openems.edge.timedata.columnar;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+
+import org.osgi.service.component.ComponentContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.event.propertytypes.EventTopics;
+import org.osgi.service.metatype.annotations.Designate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.OpenemsConstants;
+import io.openems.common.channel.Unit;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.timedata.api.Timedata;
+import io.openems.edge.timedata.api.Timeranges;
+import io.openems.edge.timedata.columnar.store.ColumnarStore;
+
+@Designate(ocd = Config.class, factory = true)
+@Component(//
+		name = "Timedata.Columnar", //
+		immediate = true, //
+		configurationPolicy = ConfigurationPolicy.REQUIRE //
+)
+@EventTopics({ //
+		EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE //
+})
+public final class TimedataColumnarImpl extends AbstractOpenemsComponent
+		implements TimedataColumnar, Timedata, OpenemsComponent, EventHandler {
+
+	/** Sub-directory of the OpenEMS data directory. */
+	public static final String COLUMNAR_PATH = "columnar";
+
+	/** One segment holds 8 hours of rows. */
+	private static final int SEGMENT_ROWS = 96;
+
+	private final Logger log = LoggerFactory.getLogger(TimedataColumnarImpl.class);
+
+	@Reference
+	private ComponentManager componentManager;
+
+	private ColumnarStore store;
+	private RecordWorker worker;
+	private ColumnarReadHandler readHandler;
+
+	public TimedataColumnarImpl() {
+		super(//
+				OpenemsComponent.ChannelId.values(), //
+				Timedata.ChannelId.values(), //
+				TimedataColumnar.ChannelId.values() //
+		);
+	}
+
+	@Activate
+	private void activate(ComponentContext context, Config config) {
+		super.activate(context, config.id(), config.alias(), config.enabled());
+		if (!config.enabled()) {
+			return;
+		}
+
+		try {
+			this.store = ColumnarStore.open(Paths.get(//
+					OpenemsConstants.getOpenemsDataDir(), COLUMNAR_PATH, config.id()), SEGMENT_ROWS);
+		} catch (IOException e) {
+			this.log.error("Unable to open columnar Timedata [" + config.id() + "]: " + e.getMessage());
+			this._setWriteFailed(true);
+			return;
+		}
+		this.readHandler = new ColumnarReadHandler(this.componentManager, this.store);
+		this.worker = new RecordWorker(this.componentManager, this.store, new RecordWorker.Config(//
+				config.persistencePriority(), //
+				config.retentionDays(), //
+				config.debugMode(), //
+				unableToInsert -> this._setUnableToInsertSample(unableToInsert), //
+				writeFailed -> this._setWriteFailed(writeFailed) //
+		));
+		this.worker.activate(this.id());
+	}
+
+	@Override
+	@Deactivate
+	protected void deactivate() {
+		super.deactivate();
+		if (this.worker != null) {
+			this.worker.deactivate();
+			this.worker = null;
+		}
+		this.readHandler = null;
+		if (this.store != null) {
+			try {
+				// Rows of the open segment stay in the write-ahead-log
+				this.store.close();
+			} catch (IOException e) {
+				this.log.warn("Unable to close columnar Timedata [" + this.id() + "]: " + e.getMessage());
+			}
+			this.store = null;
+		}
+	}
+
+	private ColumnarReadHandler getReadHandler() throws OpenemsException {
+		final var readHandler = this.readHandler;
+		if (readHandler == null) {
+			throw new OpenemsException("Columnar Timedata [" + this.id() + "] is not available");
+		}
+		return readHandler;
+	}
+
+	@Override
+	public Timeranges getResendTimeranges(//
+			final ChannelAddress notSendChannel, //
+			final long lastResendTimestamp //
+	) throws OpenemsNamedException {
+		return this.getReadHandler().getResendTimeranges(notSendChannel, lastResendTimestamp);
+	}
+
+	@Override
+	public SortedMap<Long, SortedMap<ChannelAddress, JsonElement>> queryResendData(//
+			final ZonedDateTime fromDate, //
+			final ZonedDateTime toDate, //
+			final Set<ChannelAddress> channels //
+	) throws OpenemsNamedException {
+		return this.getReadHandler().queryResendData(fromDate, toDate, channels);
+	}
+
+	@Override
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(//
+			final String edgeId, //
+			final ZonedDateTime fromDate, //
+			final ZonedDateTime toDate, //
+			final Set<ChannelAddress> channels, //
+			final Resolution resolution //
+	) throws OpenemsNamedException {
+		return this.getReadHandler().queryHistoricData(fromDate, toDate, channels, resolution);
+	}
+
+	@Override
+	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(//
+			final String edgeId, //
+			final ZonedDateTime fromDate, //
+			final ZonedDateTime toDate, //
+			final Set<ChannelAddress> channels //
+	) throws OpenemsNamedException {
+		return this.getReadHandler().queryHistoricEnergy(fromDate, toDate, channels);
+	}
+
+	@Override
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(//
+			final String edgeId, //
+			final ZonedDateTime fromDate, //
+			final ZonedDateTime toDate, //
+			final Set<ChannelAddress> channels, //
+			final Resolution resolution //
+	) throws OpenemsNamedException {
+		return this.getReadHandler().queryHistoricEnergyPerPeriod(fromDate, toDate, channels, resolution);
+	}
+
+	@Override
+	public CompletableFuture<Optional<Object>> getLatestValue(ChannelAddress channelAddress) {
+		final var readHandler = this.readHandler;
+		if (readHandler == null) {
+			return CompletableFuture.completedFuture(Optional.empty());
+		}
+		return readHandler.getLatestValue(channelAddress);
+	}
+
+	@Override
+	public CompletableFuture<Optional<Object>> getLatestValueOfNotExistingChannel(ChannelAddress channelAddress,
+			Unit unit) {
+		// Values are stored by Channel-Address; the Channel is not required
+		return this.getLatestValue(channelAddress);
+	}
+
+	@Override
+	public void handleEvent(Event event) {
+		if (!this.isEnabled() || this.worker == null) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			this.worker.collectData();
+			break;
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+package io.openems.edge.timedata.columnar.store;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads single bits that were written by a {@link BitWriter}.
+ */
+public class BitReader {
+
+	private final ByteBuffer buffer;
+	private final int start;
+	private long bitPosition = 0;
+
+	/**
+	 * Reads bits starting at the current position of the buffer. The position of
+	 * the buffer is not changed.
+	 *
+	 * @param buffer the {@link ByteBuffer}
+	 */
+	public BitReader(ByteBuffer buffer) {
+		this.buffer = buffer;
+		this.start = buffer.position();
+	}
+
+	/**
+	 * Reads one bit.
+	 *
+	 * @return the bit
+	 */
+	public boolean readBit() {
+		final var b = this.buffer.get(this.start + (int) (this.bitPosition >>> 3));
+		final var bit = (b & (0x80 >>> (this.bitPosition & 7))) != 0;
+		this.bitPosition++;
+		return bit;
+	}
+
+	/**
+	 * Reads a value.
+	 *
+	 * @param numberOfBits the number of bits, 0 to 64
+	 * @return the value
+	 */
+	public long readBits(int numberOfBits) {
+		var result = 0L;
+		for (var i = 0; i < numberOfBits; i++) {
+			result = (result << 1) | (this.readBit() ? 1L : 0L);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the number of bytes that were read.
+	 *
+	 * @return the number of bytes, including the partially read last byte
+	 */
+	public int getBytesRead() {
+		return (int) ((this.bitPosition + 7) >>> 3);
+	}
+
+}
@@ -0,0 +1,56 @@
+package io.openems.edge.timedata.columnar.store;
+
+import java.util.Arrays;
+
+/**
+ * Writes single bits to a growing byte array; most significant bit first.
+ */
+public class BitWriter {
+
+	private byte[] bytes = new byte[64];
+	private long bitPosition = 0;
+
+	/**
+	 * Writes one bit.
+	 *
+	 * @param bit the bit
+	 */
+	public void writeBit(boolean bit) {
+		this.ensureCapacity(1);
+		if (bit) {
+			final var index = (int) (this.bitPosition >>> 3);
+			this.bytes[index] |= (byte) (0x80 >>> (this.bitPosition & 7));
+		}
+		this.bitPosition++;
+	}
+
+	/**
+	 * Writes the lowest bits of a value; most significant bit first.
+	 *
+	 * @param value        the value
+	 * @param numberOfBits the number of bits, 0 to 64
+	 */
+	public void writeBits(long value, int numberOfBits) {
+		this.ensureCapacity(numberOfBits);
+		for (var i = numberOfBits - 1; i >= 0; i--) {
+			this.writeBit(((value >>> i) & 1L) == 1L);
+		}
+	}
+
+	/**
+	 * Gets the written bits; the last byte is padded with zeros.
+	 *
+	 * @return the bytes
+	 */
+	public byte[] toByteArray() {
+		return Arrays.copyOf(this.bytes, (int) ((this.bitPosition + 7) >>> 3));
+	}
+
+	private void ensureCapacity(int numberOfBits) {
+		final var requiredBytes = (int) ((this.bitPosition + numberOfBits + 7) >>> 3);
+		if (requiredBytes > this.bytes.length) {
+			this.bytes = Arrays.copyOf(this.bytes, Math.max(requiredBytes, this.bytes.length * 2));
+		}
+	}
+
+}
@@ -0,0 +1,261 @@
+package io.openems.edge.timedata.columnar.store;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Encodes the columns of a segment.
+ *
+ * <ul>
+ * <li>Timestamps are stored as delta-of-delta; for a fixed heartbeat this is
+ * one byte per row.
+ * <li>Values of a Channel are stored as presence bitmap followed by either
+ * zig-zag encoded deltas (if all values are integral) or XOR-compressed doubles
+ * as described in the Facebook Gorilla paper.
+ * </ul>
+ */
+public final class ColumnCodec {
+
+	/** Column of integral values, stored as deltas. */
+	public static final byte TYPE_LONG = 1;
+	/** Column of floating point values, stored XOR-compressed. */
+	public static final byte TYPE_DOUBLE = 2;
+
+	/** Values up to this magnitude are exactly representable as double. */
+	private static final double MAX_EXACT_LONG = 1L << 53;
+
+	private ColumnCodec() {
+	}
+
+	/**
+	 * Writes an unsigned variable-length long.
+	 *
+	 * @param out   the {@link ByteArrayOutputStream}
+	 * @param value the value
+	 */
+	public static void writeVarLong(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	/**
+	 * Reads an unsigned variable-length long.
+	 *
+	 * @param in the {@link ByteBuffer}
+	 * @return the value
+	 */
+	public static long readVarLong(ByteBuffer in) {
+		var result = 0L;
+		var shift = 0;
+		byte b;
+		do {
+			b = in.get();
+			result |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return result;
+	}
+
+	private static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Encodes timestamps.
+	 *
+	 * @param timestamps the timestamps
+	 * @param count      the number of timestamps to encode
+	 * @return the encoded bytes
+	 */
+	public static byte[] encodeTimestamps(long[] timestamps, int count) {
+		final var out = new ByteArrayOutputStream(count + 16);
+		var previous = 0L;
+		var previousDelta = 0L;
+		for (var i = 0; i < count; i++) {
+			final var delta = timestamps[i] - previous;
+			writeVarLong(out, zigZag(delta - previousDelta));
+			previous = timestamps[i];
+			// the first value is stored as-is and is not part of the deltas
+			previousDelta = i == 0 ? 0 : delta;
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Decodes timestamps.
+	 *
+	 * @param in    the {@link ByteBuffer}, positioned at the timestamps
+	 * @param count the number of timestamps
+	 * @return the timestamps
+	 */
+	public static long[] decodeTimestamps(ByteBuffer in, int count) {
+		final var result = new long[count];
+		var previous = 0L;
+		var previousDelta = 0L;
+		for (var i = 0; i < count; i++) {
+			final var delta = previousDelta + unZigZag(readVarLong(in));
+			previous += delta;
+			previousDelta = i == 0 ? 0 : delta;
+			result[i] = previous;
+		}
+		return result;
+	}
+
+	/**
+	 * Encodes the values of a Channel. Missing values are {@link Double#NaN}.
+	 *
+	 * @param values the values
+	 * @param count  the number of values to encode
+	 * @return the encoded bytes; null if there is no value
+	 */
+	public static byte[] encodeValues(double[] values, int count) {
+		final var bitmap = new byte[(count + 7) >>> 3];
+		var present = 0;
+		var isIntegral = true;
+		for (var i = 0; i < count; i++) {
+			final var value = values[i];
+			if (Double.isNaN(value)) {
+				continue;
+			}
+			bitmap[i >>> 3] |= (byte) (0x80 >>> (i & 7));
+			present++;
+			if (isIntegral && (value != Math.rint(value) || Math.abs(value) > MAX_EXACT_LONG)) {
+				isIntegral = false;
+			}
+		}
+		if (present == 0) {
+			return null;
+		}
+
+		final var out = new ByteArrayOutputStream(bitmap.length + present * 2 + 8);
+		if (isIntegral) {
+			out.write(TYPE_LONG);
+			out.writeBytes(bitmap);
+			var previous = 0L;
+			for (var i = 0; i < count; i++) {
+				if (!Double.isNaN(values[i])) {
+					final var value = (long) values[i];
+					writeVarLong(out, zigZag(value - previous));
+					previous = value;
+				}
+			}
+
+		} else {
+			out.write(TYPE_DOUBLE);
+			out.writeBytes(bitmap);
+			final var bits = new BitWriter();
+			var isFirst = true;
+			var previous = 0L;
+			var previousLeading = -1;
+			var previousTrailing = 0;
+			for (var i = 0; i < count; i++) {
+				if (Double.isNaN(values[i])) {
+					continue;
+				}
+				final var value = Double.doubleToRawLongBits(values[i]);
+				if (isFirst) {
+					bits.writeBits(value, 64);
+					isFirst = false;
+					previous = value;
+					continue;
+				}
+				final var xor = value ^ previous;
+				previous = value;
+				if (xor == 0) {
+					bits.writeBit(false);
+					continue;
+				}
+				bits.writeBit(true);
+				final var leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+				final var trailing = Long.numberOfTrailingZeros(xor);
+				if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+					// Meaningful bits fit into the previous block
+					bits.writeBit(false);
+					bits.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+				} else {
+					final var meaningful = 64 - leading - trailing;
+					bits.writeBit(true);
+					bits.writeBits(leading, 5);
+					bits.writeBits(meaningful == 64 ? 0 : meaningful, 6);
+					bits.writeBits(xor >>> trailing, meaningful);
+					previousLeading = leading;
+					previousTrailing = trailing;
+				}
+			}
+			out.writeBytes(bits.toByteArray());
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Decodes the values of a Channel.
+	 *
+	 * @param in    the {@link ByteBuffer}, positioned at the column
+	 * @param count the number of values
+	 * @return the values; missing values are {@link Double#NaN}
+	 */
+	public static double[] decodeValues(ByteBuffer in, int count) {
+		final var result = new double[count];
+		Arrays.fill(result, Double.NaN);
+		final var type = in.get();
+		final var bitmap = new byte[(count + 7) >>> 3];
+		in.get(bitmap);
+
+		switch (type) {
+		case TYPE_LONG -> {
+			var previous = 0L;
+			for (var i = 0; i < count; i++) {
+				if (isPresent(bitmap, i)) {
+					previous += unZigZag(readVarLong(in));
+					result[i] = previous;
+				}
+			}
+		}
+		case TYPE_DOUBLE -> {
+			final var bits = new BitReader(in);
+			var isFirst = true;
+			var previous = 0L;
+			var previousLeading = 0;
+			var previousTrailing = 0;
+			for (var i = 0; i < count; i++) {
+				if (!isPresent(bitmap, i)) {
+					continue;
+				}
+				if (isFirst) {
+					previous = bits.readBits(64);
+					isFirst = false;
+
+				} else if (bits.readBit()) {
+					if (bits.readBit()) {
+						previousLeading = (int) bits.readBits(5);
+						var meaningful = (int) bits.readBits(6);
+						if (meaningful == 0) {
+							meaningful = 64;
+						}
+						previousTrailing = 64 - previousLeading - meaningful;
+					}
+					final var meaningful = 64 - previousLeading - previousTrailing;
+					previous ^= bits.readBits(meaningful) << previousTrailing;
+				}
+				result[i] = Double.longBitsToDouble(previous);
+			}
+			in.position(in.position() + bits.getBytesRead());
+		}
+		default -> throw new IllegalArgumentException("Unknown column type [" + type + "]");
+		}
+		return result;
+	}
+
+	private static boolean isPresent(byte[] bitmap, int index) {
+		return (bitmap[index >>> 3] & (0x80 >>> (index & 7))) != 0;
+	}
+
+}
@@ -0,0 +1,740 @@
+package io.openems.edge.timedata.columnar.store;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only, segment-based columnar store for the values of many Channels in
+ * one file.
+ *
+ * <p>
+ * The data file consists of a header followed by framed records
+ * ({@code [type][length][payload][crc32]}):
+ *
+ * <ul>
+ * <li>'D' Dictionary: maps Channel-Addresses to numeric column IDs
+ * <li>'S' Segment: time index (first and last timestamp), a directory of the
+ * columns sorted by ID, the delta-of-delta encoded timestamps and one
+ * compressed column per Channel (see {@link ColumnCodec})
+ * </ul>
+ *
+ * <p>
+ * Rows are collected in an open segment and written to a small write-ahead-log
+ * on every append. Once the open segment is full it is appended to the data
+ * file and the write-ahead-log is truncated. Reads work on a memory-mapped view
+ * of the data file, so a multi-channel range query is a sequential scan of the
+ * affected segments.
+ *
+ * <p>
+ * All timestamps are epoch seconds. Appends are expected from one thread; reads
+ * are possible from any thread. Readers hold the read-lock of
+ * {@link #mappingLock} while they access the memory-mapped view;
+ * {@link #compact(long)} replaces the data file only while holding the
+ * write-lock.
+ */
+public final class ColumnarStore implements AutoCloseable {
+
+	public static final String DATA_FILE = "data.col";
+	public static final String WAL_FILE = "wal.col";
+
+	private static final long MAGIC = 0x4F454D53434F4C31L; // "OEMSCOL1"
+	private static final int HEADER_LENGTH = Long.BYTES;
+	private static final int FRAME_HEADER_LENGTH = 1 + Integer.BYTES;
+	private static final int FRAME_OVERHEAD = FRAME_HEADER_LENGTH + Integer.BYTES;
+
+	private static final byte TYPE_DICTIONARY = 'D';
+	private static final byte TYPE_SEGMENT = 'S';
+	private static final byte TYPE_ROW = 'R';
+
+	private static final int SEGMENT_HEADER_LENGTH = 2 * Long.BYTES + 3 * Integer.BYTES;
+	private static final int DIRECTORY_ENTRY_LENGTH = 3 * Integer.BYTES;
+
+	private static record SegmentInfo(long first, long last, int position, int length) {
+	}
+
+	private static record Snapshot(ByteBuffer buffer, List<SegmentInfo> segments) {
+	}
+
+	@FunctionalInterface
+	private static interface FrameHandler {
+		void accept(byte type, ByteBuffer payload, int position) throws IOException;
+	}
+
+	private final Logger log = LoggerFactory.getLogger(ColumnarStore.class);
+
+	private final Path dataFile;
+	private final Path walFile;
+	private final int segmentRows;
+
+	private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+	private final List<String> addresses = new ArrayList<>();
+	private int committedAddresses = 0;
+
+	private FileChannel data;
+	private FileChannel wal;
+	private volatile Snapshot snapshot;
+	// Always acquired before the monitor of 'this'
+	private final ReadWriteLock mappingLock = new ReentrantReadWriteLock();
+	private long lastCommitted = Long.MIN_VALUE;
+
+	// Open segment; guarded by 'this'
+	private long[] timestamps;
+	private final Map<Integer, double[]> columns = new HashMap<>();
+	private int rows = 0;
+
+	private ColumnarStore(Path directory, int segmentRows) {
+		this.dataFile = directory.resolve(DATA_FILE);
+		this.walFile = directory.resolve(WAL_FILE);
+		this.segmentRows = Math.max(1, segmentRows);
+		this.timestamps = new long[this.segmentRows];
+	}
+
+	/**
+	 * Opens or creates a {@link ColumnarStore} in the given directory.
+	 *
+	 * <p>
+	 * Incomplete records at the end of the files - e.g. after a power loss - are
+	 * cut off; rows from the write-ahead-log are restored.
+	 *
+	 * @param directory   the directory
+	 * @param segmentRows the number of rows per segment
+	 * @return the {@link ColumnarStore}
+	 * @throws IOException on error
+	 */
+	public static ColumnarStore open(Path directory, int segmentRows) throws IOException {
+		Files.createDirectories(directory);
+		final var store = new ColumnarStore(directory, segmentRows);
+		try {
+			store.load();
+		} catch (IOException | RuntimeException e) {
+			store.close();
+			throw e;
+		}
+		return store;
+	}
+
+	private synchronized void load() throws IOException {
+		this.data = FileChannel.open(this.dataFile, CREATE, READ, WRITE);
+		if (this.data.size() < HEADER_LENGTH) {
+			this.data.truncate(0);
+			writeFully(this.data, ByteBuffer.allocate(HEADER_LENGTH).putLong(MAGIC).flip(), 0);
+			this.data.force(true);
+		}
+
+		final var buffer = this.map();
+		if (buffer.getLong(0) != MAGIC) {
+			throw new IOException("File [" + this.dataFile + "] is not a columnar Timedata file");
+		}
+		final var segments = new ArrayList<SegmentInfo>();
+		final var end = forEachFrame(buffer, HEADER_LENGTH, (type, payload, position) -> {
+			switch (type) {
+			case TYPE_DICTIONARY -> this.readDictionary(payload);
+			case TYPE_SEGMENT -> {
+				final var segment = new SegmentInfo(payload.getLong(0), payload.getLong(Long.BYTES), position,
+						payload.limit());
+				segments.add(segment);
+				this.lastCommitted = segment.last();
+			}
+			default -> throw new IOException("Unknown record type [" + type + "] in [" + this.dataFile + "]");
+			}
+		});
+		this.committedAddresses = this.addresses.size();
+		if (end < this.data.size()) {
+			this.log.warn("Cutting off incomplete data at [" + end + "] of [" + this.dataFile + "]");
+			this.data.truncate(end);
+			this.data.force(true);
+		}
+		this.snapshot = new Snapshot(this.map(), List.copyOf(segments));
+
+		// Restore the open segment from the write-ahead-log
+		this.wal = FileChannel.open(this.walFile, CREATE, READ, WRITE);
+		final var walBuffer = ByteBuffer.wrap(Files.readAllBytes(this.walFile));
+		final var walEnd = forEachFrame(walBuffer, 0, (type, payload, position) -> {
+			switch (type) {
+			case TYPE_DICTIONARY -> this.readDictionary(payload);
+			case TYPE_ROW -> {
+				final var timestamp = payload.getLong();
+				final var count = (int) ColumnCodec.readVarLong(payload);
+				final var row = new TreeMap<Integer, Double>();
+				for (var i = 0; i < count; i++) {
+					row.put((int) ColumnCodec.readVarLong(payload), payload.getDouble());
+				}
+				this.add(timestamp, row);
+			}
+			default -> throw new IOException("Unknown record type [" + type + "] in [" + this.walFile + "]");
+			}
+		});
+		if (walEnd < this.wal.size()) {
+			this.log.warn("Cutting off incomplete data at [" + walEnd + "] of [" + this.walFile + "]");
+			this.wal.truncate(walEnd);
+			this.wal.force(true);
+		}
+		if (this.rows >= this.segmentRows) {
+			this.commit();
+		}
+	}
+
+	private void readDictionary(ByteBuffer payload) throws IOException {
+		final var count = (int) ColumnCodec.readVarLong(payload);
+		for (var i = 0; i < count; i++) {
+			final var id = (int) ColumnCodec.readVarLong(payload);
+			final var bytes = new byte[(int) ColumnCodec.readVarLong(payload)];
+			payload.get(bytes);
+			final var address = new String(bytes, UTF_8);
+			if (id == this.addresses.size()) {
+				this.addresses.add(address);
+				this.ids.put(address, id);
+			} else if (id > this.addresses.size() || !this.addresses.get(id).equals(address)) {
+				throw new IOException("Inconsistent dictionary entry [" + id + ":" + address + "]");
+			}
+		}
+	}
+
+	/**
+	 * Appends a row. Values for a timestamp that equals the timestamp of the last
+	 * row are merged into that row; older timestamps are ignored.
+	 *
+	 * @param timestamp the epoch seconds
+	 * @param values    the values by Channel-Address; {@link Double#NaN} and null
+	 *                  are ignored
+	 * @return true if the row was appended
+	 * @throws IOException on error
+	 */
+	public synchronized boolean append(long timestamp, Map<String, Double> values) throws IOException {
+		if (timestamp <= this.lastCommitted || (this.rows > 0 && timestamp < this.timestamps[this.rows - 1])) {
+			return false;
+		}
+		if (this.rows >= this.segmentRows && timestamp != this.timestamps[this.rows - 1]) {
+			this.commit();
+		}
+
+		final var firstNewId = this.addresses.size();
+		final var row = new TreeMap<Integer, Double>();
+		for (var entry : values.entrySet()) {
+			final var value = entry.getValue();
+			if (value == null || Double.isNaN(value)) {
+				continue;
+			}
+			var id = this.ids.get(entry.getKey());
+			if (id == null) {
+				id = this.addresses.size();
+				this.addresses.add(entry.getKey());
+				this.ids.put(entry.getKey(), id);
+			}
+			row.put(id, value);
+		}
+
+		// Write-ahead
+		var position = this.wal.size();
+		if (firstNewId < this.addresses.size()) {
+			position += writeFully(this.wal,
+					frame(TYPE_DICTIONARY, this.encodeDictionary(firstNewId, this.addresses.size())), position);
+		}
+		final var out = new ByteArrayOutputStream(16 + row.size() * 12);
+		writeLong(out, timestamp);
+		ColumnCodec.writeVarLong(out, row.size());
+		for (var entry : row.entrySet()) {
+			ColumnCodec.writeVarLong(out, entry.getKey());
+			writeLong(out, Double.doubleToRawLongBits(entry.getValue()));
+		}
+		writeFully(this.wal, frame(TYPE_ROW, out.toByteArray()), position);
+		this.wal.force(false);
+
+		this.add(timestamp, row);
+		return true;
+	}
+
+	private void add(long timestamp, Map<Integer, Double> row) {
+		if (timestamp <= this.lastCommitted) {
+			return;
+		}
+		final int index;
+		if (this.rows > 0 && this.timestamps[this.rows - 1] == timestamp) {
+			index = this.rows - 1;
+		} else if (this.rows > 0 && this.timestamps[this.rows - 1] > timestamp) {
+			return;
+		} else {
+			if (this.rows == this.timestamps.length) {
+				// Only while restoring a write-ahead-log with more rows than expected
+				this.timestamps = Arrays.copyOf(this.timestamps, this.rows * 2);
+			}
+			index = this.rows++;
+			this.timestamps[index] = timestamp;
+		}
+		for (var entry : row.entrySet()) {
+			var column = this.columns.get(entry.getKey());
+			if (column == null || column.length < this.timestamps.length) {
+				final var previous = column;
+				column = new double[this.timestamps.length];
+				Arrays.fill(column, Double.NaN);
+				if (previous != null) {
+					System.arraycopy(previous, 0, column, 0, previous.length);
+				}
+				this.columns.put(entry.getKey(), column);
+			}
+			column[index] = entry.getValue();
+		}
+	}
+
+	/**
+	 * Writes the open segment to the data file, even if it is not full.
+	 *
+	 * @throws IOException on error
+	 */
+	public synchronized void flush() throws IOException {
+		this.commit();
+	}
+
+	private void commit() throws IOException {
+		if (this.rows == 0) {
+			return;
+		}
+		final var first = this.timestamps[0];
+		final var last = this.timestamps[this.rows - 1];
+
+		var position = this.data.size();
+		if (this.committedAddresses < this.addresses.size()) {
+			position += writeFully(this.data, frame(TYPE_DICTIONARY,
+					this.encodeDictionary(this.committedAddresses, this.addresses.size())), position);
+		}
+		final var payload = this.encodeSegment();
+		writeFully(this.data, frame(TYPE_SEGMENT, payload), position);
+		this.data.force(true);
+
+		this.committedAddresses = this.addresses.size();
+		this.lastCommitted = last;
+		final var segments = new ArrayList<>(this.snapshot.segments());
+		segments.add(new SegmentInfo(first, last, (int) position + FRAME_HEADER_LENGTH, payload.length));
+		this.snapshot = new Snapshot(this.map(), List.copyOf(segments));
+
+		this.rows = 0;
+		this.columns.clear();
+		if (this.timestamps.length != this.segmentRows) {
+			this.timestamps = new long[this.segmentRows];
+		}
+		this.wal.truncate(0);
+		this.wal.force(true);
+	}
+
+	private byte[] encodeDictionary(int fromId, int toId) {
+		final var out = new ByteArrayOutputStream();
+		ColumnCodec.writeVarLong(out, toId - fromId);
+		for (var id = fromId; id < toId; id++) {
+			final var bytes = this.addresses.get(id).getBytes(UTF_8);
+			ColumnCodec.writeVarLong(out, id);
+			ColumnCodec.writeVarLong(out, bytes.length);
+			out.writeBytes(bytes);
+		}
+		return out.toByteArray();
+	}
+
+	private byte[] encodeSegment() {
+		final var encodedTimestamps = ColumnCodec.encodeTimestamps(this.timestamps, this.rows);
+		final var encodedColumns = new TreeMap<Integer, byte[]>();
+		var columnsLength = 0;
+		for (var entry : this.columns.entrySet()) {
+			final var encoded = ColumnCodec.encodeValues(entry.getValue(), this.rows);
+			if (encoded != null) {
+				encodedColumns.put(entry.getKey(), encoded);
+				columnsLength += encoded.length;
+			}
+		}
+
+		final var buffer = ByteBuffer.allocate(SEGMENT_HEADER_LENGTH //
+				+ encodedColumns.size() * DIRECTORY_ENTRY_LENGTH //
+				+ encodedTimestamps.length + columnsLength) //
+				.putLong(this.timestamps[0]) //
+				.putLong(this.timestamps[this.rows - 1]) //
+				.putInt(this.rows) //
+				.putInt(encodedColumns.size()) //
+				.putInt(encodedTimestamps.length);
+		var offset = 0;
+		for (var entry : encodedColumns.entrySet()) {
+			buffer.putInt(entry.getKey()).putInt(offset).putInt(entry.getValue().length);
+			offset += entry.getValue().length;
+		}
+		buffer.put(encodedTimestamps);
+		encodedColumns.values().forEach(buffer::put);
+		return buffer.array();
+	}
+
+	/**
+	 * Reads the defined values of Channels in a time range.
+	 *
+	 * @param addresses     the Channel-Addresses
+	 * @param fromInclusive the start in epoch seconds
+	 * @param toExclusive   the end in epoch seconds
+	 * @return a {@link Series} for every Channel-Address with at least one value
+	 */
+	public Map<String, Series> read(Collection<String> addresses, long fromInclusive, long toExclusive) {
+		this.mappingLock.readLock().lock();
+		try {
+			return this.doRead(addresses, fromInclusive, toExclusive);
+		} finally {
+			this.mappingLock.readLock().unlock();
+		}
+	}
+
+	private Map<String, Series> doRead(Collection<String> addresses, long fromInclusive, long toExclusive) {
+		final var ids = new TreeMap<Integer, String>();
+		for (var address : addresses) {
+			final var id = this.ids.get(address);
+			if (id != null) {
+				ids.put(id, address);
+			}
+		}
+		if (ids.isEmpty()) {
+			return new HashMap<>();
+		}
+
+		final Snapshot snapshot;
+		final long[] openTimestamps;
+		final var openColumns = new HashMap<Integer, double[]>();
+		synchronized (this) {
+			snapshot = this.snapshot;
+			openTimestamps = Arrays.copyOf(this.timestamps, this.rows);
+			for (var id : ids.keySet()) {
+				final var column = this.columns.get(id);
+				if (column != null) {
+					openColumns.put(id, Arrays.copyOf(column, this.rows));
+				}
+			}
+		}
+
+		final var builders = new HashMap<String, SeriesBuilder>();
+		for (var segment : snapshot.segments()) {
+			if (segment.first() >= toExclusive) {
+				break;
+			}
+			if (segment.last() < fromInclusive) {
+				continue;
+			}
+			long[] timestamps = null;
+			for (var id : ids.entrySet()) {
+				final var values = readColumn(snapshot.buffer(), segment, id.getKey());
+				if (values == null) {
+					continue;
+				}
+				if (timestamps == null) {
+					timestamps = readTimestamps(snapshot.buffer(), segment);
+				}
+				builders.computeIfAbsent(id.getValue(), a -> new SeriesBuilder()) //
+						.addAll(timestamps, values, fromInclusive, toExclusive);
+			}
+		}
+		for (var id : ids.entrySet()) {
+			final var values = openColumns.get(id.getKey());
+			if (values != null) {
+				builders.computeIfAbsent(id.getValue(), a -> new SeriesBuilder()) //
+						.addAll(openTimestamps, values, fromInclusive, toExclusive);
+			}
+		}
+
+		final var result = new HashMap<String, Series>();
+		builders.forEach((address, builder) -> {
+			if (builder.size > 0) {
+				result.put(address, builder.build());
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Gets the latest defined value of a Channel before the given timestamp.
+	 *
+	 * @param address     the Channel-Address
+	 * @param toExclusive the epoch seconds
+	 * @return the value; empty if there is none
+	 */
+	public OptionalDouble getLatest(String address, long toExclusive) {
+		this.mappingLock.readLock().lock();
+		try {
+			return this.doGetLatest(address, toExclusive);
+		} finally {
+			this.mappingLock.readLock().unlock();
+		}
+	}
+
+	private OptionalDouble doGetLatest(String address, long toExclusive) {
+		final var id = this.ids.get(address);
+		if (id == null) {
+			return OptionalDouble.empty();
+		}
+
+		final Snapshot snapshot;
+		synchronized (this) {
+			snapshot = this.snapshot;
+			final var column = this.columns.get(id);
+			if (column != null) {
+				final var value = findLatest(this.timestamps, column, this.rows, toExclusive);
+				if (value.isPresent()) {
+					return value;
+				}
+			}
+		}
+
+		final var segments = snapshot.segments();
+		for (var i = segments.size() - 1; i >= 0; i--) {
+			final var segment = segments.get(i);
+			if (segment.first() >= toExclusive) {
+				continue;
+			}
+			final var values = readColumn(snapshot.buffer(), segment, id);
+			if (values == null) {
+				continue;
+			}
+			final var value = findLatest(readTimestamps(snapshot.buffer(), segment), values, values.length,
+					toExclusive);
+			if (value.isPresent()) {
+				return value;
+			}
+		}
+		return OptionalDouble.empty();
+	}
+
+	private static OptionalDouble findLatest(long[] timestamps, double[] values, int count, long toExclusive) {
+		for (var i = count - 1; i >= 0; i--) {
+			if (timestamps[i] < toExclusive && !Double.isNaN(values[i])) {
+				return OptionalDouble.of(values[i]);
+			}
+		}
+		return OptionalDouble.empty();
+	}
+
+	/**
+	 * Rewrites the data file without the segments that end before the given
+	 * timestamp. Dictionary entries are kept.
+	 *
+	 * <p>
+	 * Readers are blocked while the data file is replaced, so no reader accesses
+	 * the old memory-mapped view after it has been released.
+	 *
+	 * @param minTimestamp the epoch seconds
+	 * @throws IOException on error
+	 */
+	public void compact(long minTimestamp) throws IOException {
+		this.mappingLock.writeLock().lock();
+		try {
+			synchronized (this) {
+				this.doCompact(minTimestamp);
+			}
+		} finally {
+			this.mappingLock.writeLock().unlock();
+		}
+	}
+
+	private void doCompact(long minTimestamp) throws IOException {
+		final var tempFile = this.dataFile.resolveSibling(DATA_FILE + ".tmp");
+		final var segments = this.writeCompacted(minTimestamp, tempFile);
+		if (segments == null) {
+			return;
+		}
+
+		// Release the old mapping and the channel before the file is replaced. A
+		// MappedByteBuffer can not be unmapped explicitly; without any reference it is
+		// unmapped by the garbage collector.
+		this.snapshot = new Snapshot(ByteBuffer.allocate(0), List.of());
+		this.data.close();
+		this.data = null;
+		Files.move(tempFile, this.dataFile, REPLACE_EXISTING, ATOMIC_MOVE);
+		this.data = FileChannel.open(this.dataFile, READ, WRITE);
+		this.snapshot = new Snapshot(this.map(), List.copyOf(segments));
+	}
+
+	private List<SegmentInfo> writeCompacted(long minTimestamp, Path tempFile) throws IOException {
+		final var snapshot = this.snapshot;
+		final var keep = snapshot.segments().stream() //
+				.filter(s -> s.last() >= minTimestamp) //
+				.toList();
+		if (keep.size() == snapshot.segments().size()) {
+			return null;
+		}
+
+		final var segments = new ArrayList<SegmentInfo>();
+		try (var out = FileChannel.open(tempFile, CREATE, WRITE, TRUNCATE_EXISTING)) {
+			long position = writeFully(out, ByteBuffer.allocate(HEADER_LENGTH).putLong(MAGIC).flip(), 0);
+			if (this.committedAddresses > 0) {
+				position += writeFully(out, frame(TYPE_DICTIONARY, this.encodeDictionary(0, this.committedAddresses)),
+						position);
+			}
+			for (var segment : keep) {
+				// Copy the complete frame including its checksum
+				final var frame = snapshot.buffer().slice(segment.position() - FRAME_HEADER_LENGTH,
+						segment.length() + FRAME_OVERHEAD);
+				segments.add(new SegmentInfo(segment.first(), segment.last(), (int) position + FRAME_HEADER_LENGTH,
+						segment.length()));
+				position += writeFully(out, frame, position);
+			}
+			out.force(true);
+		}
+		return segments;
+	}
+
+	/**
+	 * Gets the number of segments in the data file.
+	 *
+	 * @return the number of segments
+	 */
+	public int getSegmentCount() {
+		return this.snapshot.segments().size();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			if (this.wal != null) {
+				this.wal.close();
+			}
+		} finally {
+			if (this.data != null) {
+				this.data.close();
+			}
+		}
+	}
+
+	private ByteBuffer map() throws IOException {
+		final var size = this.data.size();
+		if (size > Integer.MAX_VALUE) {
+			throw new IOException("File [" + this.dataFile + "] exceeds 2 GiB. Reduce the retention period.");
+		}
+		return this.data.map(MapMode.READ_ONLY, 0, size);
+	}
+
+	private static long[] readTimestamps(ByteBuffer buffer, SegmentInfo segment) {
+		final var position = segment.position();
+		final var rows = buffer.getInt(position + 2 * Long.BYTES);
+		final var columnCount = buffer.getInt(position + 2 * Long.BYTES + Integer.BYTES);
+		final var timestampsLength = buffer.getInt(position + 2 * Long.BYTES + 2 * Integer.BYTES);
+		final var timestampsPosition = position + SEGMENT_HEADER_LENGTH + columnCount * DIRECTORY_ENTRY_LENGTH;
+		return ColumnCodec.decodeTimestamps(buffer.slice(timestampsPosition, timestampsLength), rows);
+	}
+
+	private static double[] readColumn(ByteBuffer buffer, SegmentInfo segment, int id) {
+		final var position = segment.position();
+		final var rows = buffer.getInt(position + 2 * Long.BYTES);
+		final var columnCount = buffer.getInt(position + 2 * Long.BYTES + Integer.BYTES);
+		final var timestampsLength = buffer.getInt(position + 2 * Long.BYTES + 2 * Integer.BYTES);
+		final var directory = position + SEGMENT_HEADER_LENGTH;
+
+		// Binary search in the directory, which is sorted by ID
+		var low = 0;
+		var high = columnCount - 1;
+		while (low <= high) {
+			final var mid = (low + high) >>> 1;
+			final var entry = directory + mid * DIRECTORY_ENTRY_LENGTH;
+			final var midId = buffer.getInt(entry);
+			if (midId < id) {
+				low = mid + 1;
+			} else if (midId > id) {
+				high = mid - 1;
+			} else {
+				final var columnsPosition = directory + columnCount * DIRECTORY_ENTRY_LENGTH + timestampsLength;
+				final var offset = buffer.getInt(entry + Integer.BYTES);
+				final var length = buffer.getInt(entry + 2 * Integer.BYTES);
+				return ColumnCodec.decodeValues(buffer.slice(columnsPosition + offset, length), rows);
+			}
+		}
+		return null;
+	}
+
+	private static int forEachFrame(ByteBuffer buffer, int position, FrameHandler handler) throws IOException {
+		while (buffer.limit() - position >= FRAME_OVERHEAD) {
+			final var type = buffer.get(position);
+			final var length = buffer.getInt(position + 1);
+			if (length < 0 || length > buffer.limit() - position - FRAME_OVERHEAD) {
+				break;
+			}
+			final var payload = buffer.slice(position + FRAME_HEADER_LENGTH, length);
+			final var crc = new CRC32();
+			crc.update(type);
+			crc.update(payload.duplicate());
+			if ((int) crc.getValue() != buffer.getInt(position + FRAME_HEADER_LENGTH + length)) {
+				break;
+			}
+			handler.accept(type, payload, position + FRAME_HEADER_LENGTH);
+			position += FRAME_OVERHEAD + length;
+		}
+		return position;
+	}
+
+	private static ByteBuffer frame(byte type, byte[] payload) {
+		final var crc = new CRC32();
+		crc.update(type);
+		crc.update(payload);
+		return ByteBuffer.allocate(FRAME_OVERHEAD + payload.length) //
+				.put(type) //
+				.putInt(payload.length) //
+				.put(payload) //
+				.putInt((int) crc.getValue()) //
+				.flip();
+	}
+
+	private static int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		final var length = buffer.remaining();
+		var written = 0;
+		while (written < length) {
+			written += channel.write(buffer, position + written);
+		}
+		return length;
+	}
+
+	private static void writeLong(ByteArrayOutputStream out, long value) {
+		for (var shift = 56; shift >= 0; shift -= 8) {
+			out.write((int) (value >>> shift));
+		}
+	}
+
+	private static class SeriesBuilder {
+		private long[] timestamps = new long[64];
+		private double[] values = new double[64];
+		private int size = 0;
+
+		private void addAll(long[] timestamps, double[] values, long fromInclusive, long toExclusive) {
+			for (var i = 0; i < timestamps.length; i++) {
+				if (timestamps[i] < fromInclusive || timestamps[i] >= toExclusive || Double.isNaN(values[i])) {
+					continue;
+				}
+				if (this.size == this.timestamps.length) {
+					this.timestamps = Arrays.copyOf(this.timestamps, this.size * 2);
+					this.values = Arrays.copyOf(this.values, this.size * 2);
+				}
+				this.timestamps[this.size] = timestamps[i];
+				this.values[this.size] = values[i];
+				this.size++;
+			}
+		}
+
+		private Series build() {
+			return new Series(Arrays.copyOf(this.timestamps, this.size), Arrays.copyOf(this.values, this.size));
+		}
+	}
+
+}
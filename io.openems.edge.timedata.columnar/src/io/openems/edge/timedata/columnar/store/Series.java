@@ -0,0 +1,44 @@
+package io.openems.edge.timedata.columnar.store;
+
+/**
+ * The defined values of one Channel, ordered by timestamp.
+ *
+ * @param timestamps the epoch seconds
+ * @param values     the values
+ */
+public record Series(long[] timestamps, double[] values) {
+
+	/** An empty {@link Series}. */
+	public static final Series EMPTY = new Series(new long[0], new double[0]);
+
+	/**
+	 * Gets the number of values.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return this.timestamps.length;
+	}
+
+	/**
+	 * Gets the index of the first value with a timestamp equal or after the given
+	 * timestamp.
+	 *
+	 * @param timestamp the epoch seconds
+	 * @return the index; {@link #size()} if there is none
+	 */
+	public int indexOf(long timestamp) {
+		var low = 0;
+		var high = this.timestamps.length;
+		while (low < high) {
+			final var mid = (low + high) >>> 1;
+			if (this.timestamps[mid] < timestamp) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+}
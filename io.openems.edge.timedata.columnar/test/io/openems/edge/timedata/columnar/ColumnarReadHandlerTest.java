@@ -0,0 +1,126 @@
+package io.openems.edge.timedata.columnar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.test.DummyComponentManager;
+import io.openems.edge.timedata.columnar.store.ColumnarStore;
+
+public class ColumnarReadHandlerTest {
+
+	private static final ZonedDateTime START = ZonedDateTime.ofInstant(Instant.ofEpochSecond(1577836800L),
+			ZoneOffset.UTC); /* 1. January 2020 00:00:00 */
+	private static final ChannelAddress POWER = new ChannelAddress("meter0", "ActivePower");
+	private static final ChannelAddress ENERGY = new ChannelAddress("meter0", "ActiveProductionEnergy");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static ColumnarStore createStore(TemporaryFolder folder) throws IOException {
+		final var store = ColumnarStore.open(folder.getRoot().toPath(), 12);
+		// 3 hours in 5 minute steps
+		for (var i = 0; i < 36; i++) {
+			store.append(START.toEpochSecond() + i * 300, Map.of(//
+					POWER.toString(), (double) i, //
+					ENERGY.toString(), 1000.0 + i * 10));
+		}
+		return store;
+	}
+
+	@Test
+	public void testQueryHistoricData() throws IOException, OpenemsNamedException {
+		try (var store = createStore(this.folder)) {
+			final var sut = new ColumnarReadHandler(new DummyComponentManager(), store);
+			final var result = sut.queryHistoricData(START, START.plusHours(4), Set.of(POWER),
+					new Resolution(15, ChronoUnit.MINUTES));
+
+			assertEquals(16, result.size());
+			assertEquals(1.0, result.get(START).get(POWER).getAsDouble(), 0.001);
+			assertEquals(4.0, result.get(START.plusMinutes(15)).get(POWER).getAsDouble(), 0.001);
+			assertTrue(result.get(START.plusHours(3)).get(POWER).isJsonNull());
+		}
+	}
+
+	@Test
+	public void testQueryHistoricEnergy() throws IOException, OpenemsNamedException {
+		try (var store = createStore(this.folder)) {
+			final var sut = new ColumnarReadHandler(new DummyComponentManager(), store);
+
+			final var energy = sut.queryHistoricEnergy(START.plusHours(1), START.plusHours(2), Set.of(ENERGY));
+			assertEquals(120.0, energy.get(ENERGY).getAsDouble(), 0.001);
+
+			final var perPeriod = sut.queryHistoricEnergyPerPeriod(START, START.plusHours(3), Set.of(ENERGY),
+					new Resolution(1, ChronoUnit.HOURS));
+			assertEquals(3, perPeriod.size());
+			// Nothing before the first period -> absolute value
+			assertEquals(1110.0, perPeriod.get(START).get(ENERGY).getAsDouble(), 0.001);
+			assertEquals(120.0, perPeriod.get(START.plusHours(1)).get(ENERGY).getAsDouble(), 0.001);
+			assertEquals(120.0, perPeriod.get(START.plusHours(2)).get(ENERGY).getAsDouble(), 0.001);
+		}
+	}
+
+	@Test
+	public void testGetPeriods() throws OpenemsNamedException {
+		assertEquals(List.of(START, START.plusMonths(1), START.plusMonths(2)), //
+				ColumnarReadHandler.getPeriods(START, START.plusMonths(3), new Resolution(1, ChronoUnit.MONTHS)));
+
+		// Following periods are aligned to the Resolution
+		assertEquals(List.of(START.plusHours(12), START.plusDays(7), START.plusDays(14)), //
+				ColumnarReadHandler.getPeriods(START.plusHours(12), START.plusDays(21),
+						new Resolution(1, ChronoUnit.WEEKS)));
+		assertEquals(List.of(START, START.plusYears(1)), //
+				ColumnarReadHandler.getPeriods(START, START.plusYears(2), new Resolution(1, ChronoUnit.YEARS)));
+
+		assertThrows(OpenemsNamedException.class, //
+				() -> ColumnarReadHandler.getPeriods(START, START.plusYears(20), //
+						new Resolution(1, ChronoUnit.DECADES)));
+	}
+
+	@Test
+	public void testQueryHistoricDataPerMonth() throws IOException, OpenemsNamedException {
+		try (var store = createStore(this.folder)) {
+			final var sut = new ColumnarReadHandler(new DummyComponentManager(), store);
+			final var result = sut.queryHistoricData(START, START.plusMonths(3), Set.of(POWER),
+					new Resolution(1, ChronoUnit.MONTHS));
+
+			// Calendar months, not fixed 30 day steps
+			assertEquals(Set.of(START, START.plusMonths(1), START.plusMonths(2)), result.keySet());
+			assertEquals(17.5, result.get(START).get(POWER).getAsDouble(), 0.001);
+			assertTrue(result.get(START.plusMonths(1)).get(POWER).isJsonNull());
+		}
+	}
+
+	@Test
+	public void testResend() throws IOException {
+		try (var store = createStore(this.folder)) {
+			final var sut = new ColumnarReadHandler(new DummyComponentManager(), store);
+
+			final var data = sut.queryResendData(START, START.plusMinutes(10), Set.of(POWER));
+			assertEquals(3, data.size());
+			assertEquals(2.0, data.get(START.plusMinutes(10).toEpochSecond() * 1000).get(POWER).getAsDouble(), 0);
+
+			// POWER is 0 at START -> first timestamp counts as sent
+			final var timeranges = sut.getResendTimeranges(POWER, START.toEpochSecond() - 1);
+			assertEquals(START.plusMinutes(5).toEpochSecond(),
+					timeranges.getTimerangeAscending().get(0).getMinTimestamp());
+		}
+	}
+
+}
@@ -0,0 +1,49 @@
+package io.openems.edge.timedata.columnar.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class ColumnCodecTest {
+
+	private static double[] roundTrip(double[] values, byte expectedType) {
+		final var encoded = ColumnCodec.encodeValues(values, values.length);
+		assertEquals(expectedType, encoded[0]);
+		return ColumnCodec.decodeValues(ByteBuffer.wrap(encoded), values.length);
+	}
+
+	@Test
+	public void testTimestamps() {
+		final var timestamps = new long[] { 1577836800L, 1577837100L, 1577837400L, 1577837700L, 1577839000L };
+		final var encoded = ColumnCodec.encodeTimestamps(timestamps, timestamps.length);
+		// first value + 2 bytes delta + 1 byte per row for a fixed step
+		assertEquals(5 + 2 + 1 + 1 + 2, encoded.length);
+		assertArrayEquals(timestamps, ColumnCodec.decodeTimestamps(ByteBuffer.wrap(encoded), timestamps.length));
+	}
+
+	@Test
+	public void testLong() {
+		final var values = new double[] { 1000, 1002, Double.NaN, -5, 0, -0.0, 9_007_199_254_740_992. };
+		assertArrayEquals(values, roundTrip(values, ColumnCodec.TYPE_LONG), 0);
+	}
+
+	@Test
+	public void testDouble() {
+		final var values = new double[] { 230.1, 230.1, 229.95, Double.NaN, 1e-9, -3.5, Double.POSITIVE_INFINITY,
+				Double.MIN_VALUE, 12.5, 12.75 };
+		final var decoded = roundTrip(values, ColumnCodec.TYPE_DOUBLE);
+		for (var i = 0; i < values.length; i++) {
+			assertEquals(Double.doubleToLongBits(values[i]), Double.doubleToLongBits(decoded[i]));
+		}
+	}
+
+	@Test
+	public void testEmpty() {
+		assertNull(ColumnCodec.encodeValues(new double[] { Double.NaN, Double.NaN }, 2));
+	}
+
+}
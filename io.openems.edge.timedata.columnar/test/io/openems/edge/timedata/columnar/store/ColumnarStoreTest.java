@@ -0,0 +1,168 @@
+package io.openems.edge.timedata.columnar.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ColumnarStoreTest {
+
+	private static final long START = 1577836800L; /* 1. January 2020 00:00:00 */
+	private static final String POWER = "meter0/ActivePower";
+	private static final String ENERGY = "meter0/ActiveProductionEnergy";
+	private static final String VOLTAGE = "meter0/Voltage";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static void fill(ColumnarStore store, int fromRow, int toRow) throws IOException {
+		for (var i = fromRow; i < toRow; i++) {
+			store.append(START + i * 300L, Map.of(//
+					POWER, (double) (i * 10), //
+					ENERGY, (double) (1000 + i), //
+					VOLTAGE, 230.0 + i / 10.0));
+		}
+	}
+
+	@Test
+	public void testReadAcrossSegments() throws IOException {
+		try (var store = ColumnarStore.open(this.folder.getRoot().toPath(), 4)) {
+			fill(store, 0, 10);
+			assertEquals(2, store.getSegmentCount());
+
+			final var result = store.read(List.of(POWER, VOLTAGE, "foo/Bar"), START + 300, START + 9 * 300);
+			assertEquals(2, result.size());
+			final var power = result.get(POWER);
+			assertEquals(8, power.size());
+			assertEquals(START + 300, power.timestamps()[0]);
+			assertEquals(10.0, power.values()[0], 0);
+			assertEquals(80.0, power.values()[7], 0);
+			assertEquals(230.8, result.get(VOLTAGE).values()[7], 0.0001);
+
+			assertEquals(1009.0, store.getLatest(ENERGY, Long.MAX_VALUE).getAsDouble(), 0);
+			assertEquals(1002.0, store.getLatest(ENERGY, START + 3 * 300).getAsDouble(), 0);
+			assertFalse(store.getLatest(ENERGY, START).isPresent());
+		}
+	}
+
+	@Test
+	public void testMissingValues() throws IOException {
+		try (var store = ColumnarStore.open(this.folder.getRoot().toPath(), 3)) {
+			store.append(START, Map.of(POWER, 1.0));
+			store.append(START + 300, Map.of(ENERGY, 2.0));
+			store.append(START + 600, Map.of(POWER, Double.NaN));
+			// same timestamp -> merged; older timestamp -> ignored
+			store.append(START + 600, Map.of(POWER, 3.0));
+			assertFalse(store.append(START + 300, Map.of(POWER, 4.0)));
+			store.append(START + 900, Map.of(POWER, 5.0));
+
+			final var power = store.read(List.of(POWER), START, START + 1000).get(POWER);
+			assertArrayEquals(new long[] { START, START + 600, START + 900 }, power.timestamps());
+			assertArrayEquals(new double[] { 1.0, 3.0, 5.0 }, power.values(), 0);
+		}
+	}
+
+	@Test
+	public void testReopen() throws IOException {
+		final var directory = this.folder.getRoot().toPath();
+		try (var store = ColumnarStore.open(directory, 4)) {
+			fill(store, 0, 6);
+		}
+		// 4 rows in a segment, 2 rows in the write-ahead-log
+		try (var store = ColumnarStore.open(directory, 4)) {
+			assertEquals(1, store.getSegmentCount());
+			assertEquals(6, store.read(List.of(POWER), START, Long.MAX_VALUE).get(POWER).size());
+
+			// Continue after restart
+			fill(store, 6, 9);
+			assertEquals(2, store.getSegmentCount());
+		}
+		try (var store = ColumnarStore.open(directory, 4)) {
+			assertEquals(9, store.read(List.of(ENERGY), START, Long.MAX_VALUE).get(ENERGY).size());
+		}
+	}
+
+	@Test
+	public void testIncompleteWrite() throws IOException {
+		final var directory = this.folder.getRoot().toPath();
+		try (var store = ColumnarStore.open(directory, 4)) {
+			fill(store, 0, 6);
+		}
+		// Simulate power loss while writing the data file and the write-ahead-log
+		final var dataFile = directory.resolve(ColumnarStore.DATA_FILE);
+		final var walFile = directory.resolve(ColumnarStore.WAL_FILE);
+		try (var channel = FileChannel.open(dataFile, StandardOpenOption.APPEND)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 'S', 0, 0, 1, 0, 42 }));
+		}
+		try (var channel = FileChannel.open(walFile, StandardOpenOption.WRITE)) {
+			channel.truncate(Files.size(walFile) - 3);
+		}
+
+		try (var store = ColumnarStore.open(directory, 4)) {
+			assertEquals(1, store.getSegmentCount());
+			assertEquals(5, store.read(List.of(POWER), START, Long.MAX_VALUE).get(POWER).size());
+			assertTrue(store.append(START + 5 * 300, Map.of(POWER, 50.0)));
+		}
+	}
+
+	@Test
+	public void testCompact() throws IOException {
+		final var directory = this.folder.getRoot().toPath();
+		try (var store = ColumnarStore.open(directory, 4)) {
+			fill(store, 0, 14);
+			assertEquals(3, store.getSegmentCount());
+
+			store.compact(START + 8 * 300);
+			assertEquals(1, store.getSegmentCount());
+			final var power = store.read(List.of(POWER), START, Long.MAX_VALUE).get(POWER);
+			assertEquals(6, power.size());
+			assertEquals(START + 8 * 300, power.timestamps()[0]);
+
+			fill(store, 14, 17);
+		}
+		try (var store = ColumnarStore.open(directory, 4)) {
+			assertEquals(2, store.getSegmentCount());
+			assertEquals(9, store.read(List.of(VOLTAGE), START, Long.MAX_VALUE).get(VOLTAGE).size());
+		}
+	}
+
+	@Test
+	public void testCompactWhileReading() throws Exception {
+		try (var store = ColumnarStore.open(this.folder.getRoot().toPath(), 4)) {
+			fill(store, 0, 400);
+			final var reader = Executors.newSingleThreadExecutor();
+			try {
+				final var reads = reader.submit(() -> {
+					for (var i = 0; i < 1000; i++) {
+						// Every read sees either the old or the compacted data file
+						final var size = store.read(List.of(POWER), START, Long.MAX_VALUE).get(POWER).size();
+						if (size != 400 && size != 200) {
+							throw new IllegalStateException("Unexpected size [" + size + "]");
+						}
+					}
+					return null;
+				});
+				store.compact(START + 200 * 300);
+				reads.get();
+			} finally {
+				reader.shutdown();
+			}
+			assertEquals(200, store.read(List.of(POWER), START, Long.MAX_VALUE).get(POWER).size());
+			assertEquals(1200.0, store.getLatest(ENERGY, START + 201 * 300).getAsDouble(), 0.001);
+		}
+	}
+
+}
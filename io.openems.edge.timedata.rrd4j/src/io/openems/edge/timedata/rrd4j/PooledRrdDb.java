@@ -0,0 +1,54 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.rrd4j.core.RrdDb;
+
+/**
+ * An open {@link RrdDb} borrowed from the {@link Rrd4jSupplier}.
+ *
+ * <p>
+ * The database is locked for exclusive use until {@link #close()} is called.
+ * Closing does not close the {@link RrdDb} itself, so the next read or write
+ * can reuse it without opening the file and parsing the header again.
+ */
+public final class PooledRrdDb implements AutoCloseable {
+
+	private final RrdDbCache cache;
+	private final ReentrantLock lock;
+	private final RrdDb rrdDb;
+
+	private boolean isReleased = false;
+
+	PooledRrdDb(RrdDbCache cache, ReentrantLock lock, RrdDb rrdDb) {
+		this.cache = cache;
+		this.lock = lock;
+		this.rrdDb = rrdDb;
+	}
+
+	/**
+	 * Gets the {@link RrdDb}.
+	 *
+	 * <p>
+	 * The {@link RrdDb} must not be used after {@link #close()}.
+	 *
+	 * @return the {@link RrdDb}
+	 */
+	public RrdDb get() {
+		return this.rrdDb;
+	}
+
+	/**
+	 * Releases the {@link RrdDb} for use by others.
+	 */
+	@Override
+	public void close() {
+		if (this.isReleased) {
+			return;
+		}
+		this.isReleased = true;
+		this.lock.unlock();
+		this.cache.closeEvicted();
+	}
+
+}
@@ -7,7 +7,6 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalDouble;
@@ -15,7 +14,7 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.function.ToDoubleFunction;
+import java.util.stream.DoubleStream;
 
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -34,10 +33,10 @@ import io.openems.common.channel.PersistencePriority;
 import io.openems.common.channel.Unit;
 import io.openems.common.timedata.DurationUnit;
 import io.openems.common.types.ChannelAddress;
-import io.openems.common.types.OpenemsType;
 import io.openems.common.worker.AbstractImmediateWorker;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.EnumDoc;
+import io.openems.edge.common.channel.value.PastValues;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.ComponentManager;
 
@@ -144,7 +143,6 @@ public class RecordWorker extends AbstractImmediateWorker {
 									&& doc.getAccessMode() != AccessMode.WRITE_ONLY) //
 							.orElse(false);
 				}).map(channel -> {
-					final var channelMapFunction = getChannelMapFunction(channel.channelDoc().getType());
 					final var channelAggregateFunction = channel.channelDoc().getUnit().getChannelAggregateFunction();
 
 					final long writeSeconds;
@@ -155,25 +153,14 @@ public class RecordWorker extends AbstractImmediateWorker {
 						writeSeconds = timestamp.getEpochSecond();
 					}
 
-					// This is the highest timestamp before `startTime`. If existing it is used for
-					// the tailMap to make sure we get a Value even for Channels where the value has
-					// not changed within the last 5 minutes.
-					var channelStartTime = Optional.ofNullable(channel.getPastValues().floorKey(from)) //
-							.orElse(from);
-
-					var value = channelAggregateFunction.apply(//
-							channel.getPastValues() //
-									.tailMap(channelStartTime, true) //
-									.entrySet().stream() //
-									.filter(e -> e.getKey().isBefore(to)) //
-									.map(Entry::getValue) //
-									.map(Value::get) //
-									.filter(Objects::nonNull) //
-									.mapToDouble(channelMapFunction) // convert to double
-					);
+					// Starts with the latest value before `from` to make sure we get a Value even
+					// for Channels where the value has not changed within the last 5 minutes.
+					final var pastValues = channel.getPastValues().rangeFromFloor(from, to);
+
+					var value = channelAggregateFunction.apply(toDoubleStream(channel, pastValues));
 
 					if (channel.channelDoc() instanceof EnumDoc) {
-						final var enumChannelValue = aggregateEnumChannel(channel, channelStartTime, to);
+						final var enumChannelValue = aggregateEnumChannel(channel, from, to);
 						if (!enumChannelValue.isJsonNull()) {
 							value = OptionalDouble.of(enumChannelValue.getAsDouble());
 						}
@@ -200,8 +187,17 @@ public class RecordWorker extends AbstractImmediateWorker {
 
 	@Override
 	protected void forever() throws InterruptedException {
-		final var record = this.records.take();
+		// Write all records of a heartbeat in one go
+		final var records = new ArrayList<DataRecord>();
+		records.add(this.records.take());
+		this.records.drainTo(records);
 
+		for (var record : records) {
+			this.write(record);
+		}
+	}
+
+	private void write(DataRecord record) {
 		if (this.config.readOnly()) {
 			if (this.config.debugMode()) {
 				this.log.info("Read-Only-Mode is activated. Not writing record: " + record.toString());
@@ -209,8 +205,9 @@ public class RecordWorker extends AbstractImmediateWorker {
 			return;
 		}
 
-		try (var database = this.rrd4jSupplier.getRrdDb(this.config.rrdDbId, record.address, record.unit,
+		try (var pooledDatabase = this.rrd4jSupplier.getRrdDb(this.config.rrdDbId, record.address, record.unit,
 				record.timestamp - 1)) {
+			final var database = pooledDatabase.get();
 			if (database.getLastUpdateTime() == record.timestamp()) {
 				// overwrite last value if same time stamp
 				final var robin = database.getArchive(0).getRobin(0);
@@ -227,6 +224,8 @@ public class RecordWorker extends AbstractImmediateWorker {
 
 			this.config.onQueueFull.accept(false);
 		} catch (Throwable e) {
+			// Reopen the database on next write
+			this.rrd4jSupplier.invalidate(this.config.rrdDbId, record.address);
 			this.config.onQueueFull.accept(true);
 			if (this.config.debugMode()) {
 				this.log.error("Unable to insert Sample [%s] %s: %s".formatted(record.address,
@@ -235,36 +234,16 @@ public class RecordWorker extends AbstractImmediateWorker {
 		}
 	}
 
-	private static final ToDoubleFunction<? super Object> MAP_BOOLEAN_TO_DOUBLE //
-			= value -> ((Boolean) value ? 1d : 0d);
-	private static final ToDoubleFunction<? super Object> MAP_SHORT_TO_DOUBLE //
-			= value -> ((Short) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_INTEGER_TO_DOUBLE //
-			= value -> ((Integer) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_LONG_TO_DOUBLE //
-			= value -> ((Long) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_FLOAT_TO_DOUBLE //
-			= value -> ((Float) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_DOUBLE_TO_DOUBLE //
-			= value -> ((Double) value);
-	private static final ToDoubleFunction<? super Object> MAP_TO_DOUBLE_NOT_SUPPORTED //
-			= value -> 0d;
-
-	private static ToDoubleFunction<? super Object> getChannelMapFunction(OpenemsType openemsType) {
-		return switch (openemsType) {
-		case BOOLEAN -> MAP_BOOLEAN_TO_DOUBLE;
-		case SHORT -> MAP_SHORT_TO_DOUBLE;
-		case INTEGER -> MAP_INTEGER_TO_DOUBLE;
-		case LONG -> MAP_LONG_TO_DOUBLE;
-		case FLOAT -> MAP_FLOAT_TO_DOUBLE;
-		case DOUBLE -> MAP_DOUBLE_TO_DOUBLE;
-		case STRING -> MAP_TO_DOUBLE_NOT_SUPPORTED; // Strings are not supported by RRD4J
+	private static DoubleStream toDoubleStream(Channel<?> channel, PastValues.Range<?> pastValues) {
+		return switch (channel.getType()) {
+		case BOOLEAN, SHORT, INTEGER, LONG, FLOAT, DOUBLE -> pastValues.definedAsDouble();
+		case STRING -> pastValues.definedValues().mapToDouble(value -> 0d); // Strings are not supported by RRD4J
 		};
 	}
 
 	protected static JsonElement aggregateEnumChannel(//
 			Channel<?> channel, //
-			LocalDateTime channelStartTime, //
+			LocalDateTime startTime, //
 			LocalDateTime endTime //
 	) {
 		final var doc = channel.channelDoc();
@@ -272,12 +251,9 @@ public class RecordWorker extends AbstractImmediateWorker {
 			return JsonNull.INSTANCE;
 		}
 		final var numberOfValuesPerOption = channel.getPastValues() //
-				.tailMap(channelStartTime, true) //
-				.entrySet() //
-				.stream() //
-				.filter(e -> e.getKey().isBefore(endTime)) //
-				.filter(e -> e.getValue().isDefined()) //
-				.map(e -> (Integer) e.getValue().get()) //
+				.rangeFromFloor(startTime, endTime) //
+				.definedAsInt() //
+				.boxed() //
 				.collect(groupingBy(Function.identity(), counting()));
 
 		final var values = numberOfValuesPerOption.entrySet().stream() //
@@ -300,18 +276,14 @@ public class RecordWorker extends AbstractImmediateWorker {
 		}
 
 		// pick first value with most appearances
-		for (var entry : channel.getPastValues().descendingMap().entrySet()) {
-			for (var optionValue : maxValues) {
-				if (!entry.getValue().isDefined()) {
-					continue;
-				}
-				final var entryValue = entry.getValue().get();
-				if (((Integer) entryValue).intValue() == optionValue) {
-					return new JsonPrimitive(optionValue);
-				}
-			}
-		}
-		return JsonNull.INSTANCE;
+		return channel.getPastValues().all() //
+				.descendingStream() //
+				.filter(Value::isDefined) //
+				.map(value -> (Integer) value.get()) //
+				.filter(maxValues::contains) //
+				.findFirst() //
+				.<JsonElement>map(JsonPrimitive::new) //
+				.orElse(JsonNull.INSTANCE);
 	}
 
 }
@@ -8,6 +8,7 @@ public final class Rrd4jConstants {
 	public static final String DEFAULT_DATASOURCE_NAME = "value";
 	public static final int DEFAULT_STEP_SECONDS = 300;
 	public static final int DEFAULT_HEARTBEAT_SECONDS = DEFAULT_STEP_SECONDS;
+	public static final int DEFAULT_MAX_OPEN_DATABASES = 256;
 
 	/**
 	 * Creates a string of the default datasource name with the version included.
@@ -168,12 +168,12 @@ public class Rrd4jReadHandler {
 			// unable to get channel
 			throw new OpenemsException("RRD4j Database for " + notSendChannel + " is missing");
 		}
-		try (final var database = this.rrd4jSupplier.getExistingUpdatedRrdDb(//
+		try (final var pooledDatabase = this.rrd4jSupplier.getExistingUpdatedRrdDb(//
 				rrdDbId, channel.address(), channel.channelDoc().getUnit())) {
-			if (database == null) {
+			if (pooledDatabase == null) {
 				throw new OpenemsException("RRD4j Database for " + notSendChannel + " is missing");
 			}
-			return getTimerangesOfNotSendData(database, lastResendTimestamp);
+			return getTimerangesOfNotSendData(pooledDatabase.get(), lastResendTimestamp);
 		} catch (IOException e) {
 			throw new OpenemsException("Unable to query database.", e);
 		}
@@ -213,15 +213,16 @@ public class Rrd4jReadHandler {
 				}
 				continue;
 			}
-			try (final var database = this.rrd4jSupplier.getExistingUpdatedRrdDb(//
+			try (final var pooledDatabase = this.rrd4jSupplier.getExistingUpdatedRrdDb(//
 					rrdDbId, channel.address(), channel.channelDoc().getUnit())) {
-				if (database == null) {
+				if (pooledDatabase == null) {
 					if (debugMode) {
 						this.log.warn("Unable to query RRD4j: " //
 								+ "RRD4j Database for " + channelAddress + " is missing");
 					}
 					continue;
 				}
+				final var database = pooledDatabase.get();
 
 				for (int i = 0; i < database.getArcCount(); i++) {
 					final var archive = database.getArchive(i);
@@ -311,9 +312,9 @@ public class Rrd4jReadHandler {
 				}
 				final var chDef = Rrd4jSupplier.getDsDefForChannel(channel.channelDoc().getUnit());
 				final double[] result;
-				try (final var database = this.rrd4jSupplier.getExistingUpdatedRrdDb(rrdDbId, channel.address(),
-						channel.channelDoc().getUnit())) {
-					if (database == null) {
+				try (final var pooledDatabase = this.rrd4jSupplier.getExistingUpdatedRrdDb(rrdDbId,
+						channel.address(), channel.channelDoc().getUnit())) {
+					if (pooledDatabase == null) {
 						if (debugMode) {
 							this.log.warn(
 									"Unable to query RRD4j" + "RRD4j Database for " + channelAddress + " is missing");
@@ -321,6 +322,7 @@ public class Rrd4jReadHandler {
 						errorCounter++;
 						continue;
 					}
+					final var database = pooledDatabase.get();
 
 					final var fetchedData = database
 							.createFetchRequest(chDef.consolFun(), fromTimestamp, toTimeStamp, resolution.toSeconds())
@@ -403,15 +405,16 @@ public class Rrd4jReadHandler {
 						}
 						return JsonNull.INSTANCE;
 					}
-					try (final var database = this.rrd4jSupplier.getExistingUpdatedRrdDb(//
+					try (final var pooledDatabase = this.rrd4jSupplier.getExistingUpdatedRrdDb(//
 							rrdDbId, channel.address(), channel.channelDoc().getUnit())) {
-						if (database == null) {
+						if (pooledDatabase == null) {
 							if (debugMode) {
 								this.log.warn("Unable to query RRD4j: " //
 										+ "RRD4j Database for " + channelAddress + " is missing");
 							}
 							return JsonNull.INSTANCE;
 						}
+						final var database = pooledDatabase.get();
 
 						var first = getFirstValueBefore(database, fromTimestamp);
 
@@ -557,11 +560,12 @@ public class Rrd4jReadHandler {
 				return Optional.empty();
 			}
 
-			try (var database = this.rrd4jSupplier.getExistingUpdatedRrdDb(rrdDbId, channelAddress,
+			try (var pooledDatabase = this.rrd4jSupplier.getExistingUpdatedRrdDb(rrdDbId, channelAddress,
 					channel.channelDoc().getUnit())) {
-				if (database == null) {
+				if (pooledDatabase == null) {
 					return Optional.empty();
 				}
+				final var database = pooledDatabase.get();
 
 				// search for last value in robin
 				final var robin = database.getArchive(0).getRobin(0);
@@ -600,10 +604,11 @@ public class Rrd4jReadHandler {
 	) {
 		return CompletableFuture.supplyAsync(() -> {
 
-			try (var database = this.rrd4jSupplier.getExistingUpdatedRrdDb(rrdDbId, channelAddress, unit)) {
-				if (database == null) {
+			try (var pooledDatabase = this.rrd4jSupplier.getExistingUpdatedRrdDb(rrdDbId, channelAddress, unit)) {
+				if (pooledDatabase == null) {
 					return Optional.empty();
 				}
+				final var database = pooledDatabase.get();
 
 				// search for last value in robin
 				final var robin = database.getArchive(0).getRobin(0);
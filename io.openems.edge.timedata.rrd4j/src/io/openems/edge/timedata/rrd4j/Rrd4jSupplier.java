@@ -8,35 +8,39 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ServiceScope;
+import org.osgi.service.metatype.annotations.Designate;
 import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
 import org.rrd4j.core.DsDef;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdNioBackendFactory;
 import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.openems.common.OpenemsConstants;
 import io.openems.common.channel.Unit;
-import io.openems.common.function.ThrowingSupplier;
 import io.openems.common.timedata.CommonTimedataService;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.type.TypeUtils;
 import io.openems.edge.timedata.rrd4j.version.Version.CreateDatabaseConfig;
 import io.openems.edge.timedata.rrd4j.version.VersionHandler;
 
+@Designate(ocd = SupplierConfig.class, factory = false)
 @Component(//
+		name = "Timedata.Rrd4j.Supplier", //
 		scope = ServiceScope.SINGLETON, //
+		configurationPolicy = ConfigurationPolicy.OPTIONAL, //
 		service = Rrd4jSupplier.class //
 )
 public class Rrd4jSupplier {
@@ -46,8 +50,12 @@ public class Rrd4jSupplier {
 	@Reference
 	private VersionHandler versionHandler;
 
-	private final KeyLock keyLock = new KeyLock();
-	private final RrdBackendFactory factory;
+	/**
+	 * Open databases; shared by the {@link RecordWorker}s and the
+	 * {@link Rrd4jReadHandler}.
+	 */
+	private final RrdDbCache cache = new RrdDbCache(Rrd4jConstants.DEFAULT_MAX_OPEN_DATABASES);
+	private RrdBackendFactory factory;
 
 	// channelAddress, rrdDbId => file path
 	private final BiFunction<ChannelAddress, String, String> fileValidator;
@@ -60,7 +68,6 @@ public class Rrd4jSupplier {
 		this.fileValidator = fileValidator;
 	}
 
-	@Activate
 	public Rrd4jSupplier() {
 		this(//
 				new RrdRandomAccessFileBackendFactory(), //
@@ -74,6 +81,28 @@ public class Rrd4jSupplier {
 		);
 	}
 
+	@Activate
+	private void activate(SupplierConfig config) {
+		this.cache.setMaxSize(config.maxOpenDatabases());
+		if (config.memoryMapped()) {
+			// Changes are synced to disk once per heartbeat instead of on every write
+			this.factory = new RrdNioBackendFactory(Rrd4jConstants.DEFAULT_HEARTBEAT_SECONDS);
+		}
+	}
+
+	@Deactivate
+	private void deactivate() {
+		this.cache.clear();
+		if (this.factory instanceof RrdNioBackendFactory nioFactory) {
+			// Stops the sync thread of the memory-mapped backends
+			try {
+				nioFactory.close();
+			} catch (IOException e) {
+				this.log.warn("Unable to close RrdNioBackendFactory", e);
+			}
+		}
+	}
+
 	/**
 	 * Gets the RRD4j database for the given Channel-Address.
 	 * 
@@ -81,20 +110,24 @@ public class Rrd4jSupplier {
 	 * The predefined RRD4J archives match the requirements of
 	 * {@link CommonTimedataService#calculateResolution(ZonedDateTime, ZonedDateTime)}
 	 * 
+	 * <p>
+	 * The database is kept open after use; release it by closing the returned
+	 * {@link PooledRrdDb}, e.g. with try-with-resources.
+	 * 
 	 * @param channelAddress the Channel-Address
 	 * @param channelUnit    the {@link Unit}
 	 * @param startTime      the starttime for newly created RrdDbs
 	 * @param rrdDbId        the id of the rrd4j database
-	 * @return the RrdDb
+	 * @return the {@link PooledRrdDb}
 	 * @throws IOException on error
 	 */
-	public RrdDb getRrdDb(//
+	public PooledRrdDb getRrdDb(//
 			final String rrdDbId, //
 			final ChannelAddress channelAddress, //
 			final Unit channelUnit, //
 			final long startTime //
 	) throws IOException {
-		return this.keyLock.lock(rrdDbId + "/" + channelAddress.toString(), () -> {
+		return this.cache.borrow(toKey(rrdDbId, channelAddress), () -> {
 			var rrdDb = this.getExistingRrdDb(channelAddress, rrdDbId);
 			if (rrdDb != null) {
 				// Database exists
@@ -109,18 +142,22 @@ public class Rrd4jSupplier {
 	 * Gets an existing and updated {@link RrdDb}. If the found {@link RrdDb} is not
 	 * on the current version it gets updated.
 	 * 
+	 * <p>
+	 * The database is kept open after use; release it by closing the returned
+	 * {@link PooledRrdDb}, e.g. with try-with-resources.
+	 * 
 	 * @param rrdDbId        the id of the RrdDb
 	 * @param channelAddress the address of the {@link RrdDb}
 	 * @param channelUnit    the unit of the channel
-	 * @return the {@link RrdDb} or null if not existing
+	 * @return the {@link PooledRrdDb} or null if not existing
 	 * @throws IOException on IO-Error
 	 */
-	public RrdDb getExistingUpdatedRrdDb(//
+	public PooledRrdDb getExistingUpdatedRrdDb(//
 			final String rrdDbId, //
 			final ChannelAddress channelAddress, //
 			final Unit channelUnit //
 	) throws IOException {
-		return this.keyLock.lock(rrdDbId + "/" + channelAddress.toString(), () -> {
+		return this.cache.borrow(toKey(rrdDbId, channelAddress), () -> {
 			var rrdDb = this.getExistingRrdDb(channelAddress, rrdDbId);
 			if (rrdDb == null) {
 				return null;
@@ -129,6 +166,21 @@ public class Rrd4jSupplier {
 		});
 	}
 
+	/**
+	 * Closes the open {@link RrdDb} of a Channel, e.g. after an error. The next
+	 * call to {@link #getRrdDb(String, ChannelAddress, Unit, long)} opens it again.
+	 * 
+	 * @param rrdDbId        the id of the RrdDb
+	 * @param channelAddress the address of the {@link RrdDb}
+	 */
+	public void invalidate(final String rrdDbId, final ChannelAddress channelAddress) {
+		this.cache.remove(toKey(rrdDbId, channelAddress));
+	}
+
+	private static String toKey(final String rrdDbId, final ChannelAddress channelAddress) {
+		return rrdDbId + "/" + channelAddress.toString();
+	}
+
 	/**
 	 * Defines the datasource properties for a given Channel, i.e. min/max allowed
 	 * value and GAUGE vs. COUNTER type.
@@ -140,9 +192,9 @@ public class Rrd4jSupplier {
 		return switch (channelUnit) {
 		case AMPERE, AMPERE_HOURS, DEGREE_CELSIUS, DEZIDEGREE_CELSIUS, MONEY_PER_MEGAWATT_HOUR, HERTZ, HOUR,
 				KILOAMPERE_HOURS, KILOOHM, KILOVOLT_AMPERE, KILOVOLT_AMPERE_REACTIVE, KILOWATT, MICROOHM, MICROAMPERE,
-				MICROVOLT, MILLIAMPERE_HOURS, MILLIAMPERE, MILLIHERTZ, MILLIOHM, MILLISECONDS, MILLIVOLT, MILLIWATT,
-				MINUTE, NONE, WATT, VOLT, VOLT_AMPERE, VOLT_AMPERE_REACTIVE, WATT_HOURS_BY_WATT_PEAK, OHM, SECONDS,
-				THOUSANDTH, WATT_HOURS, KILOWATT_HOURS, VOLT_AMPERE_HOURS, VOLT_AMPERE_REACTIVE_HOURS,
+				MICROVOLT, MILLIAMPERE_HOURS, MILLIAMPERE, MILLIHERTZ, MILLIOHM, MILLISECONDS, MICROSECONDS, MILLIVOLT,
+				MILLIWATT, MINUTE, NONE, WATT, VOLT, VOLT_AMPERE, VOLT_AMPERE_REACTIVE, WATT_HOURS_BY_WATT_PEAK, OHM,
+				SECONDS, THOUSANDTH, WATT_HOURS, KILOWATT_HOURS, VOLT_AMPERE_HOURS, VOLT_AMPERE_REACTIVE_HOURS,
 				KILOVOLT_AMPERE_REACTIVE_HOURS, BAR ->
 			new ChannelDef(DsType.GAUGE, Double.NaN, Double.NaN, ConsolFun.AVERAGE);
 		case PERCENT -> new ChannelDef(DsType.GAUGE, 0, 100, ConsolFun.AVERAGE);
@@ -378,16 +430,4 @@ public class Rrd4jSupplier {
 		return result;
 	}
 
-	private class KeyLock {
-
-		private final Map<String, Object> locks = new ConcurrentHashMap<>();
-
-		public <T, E extends Exception> T lock(String key, ThrowingSupplier<T, E> supplier) throws E {
-			synchronized (this.locks.computeIfAbsent(key, t -> new Object())) {
-				return supplier.get();
-			}
-		}
-
-	}
-
 }
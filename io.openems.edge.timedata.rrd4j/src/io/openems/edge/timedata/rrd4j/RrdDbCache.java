@@ -0,0 +1,191 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.function.ThrowingSupplier;
+
+/**
+ * Bounded cache of open {@link RrdDb}s with least-recently-used eviction.
+ *
+ * <p>
+ * Every key has its own lock, that is held while a {@link PooledRrdDb} is
+ * borrowed. Evicted databases are closed as soon as nobody uses them anymore;
+ * until then they stay reachable and are reused if their key is borrowed
+ * again, so there is never more than one open {@link RrdDb} per file.
+ */
+class RrdDbCache {
+
+	private static record Evicted(String key, RrdDb rrdDb, boolean reusable) {
+	}
+
+	private final Logger log = LoggerFactory.getLogger(RrdDbCache.class);
+
+	private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+	private final Queue<Evicted> evicted = new ConcurrentLinkedQueue<>();
+	private final LinkedHashMap<String, RrdDb> rrdDbs = new LinkedHashMap<>(16, 0.75F, true /* access-order */);
+
+	private int maxSize;
+
+	RrdDbCache(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Sets the maximum number of open {@link RrdDb}s.
+	 *
+	 * @param maxSize the maximum size
+	 */
+	public synchronized void setMaxSize(int maxSize) {
+		this.maxSize = Math.max(0, maxSize);
+		this.evictEldest();
+	}
+
+	/**
+	 * Borrows the {@link RrdDb} for a key; opens it if it is not in the cache.
+	 *
+	 * @param key  the key
+	 * @param open opens the {@link RrdDb}; is called while the key is locked
+	 * @return the {@link PooledRrdDb}; null if 'open' returned null
+	 * @throws IOException on error
+	 */
+	public PooledRrdDb borrow(String key, ThrowingSupplier<RrdDb, IOException> open) throws IOException {
+		final var lock = this.locks.computeIfAbsent(key, k -> new ReentrantLock());
+		lock.lock();
+		try {
+			var rrdDb = this.get(key);
+			if (rrdDb == null) {
+				rrdDb = this.takeEvicted(key);
+				if (rrdDb != null) {
+					this.put(key, rrdDb);
+				}
+			}
+			if (rrdDb == null) {
+				rrdDb = open.get();
+				if (rrdDb == null) {
+					lock.unlock();
+					return null;
+				}
+				this.put(key, rrdDb);
+			}
+			return new PooledRrdDb(this, lock, rrdDb);
+
+		} catch (IOException | RuntimeException e) {
+			lock.unlock();
+			throw e;
+		}
+	}
+
+	private synchronized RrdDb get(String key) {
+		var rrdDb = this.rrdDbs.get(key);
+		if (rrdDb != null && rrdDb.isClosed()) {
+			this.rrdDbs.remove(key);
+			return null;
+		}
+		return rrdDb;
+	}
+
+	/**
+	 * Takes the evicted, not yet closed {@link RrdDb} of a key. Must be called
+	 * while holding the lock of the key, so it can not be closed concurrently.
+	 * Databases that were removed explicitly are closed instead.
+	 *
+	 * @param key the key
+	 * @return the {@link RrdDb} to reuse; null if there is none
+	 */
+	private RrdDb takeEvicted(String key) {
+		RrdDb result = null;
+		for (var evicted : this.evicted) {
+			if (!evicted.key().equals(key) || !this.evicted.remove(evicted) || evicted.rrdDb().isClosed()) {
+				continue;
+			}
+			if (evicted.reusable() && result == null) {
+				result = evicted.rrdDb();
+				continue;
+			}
+			try {
+				evicted.rrdDb().close();
+			} catch (IOException e) {
+				this.log.warn("Unable to close RrdDb [" + key + "]: " + e.getMessage());
+			}
+		}
+		return result;
+	}
+
+	private synchronized void put(String key, RrdDb rrdDb) {
+		var previous = this.rrdDbs.put(key, rrdDb);
+		if (previous != null && previous != rrdDb) {
+			this.evicted.add(new Evicted(key, previous, false));
+		}
+		this.evictEldest();
+	}
+
+	private synchronized void evictEldest() {
+		var iterator = this.rrdDbs.entrySet().iterator();
+		while (this.rrdDbs.size() > this.maxSize && iterator.hasNext()) {
+			var entry = iterator.next();
+			iterator.remove();
+			this.evicted.add(new Evicted(entry.getKey(), entry.getValue(), true));
+		}
+	}
+
+	/**
+	 * Removes the {@link RrdDb} of a key, e.g. after an error. It is closed as soon
+	 * as nobody uses it anymore - at the latest before the key is opened again.
+	 *
+	 * @param key the key
+	 */
+	public void remove(String key) {
+		synchronized (this) {
+			var rrdDb = this.rrdDbs.remove(key);
+			if (rrdDb != null) {
+				this.evicted.add(new Evicted(key, rrdDb, false));
+			}
+		}
+		this.closeEvicted();
+	}
+
+	/**
+	 * Removes all {@link RrdDb}s. They are closed as soon as nobody uses them
+	 * anymore.
+	 */
+	public void clear() {
+		synchronized (this) {
+			this.rrdDbs.forEach((key, rrdDb) -> this.evicted.add(new Evicted(key, rrdDb, false)));
+			this.rrdDbs.clear();
+		}
+		this.closeEvicted();
+	}
+
+	/**
+	 * Closes evicted {@link RrdDb}s that are currently not borrowed.
+	 */
+	public void closeEvicted() {
+		for (var evicted : this.evicted) {
+			final var lock = this.locks.get(evicted.key());
+			if (lock == null || lock.isHeldByCurrentThread() || !lock.tryLock()) {
+				// Still in use -> try again on next release
+				continue;
+			}
+			try {
+				if (this.evicted.remove(evicted) && !evicted.rrdDb().isClosed()) {
+					evicted.rrdDb().close();
+				}
+			} catch (IOException e) {
+				this.log.warn("Unable to close RrdDb [" + evicted.key() + "]: " + e.getMessage());
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,20 @@
+package io.openems.edge.timedata.rrd4j;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+/**
+ * Configures the handling of RRD4J database files.
+ */
+@ObjectClassDefinition(//
+		name = "Timedata RRD4J Supplier", //
+		description = "Handles the RRD4J database files of all Timedata RRD4J components.")
+@interface SupplierConfig {
+
+	@AttributeDefinition(name = "Max open databases", description = "Maximum number of RRD4J databases that are kept open between reads and writes. Every open database holds a file descriptor; raise it up to the number of persisted Channels if the open-files limit of the system allows it.")
+	int maxOpenDatabases() default Rrd4jConstants.DEFAULT_MAX_OPEN_DATABASES;
+
+	@AttributeDefinition(name = "Memory-mapped files", description = "Access database files via memory-mapped NIO instead of RandomAccessFile. Changes are synced to disk once per heartbeat. Avoid on 32-bit systems with many Channels.")
+	boolean memoryMapped() default false;
+
+}
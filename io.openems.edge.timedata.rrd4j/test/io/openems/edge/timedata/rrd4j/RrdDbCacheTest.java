@@ -0,0 +1,97 @@
+package io.openems.edge.timedata.rrd4j;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.DsDef;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdMemoryBackendFactory;
+
+public class RrdDbCacheTest {
+
+	private static RrdDb createRrdDb(String path) throws IOException {
+		final var rrdDef = new RrdDef(path, 1577836800L, Rrd4jConstants.DEFAULT_STEP_SECONDS);
+		rrdDef.addDatasource(new DsDef(Rrd4jConstants.DEFAULT_DATASOURCE_NAME, DsType.GAUGE,
+				Rrd4jConstants.DEFAULT_HEARTBEAT_SECONDS, Double.NaN, Double.NaN));
+		rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 12);
+		return RrdDb.getBuilder() //
+				.setBackendFactory(new RrdMemoryBackendFactory()) //
+				.setRrdDef(rrdDef) //
+				.build();
+	}
+
+	@Test
+	public void testReuse() throws IOException {
+		final var sut = new RrdDbCache(2);
+		final var db0 = createRrdDb("db0");
+
+		try (var pooled = sut.borrow("db0", () -> db0)) {
+			assertSame(db0, pooled.get());
+		}
+		try (var pooled = sut.borrow("db0", () -> createRrdDb("other"))) {
+			assertSame(db0, pooled.get());
+		}
+		assertFalse(db0.isClosed());
+
+		assertNull(sut.borrow("missing", () -> null));
+	}
+
+	@Test
+	public void testEviction() throws IOException {
+		final var sut = new RrdDbCache(1);
+		final var db0 = createRrdDb("db0");
+		final var db1 = createRrdDb("db1");
+		final var db2 = createRrdDb("db2");
+
+		sut.borrow("db0", () -> db0).close();
+
+		// Evicted and not borrowed -> closed
+		sut.borrow("db1", () -> db1).close();
+		assertTrue(db0.isClosed());
+
+		// Evicted while borrowed -> closed after release
+		var pooled = sut.borrow("db1", () -> null);
+		sut.borrow("db2", () -> db2).close();
+		assertFalse(db1.isClosed());
+		pooled.close();
+		assertTrue(db1.isClosed());
+		assertFalse(db2.isClosed());
+	}
+
+	@Test
+	public void testReuseEvicted() throws IOException {
+		final var sut = new RrdDbCache(1);
+		final var db0 = createRrdDb("db0");
+		final var db1 = createRrdDb("db1");
+
+		// Evicted while borrowed -> borrowing again reuses the open RrdDb
+		var pooled = sut.borrow("db0", () -> db0);
+		sut.borrow("db1", () -> db1).close();
+		try (var again = sut.borrow("db0", () -> createRrdDb("other"))) {
+			assertSame(db0, again.get());
+		}
+		pooled.close();
+		assertFalse(db0.isClosed());
+		assertTrue(db1.isClosed());
+
+		// Removed while borrowed -> closed before the key is opened again
+		final var db0New = createRrdDb("db0");
+		pooled = sut.borrow("db0", () -> null);
+		sut.remove("db0");
+		assertFalse(db0.isClosed());
+		pooled.close();
+		try (var again = sut.borrow("db0", () -> db0New)) {
+			assertTrue(db0.isClosed());
+			assertSame(db0New, again.get());
+		}
+	}
+
+}